@@ -15,6 +15,11 @@ public class ArquillianCoreKey extends AbstractStringKey {
     public static final StringKey CONTAINER_CONFIGURATION_REPORT = new ArquillianCoreKey();
     public static final StringKey CONTAINER_NAME = new ArquillianCoreKey();
     public static final StringKey CONTAINER_REPORT = new ArquillianCoreKey();
+    public static final StringKey CONTAINER_SETUP_DURATION = new ArquillianCoreKey();
+    public static final StringKey CONTAINER_START_DURATION = new ArquillianCoreKey();
+    public static final StringKey CONTAINER_STOP_DURATION = new ArquillianCoreKey();
+    public static final StringKey CONTAINER_OPERATIONS_REPORT = new ArquillianCoreKey();
+    public static final StringKey CONTAINER_OPERATIONS_TOTAL_DURATION = new ArquillianCoreKey();
 
     // deployment
     public static final StringKey DEPLOYMENT_IN_TEST_CLASS_REPORT = new ArquillianCoreKey();
@@ -22,6 +27,10 @@ public class ArquillianCoreKey extends AbstractStringKey {
     public static final StringKey ARCHIVE_NAME_OF_DEPLOYMENT = new ArquillianCoreKey();
     public static final StringKey ORDER_OF_DEPLOYMENT = new ArquillianCoreKey();
     public static final StringKey PROTOCOL_USED_FOR_DEPLOYMENT = new ArquillianCoreKey();
+    public static final StringKey DEPLOYMENT_DURATION = new ArquillianCoreKey();
+    public static final StringKey DEPLOYMENT_DURATIONS = new ArquillianCoreKey();
+    public static final StringKey UNDEPLOYMENT_DURATION = new ArquillianCoreKey();
+    public static final StringKey UNDEPLOYMENT_DURATIONS = new ArquillianCoreKey();
 
     // test class
     public static final StringKey TEST_CLASS_CONFIGURATION = new ArquillianCoreKey();
@@ -32,4 +41,12 @@ public class ArquillianCoreKey extends AbstractStringKey {
     public static final StringKey TEST_METHOD_OPERATES_ON_DEPLOYMENT = new ArquillianCoreKey();
     public static final StringKey TEST_METHOD_RUNS_AS_CLIENT = new ArquillianCoreKey();
     public static final StringKey TEST_METHOD_REPORT_MESSAGE = new ArquillianCoreKey();
+    public static final StringKey TEST_METHOD_ALLOCATED_BYTES = new ArquillianCoreKey();
+    public static final StringKey TEST_METHOD_CPU_TIME = new ArquillianCoreKey();
+    public static final StringKey TEST_METHOD_GC_COUNT = new ArquillianCoreKey();
+    public static final StringKey TEST_METHOD_GC_TIME = new ArquillianCoreKey();
+    public static final StringKey TEST_METHOD_LIVE_THREADS_DELTA = new ArquillianCoreKey();
+    public static final StringKey HUNG_TEST_REPORT = new ArquillianCoreKey();
+    public static final StringKey THREAD_DUMP_OF_HUNG_TEST = new ArquillianCoreKey();
+    public static final StringKey HEAP_HISTOGRAM_OF_HUNG_TEST = new ArquillianCoreKey();
 }
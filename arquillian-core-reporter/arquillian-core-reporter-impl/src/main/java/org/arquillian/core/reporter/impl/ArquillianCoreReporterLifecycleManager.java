@@ -1,24 +1,47 @@
 package org.arquillian.core.reporter.impl;
 
 import java.lang.annotation.Annotation;
+import java.io.File;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.arquillian.core.reporter.event.TestClassConfigurationDeploymentSection;
 import org.arquillian.core.reporter.event.TestSuiteConfigurationContainerSection;
 import org.arquillian.reporter.api.builder.Reporter;
+import org.arquillian.reporter.api.builder.report.ReportBuilder;
 import org.arquillian.reporter.api.event.SectionEvent;
 import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodFailureSection;
 import org.arquillian.reporter.api.event.TestMethodSection;
 import org.arquillian.reporter.api.event.TestSuiteConfigurationSection;
 import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.entry.FileEntry;
+import org.arquillian.reporter.api.model.entry.HistogramEntry;
+import org.arquillian.reporter.api.model.entry.StringEntry;
 import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.FailureReport;
 import org.arquillian.reporter.api.model.report.TestClassReport;
 import org.arquillian.reporter.api.model.report.TestMethodReport;
 import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.config.ReporterConfiguration;
 import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
 import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.client.container.DeployableContainer;
 import org.jboss.arquillian.container.spi.client.deployment.DeploymentDescription;
+import org.jboss.arquillian.container.spi.event.container.AfterDeploy;
+import org.jboss.arquillian.container.spi.event.container.AfterSetup;
+import org.jboss.arquillian.container.spi.event.container.AfterStart;
+import org.jboss.arquillian.container.spi.event.container.AfterStop;
+import org.jboss.arquillian.container.spi.event.container.AfterUnDeploy;
 import org.jboss.arquillian.container.spi.event.container.BeforeDeploy;
+import org.jboss.arquillian.container.spi.event.container.BeforeSetup;
+import org.jboss.arquillian.container.spi.event.container.BeforeStart;
+import org.jboss.arquillian.container.spi.event.container.BeforeStop;
+import org.jboss.arquillian.container.spi.event.container.BeforeUnDeploy;
+import org.jboss.arquillian.container.spi.event.container.ContainerEvent;
+import org.jboss.arquillian.container.spi.event.container.DeployerEvent;
 import org.jboss.arquillian.container.test.api.OperateOnDeployment;
 import org.jboss.arquillian.container.test.api.RunAsClient;
 import org.jboss.arquillian.core.api.Event;
@@ -39,17 +62,27 @@ import static org.arquillian.core.reporter.impl.ArquillianCoreKey.ARCHIVE_NAME_O
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CLASS_RUNS_AS_CLIENT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_CONFIGURATION_REPORT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_NAME;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_OPERATIONS_REPORT;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_OPERATIONS_TOTAL_DURATION;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_REPORT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.DEPLOYMENT_IN_TEST_CLASS_NAME;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.DEPLOYMENT_IN_TEST_CLASS_REPORT;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.HEAP_HISTOGRAM_OF_HUNG_TEST;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.HUNG_TEST_REPORT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.ORDER_OF_DEPLOYMENT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.PROTOCOL_USED_FOR_DEPLOYMENT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_CLASS_CONFIGURATION;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_CLASS_REPORT_MESSAGE;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_ALLOCATED_BYTES;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_CPU_TIME;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_GC_COUNT;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_GC_TIME;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_LIVE_THREADS_DELTA;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_OPERATES_ON_DEPLOYMENT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_REPORT_MESSAGE;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_METHOD_RUNS_AS_CLIENT;
 import static org.arquillian.core.reporter.impl.ArquillianCoreKey.TEST_SUITE_NAME;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.THREAD_DUMP_OF_HUNG_TEST;
 
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
@@ -70,6 +103,19 @@ public class ArquillianCoreReporterLifecycleManager {
     @Inject
     private Instance<ArquillianDescriptor> descriptor;
 
+    @Inject
+    private Instance<ReporterConfiguration> reporterConfiguration;
+
+    private final ContainerOperationTimer containerOperationTimer = new ContainerOperationTimer();
+    // ids of the container sections the deployable containers are reported in
+    private final Map<DeployableContainer<?>, String> containerIds = new ConcurrentHashMap<>();
+    // created when the first test method starts and the probe is enabled
+    private volatile ResourceProbe resourceProbe;
+    // created when the first test method starts and the hung test threshold is set
+    private volatile HungTestWatchdog hungTestWatchdog;
+    // keyed by the test instance as well, so parallel invocations of the same method don't overwrite their watches
+    private final Map<TestInvocation, HungTestWatchdog.Watch> hungTestWatches = new ConcurrentHashMap<>();
+
     public void startTestSuite(@Observes(precedence = Integer.MAX_VALUE) BeforeSuite managerProcessing) {
         Reporter
             .createReport(new TestSuiteReport(TEST_SUITE_NAME))
@@ -93,6 +139,7 @@ public class ArquillianCoreReporterLifecycleManager {
         Map<String, String> containerProperties = event.getContainerConfiguration().getContainerProperties();
 
         String containerId = event.getContainerConfiguration().isDefault() ? "_DEFAULT_" : event.getName();
+        containerIds.put(event.getDeployableContainer(), containerId);
 
         Reporter.createReport(CONTAINER_REPORT)
             .addKeyValueEntry(CONTAINER_NAME, event.getName())
@@ -103,6 +150,42 @@ public class ArquillianCoreReporterLifecycleManager {
             .fire(sectionEvent);
     }
 
+    public void startContainerSetup(@Observes BeforeSetup event) {
+        containerOperationTimer.start(ContainerOperationTimer.Operation.SETUP, event.getDeployableContainer());
+    }
+
+    public void stopContainerSetup(@Observes AfterSetup event) {
+        reportContainerOperation(ContainerOperationTimer.Operation.SETUP, event);
+    }
+
+    public void startContainerStart(@Observes BeforeStart event) {
+        containerOperationTimer.start(ContainerOperationTimer.Operation.START, event.getDeployableContainer());
+    }
+
+    public void stopContainerStart(@Observes AfterStart event) {
+        reportContainerOperation(ContainerOperationTimer.Operation.START, event);
+    }
+
+    public void startContainerStop(@Observes BeforeStop event) {
+        containerOperationTimer.start(ContainerOperationTimer.Operation.STOP, event.getDeployableContainer());
+    }
+
+    public void stopContainerStop(@Observes AfterStop event) {
+        reportContainerOperation(ContainerOperationTimer.Operation.STOP, event);
+    }
+
+    private void reportContainerOperation(ContainerOperationTimer.Operation operation, ContainerEvent event) {
+        long duration = containerOperationTimer.stop(operation, event.getDeployableContainer());
+        String containerId = containerIds.get(event.getDeployableContainer());
+        if (duration < 0 || containerId == null) {
+            return;
+        }
+        Reporter.createReport(CONTAINER_REPORT)
+            .addKeyValueEntry(operation.getDurationKey(), String.valueOf(duration))
+            .inSection(new TestSuiteConfigurationContainerSection(containerId, DEFAULT_TEST_SUITE_ID))
+            .fire(sectionEvent);
+    }
+
     public void reportDeployment(@Observes BeforeDeploy event) {
         DeploymentDescription description = event.getDeployment();
         //         String targetContainer = description.getTarget().getName();
@@ -112,11 +195,38 @@ public class ArquillianCoreReporterLifecycleManager {
             .addKeyValueEntry(DEPLOYMENT_IN_TEST_CLASS_NAME, description.getName())
             .addKeyValueEntry(ARCHIVE_NAME_OF_DEPLOYMENT, description.getArchive().getName())
             .addKeyValueEntry(ORDER_OF_DEPLOYMENT, description.getOrder())
-            .addKeyValueEntry(PROTOCOL_USED_FOR_DEPLOYMENT, description.getProtocol().getName())
+            .addKeyValueEntry(PROTOCOL_USED_FOR_DEPLOYMENT, StringEntry.intern(description.getProtocol().getName()))
             .inSection(new TestClassConfigurationDeploymentSection(description.getName()))
             .fire(sectionEvent);
 
         // todo add info into container report - optimally keep oll deployments in a table - to do so we need to have functionality of merging tables. Or is there any better way?
+
+        containerOperationTimer.start(ContainerOperationTimer.Operation.DEPLOY, description);
+    }
+
+    public void stopDeployment(@Observes AfterDeploy event) {
+        reportDeploymentOperation(ContainerOperationTimer.Operation.DEPLOY, event);
+    }
+
+    public void startUnDeployment(@Observes BeforeUnDeploy event) {
+        containerOperationTimer.start(ContainerOperationTimer.Operation.UNDEPLOY, event.getDeployment());
+    }
+
+    public void stopUnDeployment(@Observes AfterUnDeploy event) {
+        reportDeploymentOperation(ContainerOperationTimer.Operation.UNDEPLOY, event);
+    }
+
+    private void reportDeploymentOperation(ContainerOperationTimer.Operation operation, DeployerEvent event) {
+        DeploymentDescription description = event.getDeployment();
+        long duration = containerOperationTimer.stop(operation, description);
+        if (duration < 0) {
+            return;
+        }
+        Reporter
+            .createReport(DEPLOYMENT_IN_TEST_CLASS_REPORT)
+            .addKeyValueEntry(operation.getDurationKey(), String.valueOf(duration))
+            .inSection(new TestClassConfigurationDeploymentSection(description.getName()))
+            .fire(sectionEvent);
     }
 
     public void startTestClass(@Observes(precedence = Integer.MAX_VALUE) BeforeClass event) {
@@ -148,25 +258,119 @@ public class ArquillianCoreReporterLifecycleManager {
 
         Reporter
             .createReport(new TestMethodReport(testMethod.getName()))
-            .addKeyValueEntry(TEST_METHOD_OPERATES_ON_DEPLOYMENT, deploymentName)
+            .addKeyValueEntry(TEST_METHOD_OPERATES_ON_DEPLOYMENT, StringEntry.intern(deploymentName))
             .addKeyValueEntry(TEST_METHOD_RUNS_AS_CLIENT, runAsClient)
             .inSection(new TestMethodSection(testMethod))
             .fire(sectionEvent);
+
+        HungTestWatchdog watchdog = getHungTestWatchdog();
+        if (watchdog != null) {
+            String testName = testMethod.getDeclaringClass().getName() + "." + testMethod.getName();
+            hungTestWatches.put(new TestInvocation(event.getTestInstance(), testMethod), watchdog.watch(testName));
+        }
+
+        // sampled as the last thing so the reporting itself is not measured
+        ResourceProbe probe = getResourceProbe();
+        if (probe != null) {
+            probe.start();
+        }
     }
 
     public void stopTestMethod(@Observes(precedence = Integer.MIN_VALUE) AfterTestLifecycleEvent event,
         TestResult result) {
         if (!(event instanceof After)) {
+            ResourceProbe probe = resourceProbe;
+            long[] resourceUsage = probe == null ? null : probe.stop();
+
             Method testMethod = event.getTestMethod();
             String reportMessage = ReportMessageParser.parseTestReportMessage(event.getTestMethod());
 
-            Reporter
+            ReportBuilder testMethodReport = Reporter
                 .createReport(new TestMethodReport(testMethod.getName()))
                 .stop()
                 .setResult(result)
-                .addKeyValueEntry(TEST_METHOD_REPORT_MESSAGE, reportMessage)
+                .addKeyValueEntry(TEST_METHOD_REPORT_MESSAGE, reportMessage);
+            if (resourceUsage != null) {
+                addResourceUsage(testMethodReport, resourceUsage);
+            }
+            testMethodReport
                 .inSection(new TestMethodSection(testMethod))
                 .fire(sectionEvent);
+
+            HungTestWatchdog.Watch watch =
+                hungTestWatches.remove(new TestInvocation(event.getTestInstance(), testMethod));
+            if (watch != null) {
+                reportHungTestDumps(testMethod, watch.stop());
+            }
+        }
+    }
+
+    // double-checked so test methods starting in parallel don't create (and leak the timers of) more watchdogs
+    private HungTestWatchdog getHungTestWatchdog() {
+        HungTestWatchdog watchdog = hungTestWatchdog;
+        if (watchdog == null) {
+            ReporterConfiguration configuration = reporterConfiguration.get();
+            if (configuration == null || configuration.getHungTestThreshold() <= 0) {
+                return null;
+            }
+            synchronized (this) {
+                watchdog = hungTestWatchdog;
+                if (watchdog == null) {
+                    watchdog = new HungTestWatchdog(configuration.getHungTestThreshold(),
+                                                    configuration.isHungTestHeapHistogram(),
+                                                    configuration.getHungTestDirectory());
+                    hungTestWatchdog = watchdog;
+                }
+            }
+        }
+        return watchdog;
+    }
+
+    private void reportHungTestDumps(Method testMethod, List<File> dumps) {
+        if (dumps.isEmpty()) {
+            return;
+        }
+        ReportBuilder hungTestReport = Reporter.createReport(new FailureReport(HUNG_TEST_REPORT));
+        for (File dump : dumps) {
+            StringKey key = dump.getName().endsWith(HungTestWatchdog.HEAP_HISTOGRAM_SUFFIX)
+                ? HEAP_HISTOGRAM_OF_HUNG_TEST : THREAD_DUMP_OF_HUNG_TEST;
+            hungTestReport.addKeyValueEntry(key, new FileEntry(dump));
+        }
+        hungTestReport
+            .inSection(TestMethodFailureSection.standalone(testMethod))
+            .fire(sectionEvent);
+    }
+
+    // double-checked so test methods starting in parallel share one probe
+    private ResourceProbe getResourceProbe() {
+        ResourceProbe probe = resourceProbe;
+        if (probe == null) {
+            ReporterConfiguration configuration = reporterConfiguration.get();
+            if (configuration == null || !configuration.isResourceProbe()) {
+                return null;
+            }
+            synchronized (this) {
+                probe = resourceProbe;
+                if (probe == null) {
+                    probe = new ResourceProbe();
+                    resourceProbe = probe;
+                }
+            }
+        }
+        return probe;
+    }
+
+    private void addResourceUsage(ReportBuilder testMethodReport, long[] resourceUsage) {
+        addResourceUsage(testMethodReport, TEST_METHOD_ALLOCATED_BYTES, resourceUsage[ResourceProbe.ALLOCATED_BYTES]);
+        addResourceUsage(testMethodReport, TEST_METHOD_CPU_TIME, resourceUsage[ResourceProbe.CPU_TIME]);
+        addResourceUsage(testMethodReport, TEST_METHOD_GC_COUNT, resourceUsage[ResourceProbe.GC_COUNT]);
+        addResourceUsage(testMethodReport, TEST_METHOD_GC_TIME, resourceUsage[ResourceProbe.GC_TIME]);
+        addResourceUsage(testMethodReport, TEST_METHOD_LIVE_THREADS_DELTA, resourceUsage[ResourceProbe.LIVE_THREADS]);
+    }
+
+    private void addResourceUsage(ReportBuilder testMethodReport, StringKey key, long value) {
+        if (value != ResourceProbe.UNSUPPORTED) {
+            testMethodReport.addKeyValueEntry(key, String.valueOf(value));
         }
     }
 
@@ -181,13 +385,57 @@ public class ArquillianCoreReporterLifecycleManager {
 
     public void stopTestSuite(@Observes(precedence = Integer.MIN_VALUE) AfterSuite event) {
 
+        ReportBuilder containerOperationsReport = Reporter
+            .createReport(CONTAINER_OPERATIONS_REPORT)
+            .addKeyValueEntry(CONTAINER_OPERATIONS_TOTAL_DURATION,
+                              String.valueOf(containerOperationTimer.getTotalDuration()));
+        for (ContainerOperationTimer.Operation operation : ContainerOperationTimer.Operation.values()) {
+            HistogramEntry durations = containerOperationTimer.getDurations(operation);
+            containerOperationsReport.addKeyValueEntry(operation.getDurationKey(), String.valueOf(durations.getSum()));
+            if (operation.getHistogramKey() != null) {
+                containerOperationsReport.addKeyValueEntry(operation.getHistogramKey(), durations);
+            }
+        }
+
         Reporter
             .createReport(new TestSuiteReport(TEST_SUITE_NAME))
             .stop()
+            .addReport(containerOperationsReport)
             .inSection(new TestSuiteSection(DEFAULT_TEST_SUITE_ID))
             .fire(sectionEvent);
     }
 
+    /**
+     * Identifies one invocation of a test method - the test instance is compared by identity.
+     */
+    private static final class TestInvocation {
+
+        private final Object testInstance;
+        private final Method testMethod;
+
+        private TestInvocation(Object testInstance, Method testMethod) {
+            this.testInstance = testInstance;
+            this.testMethod = testMethod;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TestInvocation)) {
+                return false;
+            }
+            TestInvocation that = (TestInvocation) o;
+            return testInstance == that.testInstance && testMethod.equals(that.testMethod);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(testInstance) + testMethod.hashCode();
+        }
+    }
+
     private static final class ReportMessageParser {
 
         private ReportMessageParser() {
@@ -0,0 +1,104 @@
+package org.arquillian.core.reporter.impl;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.entry.HistogramEntry;
+
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_SETUP_DURATION;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_START_DURATION;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.CONTAINER_STOP_DURATION;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.DEPLOYMENT_DURATION;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.DEPLOYMENT_DURATIONS;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.UNDEPLOYMENT_DURATION;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.UNDEPLOYMENT_DURATIONS;
+
+/**
+ * Measures durations of container operations (setup, start, stop, deployment and undeployment) and keeps a
+ * {@link HistogramEntry} of the durations of every type of the operation, so the time spent in the container
+ * operations can be reported per test suite.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class ContainerOperationTimer {
+
+    enum Operation {
+        SETUP(CONTAINER_SETUP_DURATION, null),
+        START(CONTAINER_START_DURATION, null),
+        STOP(CONTAINER_STOP_DURATION, null),
+        DEPLOY(DEPLOYMENT_DURATION, DEPLOYMENT_DURATIONS),
+        UNDEPLOY(UNDEPLOYMENT_DURATION, UNDEPLOYMENT_DURATIONS);
+
+        private final StringKey durationKey;
+        private final StringKey histogramKey;
+
+        Operation(StringKey durationKey, StringKey histogramKey) {
+            this.durationKey = durationKey;
+            this.histogramKey = histogramKey;
+        }
+
+        /**
+         * Returns a key of a duration of one operation
+         */
+        StringKey getDurationKey() {
+            return durationKey;
+        }
+
+        /**
+         * Returns a key of a histogram of durations of all operations, or null if the histogram shouldn't be reported
+         */
+        StringKey getHistogramKey() {
+            return histogramKey;
+        }
+    }
+
+    // start times of the operations that are in progress, identified by the operation and the container or deployment
+    private final Map<List<Object>, Long> startTimes = new ConcurrentHashMap<>();
+    private final Map<Operation, HistogramEntry> durations = new EnumMap<>(Operation.class);
+
+    ContainerOperationTimer() {
+        for (Operation operation : Operation.values()) {
+            durations.put(operation, new HistogramEntry());
+        }
+    }
+
+    /**
+     * Stores the start time of the given operation performed on the given subject (a container or a deployment)
+     */
+    void start(Operation operation, Object subject) {
+        startTimes.put(Arrays.asList(operation, subject), System.currentTimeMillis());
+    }
+
+    /**
+     * Records the duration of the given operation performed on the given subject (a container or a deployment)
+     *
+     * @return The duration in milliseconds, or -1 if the start of the operation hasn't been observed
+     */
+    long stop(Operation operation, Object subject) {
+        Long startTime = startTimes.remove(Arrays.asList(operation, subject));
+        if (startTime == null) {
+            return -1;
+        }
+        long duration = System.currentTimeMillis() - startTime;
+        durations.get(operation).recordValue(duration);
+        return duration;
+    }
+
+    /**
+     * Returns a histogram of durations of all finished operations of the given type
+     */
+    HistogramEntry getDurations(Operation operation) {
+        return durations.get(operation);
+    }
+
+    /**
+     * Returns the total time in milliseconds spent in all finished operations
+     */
+    long getTotalDuration() {
+        return durations.values().stream().mapToLong(HistogramEntry::getSum).sum();
+    }
+}
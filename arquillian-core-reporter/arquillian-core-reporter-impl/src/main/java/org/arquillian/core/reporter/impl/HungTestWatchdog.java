@@ -0,0 +1,171 @@
+package org.arquillian.core.reporter.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.ObjectName;
+
+/**
+ * Watches running test methods and captures a thread dump (and optionally a class histogram of the heap) of every
+ * test method that runs longer than the given threshold. All test methods are watched by one shared scheduler thread,
+ * so the number of threads doesn't grow with the number of tests run in parallel, and the dumps are written by this
+ * thread, so the test thread is never blocked.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class HungTestWatchdog {
+
+    static final String THREAD_DUMP_SUFFIX = "-threads.txt";
+    static final String HEAP_HISTOGRAM_SUFFIX = "-heap.txt";
+
+    private static final Logger log = Logger.getLogger(HungTestWatchdog.class.getName());
+    private static final String DIAGNOSTIC_COMMAND_MBEAN = "com.sun.management:type=DiagnosticCommand";
+
+    private final long threshold;
+    private final boolean heapHistogram;
+    private final File dumpDirectory;
+    private final AtomicInteger dumpCounter = new AtomicInteger();
+
+    HungTestWatchdog(long threshold, boolean heapHistogram, File dumpDirectory) {
+        this.threshold = threshold;
+        this.heapHistogram = heapHistogram;
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    /**
+     * Starts watching a test method with the given name
+     *
+     * @param testName A name of the test method used in names of the dump files
+     * @return A {@link Watch} that has to be stopped when the test method is finished
+     */
+    Watch watch(String testName) {
+        Watch watch = new Watch(testName);
+        watch.future = SchedulerHolder.SCHEDULER.schedule(watch::capture, threshold, TimeUnit.MILLISECONDS);
+        return watch;
+    }
+
+    /**
+     * A watch of one running test method
+     */
+    class Watch {
+
+        private final String testName;
+        private final List<File> dumps = new CopyOnWriteArrayList<>();
+        private volatile ScheduledFuture<?> future;
+
+        private Watch(String testName) {
+            this.testName = testName;
+        }
+
+        /**
+         * Stops watching the test method. If the dumps are still being written, then they are not waited for.
+         *
+         * @return The files the dumps of the test method are (being) written into; empty if the test method has
+         * finished in time
+         */
+        List<File> stop() {
+            future.cancel(false);
+            return dumps;
+        }
+
+        private void capture() {
+            String fileName =
+                String.format("%03d-%s", dumpCounter.incrementAndGet(), testName.replaceAll("[^\\w.-]", "_"));
+            dumpDirectory.mkdirs();
+            try {
+                File threadDump = new File(dumpDirectory, fileName + THREAD_DUMP_SUFFIX);
+                dumps.add(threadDump);
+                writeThreadDump(threadDump);
+
+                if (heapHistogram) {
+                    File histogram = new File(dumpDirectory, fileName + HEAP_HISTOGRAM_SUFFIX);
+                    dumps.add(histogram);
+                    writeHeapHistogram(histogram);
+                }
+            } catch (Exception e) {
+                log.log(Level.WARNING, "Capturing dumps of the test " + testName + " failed", e);
+            }
+        }
+    }
+
+    private void writeThreadDump(File file) throws IOException {
+        ThreadInfo[] threads = ManagementFactory.getThreadMXBean().dumpAllThreads(true, true);
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (ThreadInfo thread : threads) {
+                writeThreadInfo(writer, thread);
+            }
+        }
+    }
+
+    // ThreadInfo.toString() prints only the first eight frames, so the whole stack trace is written here
+    private void writeThreadInfo(Writer writer, ThreadInfo thread) throws IOException {
+        writer.append('"').append(thread.getThreadName()).append("\" Id=").append(String.valueOf(thread.getThreadId()))
+            .append(' ').append(String.valueOf(thread.getThreadState()));
+        if (thread.getLockName() != null) {
+            writer.append(" on ").append(thread.getLockName());
+        }
+        if (thread.getLockOwnerName() != null) {
+            writer.append(" owned by \"").append(thread.getLockOwnerName()).append("\" Id=")
+                .append(String.valueOf(thread.getLockOwnerId()));
+        }
+        writer.append('\n');
+
+        StackTraceElement[] stackTrace = thread.getStackTrace();
+        MonitorInfo[] monitors = thread.getLockedMonitors();
+        for (int depth = 0; depth < stackTrace.length; depth++) {
+            writer.append("\tat ").append(stackTrace[depth].toString()).append('\n');
+            for (MonitorInfo monitor : monitors) {
+                if (monitor.getLockedStackDepth() == depth) {
+                    writer.append("\t-  locked ").append(monitor.toString()).append('\n');
+                }
+            }
+        }
+        LockInfo[] synchronizers = thread.getLockedSynchronizers();
+        if (synchronizers.length > 0) {
+            writer.append("\n\tNumber of locked synchronizers = ").append(String.valueOf(synchronizers.length))
+                .append('\n');
+            for (LockInfo synchronizer : synchronizers) {
+                writer.append("\t- ").append(synchronizer.toString()).append('\n');
+            }
+        }
+        writer.append('\n');
+    }
+
+    private void writeHeapHistogram(File file) throws Exception {
+        Object histogram = ManagementFactory.getPlatformMBeanServer().invoke(
+            new ObjectName(DIAGNOSTIC_COMMAND_MBEAN), "gcClassHistogram",
+            new Object[] {new String[0]}, new String[] {String[].class.getName()});
+        Files.write(file.toPath(), String.valueOf(histogram).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // the scheduler is shared by all watchdogs and created only when the first test method is watched
+    private static class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+        private static ScheduledExecutorService createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "arquillian-reporter-hung-test-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // the watches of the finished test methods shouldn't stay in the queue until their threshold elapses
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
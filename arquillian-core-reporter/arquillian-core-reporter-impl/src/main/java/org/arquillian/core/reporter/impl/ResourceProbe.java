@@ -0,0 +1,108 @@
+package org.arquillian.core.reporter.impl;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Samples resource usage of the current thread and of the JVM at the beginning and at the end of a test method:
+ * allocated bytes and CPU time of the current thread, number and time of garbage collections and number of live
+ * threads. The MXBeans are looked up only once and the samples are stored in preallocated per-thread arrays, so
+ * taking a sample doesn't allocate anything and the probe is cheap enough to be always on.
+ * <p>
+ * A value that is not supported by the JVM is sampled as {@link #UNSUPPORTED} and its delta is not reported.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class ResourceProbe {
+
+    static final long UNSUPPORTED = Long.MIN_VALUE;
+
+    static final int ALLOCATED_BYTES = 0;
+    static final int CPU_TIME = 1;
+    static final int GC_COUNT = 2;
+    static final int GC_TIME = 3;
+    static final int LIVE_THREADS = 4;
+    private static final int NUMBER_OF_VALUES = 5;
+
+    private final ThreadMXBean threadMXBean;
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+    private final GarbageCollectorMXBean[] garbageCollectorMXBeans;
+    private final boolean cpuTimeSupported;
+
+    // the values sampled at the beginning of a test method and the deltas computed at its end
+    private final ThreadLocal<long[]> startValues = ThreadLocal.withInitial(() -> new long[NUMBER_OF_VALUES]);
+    private final ThreadLocal<long[]> deltas = ThreadLocal.withInitial(() -> new long[NUMBER_OF_VALUES]);
+
+    ResourceProbe() {
+        this(ManagementFactory.getThreadMXBean(), ManagementFactory.getGarbageCollectorMXBeans());
+    }
+
+    ResourceProbe(ThreadMXBean threadMXBean, List<GarbageCollectorMXBean> collectors) {
+        this.threadMXBean = threadMXBean;
+        allocationMXBean = getAllocationMXBean(threadMXBean);
+        cpuTimeSupported = threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        garbageCollectorMXBeans = collectors.toArray(new GarbageCollectorMXBean[collectors.size()]);
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean(ThreadMXBean threadMXBean) {
+        try {
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (allocationMXBean.isThreadAllocatedMemorySupported()
+                    && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                    return allocationMXBean;
+                }
+            }
+        } catch (LinkageError e) {
+            // the com.sun.management API is not available in this JVM
+        }
+        return null;
+    }
+
+    /**
+     * Samples the values at the beginning of a test method run by the current thread
+     */
+    void start() {
+        sample(startValues.get());
+    }
+
+    /**
+     * Samples the values at the end of a test method run by the current thread and computes the deltas
+     *
+     * @return The deltas indexed by the constants of this class; the array is reused by the next call in the same
+     * thread. A delta of an unsupported value is {@link #UNSUPPORTED}.
+     */
+    long[] stop() {
+        long[] delta = deltas.get();
+        sample(delta);
+        long[] start = startValues.get();
+        for (int i = 0; i < NUMBER_OF_VALUES; i++) {
+            if (start[i] == UNSUPPORTED || delta[i] == UNSUPPORTED) {
+                delta[i] = UNSUPPORTED;
+            } else {
+                delta[i] -= start[i];
+            }
+        }
+        return delta;
+    }
+
+    private void sample(long[] values) {
+        values[ALLOCATED_BYTES] = allocationMXBean == null
+            ? UNSUPPORTED : allocationMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        values[CPU_TIME] = cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : UNSUPPORTED;
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+            // the collectors return -1 when the value is undefined
+            gcCount += Math.max(garbageCollectorMXBean.getCollectionCount(), 0);
+            gcTime += Math.max(garbageCollectorMXBean.getCollectionTime(), 0);
+        }
+        values[GC_COUNT] = gcCount;
+        values[GC_TIME] = gcTime;
+        values[LIVE_THREADS] = threadMXBean.getThreadCount();
+    }
+}
@@ -0,0 +1,85 @@
+package org.arquillian.core.reporter.impl;
+
+import org.arquillian.core.reporter.impl.ContainerOperationTimer.Operation;
+import org.arquillian.reporter.api.model.entry.HistogramEntry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ContainerOperationTimerTest {
+
+    private static final String CONTAINER = "container";
+    private static final String DEPLOYMENT = "deployment";
+
+    @Test
+    public void testDurationsShouldBeRecordedPerOperation() throws InterruptedException {
+        ContainerOperationTimer timer = new ContainerOperationTimer();
+
+        long startDuration = measure(timer, Operation.START, CONTAINER, 20);
+        long firstDeployDuration = measure(timer, Operation.DEPLOY, DEPLOYMENT, 10);
+        long secondDeployDuration = measure(timer, Operation.DEPLOY, "other-" + DEPLOYMENT, 5);
+
+        assertThat(startDuration).isGreaterThanOrEqualTo(20);
+        assertThat(firstDeployDuration).isGreaterThanOrEqualTo(10);
+        assertThat(secondDeployDuration).isGreaterThanOrEqualTo(5);
+
+        verifyDurations(timer.getDurations(Operation.START), startDuration);
+        verifyDurations(timer.getDurations(Operation.DEPLOY), firstDeployDuration, secondDeployDuration);
+        verifyDurations(timer.getDurations(Operation.SETUP));
+        verifyDurations(timer.getDurations(Operation.STOP));
+        verifyDurations(timer.getDurations(Operation.UNDEPLOY));
+
+        assertThat(timer.getTotalDuration()).isEqualTo(startDuration + firstDeployDuration + secondDeployDuration);
+    }
+
+    @Test
+    public void testOperationsInProgressOnDifferentSubjectsShouldBeMeasuredSeparately() throws InterruptedException {
+        ContainerOperationTimer timer = new ContainerOperationTimer();
+
+        timer.start(Operation.DEPLOY, DEPLOYMENT);
+        long undeployDuration = measure(timer, Operation.UNDEPLOY, DEPLOYMENT, 10);
+        long otherDeployDuration = measure(timer, Operation.DEPLOY, "other-" + DEPLOYMENT, 10);
+        Thread.sleep(10);
+        long deployDuration = timer.stop(Operation.DEPLOY, DEPLOYMENT);
+
+        assertThat(deployDuration).isGreaterThanOrEqualTo(undeployDuration + otherDeployDuration + 10);
+        verifyDurations(timer.getDurations(Operation.DEPLOY), otherDeployDuration, deployDuration);
+        verifyDurations(timer.getDurations(Operation.UNDEPLOY), undeployDuration);
+    }
+
+    @Test
+    public void testOperationThatHasNotBeenStartedShouldNotBeRecorded() {
+        ContainerOperationTimer timer = new ContainerOperationTimer();
+        timer.start(Operation.SETUP, CONTAINER);
+
+        assertThat(timer.stop(Operation.START, CONTAINER)).isEqualTo(-1);
+        assertThat(timer.stop(Operation.SETUP, "other-" + CONTAINER)).isEqualTo(-1);
+        assertThat(timer.stop(Operation.SETUP, CONTAINER)).isGreaterThanOrEqualTo(0);
+        // the start time is removed when the operation is stopped
+        assertThat(timer.stop(Operation.SETUP, CONTAINER)).isEqualTo(-1);
+
+        assertThat(timer.getDurations(Operation.START).getTotalCount()).isEqualTo(0);
+        assertThat(timer.getDurations(Operation.SETUP).getTotalCount()).isEqualTo(1);
+    }
+
+    private long measure(ContainerOperationTimer timer, Operation operation, Object subject, long sleep)
+        throws InterruptedException {
+        timer.start(operation, subject);
+        Thread.sleep(sleep);
+        return timer.stop(operation, subject);
+    }
+
+    private void verifyDurations(HistogramEntry histogram, long... durations) {
+        assertThat(histogram.getTotalCount()).isEqualTo(durations.length);
+        long sum = 0;
+        for (long duration : durations) {
+            sum += duration;
+            assertThat(histogram.getMin()).isLessThanOrEqualTo(duration);
+            assertThat(histogram.getMax()).isGreaterThanOrEqualTo(duration);
+        }
+        assertThat(histogram.getSum()).isEqualTo(sum);
+    }
+}
@@ -0,0 +1,167 @@
+package org.arquillian.core.reporter.impl;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.entry.FileEntry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.FailureReport;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.config.ReporterConfiguration;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.base.AbstractReporterTestBase;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.event.suite.AfterTestLifecycleEvent;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.HEAP_HISTOGRAM_OF_HUNG_TEST;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.HUNG_TEST_REPORT;
+import static org.arquillian.core.reporter.impl.ArquillianCoreKey.THREAD_DUMP_OF_HUNG_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class HungTestReportingTest extends AbstractReporterTestBase {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Inject
+    private Instance<ExecutionStore> executionStore;
+
+    @Override
+    protected void addAdditionalExtensions(List<Class<?>> extensions) {
+        extensions.add(ArquillianCoreReporterLifecycleManager.class);
+    }
+
+    @Override
+    protected void addReporterStringKeys(List<StringKey> stringKeys) {
+        stringKeys.add(new ArquillianCoreKey());
+    }
+
+    @Test
+    public void testDumpsOfHungTestShouldBeAttachedToFailureReportOfTestMethod() throws Exception {
+        ReporterConfiguration configuration = prepareConfiguration("1");
+        Method testMethod = HungTest.class.getMethod("hang");
+        HungTest testInstance = new HungTest();
+
+        fire(new Before(testInstance, testMethod));
+        waitForDumps(configuration.getHungTestDirectory(), 2);
+        fire(new AfterTestLifecycleEvent(testInstance, testMethod));
+
+        FailureReport hungTestReport = getHungTestReport(getTestMethodReport());
+        assertThat(hungTestReport).isNotNull();
+
+        List<KeyValueEntry> entries =
+            hungTestReport.getEntries().stream().map(KeyValueEntry.class::cast).collect(Collectors.toList());
+        assertThat(entries).extracting(KeyValueEntry::getKey)
+            .containsExactly(THREAD_DUMP_OF_HUNG_TEST, HEAP_HISTOGRAM_OF_HUNG_TEST);
+        assertThat(entries).extracting(KeyValueEntry::getValue).allMatch(value -> value instanceof FileEntry);
+
+        File threadDump = new File(((FileEntry) entries.get(0).getValue()).getPath());
+        File heapHistogram = new File(((FileEntry) entries.get(1).getValue()).getPath());
+        assertThat(threadDump).exists().hasParent(configuration.getHungTestDirectory());
+        assertThat(threadDump.getName()).endsWith(HungTestWatchdog.THREAD_DUMP_SUFFIX);
+        assertThat(heapHistogram).exists().hasParent(configuration.getHungTestDirectory());
+        assertThat(heapHistogram.getName()).endsWith(HungTestWatchdog.HEAP_HISTOGRAM_SUFFIX);
+    }
+
+    @Test
+    public void testTestFinishedInTimeShouldNotHaveAnyDumps() throws Exception {
+        ReporterConfiguration configuration = prepareConfiguration(String.valueOf(TIMEOUT));
+        Method testMethod = HungTest.class.getMethod("hang");
+        HungTest testInstance = new HungTest();
+
+        fire(new Before(testInstance, testMethod));
+        fire(new AfterTestLifecycleEvent(testInstance, testMethod));
+
+        assertThat(getHungTestReport(getTestMethodReport())).isNull();
+        assertThat(configuration.getHungTestDirectory()).doesNotExist();
+    }
+
+    @Test
+    public void testParallelInvocationsOfSameMethodShouldHaveTheirOwnWatches() throws Exception {
+        ReporterConfiguration configuration = prepareConfiguration(String.valueOf(TIMEOUT));
+        Method testMethod = HungTest.class.getMethod("hang");
+        HungTest firstInstance = new HungTest();
+        HungTest secondInstance = new HungTest();
+
+        ArquillianCoreReporterLifecycleManager manager =
+            getManager().getExtension(ArquillianCoreReporterLifecycleManager.class);
+
+        fire(new Before(firstInstance, testMethod));
+        fire(new Before(secondInstance, testMethod));
+        assertThat(getHungTestWatches(manager)).hasSize(2);
+
+        // a watch left running would capture the dumps of a test that has already finished
+        fire(new AfterTestLifecycleEvent(firstInstance, testMethod));
+        fire(new AfterTestLifecycleEvent(secondInstance, testMethod));
+        assertThat(getHungTestWatches(manager)).isEmpty();
+        assertThat(configuration.getHungTestDirectory()).doesNotExist();
+    }
+
+    private ReporterConfiguration prepareConfiguration(String hungTestThreshold) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("rootDirectory", temporaryFolder.getRoot().getAbsolutePath());
+        properties.put("hungTestThreshold", hungTestThreshold);
+        properties.put("hungTestHeapHistogram", "true");
+        ReporterConfiguration configuration = ReporterConfiguration.fromMap(properties);
+
+        bind(ApplicationScoped.class, ReporterConfiguration.class, configuration);
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+        return configuration;
+    }
+
+    private Map<?, ?> getHungTestWatches(ArquillianCoreReporterLifecycleManager manager) throws Exception {
+        Field hungTestWatches = ArquillianCoreReporterLifecycleManager.class.getDeclaredField("hungTestWatches");
+        hungTestWatches.setAccessible(true);
+        return (Map<?, ?>) hungTestWatches.get(manager);
+    }
+
+    private TestMethodReport getTestMethodReport() {
+        return executionStore.get().getExecutionReport().getTestSuiteReports().get(0).getTestClassReports().get(0)
+            .getTestMethodReports().get(0);
+    }
+
+    private FailureReport getHungTestReport(TestMethodReport testMethodReport) {
+        for (Report report : testMethodReport.getFailureReport().getSubReports()) {
+            if (HUNG_TEST_REPORT.equals(report.getName())) {
+                return (FailureReport) report;
+            }
+        }
+        return null;
+    }
+
+    private void waitForDumps(File dumpDirectory, int numberOfDumps) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (dumpDirectory.list() == null || dumpDirectory.list().length < numberOfDumps) {
+            assertThat(System.currentTimeMillis())
+                .as("The dumps should be written into " + dumpDirectory)
+                .isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    public static class HungTest {
+        public void hang() {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.arquillian.core.reporter.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.arquillian.core.reporter.impl.HungTestWatchdog.HEAP_HISTOGRAM_SUFFIX;
+import static org.arquillian.core.reporter.impl.HungTestWatchdog.THREAD_DUMP_SUFFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class HungTestWatchdogTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWatchOfHungTestShouldCaptureThreadDumpAndHeapHistogram() throws Exception {
+        File dumpDirectory = new File(temporaryFolder.getRoot(), "dumps");
+        HungTestWatchdog watchdog = new HungTestWatchdog(1, true, dumpDirectory);
+
+        HungTestWatchdog.Watch watch = watchdog.watch("org.example.HungTest.hang(slowly)");
+        waitForDumps(dumpDirectory, 2);
+        List<File> dumps = watch.stop();
+
+        assertThat(dumps).hasSize(2);
+        File threadDump = dumps.get(0);
+        File heapHistogram = dumps.get(1);
+        assertThat(threadDump)
+            .hasParent(dumpDirectory)
+            .hasName("001-org.example.HungTest.hang_slowly_" + THREAD_DUMP_SUFFIX);
+        assertThat(heapHistogram)
+            .hasParent(dumpDirectory)
+            .hasName("001-org.example.HungTest.hang_slowly_" + HEAP_HISTOGRAM_SUFFIX);
+
+        // the test thread is blocked in this method, so its whole stack trace has to be in the dump
+        assertThat(readWhenWritten(threadDump))
+            .contains("\"" + Thread.currentThread().getName() + "\"")
+            .contains(getClass().getName() + ".testWatchOfHungTestShouldCaptureThreadDumpAndHeapHistogram");
+        assertThat(readWhenWritten(heapHistogram)).contains(String.class.getName());
+    }
+
+    @Test
+    public void testWatchOfHungTestShouldCaptureOnlyThreadDumpWhenHeapHistogramIsDisabled() throws Exception {
+        File dumpDirectory = temporaryFolder.getRoot();
+        HungTestWatchdog watchdog = new HungTestWatchdog(1, false, dumpDirectory);
+
+        HungTestWatchdog.Watch watch = watchdog.watch("first");
+        waitForDumps(dumpDirectory, 1);
+        List<File> firstDumps = watch.stop();
+
+        watch = watchdog.watch("second");
+        waitForDumps(dumpDirectory, 2);
+        List<File> secondDumps = watch.stop();
+
+        assertThat(firstDumps).containsExactly(new File(dumpDirectory, "001-first" + THREAD_DUMP_SUFFIX));
+        assertThat(secondDumps).containsExactly(new File(dumpDirectory, "002-second" + THREAD_DUMP_SUFFIX));
+        assertThat(dumpDirectory.list()).hasSize(2);
+    }
+
+    @Test
+    public void testWatchStoppedInTimeShouldNotLeaveAnythingBehind() throws InterruptedException {
+        File dumpDirectory = new File(temporaryFolder.getRoot(), "dumps");
+        HungTestWatchdog watchdog = new HungTestWatchdog(200, true, dumpDirectory);
+
+        List<File> dumps = watchdog.watch("fast").stop();
+        // wait longer than the threshold to verify that the canceled capture doesn't run
+        Thread.sleep(400);
+
+        assertThat(dumps).isEmpty();
+        assertThat(dumpDirectory).doesNotExist();
+    }
+
+    private void waitForDumps(File dumpDirectory, int numberOfDumps) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (countFiles(dumpDirectory) < numberOfDumps) {
+            assertThat(System.currentTimeMillis())
+                .as("The dumps should be written into " + dumpDirectory)
+                .isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private int countFiles(File directory) {
+        String[] files = directory.list();
+        return files == null ? 0 : files.length;
+    }
+
+    // the dumps are written by the watchdog thread, so the file can exist before its content is complete
+    private String readWhenWritten(File file) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        long size = -1;
+        while (size != file.length() || size == 0) {
+            assertThat(System.currentTimeMillis()).as("The dump " + file + " should be written").isLessThan(deadline);
+            size = file.length();
+            Thread.sleep(50);
+        }
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package org.arquillian.core.reporter.impl;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.arquillian.core.reporter.impl.ResourceProbe.ALLOCATED_BYTES;
+import static org.arquillian.core.reporter.impl.ResourceProbe.CPU_TIME;
+import static org.arquillian.core.reporter.impl.ResourceProbe.GC_COUNT;
+import static org.arquillian.core.reporter.impl.ResourceProbe.GC_TIME;
+import static org.arquillian.core.reporter.impl.ResourceProbe.LIVE_THREADS;
+import static org.arquillian.core.reporter.impl.ResourceProbe.UNSUPPORTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ResourceProbeTest {
+
+    @Test
+    public void testDeltasShouldBeComputedFromValuesSampledAtStartAndStop() {
+        com.sun.management.ThreadMXBean threadMXBean = mock(com.sun.management.ThreadMXBean.class);
+        when(threadMXBean.isThreadAllocatedMemorySupported()).thenReturn(true);
+        when(threadMXBean.isThreadAllocatedMemoryEnabled()).thenReturn(true);
+        when(threadMXBean.isCurrentThreadCpuTimeSupported()).thenReturn(true);
+        when(threadMXBean.isThreadCpuTimeEnabled()).thenReturn(true);
+        when(threadMXBean.getThreadAllocatedBytes(anyLong())).thenReturn(1000L, 5000L);
+        when(threadMXBean.getCurrentThreadCpuTime()).thenReturn(200L, 700L);
+        when(threadMXBean.getThreadCount()).thenReturn(10, 12);
+
+        GarbageCollectorMXBean youngCollector = mockGarbageCollector(3, 5, 30, 50);
+        // a collector returns -1 when the value is undefined
+        GarbageCollectorMXBean oldCollector = mockGarbageCollector(-1, 1, -1, 100);
+
+        ResourceProbe probe = new ResourceProbe(threadMXBean, Arrays.asList(youngCollector, oldCollector));
+        probe.start();
+        long[] deltas = probe.stop();
+
+        assertThat(deltas[ALLOCATED_BYTES]).isEqualTo(4000);
+        assertThat(deltas[CPU_TIME]).isEqualTo(500);
+        assertThat(deltas[GC_COUNT]).isEqualTo(3);
+        assertThat(deltas[GC_TIME]).isEqualTo(120);
+        assertThat(deltas[LIVE_THREADS]).isEqualTo(2);
+    }
+
+    @Test
+    public void testDeltasOfUnsupportedValuesShouldBeUnsupported() {
+        ThreadMXBean threadMXBean = mock(ThreadMXBean.class);
+        when(threadMXBean.isCurrentThreadCpuTimeSupported()).thenReturn(false);
+        when(threadMXBean.getThreadCount()).thenReturn(10, 9);
+
+        ResourceProbe probe = new ResourceProbe(threadMXBean, Collections.emptyList());
+        probe.start();
+        long[] deltas = probe.stop();
+
+        assertThat(deltas[ALLOCATED_BYTES]).isEqualTo(UNSUPPORTED);
+        assertThat(deltas[CPU_TIME]).isEqualTo(UNSUPPORTED);
+        assertThat(deltas[GC_COUNT]).isEqualTo(0);
+        assertThat(deltas[GC_TIME]).isEqualTo(0);
+        assertThat(deltas[LIVE_THREADS]).isEqualTo(-1);
+    }
+
+    @Test
+    public void testDisabledCpuTimeShouldBeUnsupported() {
+        com.sun.management.ThreadMXBean threadMXBean = mock(com.sun.management.ThreadMXBean.class);
+        when(threadMXBean.isThreadAllocatedMemorySupported()).thenReturn(true);
+        when(threadMXBean.isThreadAllocatedMemoryEnabled()).thenReturn(false);
+        when(threadMXBean.isCurrentThreadCpuTimeSupported()).thenReturn(true);
+        when(threadMXBean.isThreadCpuTimeEnabled()).thenReturn(false);
+
+        ResourceProbe probe = new ResourceProbe(threadMXBean, Collections.emptyList());
+        probe.start();
+        long[] deltas = probe.stop();
+
+        assertThat(deltas[ALLOCATED_BYTES]).isEqualTo(UNSUPPORTED);
+        assertThat(deltas[CPU_TIME]).isEqualTo(UNSUPPORTED);
+    }
+
+    @Test
+    public void testProbesOfDifferentThreadsShouldNotAffectEachOther() throws InterruptedException {
+        ThreadMXBean threadMXBean = mock(ThreadMXBean.class);
+        when(threadMXBean.getThreadCount()).thenReturn(10, 100, 200, 20);
+
+        ResourceProbe probe = new ResourceProbe(threadMXBean, Collections.emptyList());
+        probe.start();
+
+        long[] otherThreadDeltas = new long[1];
+        Thread otherThread = new Thread(() -> {
+            probe.start();
+            otherThreadDeltas[0] = probe.stop()[LIVE_THREADS];
+        });
+        otherThread.start();
+        otherThread.join();
+
+        assertThat(otherThreadDeltas[0]).isEqualTo(100);
+        assertThat(probe.stop()[LIVE_THREADS]).isEqualTo(10);
+    }
+
+    private GarbageCollectorMXBean mockGarbageCollector(long startCount, long stopCount, long startTime,
+        long stopTime) {
+        GarbageCollectorMXBean collector = mock(GarbageCollectorMXBean.class);
+        when(collector.getCollectionCount()).thenReturn(startCount, stopCount);
+        when(collector.getCollectionTime()).thenReturn(startTime, stopTime);
+        return collector;
+    }
+}
@@ -0,0 +1,120 @@
+package org.arquillian.reporter.api.builder;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Creates instances of a {@link Builder} implementation class. The public constructors of the class are looked up and
+ * made accessible only once when the factory is created, so creating a builder doesn't require any reflective lookup.
+ *
+ * @param <T> The type of the builder
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class BuilderFactory<T extends Builder> {
+
+    private static final Logger log = Logger.getLogger(BuilderFactory.class.getName());
+
+    private final Class<T> implClass;
+    private final Constructor<T>[] constructors;
+    private final Class<?>[][] constructorParameterTypes;
+
+    BuilderFactory(Class<T> implClass) {
+        this.implClass = implClass;
+        this.constructors = (Constructor<T>[]) implClass.getConstructors();
+        this.constructorParameterTypes = new Class<?>[constructors.length][];
+        for (int i = 0; i < constructors.length; i++) {
+            makeAccessible(constructors[i]);
+            constructorParameterTypes[i] = constructors[i].getParameterTypes();
+        }
+    }
+
+    /**
+     * Returns the implementation class the builders are created for
+     *
+     * @return The implementation class the builders are created for
+     */
+    Class<T> getImplementationClass() {
+        return implClass;
+    }
+
+    /**
+     * Creates a new instance of the builder using the given constructor parameters. If the implementation class has
+     * only one public constructor, then it is used; otherwise the first one that matches the types of the given
+     * parameters is used.
+     *
+     * @param constructParams Constructor parameters that should be used for instantiating of the builder
+     * @return A new instance of the builder
+     */
+    T create(Object... constructParams) {
+        Constructor<T> constructor = getMatchingConstructor(constructParams);
+        if (constructor == null) {
+            Class<?>[] expectedClasses =
+                Arrays.stream(constructParams).map(param -> param.getClass()).toArray(Class<?>[]::new);
+            log.warning(String.format(
+                "It wasn't possible to find any constructor method of the class %s with expected set of constructor parameter types: %s",
+                implClass, Arrays.asList(constructParams)));
+            constructor = getDeclaredConstructor(expectedClasses);
+        }
+        try {
+            return constructor.newInstance(constructParams);
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            throw new RuntimeException("Could not create new instance of " + implClass, e);
+        }
+    }
+
+    private Constructor<T> getMatchingConstructor(Object[] constructParams) {
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+        for (int i = 0; i < constructors.length; i++) {
+            if (matches(constructorParameterTypes[i], constructParams)) {
+                return constructors[i];
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(Class<?>[] parameterTypes, Object[] constructParams) {
+        if (parameterTypes.length != constructParams.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!parameterTypes[i].isAssignableFrom(constructParams[i].getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Constructor<T> getDeclaredConstructor(Class<?>[] argumentTypes) {
+        try {
+            Constructor<T> constructor =
+                AccessController.doPrivileged(new PrivilegedExceptionAction<Constructor<T>>() {
+                    public Constructor<T> run() throws NoSuchMethodException {
+                        return implClass.getDeclaredConstructor(argumentTypes);
+                    }
+                });
+            makeAccessible(constructor);
+            return constructor;
+        } catch (PrivilegedActionException pae) {
+            throw new RuntimeException("Could not create new instance of " + implClass, pae.getCause());
+        }
+    }
+
+    private static void makeAccessible(Constructor<?> constructor) {
+        if (!constructor.isAccessible()) {
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    constructor.setAccessible(true);
+                    return null;
+                }
+            });
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package org.arquillian.reporter.api.builder;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * A registry that keeps builder interfaces and their implementations.
+ * A registry that keeps builder interfaces and factories of their implementations.
+ * <p>
+ * The registry is read on every creation of a builder but changed only when the builders are loaded, so it is kept as
+ * an immutable snapshot that is replaced (copied and published) with every change. Reading doesn't require any lock.
+ * </p>
  *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 class BuilderRegistry {
 
-    private static final Map<Class<? extends Builder>, Class<? extends Builder>> builderRegistry = new HashMap<>();
+    private static final Object registryLock = new Object();
+    private static volatile Map<Class<? extends Builder>, BuilderFactory<?>> builderRegistry = Collections.emptyMap();
 
     private BuilderRegistry() {
     }
@@ -23,9 +29,19 @@ class BuilderRegistry {
      * @return An implementation class of the given {@link Builder} interface
      */
     static <T extends Builder> Class<T> getImplementationForBuilder(Class<T> builder) {
-        synchronized (builderRegistry) {
-            return (Class<T>) builderRegistry.get(builder);
-        }
+        BuilderFactory<T> factory = getFactoryForBuilder(builder);
+        return factory != null ? factory.getImplementationClass() : null;
+    }
+
+    /**
+     * Returns a factory creating instances of the implementation of the given {@link Builder} interface
+     *
+     * @param builder A {@link Builder} interface a factory we are looking for
+     * @param <T>     Builder type
+     * @return A factory creating instances of the implementation of the given {@link Builder} interface
+     */
+    static <T extends Builder> BuilderFactory<T> getFactoryForBuilder(Class<T> builder) {
+        return (BuilderFactory<T>) builderRegistry.get(builder);
     }
 
     /**
@@ -36,8 +52,20 @@ class BuilderRegistry {
      * @param <T>           Builder type
      */
     static <T> void addServiceToBuilderRegistry(Class<T> interfaceName, Class<? extends T> className) {
-        synchronized (builderRegistry) {
-            builderRegistry.put((Class<? extends Builder>) interfaceName, (Class<? extends Builder>) className);
+        addServicesToBuilderRegistry(Collections.singletonMap(interfaceName, className));
+    }
+
+    /**
+     * Adds all the given implementation classes of {@link Builder} interfaces to the registry and publishes them at once
+     *
+     * @param services A map of {@link Builder} interfaces and their implementation classes
+     */
+    static void addServicesToBuilderRegistry(Map<? extends Class<?>, ? extends Class<?>> services) {
+        synchronized (registryLock) {
+            Map<Class<? extends Builder>, BuilderFactory<?>> newRegistry = new HashMap<>(builderRegistry);
+            services.forEach((interfaceName, className) -> newRegistry
+                .put((Class<? extends Builder>) interfaceName, new BuilderFactory<>((Class<? extends Builder>) className)));
+            builderRegistry = Collections.unmodifiableMap(newRegistry);
         }
     }
 }
@@ -10,7 +10,6 @@ import org.arquillian.reporter.api.builder.Builder;
 import org.arquillian.reporter.api.builder.Reporter;
 import org.arquillian.reporter.api.event.SectionEvent;
 import org.arquillian.reporter.api.model.StringKey;
-import org.arquillian.reporter.api.model.UnknownStringKey;
 import org.arquillian.reporter.api.model.entry.Entry;
 import org.arquillian.reporter.api.model.entry.KeyValueEntry;
 import org.arquillian.reporter.api.model.entry.StringEntry;
@@ -36,7 +35,7 @@ public abstract class AbstractReportBuilder<BUILDERTYPE extends ReportBuilder<BU
 
     @Override
     public BUILDERTYPE feedKeyValueListFromMap(Map<String, String> keyValueMap) {
-        keyValueMap.forEach((k, v) -> getReport().getEntries().add(new KeyValueEntry(new UnknownStringKey(k), v)));
+        keyValueMap.forEach((k, v) -> getReport().getEntries().add(KeyValueEntry.withSharedKey(k, v)));
         return (BUILDERTYPE) this;
     }
 
@@ -91,7 +90,7 @@ public abstract class AbstractReportBuilder<BUILDERTYPE extends ReportBuilder<BU
 
     @Override
     public BUILDERTYPE addKeyValueEntry(String key, String value) {
-        report.getEntries().add(new KeyValueEntry(new UnknownStringKey(key), value));
+        report.getEntries().add(KeyValueEntry.withSharedKey(key, value));
         return (BUILDERTYPE) this;
     }
 
@@ -103,7 +102,7 @@ public abstract class AbstractReportBuilder<BUILDERTYPE extends ReportBuilder<BU
 
     @Override
     public BUILDERTYPE addKeyValueEntry(StringKey key, boolean value) {
-        addKeyValueEntry(key, String.valueOf(value));
+        report.getEntries().add(KeyValueEntry.withSharedValue(key, String.valueOf(value)));
         return (BUILDERTYPE) this;
     }
 
@@ -136,7 +136,8 @@ public interface ReportBuilder<BUILDERTYPE extends ReportBuilder, REPORTTYPE ext
      * Adds the given {@link StringKey} and boolean as a {@link KeyValueEntry} into the list of entries in the associated {@link Report} instance
      *
      * @param key   A {@link StringKey} to be added as key of the {@link KeyValueEntry}
-     * @param value A boolean to be added as value of the {@link KeyValueEntry}. It is stored as an {@link UnknownStringKey}
+     * @param value A boolean to be added as value of the {@link KeyValueEntry}. It is stored as a shared
+     *              {@link org.arquillian.reporter.api.model.entry.StringEntry} (see {@link KeyValueEntry#withSharedValue})
      * @return The same instance of {@link ReportBuilder} with modified {@link Report} instance
      */
     BUILDERTYPE addKeyValueEntry(StringKey key, boolean value);
@@ -0,0 +1,46 @@
+package org.arquillian.reporter.api.builder.report;
+
+import org.arquillian.reporter.api.builder.Builder;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.SectionEventBatch;
+import org.arquillian.reporter.api.model.report.Report;
+import org.jboss.arquillian.core.api.Event;
+
+/**
+ * Builder for firing several {@link SectionEvent}s at once as one {@link SectionEventBatch}. It is meant to be used
+ * by extensions that report many small reports (eg. one report per HTTP request) - instead of firing every report
+ * separately, the reports are collected and then fired together.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public interface SectionEventBatchBuilder extends Builder {
+
+    /**
+     * Sets the given {@link Report} into the given {@link SectionEvent} and adds the section into the batch. If the
+     * report is not of the type the section expects, then it is added into the list of sub-reports of a report that is
+     * associated with the given {@link SectionEvent} (the same as when a single section event is fired)
+     *
+     * @param report       A {@link Report} to be reported
+     * @param sectionEvent A {@link SectionEvent} the report belongs to
+     * @return Same instance of SectionEventBatchBuilder
+     */
+    SectionEventBatchBuilder add(Report report, SectionEvent sectionEvent);
+
+    /**
+     * Sets the given {@link Report} into the given {@link SectionEvent} and adds the section into the batch. The report
+     * will be added into the list of sub-reports of a report that is associated with the given {@link SectionEvent}
+     *
+     * @param report       A {@link Report} to be reported
+     * @param sectionEvent A {@link SectionEvent} the report belongs to
+     * @return Same instance of SectionEventBatchBuilder
+     */
+    SectionEventBatchBuilder addAsSubReport(Report report, SectionEvent sectionEvent);
+
+    /**
+     * Fire an arquillian {@link SectionEventBatch} containing all {@link SectionEvent}s added in previous steps
+     *
+     * @param injectedSectionEvent A {@link Event<SectionEvent>} to be used for firing
+     * @return The fired {@link SectionEventBatch}
+     */
+    SectionEventBatch fire(Event<SectionEvent> injectedSectionEvent);
+}
@@ -0,0 +1,57 @@
+package org.arquillian.reporter.api.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.arquillian.reporter.api.model.report.BasicReport;
+
+/**
+ * A composite {@link SectionEvent} that carries several section events (each of them with its report) that are fired
+ * as one Arquillian event. The batch itself doesn't represent any section and doesn't carry any report - the Reporter
+ * processes the contained section events in the order they have been added; the events that belong to the same node
+ * of the section tree are merged together.
+ * <p>
+ * Note that observers of specific types of section events are not notified about the contained events.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class SectionEventBatch extends SectionEvent<SectionEventBatch, BasicReport, SectionEvent> {
+
+    private final List<SectionEvent> sectionEvents = new ArrayList<>();
+
+    /**
+     * Creates an empty instance of {@link SectionEventBatch}
+     */
+    public SectionEventBatch() {
+    }
+
+    /**
+     * Adds the given {@link SectionEvent} at the end of the batch
+     *
+     * @param sectionEvent A {@link SectionEvent} (with its report already set) to be added
+     */
+    public void addSectionEvent(SectionEvent sectionEvent) {
+        sectionEvents.add(sectionEvent);
+    }
+
+    /**
+     * Returns an unmodifiable list of the contained {@link SectionEvent}s in the order they have been added
+     *
+     * @return An unmodifiable list of the contained {@link SectionEvent}s
+     */
+    public List<SectionEvent> getSectionEvents() {
+        return Collections.unmodifiableList(sectionEvents);
+    }
+
+    @Override
+    public SectionEvent getParentSectionThisSectionBelongsTo() {
+        return null;
+    }
+
+    @Override
+    public Class<BasicReport> getReportTypeClass() {
+        return BasicReport.class;
+    }
+}
@@ -201,4 +201,22 @@ public class TestClassConfigurationSection
     public void setTestSuiteId(String testSuiteId) {
         this.testSuiteId = testSuiteId;
     }
+
+    /**
+     * Returns a test suite id of the {@link TestSuiteSection} this section belongs to
+     *
+     * @return A test suite id of the {@link TestSuiteSection} this section belongs to
+     */
+    public String getTestSuiteId() {
+        return testSuiteId;
+    }
+
+    /**
+     * Returns a test class this {@link TestClassConfigurationSection} relates to
+     *
+     * @return A test class this {@link TestClassConfigurationSection} relates to
+     */
+    public Class<?> getTestClass() {
+        return testClass;
+    }
 }
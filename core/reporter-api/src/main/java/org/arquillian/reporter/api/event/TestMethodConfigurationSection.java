@@ -216,4 +216,13 @@ public class TestMethodConfigurationSection
     public String getTestSuiteId() {
         return testSuiteId;
     }
+
+    /**
+     * Returns a test method this {@link TestMethodConfigurationSection} relates to
+     *
+     * @return A test method this {@link TestMethodConfigurationSection} relates to
+     */
+    public Method getTestMethod() {
+        return testMethod;
+    }
 }
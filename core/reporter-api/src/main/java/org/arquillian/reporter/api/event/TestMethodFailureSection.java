@@ -215,4 +215,13 @@ public class TestMethodFailureSection extends SectionEvent<TestMethodFailureSect
     public String getTestSuiteId() {
         return testSuiteId;
     }
+
+    /**
+     * Returns a test method this {@link TestMethodFailureSection} relates to
+     *
+     * @return A test method this {@link TestMethodFailureSection} relates to
+     */
+    public Method getTestMethod() {
+        return testMethod;
+    }
 }
@@ -126,4 +126,13 @@ public class TestSuiteConfigurationSection
     @Override public Class<ConfigurationReport> getReportTypeClass() {
         return ConfigurationReport.class;
     }
+
+    /**
+     * Returns a test suite id of the {@link TestSuiteSection} this section belongs to
+     *
+     * @return A test suite id of the {@link TestSuiteSection} this section belongs to
+     */
+    public String getTestSuiteId() {
+        return testSuiteId;
+    }
 }
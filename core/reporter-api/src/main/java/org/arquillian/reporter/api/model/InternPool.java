@@ -0,0 +1,60 @@
+package org.arquillian.reporter.api.model;
+
+import java.util.function.Function;
+
+import org.arquillian.reporter.api.utils.BoundedCache;
+
+/**
+ * A bounded pool of canonical instances created for string values. When the pool is full, then the least recently used
+ * instances are evicted, so the pool never holds more than the given number of instances. The pool is backed by
+ * a {@link BoundedCache}, so looking up an instance doesn't take any lock. Strings longer than the given limit are not
+ * pooled at all - for every such string a new instance is created.
+ * <p>
+ * The pooled instances are shared by all their users, so they must not be modified.
+ * </p>
+ *
+ * @param <T> Type of the pooled instances
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class InternPool<T> {
+
+    public static final int DEFAULT_MAX_SIZE = 4096;
+    public static final int DEFAULT_MAX_LENGTH_OF_STRING = 128;
+
+    private final Function<String, T> factory;
+    private final int maxLengthOfString;
+    private final BoundedCache<String, T> pool;
+
+    public InternPool(Function<String, T> factory) {
+        this(factory, DEFAULT_MAX_SIZE, DEFAULT_MAX_LENGTH_OF_STRING);
+    }
+
+    public InternPool(Function<String, T> factory, int maxSize, int maxLengthOfString) {
+        this.factory = factory;
+        this.maxLengthOfString = maxLengthOfString;
+        this.pool = new BoundedCache<>(maxSize);
+    }
+
+    /**
+     * Returns the canonical instance for the given string. If there is no such an instance in the pool, then it is
+     * created using the factory and (if the string is not too long) stored in the pool.
+     *
+     * @param value A string value the instance should be returned for
+     * @return The canonical instance for the given string
+     */
+    public T intern(String value) {
+        if (value == null || value.length() > maxLengthOfString) {
+            return factory.apply(value);
+        }
+        return pool.computeIfAbsent(value, factory);
+    }
+
+    /**
+     * Returns number of the instances currently stored in the pool
+     *
+     * @return Number of the instances currently stored in the pool
+     */
+    public int size() {
+        return pool.size();
+    }
+}
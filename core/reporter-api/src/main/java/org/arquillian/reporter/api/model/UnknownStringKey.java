@@ -7,7 +7,65 @@ package org.arquillian.reporter.api.model;
  */
 public class UnknownStringKey extends AbstractStringKey {
 
+    private static final InternPool<UnknownStringKey> POOL = new InternPool<>(UnknownStringKey::createShared);
+
+    // the canonical instances are shared by many reports, so they cannot be modified
+    private transient boolean shared;
+
     public UnknownStringKey(String stringValue) {
         setValue(stringValue);
     }
+
+    /**
+     * Returns a canonical instance of {@link UnknownStringKey} with the given value. The returned instance is shared,
+     * so it cannot be modified - all its setters throw an {@link UnsupportedOperationException}.
+     * A {@link org.arquillian.reporter.api.model.entry.KeyValueEntry} containing the shared instance returns its
+     * private copy instead.
+     *
+     * @param stringValue A string value of the key
+     * @return A canonical instance of {@link UnknownStringKey} with the given value
+     */
+    public static UnknownStringKey intern(String stringValue) {
+        return POOL.intern(stringValue);
+    }
+
+    @Override
+    public void setValue(String value) {
+        checkNotShared();
+        super.setValue(value);
+    }
+
+    @Override
+    public void setDescription(String description) {
+        checkNotShared();
+        super.setDescription(description);
+    }
+
+    @Override
+    public void setIcon(String icon) {
+        checkNotShared();
+        super.setIcon(icon);
+    }
+
+    /**
+     * Returns whether this instance is the canonical (shared) one that cannot be modified
+     *
+     * @return Whether this instance is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    private void checkNotShared() {
+        if (shared) {
+            throw new UnsupportedOperationException(
+                "The shared instance of UnknownStringKey [" + getValue() + "] cannot be modified");
+        }
+    }
+
+    private static UnknownStringKey createShared(String stringValue) {
+        UnknownStringKey key = new UnknownStringKey(stringValue);
+        key.shared = true;
+        return key;
+    }
 }
@@ -0,0 +1,104 @@
+package org.arquillian.reporter.api.model.entry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * An {@link Entry} representing a stack trace of a failure. The entry is identified by a signature - a hash of the
+ * content of the stack trace. When the entry is reported, the Reporter stores the stack trace in a table of failure
+ * traces of the whole execution (where every unique stack trace is stored only once) and the entry then keeps only
+ * the signature referencing the stack trace stored in the table.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class FailureTraceEntry implements Entry {
+
+    public static final String TRACE_SIGNATURE_FIELD = "traceSignature";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private String traceSignature;
+    private String stackTrace;
+
+    /**
+     * Build object by computing the signature of the given stack trace.
+     * @param stackTrace stack trace of the failure.
+     */
+    public FailureTraceEntry(String stackTrace) {
+        this(getSignature(stackTrace), stackTrace);
+    }
+
+    /**
+     * Build object by setting the signature and the stack trace.
+     * @param traceSignature signature of the stack trace.
+     * @param stackTrace stack trace of the failure; null if it is stored only in the table of failure traces.
+     */
+    public FailureTraceEntry(String traceSignature, String stackTrace) {
+        this.traceSignature = traceSignature;
+        this.stackTrace = stackTrace;
+    }
+
+    public String getTraceSignature() {
+        return traceSignature;
+    }
+
+    /**
+     * Returns the stack trace of the failure. Once the stack trace has been stored in the table of failure traces of
+     * the execution, the execution report keeps only a copy of this entry without the stack trace - then it has to be
+     * looked up in the table using the signature.
+     *
+     * @return The stack trace or null if it is stored only in the table of failure traces
+     */
+    public String getStackTrace() {
+        return stackTrace;
+    }
+
+    public void setStackTrace(String stackTrace) {
+        this.stackTrace = stackTrace;
+    }
+
+    /**
+     * Computes the signature of the given stack trace - a SHA-1 hash of its content
+     *
+     * @param stackTrace A stack trace the signature should be computed for
+     * @return The signature of the given stack trace as a hexadecimal string
+     */
+    public static String getSignature(String stackTrace) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-1").digest(stackTrace.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // every implementation of the Java platform is required to support SHA-1
+            throw new IllegalStateException(e);
+        }
+        char[] signature = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            signature[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+            signature[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(signature);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        FailureTraceEntry that = (FailureTraceEntry) o;
+
+        return traceSignature != null ? traceSignature.equals(that.traceSignature) : that.traceSignature == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return traceSignature != null ? traceSignature.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "FailureTraceEntry{" +
+            "traceSignature='" + traceSignature + '\'' +
+            '}';
+    }
+}
@@ -0,0 +1,216 @@
+package org.arquillian.reporter.api.model.entry;
+
+import java.util.Arrays;
+
+import com.google.gson.annotations.JsonAdapter;
+
+/**
+ * An {@link Entry} representing a histogram of recorded values (eg. durations in milliseconds). The values are
+ * recorded into log-linear buckets (in the same way as HDR histograms do): the values lower than
+ * {@link #SUB_BUCKET_COUNT} are recorded exactly, the higher ones are recorded with a relative precision of
+ * 2 / {@link #SUB_BUCKET_COUNT}. Recording a value is a constant-time operation and the size of the histogram grows
+ * only logarithmically with the highest recorded value, so percentiles can be computed from it without keeping all
+ * recorded values.
+ * <p>
+ * The histogram is serialized with the total count, min, max, mean, the {@link #REPORTED_PERCENTILES} and all
+ * non-empty buckets - see {@link HistogramEntryJsonAdapter}.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@JsonAdapter(HistogramEntryJsonAdapter.class)
+public class HistogramEntry implements Entry {
+
+    public static final int SUB_BUCKET_BITS = 7;
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    public static final double[] REPORTED_PERCENTILES = {50, 95, 99};
+
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private long[] counts = new long[SUB_BUCKET_COUNT];
+    private long totalCount;
+    private long min;
+    private long max;
+    private long sum;
+
+    /**
+     * Records the given value. Negative values are recorded as 0.
+     *
+     * @param value A value to be recorded
+     */
+    public void recordValue(long value) {
+        recordValue(value, 1);
+    }
+
+    /**
+     * Records the given value the given number of times. Negative values are recorded as 0.
+     *
+     * @param value A value to be recorded
+     * @param count A number of occurrences of the value
+     */
+    public synchronized void recordValue(long value, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long recorded = Math.max(value, 0);
+        int index = getBucketIndex(recorded);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + SUB_BUCKET_HALF_COUNT));
+        }
+        counts[index] += count;
+        if (totalCount == 0) {
+            min = recorded;
+            max = recorded;
+        } else {
+            min = Math.min(min, recorded);
+            max = Math.max(max, recorded);
+        }
+        totalCount += count;
+        sum += recorded * count;
+    }
+
+    /**
+     * Adds all values recorded in the given histogram into this one
+     *
+     * @param histogram A histogram whose values should be added
+     */
+    public void add(HistogramEntry histogram) {
+        if (histogram == null || histogram == this) {
+            return;
+        }
+        long[] otherCounts;
+        long otherTotalCount;
+        long otherMin;
+        long otherMax;
+        long otherSum;
+        synchronized (histogram) {
+            otherCounts = histogram.counts.clone();
+            otherTotalCount = histogram.totalCount;
+            otherMin = histogram.min;
+            otherMax = histogram.max;
+            otherSum = histogram.sum;
+        }
+        if (otherTotalCount == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (otherCounts.length > counts.length) {
+                counts = Arrays.copyOf(counts, otherCounts.length);
+            }
+            for (int i = 0; i < otherCounts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            if (totalCount == 0) {
+                min = otherMin;
+                max = otherMax;
+            } else {
+                min = Math.min(min, otherMin);
+                max = Math.max(max, otherMax);
+            }
+            totalCount += otherTotalCount;
+            sum += otherSum;
+        }
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getMin() {
+        return min;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    public synchronized long getSum() {
+        return sum;
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Returns the value at the given percentile - the highest value equivalent (in the precision of the histogram) to
+     * the value that is greater than or equal to the given percentage of all recorded values
+     *
+     * @param percentile A percentile in the range from 0 to 100
+     * @return The value at the given percentile, or 0 if there is no value recorded
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double boundedPercentile = Math.min(Math.max(percentile, 0), 100);
+        long countAtPercentile = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= countAtPercentile) {
+                return Math.max(min, Math.min(max, getHighestEquivalentValue(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns counts of all buckets that contain any value; the even positions contain the lowest values of the
+     * buckets, the odd positions contain the counts.
+     *
+     * @return Pairs of the lowest values of the non-empty buckets and their counts
+     */
+    public synchronized long[] getNonEmptyBuckets() {
+        long[] buckets = new long[counts.length * 2];
+        int size = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buckets[size++] = getLowestEquivalentValue(i);
+                buckets[size++] = counts[i];
+            }
+        }
+        return Arrays.copyOf(buckets, size);
+    }
+
+    /**
+     * Sets the statistics that cannot be computed back from the buckets - used when the histogram is deserialized.
+     */
+    synchronized void setStatistics(long min, long max, long sum) {
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long getLowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        return (long) (index - shift * SUB_BUCKET_HALF_COUNT) << shift;
+    }
+
+    static long getHighestEquivalentValue(int index) {
+        return getLowestEquivalentValue(index + 1) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramEntry{" +
+            "totalCount=" + getTotalCount() +
+            ", min=" + getMin() +
+            ", max=" + getMax() +
+            ", p50=" + getValueAtPercentile(50) +
+            ", p95=" + getValueAtPercentile(95) +
+            ", p99=" + getValueAtPercentile(99) +
+            '}';
+    }
+}
@@ -0,0 +1,107 @@
+package org.arquillian.reporter.api.model.entry;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * A Gson {@link TypeAdapter} that serializes a {@link HistogramEntry} as an object with one field "histogram" that
+ * contains the total count, min, max, mean, the {@link HistogramEntry#REPORTED_PERCENTILES} (eg. "p95") and
+ * the non-empty buckets as a map of the lowest values of the buckets to their counts. The percentiles are written only
+ * for the consumers of the report; the histogram is read back from the buckets.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class HistogramEntryJsonAdapter extends TypeAdapter<HistogramEntry> {
+
+    public static final String HISTOGRAM_FIELD = "histogram";
+
+    @Override
+    public void write(JsonWriter out, HistogramEntry histogram) throws IOException {
+        if (histogram == null) {
+            out.nullValue();
+            return;
+        }
+        long[] buckets;
+        synchronized (histogram) {
+            out.beginObject();
+            out.name(HISTOGRAM_FIELD).beginObject();
+            out.name("totalCount").value(histogram.getTotalCount());
+            out.name("min").value(histogram.getMin());
+            out.name("max").value(histogram.getMax());
+            out.name("sum").value(histogram.getSum());
+            out.name("mean").value(histogram.getMean());
+            for (double percentile : HistogramEntry.REPORTED_PERCENTILES) {
+                out.name("p" + (long) percentile).value(histogram.getValueAtPercentile(percentile));
+            }
+            buckets = histogram.getNonEmptyBuckets();
+        }
+        out.name("buckets").beginObject();
+        for (int i = 0; i < buckets.length; i += 2) {
+            out.name(String.valueOf(buckets[i])).value(buckets[i + 1]);
+        }
+        out.endObject();
+        out.endObject();
+        out.endObject();
+    }
+
+    @Override
+    public HistogramEntry read(JsonReader in) throws IOException {
+        HistogramEntry histogram = new HistogramEntry();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (HISTOGRAM_FIELD.equals(in.nextName())) {
+                histogram = readHistogram(in);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return histogram;
+    }
+
+    /**
+     * Reads the content of the "histogram" field - the reader has to be positioned at the beginning of its value
+     *
+     * @param in A {@link JsonReader} to read the histogram from
+     * @return The read histogram
+     * @throws IOException If anything bad happens when the histogram is being read
+     */
+    public static HistogramEntry readHistogram(JsonReader in) throws IOException {
+        HistogramEntry histogram = new HistogramEntry();
+        long min = 0;
+        long max = 0;
+        long sum = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "min":
+                    min = in.nextLong();
+                    break;
+                case "max":
+                    max = in.nextLong();
+                    break;
+                case "sum":
+                    sum = in.nextLong();
+                    break;
+                case "buckets":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        long lowestValue = Long.parseLong(in.nextName());
+                        histogram.recordValue(lowestValue, in.nextLong());
+                    }
+                    in.endObject();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        histogram.setStatistics(min, max, sum);
+        return histogram;
+    }
+}
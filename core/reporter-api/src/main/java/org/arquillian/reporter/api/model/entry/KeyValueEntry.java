@@ -5,6 +5,17 @@ import org.arquillian.reporter.api.model.UnknownStringKey;
 
 /**
  * An {@link Entry} representing a key-value pair. The key is stored as a {@link StringKey} and value as an {@link Entry}
+ * <p>
+ * The constructors always create new instances of the key and the value given as a String. To share the same keys and
+ * the known low-cardinality values (eg. booleans or protocol names) across all reports instead of duplicating them, use
+ * the methods {@link #withSharedKey(String, String)} and {@link #withSharedValue(StringKey, String)} - they use the
+ * canonical instances of {@link UnknownStringKey} and {@link StringEntry}.
+ * </p>
+ * <p>
+ * The entry stays modifiable even if it contains a shared key or value - the shared instance is copy-on-write: the
+ * getters replace it with a private copy before returning it, so the caller can modify the returned instance without
+ * affecting any other report.
+ * </p>
  *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
@@ -58,25 +69,69 @@ public class KeyValueEntry implements Entry {
     }
 
     /**
-     * Returns the actual key
+     * Creates an instance of {@link KeyValueEntry} with the canonical (shared) instance of {@link UnknownStringKey}
+     * representing the given key and with a new instance of {@link StringEntry} representing the given value
+     *
+     * @param key   A String value to be added as a shared {@link UnknownStringKey} key
+     * @param value A String value to be added as an {@link UnknownStringKey} in an {@link StringEntry} value
+     * @return An instance of {@link KeyValueEntry} with the shared key
+     */
+    public static KeyValueEntry withSharedKey(String key, String value) {
+        return new KeyValueEntry(UnknownStringKey.intern(key), new StringEntry(value));
+    }
+
+    /**
+     * Creates an instance of {@link KeyValueEntry} with the given key and the canonical (shared) instance of
+     * {@link StringEntry} representing the given value. It should be used only for values having a low cardinality
+     * (eg. booleans, names of protocols or deployments), as any other values would only pollute the pool of the
+     * shared instances.
+     *
+     * @param key   An {@link StringKey} to be added as a key
+     * @param value A String value to be added as a shared {@link StringEntry} value
+     * @return An instance of {@link KeyValueEntry} with the given key and the shared value
+     */
+    public static KeyValueEntry withSharedValue(StringKey key, String value) {
+        return new KeyValueEntry(key, StringEntry.intern(value));
+    }
+
+    /**
+     * Returns the actual key. If the key is shared, then it is replaced by a private copy first, so the returned key
+     * can be modified.
      *
      * @return The actual key {@link StringKey}
      */
     public StringKey getKey() {
-
+        if (key instanceof UnknownStringKey && ((UnknownStringKey) key).isShared()) {
+            key = new UnknownStringKey(key.getValue());
+        }
         return key;
     }
 
     /**
-     * Returns the actual value
+     * Returns the actual value. If the value is shared, then it is replaced by a private copy first, so the returned
+     * value can be modified.
      *
      * @return The actual value {@link Entry}
      */
     public Entry getValue() {
-
+        if (value instanceof StringEntry && ((StringEntry) value).isShared()) {
+            value = new StringEntry(((StringEntry) value).getContent().getValue());
+        }
         return value;
     }
 
+    /**
+     * Returns the actual value if it is an instance of the given type. As opposed to {@link #getValue()} it doesn't
+     * copy a shared value that is not of the given type, so it can be used to inspect the value without any allocation.
+     *
+     * @param type The expected type of the value
+     * @param <T>  The expected type of the value
+     * @return The actual value or null if the value is not an instance of the given type
+     */
+    public <T extends Entry> T getValue(Class<T> type) {
+        return type.isInstance(value) ? type.cast(getValue()) : null;
+    }
+
     @Override
     public String toString() {
         return "KeyValueEntry{" +
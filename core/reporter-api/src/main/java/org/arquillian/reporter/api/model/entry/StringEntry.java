@@ -1,5 +1,6 @@
 package org.arquillian.reporter.api.model.entry;
 
+import org.arquillian.reporter.api.model.InternPool;
 import org.arquillian.reporter.api.model.UnknownStringKey;
 import org.arquillian.reporter.api.model.StringKey;
 
@@ -10,7 +11,11 @@ import org.arquillian.reporter.api.model.StringKey;
  */
 public class StringEntry implements Entry {
 
+    private static final InternPool<StringEntry> POOL = new InternPool<>(StringEntry::createShared);
+
     private StringKey content;
+    // the canonical instances are shared by many reports, so they cannot be modified
+    private transient boolean shared;
 
     /**
      * Creates an instance of {@link StringEntry} with the given {@link StringKey} as a content
@@ -30,6 +35,18 @@ public class StringEntry implements Entry {
         this.content = new UnknownStringKey(content);
     }
 
+    /**
+     * Returns a canonical instance of {@link StringEntry} with the given content. The returned instance (as well as its
+     * content) is shared, so it cannot be modified - its setter throws an {@link UnsupportedOperationException}.
+     * A {@link KeyValueEntry} containing the shared instance returns its private copy instead.
+     *
+     * @param content A String that should be stored as an {@link UnknownStringKey} content of the {@link StringEntry}
+     * @return A canonical instance of {@link StringEntry} with the given content
+     */
+    public static StringEntry intern(String content) {
+        return POOL.intern(content);
+    }
+
     /**
      * Returns the content
      *
@@ -45,9 +62,28 @@ public class StringEntry implements Entry {
      * @param content content to set
      */
     public void setContent(StringKey content) {
+        if (shared) {
+            throw new UnsupportedOperationException(
+                "The shared instance of StringEntry [" + this.content.getValue() + "] cannot be modified");
+        }
         this.content = content;
     }
 
+    /**
+     * Returns whether this instance is the canonical (shared) one that cannot be modified
+     *
+     * @return Whether this instance is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    private static StringEntry createShared(String content) {
+        StringEntry stringEntry = new StringEntry(UnknownStringKey.intern(content));
+        stringEntry.shared = true;
+        return stringEntry;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -0,0 +1,253 @@
+package org.arquillian.reporter.api.model.report;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.arquillian.reporter.api.model.entry.HistogramEntry;
+import org.jboss.arquillian.test.spi.TestResult;
+
+/**
+ * Aggregated statistics of all finished test methods contained in a {@link TestClassReport}, {@link TestSuiteReport}
+ * or in the whole execution report. The statistics are updated incrementally: every test method contributes to the
+ * summary of its test class once it gets its {@link TestResult.Status}, and every summary propagates the change to
+ * the summary of the report it is contained in (a test class to a test suite, a test suite to the execution).
+ * <p>
+ * The summary contains number of tests per {@link TestResult.Status}, total, minimal and maximal duration,
+ * {@link #NUMBER_OF_SLOWEST_TESTS} slowest tests kept in a min-heap and a {@link HistogramEntry} of the durations
+ * the percentiles can be computed from.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportSummary {
+
+    public static final int NUMBER_OF_SLOWEST_TESTS = 10;
+
+    private static final String NAME_SEPARATOR = "#";
+
+    private int numberOfTests;
+    private int passed;
+    private int failed;
+    private int skipped;
+    private long totalDuration;
+    private long minDuration;
+    private long maxDuration;
+    // the fastest of the slowest tests is at the head, so it can be replaced by a slower one
+    private PriorityQueue<TestDuration> slowestTests = new PriorityQueue<>();
+    private HistogramEntry durations = new HistogramEntry();
+
+    // the summary of the containing report the changes are propagated into
+    private transient ReportSummary parent;
+    // a prefix of the names of the tests propagated into the parent summary (eg. the name of the test class)
+    private transient String namePrefix;
+
+    public synchronized int getNumberOfTests() {
+        return numberOfTests;
+    }
+
+    public synchronized int getPassed() {
+        return passed;
+    }
+
+    public synchronized int getFailed() {
+        return failed;
+    }
+
+    public synchronized int getSkipped() {
+        return skipped;
+    }
+
+    public synchronized long getTotalDuration() {
+        return totalDuration;
+    }
+
+    public synchronized long getMinDuration() {
+        return minDuration;
+    }
+
+    public synchronized long getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Returns a histogram of the durations of all tests in milliseconds
+     *
+     * @return A histogram of the durations of all tests in milliseconds
+     */
+    public HistogramEntry getDurations() {
+        return durations;
+    }
+
+    /**
+     * Returns the slowest tests sorted from the slowest one
+     *
+     * @return The slowest tests sorted from the slowest one
+     */
+    public synchronized List<TestDuration> getSlowestTests() {
+        List<TestDuration> sorted = new ArrayList<>(slowestTests);
+        sorted.sort(Collections.reverseOrder());
+        return sorted;
+    }
+
+    /**
+     * Adds a finished test into this summary and propagates it into the parent summaries
+     *
+     * @param name     A name of the test
+     * @param status   A {@link TestResult.Status} of the test
+     * @param duration A duration of the test in milliseconds
+     */
+    public void addTest(String name, TestResult.Status status, long duration) {
+        ReportSummary parentSummary;
+        String parentName;
+        synchronized (this) {
+            addDuration(duration);
+            changeCount(status, 1);
+            addSlowTest(new TestDuration(name, duration));
+            parentSummary = parent;
+            parentName = getNameForParent(name);
+        }
+        if (parentSummary != null) {
+            parentSummary.addTest(parentName, status, duration);
+        }
+    }
+
+    /**
+     * Changes the status of a test that has already been added into this summary and propagates the change into
+     * the parent summaries
+     *
+     * @param oldStatus The previous {@link TestResult.Status} of the test
+     * @param newStatus The new {@link TestResult.Status} of the test
+     */
+    public void changeStatus(TestResult.Status oldStatus, TestResult.Status newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        ReportSummary parentSummary;
+        synchronized (this) {
+            changeCount(oldStatus, -1);
+            changeCount(newStatus, 1);
+            parentSummary = parent;
+        }
+        if (parentSummary != null) {
+            parentSummary.changeStatus(oldStatus, newStatus);
+        }
+    }
+
+    /**
+     * Sets the given summary as a parent one and adds all statistics of this summary into it. Any later change of this
+     * summary is propagated into the parent one as well.
+     *
+     * @param parentSummary A summary of the containing report
+     * @param namePrefix    A prefix of the names of the tests propagated into the parent summary; may be null
+     */
+    public synchronized void attachTo(ReportSummary parentSummary, String namePrefix) {
+        if (parent == parentSummary || parentSummary == this) {
+            return;
+        }
+        parent = parentSummary;
+        this.namePrefix = namePrefix;
+        // the parent is locked inside of the lock of this summary; the locks are always taken from a child to a parent
+        parentSummary.addAll(this);
+    }
+
+    private synchronized void addAll(ReportSummary summary) {
+        if (summary.numberOfTests == 0) {
+            return;
+        }
+        if (numberOfTests == 0) {
+            minDuration = summary.minDuration;
+        } else {
+            minDuration = Math.min(minDuration, summary.minDuration);
+        }
+        maxDuration = Math.max(maxDuration, summary.maxDuration);
+        totalDuration += summary.totalDuration;
+        numberOfTests += summary.numberOfTests;
+        passed += summary.passed;
+        failed += summary.failed;
+        skipped += summary.skipped;
+        durations.add(summary.durations);
+        summary.slowestTests.forEach(
+            test -> addSlowTest(new TestDuration(summary.getNameForParent(test.getName()), test.getDuration())));
+
+        ReportSummary parentSummary = parent;
+        if (parentSummary != null) {
+            parentSummary.addAll(summary);
+        }
+    }
+
+    private void addDuration(long duration) {
+        if (numberOfTests == 0) {
+            minDuration = duration;
+        } else {
+            minDuration = Math.min(minDuration, duration);
+        }
+        maxDuration = Math.max(maxDuration, duration);
+        totalDuration += duration;
+        durations.recordValue(duration);
+    }
+
+    private void changeCount(TestResult.Status status, int delta) {
+        if (status == null) {
+            return;
+        }
+        numberOfTests += delta;
+        switch (status) {
+            case PASSED:
+                passed += delta;
+                break;
+            case FAILED:
+                failed += delta;
+                break;
+            case SKIPPED:
+                skipped += delta;
+                break;
+            default:
+        }
+    }
+
+    private void addSlowTest(TestDuration test) {
+        if (slowestTests.size() < NUMBER_OF_SLOWEST_TESTS) {
+            slowestTests.add(test);
+        } else if (test.compareTo(slowestTests.peek()) > 0) {
+            slowestTests.poll();
+            slowestTests.add(test);
+        }
+    }
+
+    private String getNameForParent(String name) {
+        return namePrefix == null ? name : namePrefix + NAME_SEPARATOR + name;
+    }
+
+    /**
+     * A name of a test and its duration
+     */
+    public static class TestDuration implements Comparable<TestDuration> {
+
+        private String name;
+        private long duration;
+
+        public TestDuration(String name, long duration) {
+            this.name = name;
+            this.duration = duration;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        @Override
+        public int compareTo(TestDuration other) {
+            int compared = Long.compare(duration, other.duration);
+            if (compared == 0 && name != null && other.name != null) {
+                return other.name.compareTo(name);
+            }
+            return compared;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package org.arquillian.reporter.api.model.report;
 
+import com.google.gson.annotations.JsonAdapter;
 import org.arquillian.reporter.api.builder.report.TestClassReportBuilder;
 import org.arquillian.reporter.api.model.StringKey;
 import org.arquillian.reporter.api.model.UnknownStringKey;
 import org.arquillian.reporter.api.utils.ReporterUtils;
+import org.jboss.arquillian.test.spi.TestResult;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,17 +26,24 @@ import static org.arquillian.reporter.api.model.ReporterCoreKey.GENERAL_TEST_CLA
  * Additional provided by {@link TestClassReport}
  * <li>start time</li>
  * <li>stop time</li>
+ * <li>duration</li>
  * <li>configuration that contains reports and entries related to a test class configuration</li>
  * <li>list of test methods declared in the test class</li>
+ * <li>summary of all finished test methods</li>
  * </ul>
  *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class TestClassReport extends AbstractReport<TestClassReport, TestClassReportBuilder>
-    implements WithConfigurationReport, WithStartAndStopReport {
-
-    private String startTime = ReporterUtils.getCurrentDate();
-    private String stopTime;
+    implements WithConfigurationReport, WithStartAndStopReport, WithSummaryReport {
+
+    // the first field so the summary is at the top of the serialized report
+    private ReportSummary summary = new ReportSummary();
+    @JsonAdapter(TimestampJsonAdapter.class)
+    private long startTime = ReporterUtils.getCurrentTimestamp();
+    @JsonAdapter(TimestampJsonAdapter.class)
+    private long stopTime;
+    private long duration;
     private ConfigurationReport configuration = new ConfigurationReport(GENERAL_TEST_CLASS_CONFIGURATION_REPORT);
     private List<TestMethodReport> testMethodReports = new ArrayList<>();
 
@@ -72,6 +81,16 @@ public class TestClassReport extends AbstractReport<TestClassReport, TestClassRe
         this.configuration = configuration;
     }
 
+    @Override
+    public ReportSummary getSummary() {
+        return summary;
+    }
+
+    @Override
+    public void setSummary(ReportSummary summary) {
+        this.summary = summary;
+    }
+
     /**
      * Returns a list of {@link TestMethodReport}s that have been run and are declared in associated test class.
      *
@@ -99,9 +118,11 @@ public class TestClassReport extends AbstractReport<TestClassReport, TestClassRe
         defaultMerge(newReport);
 
         getTestMethodReports().addAll(newReport.getTestMethodReports());
+        newReport.getTestMethodReports()
+            .forEach(testMethodReport -> testMethodReport.setSummary(getSummary(), getCountedStatus(testMethodReport)));
 
-        if (newReport.getExecutionStopTime() != null) {
-            setExecutionStopTime(newReport.getExecutionStopTime());
+        if (newReport.getExecutionStopTimestamp() != 0) {
+            setExecutionStopTimestamp(newReport.getExecutionStopTimestamp());
         }
 
         getConfiguration().merge(newReport.getConfiguration());
@@ -128,6 +149,7 @@ public class TestClassReport extends AbstractReport<TestClassReport, TestClassRe
 
         } else if (expectedReportTypeClass == TestMethodReport.class) {
             getTestMethodReports().add((TestMethodReport) newReport);
+            ((TestMethodReport) newReport).setSummary(getSummary(), getCountedStatus((TestMethodReport) newReport));
             return newReport;
 
         } else {
@@ -136,6 +158,17 @@ public class TestClassReport extends AbstractReport<TestClassReport, TestClassRe
         }
     }
 
+    /**
+     * Returns a {@link TestResult.Status} the given {@link TestMethodReport} has already been counted with in the
+     * summary of this report before it was added. By default, none of the added test method reports has been counted.
+     *
+     * @param testMethodReport A {@link TestMethodReport} that is being added into this report
+     * @return The {@link TestResult.Status} the test method has already been counted with, null if it hasn't
+     */
+    protected TestResult.Status getCountedStatus(TestMethodReport testMethodReport) {
+        return null;
+    }
+
     @Override
     public Class<TestClassReportBuilder> getReportBuilderClass() {
         return TestClassReportBuilder.class;
@@ -143,22 +176,52 @@ public class TestClassReport extends AbstractReport<TestClassReport, TestClassRe
 
     @Override
     public void setExecutionStartTime(String startTime) {
-        this.startTime = startTime;
+        setExecutionStartTimestamp(startTime == null ? 0 : ReporterUtils.parseDate(startTime));
     }
 
     @Override
     public String getExecutionStartTime() {
-        return startTime;
+        return startTime == 0 ? null : ReporterUtils.formatDate(startTime);
     }
 
     @Override
     public void setExecutionStopTime(String stopTime) {
-        this.stopTime = stopTime;
+        setExecutionStopTimestamp(stopTime == null ? 0 : ReporterUtils.parseDate(stopTime));
     }
 
     @Override
     public String getExecutionStopTime() {
+        return stopTime == 0 ? null : ReporterUtils.formatDate(stopTime);
+    }
+
+    @Override
+    public void setExecutionStartTimestamp(long startTimestamp) {
+        this.startTime = startTimestamp;
+        updateDuration();
+    }
+
+    @Override
+    public long getExecutionStartTimestamp() {
+        return startTime;
+    }
+
+    @Override
+    public void setExecutionStopTimestamp(long stopTimestamp) {
+        this.stopTime = stopTimestamp;
+        updateDuration();
+    }
+
+    @Override
+    public long getExecutionStopTimestamp() {
         return stopTime;
     }
 
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    private void updateDuration() {
+        duration = stopTime == 0 ? 0 : stopTime - startTime;
+    }
 }
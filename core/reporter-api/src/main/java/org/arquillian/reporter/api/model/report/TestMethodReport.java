@@ -1,5 +1,6 @@
 package org.arquillian.reporter.api.model.report;
 
+import com.google.gson.annotations.JsonAdapter;
 import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
 import org.arquillian.reporter.api.utils.ReporterUtils;
 import org.arquillian.reporter.api.model.StringKey;
@@ -23,6 +24,7 @@ import static org.arquillian.reporter.api.model.ReporterCoreKey.GENERAL_TEST_MET
  * Additional provided by {@link TestMethodReport}
  * <li>start time</li>
  * <li>stop time</li>
+ * <li>duration</li>
  * <li>test execution status</li>
  * <li>configuration that contains reports and entries related to a test method configuration</li>
  * <li>list of failures that occurred during a test execution</li>
@@ -33,12 +35,20 @@ import static org.arquillian.reporter.api.model.ReporterCoreKey.GENERAL_TEST_MET
 public class TestMethodReport extends AbstractReport<TestMethodReport, TestMethodReportBuilder>
     implements WithConfigurationReport, WithStartAndStopReport {
 
-    private String startTime = ReporterUtils.getCurrentDate();
-    private String stopTime;
+    @JsonAdapter(TimestampJsonAdapter.class)
+    private long startTime = ReporterUtils.getCurrentTimestamp();
+    @JsonAdapter(TimestampJsonAdapter.class)
+    private long stopTime;
+    private long duration;
     private TestResult.Status status;
     private FailureReport failureReport = new FailureReport(GENERAL_METHOD_FAILURE_REPORT);
     private ConfigurationReport configuration = new ConfigurationReport(GENERAL_TEST_METHOD_CONFIGURATION_REPORT);
 
+    // the summary of the test class this test method has been added into
+    private transient ReportSummary summary;
+    // the status this test method has been counted in the summary with
+    private transient TestResult.Status summaryStatus;
+
     /**
      * Creates an instance of {@link TestMethodReport}
      */
@@ -89,6 +99,44 @@ public class TestMethodReport extends AbstractReport<TestMethodReport, TestMetho
      */
     public void setStatus(TestResult.Status status) {
         this.status = status;
+        updateSummary();
+    }
+
+    /**
+     * Sets the summary of the test class this test method is contained in. If the test method is already finished, then
+     * it is immediately added into the summary; otherwise it is added as soon as it gets a {@link TestResult.Status}.
+     *
+     * @param summary A summary of the test class
+     */
+    synchronized void setSummary(ReportSummary summary) {
+        setSummary(summary, null);
+    }
+
+    /**
+     * Sets the summary of the test class this test method is contained in. If the test method has already been
+     * counted in the summary with the given status, then the summary is only changed when the status differs.
+     *
+     * @param summary A summary of the test class
+     * @param countedStatus A {@link TestResult.Status} the test method has already been counted with, null if it hasn't
+     */
+    synchronized void setSummary(ReportSummary summary, TestResult.Status countedStatus) {
+        if (this.summary != summary) {
+            this.summary = summary;
+            summaryStatus = countedStatus;
+            updateSummary();
+        }
+    }
+
+    private synchronized void updateSummary() {
+        if (summary == null || status == null || status == summaryStatus) {
+            return;
+        }
+        if (summaryStatus == null) {
+            summary.addTest(getName() == null ? null : getName().getValue(), status, duration);
+        } else {
+            summary.changeStatus(summaryStatus, status);
+        }
+        summaryStatus = status;
     }
 
     /**
@@ -127,8 +175,8 @@ public class TestMethodReport extends AbstractReport<TestMethodReport, TestMetho
         }
         defaultMerge(newReport);
 
-        if (newReport.getExecutionStopTime() != null) {
-            setExecutionStopTime(newReport.getExecutionStopTime());
+        if (newReport.getExecutionStopTimestamp() != 0) {
+            setExecutionStopTimestamp(newReport.getExecutionStopTimestamp());
         }
 
         getConfiguration().merge(newReport.getConfiguration());
@@ -174,24 +222,52 @@ public class TestMethodReport extends AbstractReport<TestMethodReport, TestMetho
 
     @Override
     public void setExecutionStartTime(String startTime) {
-
-        this.startTime = startTime;
+        setExecutionStartTimestamp(startTime == null ? 0 : ReporterUtils.parseDate(startTime));
     }
 
     @Override
     public String getExecutionStartTime() {
-
-        return startTime;
+        return startTime == 0 ? null : ReporterUtils.formatDate(startTime);
     }
 
     @Override
     public void setExecutionStopTime(String stopTime) {
-
-        this.stopTime = stopTime;
+        setExecutionStopTimestamp(stopTime == null ? 0 : ReporterUtils.parseDate(stopTime));
     }
 
     @Override
     public String getExecutionStopTime() {
+        return stopTime == 0 ? null : ReporterUtils.formatDate(stopTime);
+    }
+
+    @Override
+    public void setExecutionStartTimestamp(long startTimestamp) {
+        this.startTime = startTimestamp;
+        updateDuration();
+    }
+
+    @Override
+    public long getExecutionStartTimestamp() {
+        return startTime;
+    }
+
+    @Override
+    public void setExecutionStopTimestamp(long stopTimestamp) {
+        this.stopTime = stopTimestamp;
+        updateDuration();
+    }
+
+    @Override
+    public long getExecutionStopTimestamp() {
         return stopTime;
     }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    private void updateDuration() {
+        duration = stopTime == 0 ? 0 : stopTime - startTime;
+    }
 }
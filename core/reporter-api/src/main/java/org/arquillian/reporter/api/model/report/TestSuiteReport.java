@@ -1,5 +1,6 @@
 package org.arquillian.reporter.api.model.report;
 
+import com.google.gson.annotations.JsonAdapter;
 import org.arquillian.reporter.api.builder.report.TestSuiteReportBuilder;
 import org.arquillian.reporter.api.model.StringKey;
 import org.arquillian.reporter.api.model.UnknownStringKey;
@@ -24,17 +25,25 @@ import static org.arquillian.reporter.api.model.ReporterCoreKey.GENERAL_TEST_SUI
  * Additional provided by {@link TestSuiteReport}
  * <li>start time</li>
  * <li>stop time</li>
+ * <li>duration</li>
  * <li>configuration that contains reports and entries related to a test class configuration</li>
  * <li>list of test classes that are run in the associated test suite</li>
+ * <li>summary of all finished test methods</li>
  * </ul>
  *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class TestSuiteReport extends AbstractReport<TestSuiteReport, TestSuiteReportBuilder>
-    implements WithConfigurationReport, WithStartAndStopReport {
+    implements WithConfigurationReport, WithStartAndStopReport, WithSummaryReport {
 
-    private String startTime = ReporterUtils.getCurrentDate();
-    private String stopTime;
+    // the first field so the summary is at the top of the serialized report
+    private ReportSummary summary = new ReportSummary();
+
+    @JsonAdapter(TimestampJsonAdapter.class)
+    private long startTime = ReporterUtils.getCurrentTimestamp();
+    @JsonAdapter(TimestampJsonAdapter.class)
+    private long stopTime;
+    private long duration;
     private ConfigurationReport configuration = new ConfigurationReport(GENERAL_TEST_SUITE_CONFIGURATION_REPORT);
     private List<TestClassReport> testClassReports = new ArrayList<>();
 
@@ -72,6 +81,16 @@ public class TestSuiteReport extends AbstractReport<TestSuiteReport, TestSuiteRe
         this.configuration = configuration;
     }
 
+    @Override
+    public ReportSummary getSummary() {
+        return summary;
+    }
+
+    @Override
+    public void setSummary(ReportSummary summary) {
+        this.summary = summary;
+    }
+
     /**
      * Returns a list of {@link TestClassReport}s associated with test classes run in the corresponding test suite
      *
@@ -99,9 +118,10 @@ public class TestSuiteReport extends AbstractReport<TestSuiteReport, TestSuiteRe
         defaultMerge(newReport);
 
         getTestClassReports().addAll(newReport.getTestClassReports());
+        newReport.getTestClassReports().forEach(this::attachSummary);
 
-        if (newReport.getExecutionStopTime() != null) {
-            setExecutionStopTime(newReport.getExecutionStopTime());
+        if (newReport.getExecutionStopTimestamp() != 0) {
+            setExecutionStopTimestamp(newReport.getExecutionStopTimestamp());
         }
 
         getConfiguration().merge(newReport.getConfiguration());
@@ -128,6 +148,7 @@ public class TestSuiteReport extends AbstractReport<TestSuiteReport, TestSuiteRe
 
         } else if (expectedReportTypeClass == TestClassReport.class) {
             getTestClassReports().add((TestClassReport) newReport);
+            attachSummary((TestClassReport) newReport);
             return newReport;
 
         } else {
@@ -136,6 +157,11 @@ public class TestSuiteReport extends AbstractReport<TestSuiteReport, TestSuiteRe
         }
     }
 
+    private void attachSummary(TestClassReport testClassReport) {
+        String testClassName = testClassReport.getName() == null ? null : testClassReport.getName().getValue();
+        testClassReport.getSummary().attachTo(getSummary(), testClassName);
+    }
+
     @Override
     public Class<TestSuiteReportBuilder> getReportBuilderClass() {
         return TestSuiteReportBuilder.class;
@@ -143,24 +169,52 @@ public class TestSuiteReport extends AbstractReport<TestSuiteReport, TestSuiteRe
 
     @Override
     public void setExecutionStartTime(String startTime) {
-
-        this.startTime = startTime;
+        setExecutionStartTimestamp(startTime == null ? 0 : ReporterUtils.parseDate(startTime));
     }
 
     @Override
     public String getExecutionStartTime() {
-
-        return startTime;
+        return startTime == 0 ? null : ReporterUtils.formatDate(startTime);
     }
 
     @Override
     public void setExecutionStopTime(String stopTime) {
-
-        this.stopTime = stopTime;
+        setExecutionStopTimestamp(stopTime == null ? 0 : ReporterUtils.parseDate(stopTime));
     }
 
     @Override
     public String getExecutionStopTime() {
+        return stopTime == 0 ? null : ReporterUtils.formatDate(stopTime);
+    }
+
+    @Override
+    public void setExecutionStartTimestamp(long startTimestamp) {
+        this.startTime = startTimestamp;
+        updateDuration();
+    }
+
+    @Override
+    public long getExecutionStartTimestamp() {
+        return startTime;
+    }
+
+    @Override
+    public void setExecutionStopTimestamp(long stopTimestamp) {
+        this.stopTime = stopTimestamp;
+        updateDuration();
+    }
+
+    @Override
+    public long getExecutionStopTimestamp() {
         return stopTime;
     }
+
+    @Override
+    public long getDuration() {
+        return duration;
+    }
+
+    private void updateDuration() {
+        duration = stopTime == 0 ? 0 : stopTime - startTime;
+    }
 }
@@ -0,0 +1,39 @@
+package org.arquillian.reporter.api.model.report;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.arquillian.reporter.api.utils.ReporterUtils;
+
+/**
+ * A Gson {@link TypeAdapter} that serializes timestamps stored in {@link WithStartAndStopReport}s as dates in the format
+ * that matches {@link ReporterUtils#getDateFormat()}. A timestamp equal to 0 (not set) is serialized as null.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class TimestampJsonAdapter extends TypeAdapter<Long> {
+
+    @Override
+    public void write(JsonWriter out, Long timestamp) throws IOException {
+        if (timestamp == null || timestamp == 0) {
+            out.nullValue();
+        } else {
+            out.value(ReporterUtils.formatDate(timestamp));
+        }
+    }
+
+    @Override
+    public Long read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return 0L;
+        } else if (token == JsonToken.NUMBER) {
+            return in.nextLong();
+        }
+        return ReporterUtils.parseDate(in.nextString());
+    }
+}
@@ -1,9 +1,12 @@
 package org.arquillian.reporter.api.model.report;
 
 /**
+ * A {@link Report} that contains the time when an associated execution started and stopped. The times are stored as
+ * timestamps (number of milliseconds since the epoch) and are formatted only when requested as a String or when
+ * the report is serialized.
+ *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
-
 public interface WithStartAndStopReport {
 
     /**
@@ -34,4 +37,38 @@ public interface WithStartAndStopReport {
      */
     void setExecutionStopTime(String stopTime);
 
+    /**
+     * Sets the given timestamp as time when an associated execution started
+     *
+     * @param startTimestamp Number of milliseconds since the epoch
+     */
+    void setExecutionStartTimestamp(long startTimestamp);
+
+    /**
+     * Returns the timestamp when the execution started
+     *
+     * @return Number of milliseconds since the epoch
+     */
+    long getExecutionStartTimestamp();
+
+    /**
+     * Sets the given timestamp as time when an associated execution stopped
+     *
+     * @param stopTimestamp Number of milliseconds since the epoch
+     */
+    void setExecutionStopTimestamp(long stopTimestamp);
+
+    /**
+     * Returns the timestamp when the execution stopped
+     *
+     * @return Number of milliseconds since the epoch or 0 if the execution hasn't stopped yet
+     */
+    long getExecutionStopTimestamp();
+
+    /**
+     * Returns the duration of the execution
+     *
+     * @return Duration of the execution in milliseconds or 0 if the execution hasn't stopped yet
+     */
+    long getDuration();
 }
@@ -0,0 +1,23 @@
+package org.arquillian.reporter.api.model.report;
+
+/**
+ * A {@link Report} that contains a {@link ReportSummary} of all test methods contained in it
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public interface WithSummaryReport {
+
+    /**
+     * Returns the {@link ReportSummary} of all test methods contained in this report
+     *
+     * @return The {@link ReportSummary} of all test methods contained in this report
+     */
+    ReportSummary getSummary();
+
+    /**
+     * Sets the given {@link ReportSummary} (eg. the one that has been read from a serialized report)
+     *
+     * @param summary A {@link ReportSummary} to be set
+     */
+    void setSummary(ReportSummary summary);
+}
@@ -0,0 +1,122 @@
+package org.arquillian.reporter.api.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache holding at most the given number of values. The cache approximates the least-recently-used
+ * eviction using two generations: new values are stored in the current generation and when it is full, it becomes the
+ * previous generation and the values of the former previous generation are dropped. A value found in the previous
+ * generation is moved back to the current one, so the values that are used often are never dropped.
+ * <p>
+ * Neither reads nor writes take any lock - only the replacement of a full generation is synchronized, which happens
+ * once per every half of the maximal size of the cache.
+ * </p>
+ *
+ * @param <K> Type of the keys
+ * @param <V> Type of the values
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSizeOfGeneration;
+    private volatile ConcurrentHashMap<K, CachedValue<K, V>> current = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<K, CachedValue<K, V>> previous = new ConcurrentHashMap<>();
+
+    public BoundedCache(int maxSize) {
+        if (maxSize < 2) {
+            throw new IllegalArgumentException("The maximal size of the cache has to be at least 2, but was " + maxSize);
+        }
+        this.maxSizeOfGeneration = maxSize / 2;
+    }
+
+    /**
+     * Returns the value stored for the given key or null if there is no such a value. The key is used only for the
+     * lookup, so it can be a mutable instance reused by the caller.
+     *
+     * @param key A key the value should be returned for
+     * @return The value stored for the given key or null
+     */
+    public V get(K key) {
+        CachedValue<K, V> cachedValue = current.get(key);
+        if (cachedValue == null) {
+            ConcurrentHashMap<K, CachedValue<K, V>> previousGeneration = previous;
+            cachedValue = previousGeneration.get(key);
+            if (cachedValue == null) {
+                return null;
+            }
+            // the stored key is used as it is the only one guaranteed not to be modified
+            store(cachedValue);
+            previousGeneration.remove(cachedValue.key, cachedValue);
+        }
+        return cachedValue.value;
+    }
+
+    /**
+     * Stores the given value for the given key unless there is already a value stored for the key.
+     *
+     * @param key   A key the value should be stored for - it must not be modified afterwards
+     * @param value A value to be stored
+     * @return The value that is stored in the cache for the given key
+     */
+    public V putIfAbsent(K key, V value) {
+        V storedValue = get(key);
+        if (storedValue != null) {
+            return storedValue;
+        }
+        CachedValue<K, V> existing = store(new CachedValue<>(key, value));
+        return existing == null ? value : existing.value;
+    }
+
+    /**
+     * Returns the value stored for the given key. If there is no such a value, then it is created using the given
+     * factory and stored in the cache.
+     *
+     * @param key     A key the value should be returned for - it must not be modified afterwards
+     * @param factory A factory creating the value
+     * @return The value stored for the given key
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V storedValue = get(key);
+        if (storedValue != null) {
+            return storedValue;
+        }
+        return putIfAbsent(key, factory.apply(key));
+    }
+
+    /**
+     * Returns the number of values currently stored in the cache
+     *
+     * @return The number of values currently stored in the cache
+     */
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    private CachedValue<K, V> store(CachedValue<K, V> cachedValue) {
+        ConcurrentHashMap<K, CachedValue<K, V>> generation = current;
+        CachedValue<K, V> existing = generation.putIfAbsent(cachedValue.key, cachedValue);
+        if (existing == null && generation.size() >= maxSizeOfGeneration) {
+            replaceGeneration(generation);
+        }
+        return existing;
+    }
+
+    private synchronized void replaceGeneration(ConcurrentHashMap<K, CachedValue<K, V>> fullGeneration) {
+        // another thread may have already replaced the full generation
+        if (current == fullGeneration) {
+            previous = fullGeneration;
+            current = new ConcurrentHashMap<>();
+        }
+    }
+
+    private static class CachedValue<K, V> {
+        private final K key;
+        private final V value;
+
+        private CachedValue(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package org.arquillian.reporter.api.utils;
 
 import java.lang.reflect.Method;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Util class
@@ -11,6 +13,9 @@ import java.util.Date;
  */
 public class ReporterUtils {
 
+    // the milliseconds are appended separately as the pattern "S" means a fraction of a second in DateTimeFormatter
+    private static final DateTimeFormatter DATE_FORMATTER_WITHOUT_MILLIS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     /**
      * Returns the date format that should be used for dates
      *
@@ -26,7 +31,42 @@ public class ReporterUtils {
      * @return The current date in the format that matches {@link this#getDateFormat()}
      */
     public static String getCurrentDate() {
-        return new SimpleDateFormat(getDateFormat()).format(new Date(System.currentTimeMillis()));
+        return formatDate(getCurrentTimestamp());
+    }
+
+    /**
+     * Returns the current time as a number of milliseconds since the epoch
+     *
+     * @return The current time as a number of milliseconds since the epoch
+     */
+    public static long getCurrentTimestamp() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Formats the given timestamp (number of milliseconds since the epoch) in the format that matches {@link this#getDateFormat()}
+     *
+     * @param timestamp A number of milliseconds since the epoch
+     * @return The formatted date
+     */
+    public static String formatDate(long timestamp) {
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        return DATE_FORMATTER_WITHOUT_MILLIS.format(dateTime) + "." + Math.floorMod(timestamp, 1000L);
+    }
+
+    /**
+     * Parses the given date in the format that matches {@link this#getDateFormat()} and returns it as a timestamp
+     *
+     * @param date A date in the format that matches {@link this#getDateFormat()}
+     * @return A number of milliseconds since the epoch
+     */
+    public static long parseDate(String date) {
+        int millisSeparator = date.lastIndexOf('.');
+        String dateWithoutMillis = millisSeparator < 0 ? date : date.substring(0, millisSeparator);
+        long millis = millisSeparator < 0 ? 0 : Long.parseLong(date.substring(millisSeparator + 1));
+
+        LocalDateTime dateTime = LocalDateTime.parse(dateWithoutMillis.trim(), DATE_FORMATTER_WITHOUT_MILLIS);
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + millis;
     }
 
     /**
@@ -0,0 +1,77 @@
+package org.arquillian.reporter.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedExceptionAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.reporter.api.builder.Builder;
+import org.arquillian.reporter.api.builder.BuilderLoader;
+import org.arquillian.reporter.api.builder.Reporter;
+import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.impl.builder.report.TestMethodReportBuilderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a single {@link Reporter#usingBuilder} call. The benchmark {@link #reflectiveLookup()}
+ * mimics the former implementation that looked up the builder implementation under a global lock and resolved
+ * the constructor reflectively on every call, so both numbers can be compared within one run.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BuilderInstantiationBenchmark {
+
+    private final Map<Class<? extends Builder>, Class<? extends Builder>> synchronizedRegistry = new HashMap<>();
+    private final TestMethodReport testMethodReport = new TestMethodReport("test method");
+
+    @Setup
+    public void loadBuilders() {
+        BuilderLoader.load();
+        synchronizedRegistry.put(TestMethodReportBuilder.class, TestMethodReportBuilderImpl.class);
+    }
+
+    @Benchmark
+    public TestMethodReportBuilder usingBuilder() {
+        return Reporter.usingBuilder(TestMethodReportBuilder.class, testMethodReport);
+    }
+
+    @Benchmark
+    public Builder reflectiveLookup() throws Exception {
+        Class<? extends Builder> implClass;
+        synchronized (synchronizedRegistry) {
+            implClass = synchronizedRegistry.get(TestMethodReportBuilder.class);
+        }
+        Class<?>[] parameterTypes = implClass.getConstructors()[0].getParameterTypes();
+        Constructor<? extends Builder> constructor = AccessController
+            .doPrivileged((PrivilegedExceptionAction<Constructor<? extends Builder>>) () -> implClass
+                .getDeclaredConstructor(parameterTypes));
+        if (!constructor.isAccessible()) {
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                constructor.setAccessible(true);
+                return null;
+            });
+        }
+        return constructor.newInstance(testMethodReport);
+    }
+}
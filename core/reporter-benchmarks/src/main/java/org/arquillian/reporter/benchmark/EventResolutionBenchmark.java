@@ -0,0 +1,81 @@
+package org.arquillian.reporter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of the node a test method event belongs to in an execution store that already contains
+ * a synthetic test suite of the given size. The events (the payload) are created in advance, so when the benchmark
+ * is run with the GC profiler ({@code -prof gc}) the normalized allocation rate shows what the resolution itself
+ * allocates:
+ * <ul>
+ * <li>{@link #processEvent()} - the path taken by {@link SectionEventManager#processEvent}</li>
+ * <li>{@link #mergeEventTree()} - the temporary tree of the event is created and then merged</li>
+ * </ul>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventResolutionBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int numberOfMethods;
+
+    private ExecutionStore executionStore;
+    private TestMethodSection[] events;
+    private int eventIndex;
+
+    @Setup
+    public void prepareExecutionStore() {
+        executionStore = SyntheticSuiteGenerator.generateExecutionStore(numberOfMethods);
+        // the methods of the latest test class are stopped once again
+        events = new TestMethodSection[SyntheticSuiteGenerator.METHODS_IN_CLASS];
+        for (int i = 0; i < events.length; i++) {
+            String methodId = SyntheticSuiteGenerator.getTestMethodId(i);
+            TestMethodReport testMethodReport = new TestMethodReport(methodId);
+            testMethodReport.setStatus(TestResult.Status.PASSED);
+            events[i] = SyntheticSuiteGenerator.createTestMethodSection(testMethodReport, methodId);
+        }
+    }
+
+    @Benchmark
+    public ExecutionStore processEvent() {
+        SectionEventManager.processEvent(nextEvent(), executionStore);
+        return executionStore;
+    }
+
+    @Benchmark
+    public ExecutionStore mergeEventTree() {
+        executionStore.getSectionTree().mergeSectionTree(SectionEventManager.createEventTree(nextEvent()));
+        return executionStore;
+    }
+
+    private TestMethodSection nextEvent() {
+        TestMethodSection event = events[eventIndex++];
+        if (eventIndex == events.length) {
+            eventIndex = 0;
+        }
+        return event;
+    }
+}
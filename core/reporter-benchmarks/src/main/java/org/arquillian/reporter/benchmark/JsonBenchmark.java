@@ -0,0 +1,75 @@
+package org.arquillian.reporter.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullWriter;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.parser.ReportJsonParser;
+import org.arquillian.reporter.writer.ReportJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing of the JSON report (the same way as it is done at the end of the test execution) and parsing
+ * of the written JSON report using {@link ReportJsonParser#parse} for synthetic test suites of the given size.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int numberOfMethods;
+
+    private ExecutionReport executionReport;
+    private File reportFile;
+
+    @Setup
+    public void prepareReport() throws IOException {
+        executionReport = SyntheticSuiteGenerator.generateExecutionStore(numberOfMethods).getExecutionReport();
+        reportFile = File.createTempFile("arquillian-reporter-benchmark", ".json");
+        ReportJsonWriter.write(executionReport, reportFile, true);
+    }
+
+    @TearDown
+    public void deleteReport() throws IOException {
+        Files.deleteIfExists(reportFile.toPath());
+    }
+
+    @Benchmark
+    public Writer writeJson() throws IOException {
+        Writer writer = new NullWriter();
+        ReportJsonWriter.write(executionReport, writer, false);
+        return writer;
+    }
+
+    @Benchmark
+    public File writePrettyPrintedJsonFile() throws IOException {
+        ReportJsonWriter.write(executionReport, reportFile, true);
+        return reportFile;
+    }
+
+    @Benchmark
+    public ExecutionReport parseJson() throws IOException {
+        return ReportJsonParser.parse(reportFile.getAbsolutePath());
+    }
+}
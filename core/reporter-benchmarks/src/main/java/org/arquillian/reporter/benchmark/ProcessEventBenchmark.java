@@ -0,0 +1,68 @@
+package org.arquillian.reporter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SectionEventManager#processEvent} of a single test method event in an execution store that already
+ * contains a synthetic test suite of the given size.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessEventBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int numberOfMethods;
+
+    private ExecutionStore executionStore;
+    private int methodIndex;
+
+    // a new test method is added in every invocation of processEventOfNewTestMethod, so the store has to be recreated
+    @Setup(Level.Iteration)
+    public void prepareExecutionStore() {
+        executionStore = SyntheticSuiteGenerator.generateExecutionStore(numberOfMethods);
+        methodIndex = 0;
+    }
+
+    @Benchmark
+    public ExecutionStore processEventOfExistingTestMethod() {
+        // the methods of the latest test class are stopped once again
+        String methodId = SyntheticSuiteGenerator.getTestMethodId(methodIndex++ % SyntheticSuiteGenerator.METHODS_IN_CLASS);
+        TestMethodReport testMethodReport = new TestMethodReport(methodId);
+        testMethodReport.setStatus(TestResult.Status.PASSED);
+
+        SectionEventManager.processEvent(SyntheticSuiteGenerator.createTestMethodSection(testMethodReport, methodId),
+                                         executionStore);
+        return executionStore;
+    }
+
+    @Benchmark
+    public ExecutionStore processEventOfNewTestMethod() {
+        String methodId = "newTestMethod" + methodIndex++;
+        SectionEventManager.processEvent(
+            SyntheticSuiteGenerator.createTestMethodSection(new TestMethodReport(methodId), methodId), executionStore);
+        return executionStore;
+    }
+}
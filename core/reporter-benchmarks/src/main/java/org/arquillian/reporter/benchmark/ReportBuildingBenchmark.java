@@ -0,0 +1,60 @@
+package org.arquillian.reporter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.reporter.api.builder.BuilderLoader;
+import org.arquillian.reporter.api.builder.Reporter;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures building of reports using {@link Reporter#createReport} and {@code inSection(...)} up to the point when
+ * the section event is fired. The fired events are consumed by a {@link Blackhole}.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBuildingBenchmark {
+
+    @Setup
+    public void loadBuilders() {
+        BuilderLoader.load();
+    }
+
+    @Benchmark
+    public SectionEvent buildBasicReportInSection(Blackhole blackhole) {
+        return Reporter
+            .createReport("basic report")
+            .addEntry("entry")
+            .addKeyValueEntry("key", "value")
+            .inSection(new TestMethodConfigurationSection("configuration"))
+            .fire(blackhole::consume);
+    }
+
+    @Benchmark
+    public SectionEvent buildTestMethodReportInSection(Blackhole blackhole) {
+        return Reporter
+            .createReport(new TestMethodReport("test method"))
+            .addKeyValueEntry("key", "value")
+            .inSection(new TestMethodSection())
+            .fire(blackhole::consume);
+    }
+}
@@ -0,0 +1,131 @@
+package org.arquillian.reporter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionSection;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.arquillian.reporter.impl.SectionTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SectionTree#mergeSectionTree} of a path that ends in an already existing node. The section tree
+ * contains {@code width} sibling nodes on every level up to the given {@code depth}: test suites (1), test classes (2),
+ * test methods (3) and test method configurations (4). The merged path always goes through the latest nodes and ends
+ * in the first node on the level given by the {@code depth}. As the matching node is found using the index of the
+ * subtrees, the time should stay the same for all widths.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionTreeMergeBenchmark {
+
+    private static final String TEST_SUITE_ID = "test-suite-";
+    private static final String TEST_CLASS_ID = "test-class-";
+    private static final String TEST_METHOD_ID = "test-method-";
+    private static final String CONFIGURATION_ID = "configuration-";
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int width;
+
+    @Param({ "1", "2", "3", "4" })
+    public int depth;
+
+    private ExecutionStore executionStore;
+    private SectionTree pathToMerge;
+
+    @Setup
+    public void prepareSectionTree() {
+        executionStore = new ExecutionStore();
+        String lastSuiteId = TEST_SUITE_ID + (width - 1);
+
+        for (int i = 0; i < width; i++) {
+            SectionEventManager
+                .processEvent(new TestSuiteSection(new TestSuiteReport(TEST_SUITE_ID + i), TEST_SUITE_ID + i),
+                              executionStore);
+        }
+        for (int i = 0; i < width && depth >= 2; i++) {
+            TestClassSection testClassSection = new TestClassSection(new TestClassReport(TEST_CLASS_ID + i));
+            testClassSection.setSectionId(TEST_CLASS_ID + i);
+            testClassSection.setTestSuiteId(lastSuiteId);
+            SectionEventManager.processEvent(testClassSection, executionStore);
+        }
+        for (int i = 0; i < width && depth >= 3; i++) {
+            TestMethodSection testMethodSection = new TestMethodSection(new TestMethodReport(TEST_METHOD_ID + i));
+            testMethodSection.setSectionId(TEST_METHOD_ID + i);
+            testMethodSection.setTestSuiteId(lastSuiteId);
+            SectionEventManager.processEvent(testMethodSection, executionStore);
+        }
+        for (int i = 0; i < width && depth >= 4; i++) {
+            TestMethodConfigurationSection configurationSection =
+                new TestMethodConfigurationSection(new ConfigurationReport(CONFIGURATION_ID + i), CONFIGURATION_ID + i);
+            configurationSection.setTestSuiteId(lastSuiteId);
+            SectionEventManager.processEvent(configurationSection, executionStore);
+        }
+
+        pathToMerge = preparePathToMerge();
+    }
+
+    @Benchmark
+    public ExecutionStore mergeSectionTree() {
+        executionStore.getSectionTree().mergeSectionTree(pathToMerge);
+        return executionStore;
+    }
+
+    private SectionTree preparePathToMerge() {
+        String last = String.valueOf(width - 1);
+        String first = "0";
+
+        SectionTree root = new SectionTree(new ExecutionSection().identifyYourself(), null, ExecutionReport.class);
+        SectionTree node = root;
+        node = addNode(node, TestSuiteSection.class, TEST_SUITE_ID + (depth == 1 ? first : last),
+                       depth == 1 ? new TestSuiteReport() : null, TestSuiteReport.class);
+        if (depth >= 2) {
+            node = addNode(node, TestClassSection.class, TEST_CLASS_ID + (depth == 2 ? first : last),
+                           depth == 2 ? new TestClassReport() : null, TestClassReport.class);
+        }
+        if (depth >= 3) {
+            node = addNode(node, TestMethodSection.class, TEST_METHOD_ID + (depth == 3 ? first : last),
+                           depth == 3 ? new TestMethodReport() : null, TestMethodReport.class);
+        }
+        if (depth >= 4) {
+            addNode(node, TestMethodConfigurationSection.class, CONFIGURATION_ID + first, new ConfigurationReport(),
+                    ConfigurationReport.class);
+        }
+        return root;
+    }
+
+    private SectionTree addNode(SectionTree parent, Class<? extends SectionEvent> sectionClass, String sectionId,
+        Report report, Class<? extends Report> reportClass) {
+        SectionTree node = new SectionTree(new Identifier(sectionClass, sectionId), report, reportClass);
+        parent.addSubtree(node);
+        return node;
+    }
+}
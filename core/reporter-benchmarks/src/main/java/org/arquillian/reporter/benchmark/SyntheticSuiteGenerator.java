@@ -0,0 +1,145 @@
+package org.arquillian.reporter.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodFailureSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.entry.StringEntry;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.FailureReport;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.jboss.arquillian.test.spi.TestResult;
+
+/**
+ * Generates a sequence of {@link SectionEvent}s that corresponds to an execution of a synthetic test suite with the given
+ * number of test methods. Every test class contains {@link #METHODS_IN_CLASS} test methods, every test method has
+ * a configuration and every tenth test method fails.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class SyntheticSuiteGenerator {
+
+    public static final String TEST_SUITE_ID = "synthetic-test-suite";
+    public static final int METHODS_IN_CLASS = 100;
+
+    private static final int FAILURE_EVERY_NTH_METHOD = 10;
+    private static final String START_TIME = "2017-01-01 10:00:00.0";
+    private static final String STOP_TIME = "2017-01-01 10:00:01.0";
+
+    /**
+     * Generates section events of a test suite with the given number of test methods in the order they would be fired
+     * during the test execution. The events can be processed only once, so for every processing a new list has to be generated.
+     *
+     * @param numberOfMethods Number of test methods of the whole test suite
+     * @return List of generated section events
+     */
+    public static List<SectionEvent> generateSectionEvents(int numberOfMethods) {
+        List<SectionEvent> events = new ArrayList<>();
+
+        TestSuiteReport testSuiteReport = new TestSuiteReport("synthetic test suite");
+        testSuiteReport.setExecutionStartTime(START_TIME);
+        events.add(new TestSuiteSection(testSuiteReport, TEST_SUITE_ID));
+
+        int numberOfClasses = (numberOfMethods + METHODS_IN_CLASS - 1) / METHODS_IN_CLASS;
+        for (int classIndex = 0; classIndex < numberOfClasses; classIndex++) {
+            String classId = getTestClassId(classIndex);
+            TestClassReport testClassReport = new TestClassReport(classId);
+            testClassReport.setExecutionStartTime(START_TIME);
+            events.add(createTestClassSection(testClassReport, classId));
+
+            int methodsInThisClass = Math.min(METHODS_IN_CLASS, numberOfMethods - classIndex * METHODS_IN_CLASS);
+            for (int methodIndex = 0; methodIndex < methodsInThisClass; methodIndex++) {
+                addTestMethodEvents(events, classIndex, methodIndex);
+            }
+
+            TestClassReport stoppedTestClassReport = new TestClassReport(classId);
+            stoppedTestClassReport.setExecutionStopTime(STOP_TIME);
+            events.add(createTestClassSection(stoppedTestClassReport, classId));
+        }
+
+        TestSuiteReport stoppedTestSuiteReport = new TestSuiteReport("synthetic test suite");
+        stoppedTestSuiteReport.setExecutionStopTime(STOP_TIME);
+        events.add(new TestSuiteSection(stoppedTestSuiteReport, TEST_SUITE_ID));
+
+        return events;
+    }
+
+    /**
+     * Creates a new {@link ExecutionStore} and processes all section events of a test suite with the given number
+     * of test methods.
+     *
+     * @param numberOfMethods Number of test methods of the whole test suite
+     * @return The {@link ExecutionStore} containing the processed events
+     */
+    public static ExecutionStore generateExecutionStore(int numberOfMethods) {
+        ExecutionStore executionStore = new ExecutionStore();
+        generateSectionEvents(numberOfMethods).forEach(event -> SectionEventManager.processEvent(event, executionStore));
+        return executionStore;
+    }
+
+    public static String getTestClassId(int classIndex) {
+        return "org.arquillian.reporter.synthetic.TestClass" + classIndex;
+    }
+
+    public static String getTestMethodId(int methodIndex) {
+        return "testMethod" + methodIndex;
+    }
+
+    public static TestMethodSection createTestMethodSection(TestMethodReport testMethodReport, String methodId) {
+        TestMethodSection testMethodSection = new TestMethodSection(testMethodReport);
+        testMethodSection.setSectionId(methodId);
+        testMethodSection.setTestSuiteId(TEST_SUITE_ID);
+        return testMethodSection;
+    }
+
+    private static TestClassSection createTestClassSection(TestClassReport testClassReport, String classId) {
+        TestClassSection testClassSection = new TestClassSection(testClassReport);
+        testClassSection.setSectionId(classId);
+        testClassSection.setTestSuiteId(TEST_SUITE_ID);
+        return testClassSection;
+    }
+
+    private static void addTestMethodEvents(List<SectionEvent> events, int classIndex, int methodIndex) {
+        String methodId = getTestMethodId(methodIndex);
+
+        TestMethodReport testMethodReport = new TestMethodReport(methodId);
+        testMethodReport.setExecutionStartTime(START_TIME);
+        events.add(createTestMethodSection(testMethodReport, methodId));
+
+        ConfigurationReport configurationReport = new ConfigurationReport("method configuration");
+        configurationReport.getEntries().add(new KeyValueEntry("class", getTestClassId(classIndex)));
+        configurationReport.getEntries().add(new KeyValueEntry("method", methodId));
+        configurationReport.getEntries().add(new KeyValueEntry("runAsClient", "true"));
+        TestMethodConfigurationSection configurationSection =
+            new TestMethodConfigurationSection(configurationReport, "configuration");
+        configurationSection.setTestSuiteId(TEST_SUITE_ID);
+        events.add(configurationSection);
+
+        boolean failed = methodIndex % FAILURE_EVERY_NTH_METHOD == FAILURE_EVERY_NTH_METHOD - 1;
+        if (failed) {
+            FailureReport failureReport = new FailureReport("failure");
+            failureReport.getEntries().add(new StringEntry(
+                "java.lang.AssertionError: expected:<true> but was:<false>\n"
+                    + "\tat org.junit.Assert.fail(Assert.java:88)\n"
+                    + "\tat " + getTestClassId(classIndex) + "." + methodId + "(TestClass.java:42)"));
+            TestMethodFailureSection failureSection = new TestMethodFailureSection(failureReport, "failure");
+            failureSection.setTestSuiteId(TEST_SUITE_ID);
+            events.add(failureSection);
+        }
+
+        TestMethodReport stoppedTestMethodReport = new TestMethodReport(methodId);
+        stoppedTestMethodReport.setExecutionStopTime(STOP_TIME);
+        stoppedTestMethodReport.setStatus(failed ? TestResult.Status.FAILED : TestResult.Status.PASSED);
+        events.add(createTestMethodSection(stoppedTestMethodReport, methodId));
+    }
+}
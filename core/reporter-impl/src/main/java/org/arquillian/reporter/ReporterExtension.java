@@ -6,6 +6,7 @@ import org.arquillian.reporter.api.builder.report.ConfigurationReportBuilder;
 import org.arquillian.reporter.api.builder.report.FailureReportBuilder;
 import org.arquillian.reporter.api.builder.report.ReportBuilder;
 import org.arquillian.reporter.api.builder.report.ReportInSectionBuilder;
+import org.arquillian.reporter.api.builder.report.SectionEventBatchBuilder;
 import org.arquillian.reporter.api.builder.report.TestClassReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestSuiteReportBuilder;
@@ -19,6 +20,7 @@ import org.arquillian.reporter.impl.builder.report.ConfigurationReportBuilderImp
 import org.arquillian.reporter.impl.builder.report.FailureReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.ReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.ReportInSectionBuilderImpl;
+import org.arquillian.reporter.impl.builder.report.SectionEventBatchBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.TestClassReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.TestMethodReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.TestSuiteReportBuilderImpl;
@@ -42,6 +44,7 @@ public class ReporterExtension implements LoadableExtension {
         builder.service(FailureReportBuilder.class, FailureReportBuilderImpl.class);
 
         builder.service(ReportInSectionBuilder.class, ReportInSectionBuilderImpl.class);
+        builder.service(SectionEventBatchBuilder.class, SectionEventBatchBuilderImpl.class);
         builder.service(TableBuilder.class, TableBuilderImpl.class);
         builder.service(TestClassReportBuilder.class, TestClassReportBuilderImpl.class);
         builder.service(TestMethodReportBuilder.class, TestMethodReportBuilderImpl.class);
@@ -2,6 +2,8 @@ package org.arquillian.reporter.api.builder;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.jboss.arquillian.core.impl.loadable.JavaSPIExtensionLoader;
 import org.jboss.arquillian.core.impl.loadable.LoadableExtensionLoader;
@@ -17,18 +19,20 @@ import org.jboss.arquillian.core.spi.context.Context;
 public class BuilderLoader {
 
     /**
-     * Loads implementation of {@link Builder} implementations registered using Arquillian SPI
+     * Loads implementation of {@link Builder} implementations registered using Arquillian SPI. All loaded
+     * implementations are published in the registry at once after all extensions are processed.
      */
     public static void load() {
         ExtensionLoader extensionLoader = locateExtensionLoader(new JavaSPIExtensionLoader());
         Collection<LoadableExtension> extensions = extensionLoader.load();
+        Map<Class<?>, Class<?>> builders = new LinkedHashMap<>();
 
         for (LoadableExtension extension : extensions) {
             extension.register(new LoadableExtension.ExtensionBuilder() {
                 @Override
                 public <T> LoadableExtension.ExtensionBuilder service(Class<T> service, Class<? extends T> impl) {
                     if (Builder.class.isAssignableFrom(service)) {
-                        BuilderRegistry.addServiceToBuilderRegistry(service, impl);
+                        builders.put(service, impl);
                     }
                     return this;
                 }
@@ -51,6 +55,7 @@ public class BuilderLoader {
 
             });
         }
+        BuilderRegistry.addServicesToBuilderRegistry(builders);
     }
 
     /**
@@ -0,0 +1,39 @@
+package org.arquillian.reporter.config;
+
+/**
+ * Formats the report can be written in
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public enum ReportFormat {
+
+    JSON(true, false),
+    BINARY(false, true),
+    BOTH(true, true);
+
+    private final boolean json;
+    private final boolean binary;
+
+    ReportFormat(boolean json, boolean binary) {
+        this.json = json;
+        this.binary = binary;
+    }
+
+    public boolean isJson() {
+        return json;
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    public static ReportFormat fromString(String format) {
+        for (ReportFormat reportFormat : values()) {
+            if (reportFormat.name().equalsIgnoreCase(format.trim())) {
+                return reportFormat;
+            }
+        }
+        throw new IllegalArgumentException(
+            "Unknown report format: " + format + "; supported formats are: json, binary, both");
+    }
+}
@@ -10,9 +10,41 @@ public class ReporterConfiguration {
 
     private static final String ROOT_DIRECTORY = "rootDirectory";
     private static final String FILE = "file";
+    private static final String PRETTY_PRINT = "prettyPrint";
+    private static final String JOURNAL = "journal";
+    private static final String JOURNAL_FLUSH_INTERVAL = "journalFlushInterval";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String ASYNC = "async";
+    private static final String ASYNC_QUEUE_SIZE = "asyncQueueSize";
+    private static final String FORMAT = "format";
+    private static final String BINARY_COMPRESSION = "binaryCompression";
+    private static final String INDEX = "index";
+    private static final String INDEX_SUFFIX = ".index";
+    private static final String SHARDING = "sharding";
+    private static final String EVICT_TEST_CLASSES = "evictTestClasses";
+    private static final String RESOURCE_PROBE = "resourceProbe";
+    private static final String HUNG_TEST_THRESHOLD = "hungTestThreshold";
+    private static final String HUNG_TEST_HEAP_HISTOGRAM = "hungTestHeapHistogram";
+    private static final String HUNG_TEST_DIRECTORY_SUFFIX = "-hung-tests";
+    private static final String SHARD_DIRECTORY_SUFFIX = "-shards";
+    private static final String JSON_SUFFIX = ".json";
+    private static final String BINARY_SUFFIX = ".bin";
 
     private String rootDirectory = "target";
     private String file = "report.json";
+    private boolean prettyPrint = true;
+    private boolean journal = false;
+    private long journalFlushInterval = 1000;
+    private boolean async = false;
+    private int asyncQueueSize = 10000;
+    private ReportFormat format = ReportFormat.JSON;
+    private boolean binaryCompression = true;
+    private boolean index = false;
+    private boolean sharding = false;
+    private boolean evictTestClasses = false;
+    private boolean resourceProbe = false;
+    private long hungTestThreshold = 0;
+    private boolean hungTestHeapHistogram = false;
 
     private  ReporterConfiguration(){
     }
@@ -28,6 +60,59 @@ public class ReporterConfiguration {
             reporterConfiguration.file = reporterProps.get(FILE);
         }
 
+        if (reporterProps.containsKey(PRETTY_PRINT)) {
+            reporterConfiguration.prettyPrint = Boolean.parseBoolean(reporterProps.get(PRETTY_PRINT));
+        }
+
+        if (reporterProps.containsKey(JOURNAL)) {
+            reporterConfiguration.journal = Boolean.parseBoolean(reporterProps.get(JOURNAL));
+        }
+
+        if (reporterProps.containsKey(JOURNAL_FLUSH_INTERVAL)) {
+            reporterConfiguration.journalFlushInterval = Long.parseLong(reporterProps.get(JOURNAL_FLUSH_INTERVAL));
+        }
+
+        if (reporterProps.containsKey(ASYNC)) {
+            reporterConfiguration.async = Boolean.parseBoolean(reporterProps.get(ASYNC));
+        }
+
+        if (reporterProps.containsKey(ASYNC_QUEUE_SIZE)) {
+            reporterConfiguration.asyncQueueSize = Integer.parseInt(reporterProps.get(ASYNC_QUEUE_SIZE));
+        }
+
+        if (reporterProps.containsKey(FORMAT)) {
+            reporterConfiguration.format = ReportFormat.fromString(reporterProps.get(FORMAT));
+        }
+
+        if (reporterProps.containsKey(BINARY_COMPRESSION)) {
+            reporterConfiguration.binaryCompression = Boolean.parseBoolean(reporterProps.get(BINARY_COMPRESSION));
+        }
+
+        if (reporterProps.containsKey(INDEX)) {
+            reporterConfiguration.index = Boolean.parseBoolean(reporterProps.get(INDEX));
+        }
+
+        if (reporterProps.containsKey(SHARDING)) {
+            reporterConfiguration.sharding = Boolean.parseBoolean(reporterProps.get(SHARDING));
+        }
+
+        if (reporterProps.containsKey(EVICT_TEST_CLASSES)) {
+            reporterConfiguration.evictTestClasses = Boolean.parseBoolean(reporterProps.get(EVICT_TEST_CLASSES));
+        }
+
+        if (reporterProps.containsKey(RESOURCE_PROBE)) {
+            reporterConfiguration.resourceProbe = Boolean.parseBoolean(reporterProps.get(RESOURCE_PROBE));
+        }
+
+        if (reporterProps.containsKey(HUNG_TEST_THRESHOLD)) {
+            reporterConfiguration.hungTestThreshold = Long.parseLong(reporterProps.get(HUNG_TEST_THRESHOLD));
+        }
+
+        if (reporterProps.containsKey(HUNG_TEST_HEAP_HISTOGRAM)) {
+            reporterConfiguration.hungTestHeapHistogram =
+                Boolean.parseBoolean(reporterProps.get(HUNG_TEST_HEAP_HISTOGRAM));
+        }
+
         return reporterConfiguration;
     }
 
@@ -39,7 +124,83 @@ public class ReporterConfiguration {
         return file;
     }
 
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    public boolean isJournal() {
+        return journal;
+    }
+
+    public long getJournalFlushInterval() {
+        return journalFlushInterval;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public boolean isBinaryCompression() {
+        return binaryCompression;
+    }
+
+    public boolean isIndex() {
+        return index;
+    }
+
+    public boolean isSharding() {
+        return sharding;
+    }
+
+    public boolean isEvictTestClasses() {
+        return evictTestClasses;
+    }
+
+    public boolean isResourceProbe() {
+        return resourceProbe;
+    }
+
+    public long getHungTestThreshold() {
+        return hungTestThreshold;
+    }
+
+    public boolean isHungTestHeapHistogram() {
+        return hungTestHeapHistogram;
+    }
+
     public File getReportFile() {
         return new File(rootDirectory, file);
     }
+
+    public File getBinaryReportFile() {
+        return new File(rootDirectory, getFileWithoutJsonSuffix() + BINARY_SUFFIX);
+    }
+
+    public File getShardDirectory() {
+        return new File(rootDirectory, getFileWithoutJsonSuffix() + SHARD_DIRECTORY_SUFFIX);
+    }
+
+    public File getHungTestDirectory() {
+        return new File(rootDirectory, getFileWithoutJsonSuffix() + HUNG_TEST_DIRECTORY_SUFFIX);
+    }
+
+    public File getIndexFile() {
+        return new File(rootDirectory, file + INDEX_SUFFIX);
+    }
+
+    public File getJournalFile() {
+        return new File(rootDirectory, file + JOURNAL_SUFFIX);
+    }
+
+    private String getFileWithoutJsonSuffix() {
+        return file.endsWith(JSON_SUFFIX) ? file.substring(0, file.length() - JSON_SUFFIX.length()) : file;
+    }
 }
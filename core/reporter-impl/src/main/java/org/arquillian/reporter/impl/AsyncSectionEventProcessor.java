@@ -0,0 +1,165 @@
+package org.arquillian.reporter.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.reporter.api.event.SectionEvent;
+
+/**
+ * Processes {@link SectionEvent}s in a single dedicated thread, so the test thread doesn't have to wait for the
+ * wrapping of the reports and for the merging of the section tree. The events are processed one by one in the same
+ * order as they were submitted, so the resulting report is the same as the one created by synchronous processing.
+ * <p>
+ * The events are stored in a bounded queue; when the queue is full, then the submitting thread is blocked until
+ * there is some space available. The events that are submitted after the processing has been drained (eg. events
+ * fired by other extensions when the manager is stopping) are processed synchronously in the submitting thread.
+ * </p>
+ * <p>
+ * A {@link RuntimeException} thrown while an event is processed in the merger thread cannot be propagated to the
+ * thread that submitted the event (it has already continued), so it is only logged and the processing continues with
+ * the next event. This is the only difference from the synchronous processing where the exception is propagated to
+ * the observer of the event - the events processed synchronously after the drain propagate it as well.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class AsyncSectionEventProcessor {
+
+    private static final Logger log = Logger.getLogger(AsyncSectionEventProcessor.class.getName());
+
+    static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private static final Runnable END_OF_PROCESSING = () -> {
+    };
+
+    private final BlockingQueue<Runnable> queue;
+    private final Consumer<SectionEvent> eventProcessor;
+    private final Thread mergerThread;
+    // the submitting threads share the read lock, so they can wait for a space in the queue in parallel;
+    // the write lock is taken only to stop the processing, so no task can be added after the end of the processing
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+    // guarded by stopLock; once it is set, no task is added into the queue
+    private boolean stopped;
+
+    /**
+     * Creates the queue and starts the merger thread
+     *
+     * @param queueSize      The maximal number of events waiting for processing; if it is not positive, then the
+     *                       default size {@value #DEFAULT_QUEUE_SIZE} is used
+     * @param eventProcessor A processor that should be invoked for every submitted event (in the merger thread)
+     */
+    public AsyncSectionEventProcessor(int queueSize, Consumer<SectionEvent> eventProcessor) {
+        if (queueSize <= 0) {
+            log.warning(String.format("The size of the asynchronous queue has to be positive, but it is %d; "
+                                          + "the default size %d is used instead", queueSize, DEFAULT_QUEUE_SIZE));
+            queueSize = DEFAULT_QUEUE_SIZE;
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.eventProcessor = eventProcessor;
+
+        mergerThread = new Thread(this::processEvents, "arquillian-reporter-section-event-merger");
+        mergerThread.setDaemon(true);
+        mergerThread.start();
+    }
+
+    /**
+     * Adds the given event at the end of the queue. If the queue is full, then it waits until there is some space
+     * available. If the processing has already been drained, then it waits until the merger thread is stopped and
+     * processes the event in the current thread (any {@link RuntimeException} is then propagated to the caller).
+     *
+     * @param event A {@link SectionEvent} to be processed
+     */
+    public void submit(SectionEvent event) {
+        stopLock.readLock().lock();
+        try {
+            if (!stopped) {
+                put(() -> eventProcessor.accept(event));
+                return;
+            }
+        } finally {
+            stopLock.readLock().unlock();
+        }
+        // the event has been fired too late; to keep the order the remaining events have to be processed first
+        awaitMergerThread();
+        log.fine("A section event has been submitted after the asynchronous processing was drained; "
+                     + "it is processed synchronously: " + event);
+        eventProcessor.accept(event);
+    }
+
+    /**
+     * Waits until all submitted events are processed and stops the merger thread. The events submitted afterwards are
+     * processed synchronously.
+     */
+    public void drain() {
+        stopLock.writeLock().lock();
+        try {
+            if (!stopped) {
+                stopped = true;
+                put(END_OF_PROCESSING);
+            }
+        } finally {
+            stopLock.writeLock().unlock();
+        }
+        awaitMergerThread();
+    }
+
+    private void awaitMergerThread() {
+        boolean interrupted = false;
+        while (mergerThread.isAlive()) {
+            try {
+                mergerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void put(Runnable task) {
+        // the order of the events has to be kept, so the task cannot be skipped when the thread is interrupted
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(task);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void processEvents() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            if (task == END_OF_PROCESSING) {
+                return;
+            }
+            process(task);
+        }
+    }
+
+    private void process(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // there is nobody to propagate the exception to - see the class javadoc
+            log.log(Level.WARNING, "Something bad happened when Arquillian Reporter was processing a section event", e);
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package org.arquillian.reporter.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.arquillian.reporter.api.builder.report.ReportBuilder;
 import org.arquillian.reporter.api.model.UnknownStringKey;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
 import org.arquillian.reporter.api.model.report.AbstractReport;
 import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.ReportSummary;
 import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.api.model.report.WithSummaryReport;
 
 /**
  * Report containing all reports related to the whole test execution
  *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
-public class ExecutionReport extends AbstractReport<ExecutionReport, ReportBuilder> {
+public class ExecutionReport extends AbstractReport<ExecutionReport, ReportBuilder> implements WithSummaryReport {
 
+    // the first field so the summary is at the top of the serialized report
+    private ReportSummary summary = new ReportSummary();
+    // unique stack traces of all failures stored by their signatures - see FailureTraceEntry
+    private Map<String, FailureTrace> failureTraces = new LinkedHashMap<>();
     private final List<TestSuiteReport> testSuiteReports = new ArrayList<>();
     public static final String EXECUTION_REPORT_NAME = "execution";
 
@@ -27,6 +36,66 @@ public class ExecutionReport extends AbstractReport<ExecutionReport, ReportBuild
         return testSuiteReports;
     }
 
+    @Override
+    public ReportSummary getSummary() {
+        return summary;
+    }
+
+    @Override
+    public void setSummary(ReportSummary summary) {
+        this.summary = summary;
+    }
+
+    /**
+     * Returns the table of all unique stack traces of failures stored by their signatures. Every stored
+     * {@link FailureTrace} contains also the list of test methods that failed with the same stack trace.
+     *
+     * @return The table of failure traces
+     */
+    public synchronized Map<String, FailureTrace> getFailureTraces() {
+        return failureTraces;
+    }
+
+    public synchronized void setFailureTraces(Map<String, FailureTrace> failureTraces) {
+        this.failureTraces = failureTraces;
+    }
+
+    /**
+     * Returns the stack trace that is stored in the table of failure traces with the given signature
+     *
+     * @param traceSignature A signature of the stack trace
+     * @return The stored {@link FailureTrace} or null if there isn't any stack trace stored with the given signature
+     */
+    public synchronized FailureTrace getFailureTrace(String traceSignature) {
+        return failureTraces.get(traceSignature);
+    }
+
+    /**
+     * Stores the stack trace contained in the given {@link FailureTraceEntry} into the table of failure traces (if it
+     * hasn't been stored yet) and adds the given test method to the list of methods that failed with the stack trace.
+     *
+     * @param failureTraceEntry A {@link FailureTraceEntry} containing the stack trace to be stored
+     * @param failedTestMethod  An identifier of a test method that failed with the stack trace
+     * @return The {@link FailureTrace} stored in the table
+     */
+    public synchronized FailureTrace addFailureTrace(FailureTraceEntry failureTraceEntry, String failedTestMethod) {
+        FailureTrace failureTrace = failureTraces.computeIfAbsent(failureTraceEntry.getTraceSignature(),
+                                                                  signature -> new FailureTrace(
+                                                                      failureTraceEntry.getStackTrace()));
+        if (failedTestMethod != null) {
+            failureTrace.getFailedTestMethods().add(failedTestMethod);
+        }
+        return failureTrace;
+    }
+
+    private synchronized void mergeFailureTraces(Map<String, FailureTrace> newFailureTraces) {
+        newFailureTraces.forEach((signature, failureTrace) -> {
+            FailureTrace stored = failureTraces.putIfAbsent(signature, failureTrace);
+            if (stored != null && stored != failureTrace) {
+                stored.getFailedTestMethods().addAll(failureTrace.getFailedTestMethods());
+            }
+        });
+    }
 
     @Override
     public Class<ReportBuilder> getReportBuilderClass() {
@@ -37,15 +106,22 @@ public class ExecutionReport extends AbstractReport<ExecutionReport, ReportBuild
     public ExecutionReport merge(ExecutionReport newReport) {
         if (newReport != null) {
             defaultMerge(newReport);
+            mergeFailureTraces(newReport.getFailureTraces());
             getTestSuiteReports().addAll(newReport.getTestSuiteReports());
+            newReport.getTestSuiteReports().forEach(this::attachSummary);
         }
         return this;
     }
 
+    private void attachSummary(TestSuiteReport testSuiteReport) {
+        testSuiteReport.getSummary().attachTo(getSummary(), null);
+    }
+
     @Override
     public Report addNewReport(Report newReport, Class<? extends Report> expectedReportTypeClass) {
         if (expectedReportTypeClass == TestSuiteReport.class) {
             getTestSuiteReports().add((TestSuiteReport) newReport);
+            attachSummary((TestSuiteReport) newReport);
         } else {
             getSubReports().add(newReport);
         }
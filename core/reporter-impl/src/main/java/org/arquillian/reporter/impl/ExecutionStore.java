@@ -10,6 +10,7 @@ public class ExecutionStore {
     private final ExecutionReport executionReport;
     private final ExecutionSection executionSection;
     private final SectionTree sectionTree;
+    private final SectionRouteCache routeCache = new SectionRouteCache();
 
     public ExecutionStore() {
         executionReport = new ExecutionReport();
@@ -21,6 +22,10 @@ public class ExecutionStore {
         return sectionTree;
     }
 
+    SectionRouteCache getRouteCache() {
+        return routeCache;
+    }
+
     public ExecutionSection getExecutionSection() {
         return executionSection;
     }
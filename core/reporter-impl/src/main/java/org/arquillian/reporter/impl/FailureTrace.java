@@ -0,0 +1,65 @@
+package org.arquillian.reporter.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A unique stack trace of a failure stored in the table of failure traces of an {@link ExecutionReport}. Apart from
+ * the stack trace itself it contains a list of all test methods that failed with the same stack trace, so the table
+ * can be also used as a summary of failures clustered by their stack traces.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class FailureTrace {
+
+    // the first fields so the summary of the failure is at the top of the serialized trace
+    private String exception;
+    private final List<String> failedTestMethods = new ArrayList<>();
+    private String stackTrace;
+
+    public FailureTrace() {
+    }
+
+    public FailureTrace(String stackTrace) {
+        this.stackTrace = stackTrace;
+        this.exception = getFirstLine(stackTrace);
+    }
+
+    /**
+     * Returns the first line of the stack trace - typically the class of the exception and its message
+     *
+     * @return The first line of the stack trace
+     */
+    public String getException() {
+        return exception;
+    }
+
+    /**
+     * Returns identifiers of all test methods (in the format {@code TestClass#testMethod}) that failed with this trace
+     *
+     * @return A list of test methods that failed with this trace
+     */
+    public List<String> getFailedTestMethods() {
+        return failedTestMethods;
+    }
+
+    public String getStackTrace() {
+        return stackTrace;
+    }
+
+    private static String getFirstLine(String stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        int endOfLine = stackTrace.indexOf('\n');
+        return (endOfLine < 0 ? stackTrace : stackTrace.substring(0, endOfLine)).trim();
+    }
+
+    @Override
+    public String toString() {
+        return "FailureTrace{" +
+            "exception='" + exception + '\'' +
+            ", failedTestMethods=" + failedTestMethods +
+            '}';
+    }
+}
@@ -1,16 +1,29 @@
 package org.arquillian.reporter.impl;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import org.apache.commons.io.FileUtils;
 import org.arquillian.reporter.api.builder.BuilderLoader;
 import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.SectionEventBatch;
+import org.arquillian.reporter.api.event.TestClassSection;
 import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.config.ReportFormat;
 import org.arquillian.reporter.config.ReporterConfiguration;
+import org.arquillian.reporter.journal.ReportJournal;
+import org.arquillian.reporter.parser.ReportShardParser;
+import org.arquillian.reporter.writer.EvictedTestClassReport;
+import org.arquillian.reporter.writer.ReportBinaryWriter;
+import org.arquillian.reporter.writer.ReportJsonWriter;
+import org.arquillian.reporter.writer.ShardedReportWriter;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
@@ -20,17 +33,29 @@ import org.jboss.arquillian.core.api.event.ManagerStarted;
 import org.jboss.arquillian.core.api.event.ManagerStopping;
 import org.jboss.arquillian.core.spi.ServiceLoader;
 
-import static org.arquillian.reporter.impl.SectionEventManager.processEvent;
-
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class ReporterLifecycleManager {
 
+    private static final Logger log = Logger.getLogger(ReporterLifecycleManager.class.getName());
+
     @Inject
     @ApplicationScoped
     private InstanceProducer<ExecutionStore> executionStore;
 
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ReportJournal> reportJournal;
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<AsyncSectionEventProcessor> asyncProcessor;
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ShardedReportWriter> shardedReportWriter;
+
     @Inject
     private Instance<ServiceLoader> serviceLoader;
 
@@ -49,29 +74,181 @@ public class ReporterLifecycleManager {
         }
     }
 
+    // observe the configuration and if the journal, the sharding or the asynchronous processing is enabled, then prepare it
+    public void observeConfiguration(@Observes ReporterConfiguration reporterConfiguration) throws IOException {
+        if (reporterConfiguration.isJournal() && reportJournal.get() == null) {
+            reportJournal.set(new ReportJournal(reporterConfiguration.getJournalFile(),
+                                                reporterConfiguration.getJournalFlushInterval()));
+        }
+        if (reporterConfiguration.isSharding() && shardedReportWriter.get() == null) {
+            shardedReportWriter.set(new ShardedReportWriter(reporterConfiguration.getShardDirectory(),
+                                                            reporterConfiguration.isPrettyPrint(),
+                                                            reporterConfiguration.isEvictTestClasses()));
+        }
+        if (reporterConfiguration.isAsync() && asyncProcessor.get() == null) {
+            // the instances are not available in the context of the merger thread, so they have to be passed directly
+            ExecutionStore store = executionStore.get();
+            ReportJournal journal = reportJournal.get();
+            ShardedReportWriter shardWriter = shardedReportWriter.get();
+            asyncProcessor.set(new AsyncSectionEventProcessor(reporterConfiguration.getAsyncQueueSize(),
+                                                              sectionEvent -> processEvent(sectionEvent, store, journal,
+                                                                                           shardWriter)));
+        }
+    }
+
     // observe all section-events
     public void observeEventsForAllSections(@Observes SectionEvent event) {
-        processEvent(event, executionStore.get());
+        if (asyncProcessor.get() != null) {
+            asyncProcessor.get().submit(event);
+        } else {
+            processEvent(event, executionStore.get(), reportJournal.get(), shardedReportWriter.get());
+        }
     }
 
     public void observeLastEvent(@Observes ManagerStopping event, ReporterConfiguration reporterConfiguration) throws IOException {
-        printJson(reporterConfiguration);
+        // wait until all section events are processed
+        if (asyncProcessor.get() != null) {
+            asyncProcessor.get().drain();
+        }
+
+        ReportJournal journal = reportJournal.get();
+        if (journal != null) {
+            journal.close();
+        }
+        // the in-memory report is equal to the one folded from the journal, so when it is written the journal is no more needed
+        if (printReport(reporterConfiguration) && journal != null) {
+            Files.deleteIfExists(reporterConfiguration.getJournalFile().toPath());
+        }
+    }
+
+    private void processEvent(SectionEvent event, ExecutionStore store, ReportJournal journal,
+        ShardedReportWriter shardWriter) {
+        if (event instanceof SectionEventBatch) {
+            processEventBatch((SectionEventBatch) event, store, journal, shardWriter);
+            return;
+        }
+        SectionEventManager.processEvent(event, store, journal);
+        writeIfTestClassFinished(event, store, shardWriter);
+        markIfTestClassModified(event, store, shardWriter);
+    }
+
+    private void processEventBatch(SectionEventBatch batch, ExecutionStore store, ReportJournal journal,
+        ShardedReportWriter shardWriter) {
+        SectionEventManager.processEventBatch(batch, store, journal);
+        batch.getSectionEvents().forEach(event -> {
+            writeIfTestClassFinished(event, store, shardWriter);
+            markIfTestClassModified(event, store, shardWriter);
+        });
+    }
+
+    private void writeIfTestClassFinished(SectionEvent event, ExecutionStore store, ShardedReportWriter shardWriter) {
+        // when a test class is finished, its report is complete, so it can be written into its shard
+        if (shardWriter != null && event instanceof TestClassSection && isStopped(event.getReport())) {
+            try {
+                writeFinishedTestClass(store, (TestClassSection) event, shardWriter);
+            } catch (IOException e) {
+                // the report is kept in the memory, so the shard is written again together with the manifest
+                log.log(Level.WARNING, "Something bad happened when Arquillian Reporter was writing the shard of the "
+                    + "finished test class " + event.getSectionId() + " - it will be written again at the end", e);
+            }
+        }
+    }
+
+    private void markIfTestClassModified(SectionEvent event, ExecutionStore store, ShardedReportWriter shardWriter) {
+        // the late content of an evicted test class is merged into its stub, so only the kept reports are tracked
+        if (shardWriter == null || shardWriter.isEvictTestClasses()
+            || (event instanceof TestClassSection && isStopped(event.getReport()))) {
+            return;
+        }
+        SectionEvent section = event;
+        while (section != null && !(section instanceof TestClassSection)) {
+            section = section.getParentSectionThisSectionBelongsTo();
+        }
+        if (section == null) {
+            return;
+        }
+        SectionTree testSuiteTree =
+            store.getSectionTree().getSubtree(section.getParentSectionThisSectionBelongsTo().identifyYourself());
+        SectionTree testClassTree = testSuiteTree == null ? null : testSuiteTree.getSubtree(section.identifyYourself());
+        if (testClassTree != null) {
+            // the same lock as when the shard is written, so the mark cannot be overwritten by a write that started
+            // before the event was merged
+            synchronized (testClassTree.getLock()) {
+                Report report = testClassTree.getAssociatedReport();
+                if (report instanceof TestClassReport) {
+                    shardWriter.markModified((TestClassReport) report);
+                }
+            }
+        }
+    }
+
+    private boolean isStopped(Report report) {
+        return report instanceof TestClassReport && ((TestClassReport) report).getExecutionStopTimestamp() != 0;
     }
 
-    private void printJson(ReporterConfiguration reporterConfiguration) {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        String json = gson.toJson(executionStore.get().getExecutionReport());
+    private void writeFinishedTestClass(ExecutionStore store, TestClassSection event, ShardedReportWriter shardWriter)
+        throws IOException {
+        SectionTree testSuiteTree =
+            store.getSectionTree().getSubtree(event.getParentSectionThisSectionBelongsTo().identifyYourself());
+        SectionTree testClassTree = testSuiteTree == null ? null : testSuiteTree.getSubtree(event.identifyYourself());
+        if (testClassTree == null) {
+            return;
+        }
+
+        // the node is locked (by the same private lock the merge uses) so no other event can be merged into the report
+        // while it is being written and replaced
+        synchronized (testClassTree.getLock()) {
+            Report report = testClassTree.getAssociatedReport();
+            // a late stop event of an evicted test class has been merged into the stub - it is written with the manifest
+            if (!(report instanceof TestClassReport) || report instanceof EvictedTestClassReport) {
+                return;
+            }
+            if (!shardWriter.isEvictTestClasses()) {
+                shardWriter.writeShard((TestClassReport) report);
+                return;
+            }
+
+            // replace the report and the whole subtree by the stub - any late event for the class is merged into the stub
+            EvictedTestClassReport stub = shardWriter.evict((TestClassReport) report);
+            testClassTree.setAssociatedReport(stub);
+            testClassTree.setSubtrees(Collections.emptyList());
+            synchronized (testSuiteTree.getLock()) {
+                TestSuiteReport testSuiteReport = (TestSuiteReport) testSuiteTree.getAssociatedReport();
+                List<TestClassReport> testClassReports = testSuiteReport.getTestClassReports();
+                for (int i = 0; i < testClassReports.size(); i++) {
+                    if (testClassReports.get(i) == report) {
+                        testClassReports.set(i, stub);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean printReport(ReporterConfiguration reporterConfiguration) {
+        ExecutionReport executionReport = executionStore.get().getExecutionReport();
+        ReportFormat format = reporterConfiguration.getFormat();
         try {
-            FileUtils.writeStringToFile(reporterConfiguration.getReportFile(), json, Charset.defaultCharset());
+            ShardedReportWriter shardWriter = shardedReportWriter.get();
+            if (shardWriter != null) {
+                // the manifest has to be written even if the JSON format is not required - the evicted reports are only in the shards
+                shardWriter.writeManifest(executionReport);
+                if (format.isBinary() && shardWriter.isEvictTestClasses()) {
+                    executionReport = ReportShardParser.parse(shardWriter.getManifestFile().getPath());
+                }
+            } else if (format.isJson()) {
+                ReportJsonWriter.write(executionReport, reporterConfiguration.getReportFile(),
+                                       reporterConfiguration.isPrettyPrint(),
+                                       reporterConfiguration.isIndex() ? reporterConfiguration.getIndexFile() : null);
+            }
+            if (format.isBinary()) {
+                ReportBinaryWriter.write(executionReport, reporterConfiguration.getBinaryReportFile(),
+                                         reporterConfiguration.isBinaryCompression());
+            }
+            return true;
         } catch (IOException e) {
-            e.printStackTrace();
+            log.log(Level.WARNING,
+                    "Something bad happened when Arquillian Reporter was writing the report in the format " + format, e);
+            return false;
         }
-
-        //        System.out.println(json);
-        //        try {
-        //            Thread.sleep(500);
-        //        } catch (InterruptedException e) {
-        //            e.printStackTrace();
-        //        }
     }
 }
@@ -1,17 +1,237 @@
 package org.arquillian.reporter.impl;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.arquillian.reporter.api.event.Identifier;
 import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.SectionEventBatch;
 import org.arquillian.reporter.api.event.Standalone;
+import org.arquillian.reporter.api.event.TestMethodSection;
 import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
 import org.arquillian.reporter.api.model.report.AbstractReport;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.journal.ReportJournal;
 
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class SectionEventManager {
 
+    // execution, test suite, test class, test method, its configuration and a section within it
+    private static final int EXPECTED_DEPTH = 6;
+
     public static <SECTIONTYPE extends SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE>, REPORT_TYPE extends AbstractReport, PARENT_TYPE extends SectionEvent>
     void processEvent(SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE> event, ExecutionStore executionStore) {
+        processEvent(event, executionStore, null);
+    }
+
+    /**
+     * Processes the given event the same way as {@link #processEvent(SectionEvent, ExecutionStore)} does and appends
+     * a record of the event into the given journal. The record is created just before the report is merged (the merge
+     * may change the reports), so the report is serialized in the thread that processes the event.
+     *
+     * @param event          A {@link SectionEvent} to be processed
+     * @param executionStore An {@link ExecutionStore} the event should be merged into
+     * @param journal        A {@link ReportJournal} the event should be recorded in; null if there is no journal
+     */
+    public static <SECTIONTYPE extends SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE>, REPORT_TYPE extends AbstractReport, PARENT_TYPE extends SectionEvent>
+    void processEvent(SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE> event, ExecutionStore executionStore,
+        ReportJournal journal) {
+
+        prepareReport(event);
+
+        // the route of the core sections is resolved only once - the merge then doesn't allocate anything
+        SectionRouteCache.Route route = executionStore.getRouteCache().getRoute(event);
+        if (route != null) {
+            if (journal != null) {
+                journal.append(route.getIdentifiers(), route.getReportTypes(), event.getReport());
+            }
+            storeFailureTraces(event, executionStore.getExecutionReport());
+            executionStore.getSectionTree()
+                .mergeSectionRoute(route.getIdentifiers(), route.getReportTypes(), event.getReport());
+        } else {
+            mergeSectionPath(event, executionStore, journal);
+        }
+    }
+
+    /**
+     * Processes all section events contained in the given batch. The events are grouped by the node of the section
+     * tree they belong to (the groups are ordered by the first event of each group) and the reports of every group are
+     * merged in one descent through the tree.
+     *
+     * @param batch          A {@link SectionEventBatch} to be processed
+     * @param executionStore An {@link ExecutionStore} the events should be merged into
+     */
+    public static void processEventBatch(SectionEventBatch batch, ExecutionStore executionStore) {
+        processEventBatch(batch, executionStore, null);
+    }
+
+    /**
+     * Processes the given batch the same way as {@link #processEventBatch(SectionEventBatch, ExecutionStore)} does and
+     * appends a record of every event into the given journal. The records are appended in the order the reports are
+     * merged in, so the report recovered from the journal is the same as the merged one.
+     *
+     * @param batch          A {@link SectionEventBatch} to be processed
+     * @param executionStore An {@link ExecutionStore} the events should be merged into
+     * @param journal        A {@link ReportJournal} the events should be recorded in; null if there is no journal
+     */
+    public static void processEventBatch(SectionEventBatch batch, ExecutionStore executionStore,
+        ReportJournal journal) {
+        // the key is either a cached route, or the event itself if its route cannot be cached
+        Map<Object, List<SectionEvent>> groups = new LinkedHashMap<>();
+        for (SectionEvent event : batch.getSectionEvents()) {
+            prepareReport(event);
+            SectionRouteCache.Route route = executionStore.getRouteCache().getRoute(event);
+            groups.computeIfAbsent(route != null ? route : event, key -> new ArrayList<>()).add(event);
+        }
+
+        groups.forEach((key, events) -> {
+            if (key instanceof SectionRouteCache.Route) {
+                SectionRouteCache.Route route = (SectionRouteCache.Route) key;
+                List<Report> reports = new ArrayList<>(events.size());
+                for (SectionEvent event : events) {
+                    if (journal != null) {
+                        journal.append(route.getIdentifiers(), route.getReportTypes(), event.getReport());
+                    }
+                    storeFailureTraces(event, executionStore.getExecutionReport());
+                    reports.add(event.getReport());
+                }
+                executionStore.getSectionTree()
+                    .mergeSectionRoute(route.getIdentifiers(), route.getReportTypes(), reports);
+            } else {
+                mergeSectionPath((SectionEvent) key, executionStore, journal);
+            }
+        });
+    }
+
+    /**
+     * Stores all stack traces contained in {@link FailureTraceEntry}s of the report carried by the given event into
+     * the table of failure traces of the given {@link ExecutionReport}. In the report that is merged into the section
+     * tree the entries are then replaced by copies keeping only the signatures of the stack traces, so every unique
+     * stack trace is serialized only once. The {@link FailureTraceEntry}s (and the lists of entries) created by the
+     * reporter of the event are not modified.
+     *
+     * @param event           A {@link SectionEvent} carrying the report that should be searched for failure traces
+     * @param executionReport An {@link ExecutionReport} the failure traces should be stored into
+     */
+    static void storeFailureTraces(SectionEvent event, ExecutionReport executionReport) {
+        storeFailureTraces(event.getReport(), event, executionReport);
+    }
+
+    private static void storeFailureTraces(Report<?, ?> report, SectionEvent event, ExecutionReport executionReport) {
+        if (report == null) {
+            return;
+        }
+        List<Entry> entries = report.getEntries();
+        List<Entry> entriesWithoutTraces = null;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            Entry entryWithoutTrace = storeFailureTrace(entry, event, executionReport);
+            if (entryWithoutTrace != entry) {
+                if (entriesWithoutTraces == null) {
+                    entriesWithoutTraces = new ArrayList<>(entries);
+                }
+                entriesWithoutTraces.set(i, entryWithoutTrace);
+            }
+        }
+        if (entriesWithoutTraces != null) {
+            report.setEntries(entriesWithoutTraces);
+        }
+        if (report instanceof TestMethodReport) {
+            storeFailureTraces(((TestMethodReport) report).getFailureReport(), event, executionReport);
+        }
+        for (Report subReport : report.getSubReports()) {
+            storeFailureTraces(subReport, event, executionReport);
+        }
+    }
+
+    /**
+     * Stores the stack trace contained in the given entry (if there is any) and returns a copy of the entry keeping
+     * only the signature of the stack trace
+     *
+     * @return The given entry if it doesn't contain any stack trace, its copy without the stack trace otherwise
+     */
+    private static Entry storeFailureTrace(Entry entry, SectionEvent event, ExecutionReport executionReport) {
+        if (entry instanceof KeyValueEntry) {
+            // only nested key-value entries and failure traces are needed, so the shared values are not copied
+            KeyValueEntry keyValueEntry = (KeyValueEntry) entry;
+            Entry value = keyValueEntry.getValue(KeyValueEntry.class);
+            if (value == null) {
+                value = keyValueEntry.getValue(FailureTraceEntry.class);
+            }
+            Entry valueWithoutTrace = storeFailureTrace(value, event, executionReport);
+            return valueWithoutTrace == value ? entry : new KeyValueEntry(keyValueEntry.getKey(), valueWithoutTrace);
+
+        } else if (entry instanceof FailureTraceEntry && ((FailureTraceEntry) entry).getStackTrace() != null) {
+            FailureTraceEntry failureTraceEntry = (FailureTraceEntry) entry;
+            executionReport.addFailureTrace(failureTraceEntry, getFailedTestMethod(event));
+            return new FailureTraceEntry(failureTraceEntry.getTraceSignature(), null);
+        }
+        return entry;
+    }
+
+    private static String getFailedTestMethod(SectionEvent event) {
+        for (SectionEvent section = event; section != null; section = getParentSection(section)) {
+            if (section instanceof TestMethodSection) {
+                Method method = ((TestMethodSection) section).getMethod();
+                return method != null ? method.getDeclaringClass().getName() + "#" + method.getName()
+                    : section.getSectionId();
+            }
+        }
+        return null;
+    }
+
+    private static void mergeSectionPath(SectionEvent event, ExecutionStore executionStore, ReportJournal journal) {
+        // walk the chain of the parent sections and merge the expected path to the report directly with the current
+        // state of section tree - no temporary tree is created for the path
+        SectionEvent[] sections = new SectionEvent[EXPECTED_DEPTH];
+        int depth = 0;
+        for (SectionEvent section = event; section != null; section = getParentSection(section)) {
+            if (depth == sections.length) {
+                sections = Arrays.copyOf(sections, depth * 2);
+            }
+            sections[depth++] = section;
+        }
+        Identifier[] identifiers = new Identifier[depth];
+        Report[] reports = new Report[depth];
+        Class<?>[] reportTypes = new Class<?>[depth];
+        for (int level = 0; level < depth; level++) {
+            SectionEvent section = sections[depth - 1 - level];
+            identifiers[level] = section.identifyYourself();
+            reports[level] = section.getReport();
+            reportTypes[level] = section.getReportTypeClass();
+        }
+        if (journal != null) {
+            journal.append(identifiers, reportTypes, event.getReport());
+        }
+        storeFailureTraces(event, executionStore.getExecutionReport());
+        executionStore.getSectionTree().mergeSectionPath(identifiers, reports, reportTypes);
+    }
+
+    /**
+     * Creates an expected path in the section tree to the report carried by the given event. The path starts with
+     * the node of the {@link ExecutionSection} and ends with the node of the given event.
+     *
+     * @param event A {@link SectionEvent} the path should be created for
+     * @return The created path that can be merged with the section tree
+     */
+    public static <SECTIONTYPE extends SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE>, REPORT_TYPE extends AbstractReport, PARENT_TYPE extends SectionEvent>
+    SectionTree createEventTree(SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE> event) {
+        prepareReport(event);
+        return createTreeRecursively(event, null);
+    }
+
+    private static <SECTIONTYPE extends SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE>, REPORT_TYPE extends AbstractReport, PARENT_TYPE extends SectionEvent>
+    void prepareReport(SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE> event) {
 
         Class<REPORT_TYPE> expectedPayload = event.getReportTypeClass();
         Class<? extends AbstractReport> actualReportClass = event.getReport().getClass();
@@ -23,23 +243,18 @@ public class SectionEventManager {
 
             // if not, then do another check - if the expected payload type is different then the actual one and also that
             // the report should not be treated as a standalone report
-        } else if (!expectedPayload.isAssignableFrom(actualReportClass)
-            && (!Standalone.getStandaloneId().equals(event.getSectionId()) || !Standalone.class
-            .isAssignableFrom(event.getClass()))) {
+        } else if (expectedPayload != actualReportClass && !expectedPayload.isAssignableFrom(actualReportClass)
+            && (!SectionMetadata.of(event.getClass()).isStandalone()
+            || !Standalone.getStandaloneId().equals(event.getSectionId()))) {
             // then wrap it
             wrapReport(expectedPayload, event, actualReportClass);
         }
-
-        // create an expected path in the section tree to the report
-        SectionTree eventTree = createTreeRecursively(event, null);
-        // and merge the expected path with the current state of section tree
-        executionStore.getSectionTree().mergeSectionTree(eventTree);
     }
 
     private static <SECTIONTYPE extends SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE>, REPORT_TYPE extends AbstractReport, PARENT_TYPE extends SectionEvent>
     void wrapReport(Class<REPORT_TYPE> expectedPayload, SectionEvent<SECTIONTYPE, REPORT_TYPE, PARENT_TYPE> event,
         Class<? extends AbstractReport> actualReportClass) {
-        REPORT_TYPE wrapper = SecurityActions.newInstance(expectedPayload, new Class[] {}, new Object[] {});
+        REPORT_TYPE wrapper = SectionMetadata.newInstance(expectedPayload);
         wrapper.addNewReport(event.getReport(), actualReportClass);
         event.setReport((REPORT_TYPE) wrapper);
     }
@@ -57,15 +272,18 @@ public class SectionEventManager {
             new SectionTree<>(sectionEvent.identifyYourself(), sectionEvent.getReport(),
                               sectionEvent.getReportTypeClass());
         if (subtree != null) {
-            sectionTree.getSubtrees().add(subtree);
+            sectionTree.addSubtree(subtree);
         }
 
+        return createTreeRecursively(getParentSection(sectionEvent), sectionTree);
+    }
+
+    static SectionEvent getParentSection(SectionEvent sectionEvent) {
         SectionEvent parentSectionThisSectionBelongsTo = sectionEvent.getParentSectionThisSectionBelongsTo();
         if (parentSectionThisSectionBelongsTo == null && sectionEvent.getClass() == TestSuiteSection.class) {
             parentSectionThisSectionBelongsTo = new ExecutionSection();
         }
-
-        return createTreeRecursively(parentSectionThisSectionBelongsTo, sectionTree);
+        return parentSectionThisSectionBelongsTo;
     }
 
 }
@@ -0,0 +1,85 @@
+package org.arquillian.reporter.impl;
+
+import java.util.function.Supplier;
+
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.Standalone;
+import org.arquillian.reporter.api.model.report.AbstractReport;
+
+/**
+ * Information about a class of {@link SectionEvent} that is needed when the events of the class are processed. It is
+ * computed only once per class (when the first event of the class is processed), so the processing of the events
+ * doesn't need to use reflection:
+ * <ul>
+ * <li>whether the section can be {@link Standalone}</li>
+ * <li>a factory of the section using its non-parametric constructor</li>
+ * <li>the type of the report of the section and a factory of the report</li>
+ * </ul>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class SectionMetadata {
+
+    private static final ClassValue<SectionMetadata> SECTIONS = new ClassValue<SectionMetadata>() {
+        @Override
+        protected SectionMetadata computeValue(Class<?> sectionClass) {
+            return new SectionMetadata(sectionClass);
+        }
+    };
+
+    private static final ClassValue<Supplier<?>> FACTORIES = new ClassValue<Supplier<?>>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> clazz) {
+            return SecurityActions.newInstanceFactory(clazz);
+        }
+    };
+
+    private final boolean standalone;
+    private final Supplier<? extends SectionEvent> sectionFactory;
+    private volatile Class<? extends AbstractReport> reportType;
+
+    private SectionMetadata(Class<?> sectionClass) {
+        this.standalone = Standalone.class.isAssignableFrom(sectionClass);
+        this.sectionFactory = (Supplier<? extends SectionEvent>) FACTORIES.get(sectionClass);
+    }
+
+    static SectionMetadata of(Class<?> sectionClass) {
+        return SECTIONS.get(sectionClass);
+    }
+
+    /**
+     * Creates a new instance of the given class using its non-parametric constructor. The constructor is looked up
+     * only once per class.
+     *
+     * @param clazz A class the instance should be created of
+     * @return A new instance of the given class
+     */
+    static <T> T newInstance(Class<T> clazz) {
+        return (T) FACTORIES.get(clazz).get();
+    }
+
+    boolean isStandalone() {
+        return standalone;
+    }
+
+    SectionEvent newSection() {
+        return sectionFactory.get();
+    }
+
+    /**
+     * Returns the type of the report of the section. The type is declared by an instance of the section, so the first
+     * call creates one.
+     *
+     * @return The type of the report of the section
+     */
+    Class<? extends AbstractReport> getReportType() {
+        if (reportType == null) {
+            reportType = newSection().getReportTypeClass();
+        }
+        return reportType;
+    }
+
+    AbstractReport newReport() {
+        return newInstance(getReportType());
+    }
+}
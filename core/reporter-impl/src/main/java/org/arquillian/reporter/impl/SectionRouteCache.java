@@ -0,0 +1,198 @@
+package org.arquillian.reporter.impl;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassConfigurationSection;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodFailureSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteConfigurationSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.InternPool;
+import org.arquillian.reporter.api.utils.BoundedCache;
+
+/**
+ * Caches routes - the identifiers and the report types of all sections on the path from the root of the section tree
+ * to a section. The route of a section event is resolved by walking the chain of its parent sections, which creates
+ * a new {@link SectionEvent} and a new {@link Identifier} for every parent. The route of the core sections depends only
+ * on the class and the id of the section, on the test suite id and on the test class (or method) the section relates
+ * to, so it is resolved only once and then reused for all events with the same values. The lookup of a cached route
+ * doesn't allocate anything. When there are too many routes, the least recently used ones are evicted - typically
+ * the routes of the test classes that have already finished.
+ * <p>
+ * The identifiers on the routes are taken from a pool of canonical instances, so the routes (and the nodes of the
+ * section tree) share them.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class SectionRouteCache {
+
+    static final int MAX_NUMBER_OF_ROUTES = 1 << 16;
+
+    // execution, test suite, test class, test method, its configuration and a section within it
+    private static final int EXPECTED_DEPTH = 6;
+
+    private final BoundedCache<RouteKey, Route> routes = new BoundedCache<>(MAX_NUMBER_OF_ROUTES);
+    private final Map<Class<?>, InternPool<Identifier>> identifierPools = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Identifier> identifiersWithoutId = new ConcurrentHashMap<>();
+    // a key reused for lookups, so no key has to be created when the route is already cached
+    private final ThreadLocal<RouteKey> lookupKey = ThreadLocal.withInitial(RouteKey::new);
+
+    /**
+     * Returns the route of the given section event
+     *
+     * @param event A {@link SectionEvent} the route should be returned for
+     * @return The route starting with the root of the section tree and ending with the given section, or null if the
+     * event is not one of the core sections (its parent sections may carry their own reports, so they have to be
+     * merged using {@link SectionTree#mergeSectionPath(Identifier[], org.arquillian.reporter.api.model.report.Report[], Class[])})
+     */
+    Route getRoute(SectionEvent event) {
+        RouteKey key = lookupKey.get();
+        if (!key.set(event)) {
+            return null;
+        }
+        Route route = routes.get(key);
+        if (route == null) {
+            route = routes.putIfAbsent(key.copy(), resolveRoute(event));
+        }
+        return route;
+    }
+
+    private Route resolveRoute(SectionEvent event) {
+        SectionEvent[] sections = new SectionEvent[EXPECTED_DEPTH];
+        int depth = 0;
+        for (SectionEvent section = event; section != null; section = SectionEventManager.getParentSection(section)) {
+            if (depth == sections.length) {
+                sections = Arrays.copyOf(sections, depth * 2);
+            }
+            sections[depth++] = section;
+        }
+        Identifier[] identifiers = new Identifier[depth];
+        Class<?>[] reportTypes = new Class<?>[depth];
+        for (int level = 0; level < depth; level++) {
+            SectionEvent section = sections[depth - 1 - level];
+            identifiers[level] = getIdentifier(section.getClass(), section.getSectionId());
+            reportTypes[level] = section.getReportTypeClass();
+        }
+        return new Route(identifiers, reportTypes);
+    }
+
+    private Identifier getIdentifier(Class<?> sectionClass, String sectionId) {
+        if (sectionId == null) {
+            return identifiersWithoutId.computeIfAbsent(sectionClass, clazz -> new Identifier(clazz, null));
+        }
+        return identifierPools
+            .computeIfAbsent(sectionClass, clazz -> new InternPool<>(id -> new Identifier(clazz, id)))
+            .intern(sectionId);
+    }
+
+    /**
+     * The identifiers and the report types of the sections on a path from the root of the section tree
+     */
+    static class Route {
+        private final Identifier[] identifiers;
+        private final Class<?>[] reportTypes;
+
+        private Route(Identifier[] identifiers, Class<?>[] reportTypes) {
+            this.identifiers = identifiers;
+            this.reportTypes = reportTypes;
+        }
+
+        Identifier[] getIdentifiers() {
+            return identifiers;
+        }
+
+        Class<?>[] getReportTypes() {
+            return reportTypes;
+        }
+    }
+
+    /**
+     * All values the route of a core section depends on. The parent is the test class or the test method the section
+     * relates to.
+     */
+    private static class RouteKey {
+        private Class<?> sectionClass;
+        private String sectionId;
+        private String testSuiteId;
+        private Object parent;
+
+        /**
+         * Sets the values of the given section event into this key
+         *
+         * @return false if the route of the section event cannot be cached; ie. the event is not one of the core
+         * sections (a subclass may override the way how the parent sections are created)
+         */
+        private boolean set(SectionEvent event) {
+            Class<?> eventClass = event.getClass();
+            if (eventClass == TestMethodSection.class) {
+                Method method = ((TestMethodSection) event).getMethod();
+                set(eventClass, event, ((TestMethodSection) event).getTestSuiteId(),
+                    method == null ? null : method.getDeclaringClass());
+            } else if (eventClass == TestMethodConfigurationSection.class) {
+                set(eventClass, event, ((TestMethodConfigurationSection) event).getTestSuiteId(),
+                    ((TestMethodConfigurationSection) event).getTestMethod());
+            } else if (eventClass == TestMethodFailureSection.class) {
+                set(eventClass, event, ((TestMethodFailureSection) event).getTestSuiteId(),
+                    ((TestMethodFailureSection) event).getTestMethod());
+            } else if (eventClass == TestClassSection.class) {
+                set(eventClass, event, ((TestClassSection) event).getTestSuiteId(), null);
+            } else if (eventClass == TestClassConfigurationSection.class) {
+                set(eventClass, event, ((TestClassConfigurationSection) event).getTestSuiteId(),
+                    ((TestClassConfigurationSection) event).getTestClass());
+            } else if (eventClass == TestSuiteConfigurationSection.class) {
+                set(eventClass, event, ((TestSuiteConfigurationSection) event).getTestSuiteId(), null);
+            } else if (eventClass == TestSuiteSection.class) {
+                set(eventClass, event, null, null);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private void set(Class<?> sectionClass, SectionEvent event, String testSuiteId, Object parent) {
+            this.sectionClass = sectionClass;
+            this.sectionId = event.getSectionId();
+            this.testSuiteId = testSuiteId;
+            this.parent = parent;
+        }
+
+        private RouteKey copy() {
+            RouteKey copy = new RouteKey();
+            copy.sectionClass = sectionClass;
+            copy.sectionId = sectionId;
+            copy.testSuiteId = testSuiteId;
+            copy.parent = parent;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            RouteKey that = (RouteKey) o;
+            return sectionClass == that.sectionClass && Objects.equals(sectionId, that.sectionId)
+                && Objects.equals(testSuiteId, that.testSuiteId) && Objects.equals(parent, that.parent);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sectionClass.hashCode();
+            result = 31 * result + (sectionId != null ? sectionId.hashCode() : 0);
+            result = 31 * result + (testSuiteId != null ? testSuiteId.hashCode() : 0);
+            result = 31 * result + (parent != null ? parent.hashCode() : 0);
+            return result;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package org.arquillian.reporter.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import org.arquillian.reporter.api.event.Identifier;
 import org.arquillian.reporter.api.event.SectionEvent;
@@ -14,179 +13,358 @@ import org.arquillian.reporter.api.model.report.AbstractReport;
 import org.arquillian.reporter.api.model.report.Report;
 import org.arquillian.reporter.api.utils.Validate;
 
+import static org.arquillian.reporter.impl.SectionTreeArena.NONE;
+
 /**
+ * A node of a section tree. The nodes are not stored as separate objects - the whole tree is stored in a flat
+ * {@link SectionTreeArena} and an instance of this class is only a view of one node of the arena. The views are
+ * created only when they are asked for (eg. by {@link #getSubtrees()}), so merging of a section event into the tree
+ * doesn't create any of them.
+ *
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class SectionTree<SECTIONTYPE extends SectionEvent<SECTIONTYPE, PAYLOAD_TYPE, ? extends SectionEvent>, PAYLOAD_TYPE extends Report> {
 
-    private Logger log = Logger.getLogger(getClass().getName());
+    private static final Logger log = Logger.getLogger(SectionTree.class.getName());
 
-    private Identifier<SECTIONTYPE> rootIdentifier;
-    private List<SectionTree> subtrees = new ArrayList<>();
-    private PAYLOAD_TYPE associatedReport;
-    private Class<PAYLOAD_TYPE> reportTypeClass;
+    private SectionTreeArena arena;
+    private int node;
 
     public SectionTree(Identifier<SECTIONTYPE> rootIdentifier, PAYLOAD_TYPE associatedReport,
         Class<PAYLOAD_TYPE> reportTypeClass) {
-        this.rootIdentifier = rootIdentifier;
-        this.associatedReport = associatedReport;
-        this.reportTypeClass = reportTypeClass;
+        this.arena = new SectionTreeArena();
+        this.node = arena.addRoot(rootIdentifier, associatedReport, reportTypeClass);
+    }
+
+    private SectionTree(SectionTreeArena arena, int node) {
+        this.arena = arena;
+        this.node = node;
     }
 
     public Identifier<SECTIONTYPE> getRootIdentifier() {
-        return rootIdentifier;
+        return arena.getIdentifier(node);
     }
 
     public void setRootIdentifier(Identifier<SECTIONTYPE> rootIdentifier) {
-        this.rootIdentifier = rootIdentifier;
+        arena.setIdentifier(node, rootIdentifier);
     }
 
+    /**
+     * Returns an unmodifiable list of the subtrees. To add a new subtree use the method {@link #addSubtree(SectionTree)}.
+     *
+     * @return An unmodifiable list of views of the subtrees
+     */
     public List<SectionTree> getSubtrees() {
-        return subtrees;
+        int[] children = arena.getChildren(node);
+        List<SectionTree> subtrees = new ArrayList<>(children.length);
+        for (int child : children) {
+            subtrees.add(new SectionTree(arena, child));
+        }
+        return Collections.unmodifiableList(subtrees);
     }
 
+    /**
+     * Removes all subtrees (the reports associated with them are released) and adds the given ones.
+     *
+     * @param subtrees The {@link SectionTree}s to be set as the subtrees
+     */
     public void setSubtrees(List<SectionTree> subtrees) {
-        this.subtrees = subtrees;
+        arena.removeChildren(node);
+        subtrees.forEach(this::addSubtree);
+    }
+
+    /**
+     * Adds the given subtree at the end of the list of subtrees. The subtree (including its own subtrees) is copied
+     * into the arena of this tree. If the given subtree is a root of its own tree, then it becomes a view of the copy,
+     * so a tree can be built by adding the nodes from the top down.
+     *
+     * @param subtree A {@link SectionTree} to be added as a subtree
+     */
+    public void addSubtree(SectionTree subtree) {
+        int copy = arena.copyAsChild(node, subtree.arena, subtree.node);
+        if (subtree.arena != arena && subtree.node == 0) {
+            subtree.arena = arena;
+            subtree.node = copy;
+        }
+    }
+
+    /**
+     * Returns the subtree with the given identifier. If the identifier doesn't contain any section id, then the latest
+     * subtree of the same type of section is returned - the same subtree the section with this identifier would be merged with.
+     *
+     * @param identifier An {@link Identifier} of the subtree
+     * @return The matching subtree or null if there is no such a subtree
+     */
+    public SectionTree getSubtree(Identifier identifier) {
+        int subtree = findWitSameIdentifierOrTheLatest(node, identifier);
+        return subtree == NONE ? null : new SectionTree(arena, subtree);
     }
 
     public PAYLOAD_TYPE getAssociatedReport() {
-        return associatedReport;
+        return (PAYLOAD_TYPE) arena.getReport(node);
     }
 
     public void setAssociatedReport(PAYLOAD_TYPE associatedReport) {
-        this.associatedReport = associatedReport;
+        arena.setReport(node, associatedReport);
     }
 
     public Class<PAYLOAD_TYPE> getReportTypeClass() {
-        return reportTypeClass;
+        return (Class<PAYLOAD_TYPE>) arena.getReportType(node);
     }
 
     public void setReportTypeClass(Class<PAYLOAD_TYPE> reportTypeClass) {
-        this.reportTypeClass = reportTypeClass;
+        arena.setReportType(node, reportTypeClass);
+    }
+
+    /**
+     * Returns the private lock of this node. The lock is held while a section is merged into this node, so the
+     * associated report (and the subtrees) can be modified under the lock without interfering with the merging.
+     *
+     * @return The lock of this node
+     */
+    Object getLock() {
+        return arena.getLock(node);
     }
 
     public SectionTree<SECTIONTYPE, PAYLOAD_TYPE> getCloneWithoutSubtrees() {
-        return new SectionTree<>(getRootIdentifier(), associatedReport, reportTypeClass);
+        return new SectionTree<>(getRootIdentifier(), getAssociatedReport(), getReportTypeClass());
     }
 
+    /**
+     * Merges the given tree into this one. Only the path formed by the first subtrees of the given tree is merged -
+     * see {@link #mergeSectionPath(Identifier[], Report[], Class[])}.
+     *
+     * @param treeToMerge A {@link SectionTree} to be merged into this one
+     */
     public void mergeSectionTree(SectionTree<SECTIONTYPE, PAYLOAD_TYPE> treeToMerge) {
-        // merge this tree
-        associatedReport.merge(treeToMerge.getAssociatedReport());
+        List<Identifier> identifiers = new ArrayList<>();
+        List<Report> reports = new ArrayList<>();
+        List<Class<?>> reportTypes = new ArrayList<>();
+        for (SectionTree tree = treeToMerge; tree != null; ) {
+            identifiers.add(tree.getRootIdentifier());
+            reports.add(tree.getAssociatedReport());
+            reportTypes.add(tree.getReportTypeClass());
+            int[] children = tree.arena.getChildren(tree.node);
+            tree = children.length == 0 ? null : new SectionTree(tree.arena, children[0]);
+        }
+        mergeSectionPath(identifiers.toArray(new Identifier[identifiers.size()]),
+                         reports.toArray(new Report[reports.size()]),
+                         reportTypes.toArray(new Class<?>[reportTypes.size()]));
+    }
 
-        // if there is some subtree to merge try to find corresponding subtree in the current tree
-        if (!treeToMerge.getSubtrees().isEmpty()) {
+    /**
+     * Merges the given path into this tree. The path is given by parallel arrays - the first element is the one that
+     * is merged with this node (its identifier is not checked), every other element is merged with the matching subtree
+     * of the node the previous element has been merged with. If there is no matching subtree, then either the report
+     * of the element is added into the tree as a new node, or (if the element doesn't contain any report) a node with
+     * a new report is created and the merging continues there.
+     * <p>
+     * The path can be merged concurrently from several threads: every node is locked (using its private lock provided
+     * by the arena - see {@link #getLock()}) only while its own report is merged and while its matching subtree is
+     * found (or created);
+     * the lock is released before the merging continues in the subtree. Thanks to that the events of independent
+     * sections (eg. test classes running in parallel) are merged in parallel and contend only for a short time in the
+     * common nodes.
+     * </p>
+     *
+     * @param identifiers The identifiers of the sections on the path
+     * @param reports     The reports to be merged; null if the element only identifies a parent section
+     * @param reportTypes The expected types of the reports
+     */
+    public void mergeSectionPath(Identifier[] identifiers, Report[] reports, Class<?>[] reportTypes) {
+        mergePath(identifiers, reports, reportTypes, null);
+    }
 
-            SectionTree subtreeToMerge = treeToMerge.getSubtrees().get(0);
-            Identifier rootIdentifierSubtreeToMerge = subtreeToMerge.getRootIdentifier();
-            SectionTree matchedSubtree = null;
+    /**
+     * Merges the given route into this tree the same way as {@link #mergeSectionPath(Identifier[], Report[], Class[])}
+     * does, but only the last element of the route contains a report - all other elements only identify the parent
+     * sections. The arrays are only read, so the same route can be merged repeatedly (and concurrently) without
+     * creating any new object unless a new node has to be added.
+     *
+     * @param identifiers The identifiers of the sections on the route
+     * @param reportTypes The expected types of the reports
+     * @param report      The report to be merged with the last element of the route
+     */
+    public void mergeSectionRoute(Identifier[] identifiers, Class<?>[] reportTypes, Report report) {
+        mergePath(identifiers, null, reportTypes, report);
+    }
 
-            // check if current tree has any subtree
-            if (!getSubtrees().isEmpty()) {
-                // if yes then find either tree with same identifier or the latest one of the same type of section
-                matchedSubtree = findWitSameIdentifierOrTheLatest(rootIdentifierSubtreeToMerge);
+    /**
+     * Merges all the given reports into the last element of the given route. The parent nodes of the last element are
+     * found (or created) only once and then every report is merged the same way as by
+     * {@link #mergeSectionRoute(Identifier[], Class[], Report)} - in the given order.
+     *
+     * @param identifiers The identifiers of the sections on the route
+     * @param reportTypes The expected types of the reports
+     * @param reports     The reports to be merged with the last element of the route
+     */
+    public void mergeSectionRoute(Identifier[] identifiers, Class<?>[] reportTypes, List<? extends Report> reports) {
+        int lastLevel = identifiers.length - 1;
+        long root = arena.reference(node);
+        if (lastLevel == 0) {
+            reports.forEach(report -> mergeNode(root, 0, identifiers, reportTypes, report, null));
+            return;
+        }
+        // descend to the parent of the last element
+        int parentLevel = lastLevel - 1;
+        long parentNode = root;
+        for (int level = 0; level < parentLevel && parentNode != NONE; level++) {
+            parentNode = mergeNode(parentNode, level, identifiers, reportTypes, null, null);
+        }
+        if (parentNode == NONE) {
+            return;
+        }
+        for (Report report : reports) {
+            long lastNode = mergeNode(parentNode, parentLevel, identifiers, reportTypes, null, report);
+            if (lastNode != NONE) {
+                mergeNode(lastNode, lastLevel, identifiers, reportTypes, report, null);
             }
+        }
+    }
 
-            // have I find any matching subtree?
-            if (matchedSubtree == null) {
-                Report associatedReport = subtreeToMerge.getAssociatedReport();
+    private void mergePath(Identifier[] identifiers, Report[] reports, Class<?>[] reportTypes, Report lastReport) {
+        long current = arena.reference(node);
+        for (int level = 0; current != NONE; level++) {
+            Report report = getReport(level, reports, identifiers.length, lastReport);
+            Report nextReport =
+                level + 1 < identifiers.length ? getReport(level + 1, reports, identifiers.length, lastReport) : null;
+            current = mergeNode(current, level, identifiers, reportTypes, report, nextReport);
+        }
+    }
 
-                // if not check if there is any associated report in the subtree to be merged
-                if (associatedReport == null) {
-                    // if not it means that there was expected that this tree should already exist, so the tree has to be created
-                    createMissingSubtreeAndMergeIt(rootIdentifierSubtreeToMerge, subtreeToMerge);
+    private static Report getReport(int level, Report[] reports, int length, Report lastReport) {
+        if (reports != null) {
+            return reports[level];
+        }
+        return level == length - 1 ? lastReport : null;
+    }
+
+    /**
+     * Merges the given report into the referenced node and returns the reference of the matching subtree that the
+     * rest of the path should be merged with. The references (see {@link SectionTreeArena#reference(int)}) are used
+     * instead of the indexes of the nodes, as the nodes may be removed (and their indexes reused) concurrently.
+     */
+    private long mergeNode(long current, int level, Identifier[] identifiers, Class<?>[] reportTypes, Report report,
+        Report nextReport) {
+        synchronized (arena.getLock(SectionTreeArena.node(current))) {
+            // the report is read under the lock - it may have been replaced (eg. by an evicted stub)
+            Report associatedReport = arena.getReport(current);
+            if (associatedReport == null) {
+                // the node has been removed from the tree while the path was being merged
+                return NONE;
+            }
+            // merge this node
+            ((AbstractReport) associatedReport).merge(report);
 
+            // if there is some element to merge try to find corresponding subtree in the current tree
+            int nextLevel = level + 1;
+            if (nextLevel == identifiers.length) {
+                return NONE;
+            }
+            // find either tree with same identifier or the latest one of the same type of section
+            long matchedSubtree = findWitSameIdentifierOrTheLatest(current, identifiers[nextLevel]);
+
+            // have I find any matching subtree?
+            if (matchedSubtree == NONE) {
+                // if not check if there is any report in the element to be merged
+                if (nextReport == null) {
+                    // if not it means that there was expected that this tree should already exist, so the tree has to be created
+                    matchedSubtree = createMissingSubtree(current, associatedReport, identifiers[nextLevel],
+                                                          reportTypes[nextLevel]);
                 } else {
-                    // if yes then the associated report is the one that has been reported, so please add it into the report associated with this tree
-                    Report reportToAssociate =
-                        getAssociatedReport().addNewReport(associatedReport, subtreeToMerge.getReportTypeClass());
-
-                    // todo do we need this?
-                    //                    boolean reportTypeIsSame =
-                    //                        subtreeToMerge.getReportTypeClass().isAssignableFrom(associatedReport.getClass());
-
-                    // if the returned report that should be associated with a new tree node is not null, then check if
-                    // the section id is not empty
-                    String sectionToAddId = rootIdentifierSubtreeToMerge.getSectionId();
-                    if (reportToAssociate != null && Validate.isNotEmpty(sectionToAddId)) {
-
-                        // if the previous conditions are true,then if the section id is equal to the standalone identifier
-                        // and the section-event implements Standalone interface, then don't add the section in the section tree
-                        Class sectionToAddEventClass = rootIdentifierSubtreeToMerge.getSectionEventClass();
-                        if (!Standalone.getStandaloneId().equals(sectionToAddId)
-                            || !Standalone.class.isAssignableFrom(sectionToAddEventClass)) {
-
-                            subtreeToMerge.setAssociatedReport(reportToAssociate);
-                            getSubtrees().add(subtreeToMerge);
-                        }
-                    }
+                    // if yes then the report is the one that has been reported, so please add it into the report associated with this tree
+                    addNewSubtree(current, associatedReport, identifiers[nextLevel], nextReport,
+                                  reportTypes[nextLevel]);
                 }
-            } else {
-                //if there is matching subtree then merge it
-                matchedSubtree.mergeSectionTree(subtreeToMerge);
+            }
+            //if there is matching subtree then merge it (outside of the lock of this tree)
+            return matchedSubtree;
+        }
+    }
+
+    private void addNewSubtree(long current, Report associatedReport, Identifier identifierToAdd, Report reportToAdd,
+        Class<?> reportTypeToAdd) {
+        Report reportToAssociate =
+            associatedReport.addNewReport(reportToAdd, (Class<? extends Report>) reportTypeToAdd);
+
+        // if the returned report that should be associated with a new tree node is not null, then check if
+        // the section id is not empty
+        String sectionToAddId = identifierToAdd.getSectionId();
+        if (reportToAssociate != null && Validate.isNotEmpty(sectionToAddId)) {
+
+            // if the previous conditions are true,then if the section id is equal to the standalone identifier
+            // and the section-event implements Standalone interface, then don't add the section in the section tree
+            Class sectionToAddEventClass = identifierToAdd.getSectionEventClass();
+            if (!Standalone.getStandaloneId().equals(sectionToAddId)
+                || !SectionMetadata.of(sectionToAddEventClass).isStandalone()) {
+
+                arena.addChild(current, identifierToAdd, reportToAssociate, reportTypeToAdd);
             }
         }
+    }
 
+    private int findWitSameIdentifierOrTheLatest(int current, Identifier identifier) {
+        return SectionTreeArena.node(findWitSameIdentifierOrTheLatest(arena.reference(current), identifier));
     }
 
-    private SectionTree findWitSameIdentifierOrTheLatest(Identifier rootIdentifierSubtreeToMerge) {
+    private long findWitSameIdentifierOrTheLatest(long current, Identifier identifier) {
         // check if the identifier has complete information
-        if (Validate.isNotEmpty(rootIdentifierSubtreeToMerge.getSectionId())) {
+        if (Validate.isNotEmpty(identifier.getSectionId())) {
             // find subtree with the same identifier
-            List<SectionTree> filtered = getSubtrees()
-                .stream()
-                .filter(tree -> tree.getRootIdentifier().equals(rootIdentifierSubtreeToMerge))
-                .collect(Collectors.toList());
-            if (filtered != null && !filtered.isEmpty()) {
-                return filtered.get(0);
-            }
-
+            return arena.findChild(current, identifier);
         } else {
             // find the latest tree of the same section type
-            Class sectionClassFromEventTree = rootIdentifierSubtreeToMerge.getSectionEventClass();
-            Optional<SectionTree> lastTreeOfType = getSubtrees()
-                .stream()
-                .filter(tree -> tree.getRootIdentifier().getSectionEventClass() == sectionClassFromEventTree)
-                .reduce((first, second) -> second);
-            if (lastTreeOfType.isPresent()) {
-                return lastTreeOfType.get();
-            }
+            return arena.findLatestChild(current, identifier.getSectionEventClass());
         }
-        return null;
     }
 
-    private void createMissingSubtreeAndMergeIt(Identifier rootIdentifierSubtreeToMerge, SectionTree subtreeToMerge) {
+    private long createMissingSubtree(long current, Report associatedReport, Identifier missingIdentifier,
+        Class<?> missingReportType) {
         // get class and id of the missing section
-        String sectionId = rootIdentifierSubtreeToMerge.getSectionId();
-        Class subTreeSectionClass = rootIdentifierSubtreeToMerge.getSectionEventClass();
-        // and use non-parametric constructor to construct
-        SectionEvent dummySection = (SectionEvent) SecurityActions.newInstance(subTreeSectionClass);
-        // from created dummy section get class of payload and create an instance
-        AbstractReport dummyReport =
-            (AbstractReport) SecurityActions.newInstance(dummySection.getReportTypeClass());
+        String sectionId = missingIdentifier.getSectionId();
+        Class subTreeSectionClass = missingIdentifier.getSectionEventClass();
+        // get class of payload of the missing section (resolved once per section class) and create an instance
+        SectionMetadata sectionMetadata = SectionMetadata.of(subTreeSectionClass);
+        AbstractReport dummyReport = sectionMetadata.newReport();
         // set name of dummy report to the section id specified in identifier
         dummyReport.setName(new UnknownStringKey(sectionId));
-        // set dummy report as an associated report
-        subtreeToMerge.setAssociatedReport(dummyReport);
-        // and also into the current report structure
-        getAssociatedReport().addNewReport(dummyReport, dummySection.getReportTypeClass());
-        // crated a clone of the missing tree without any subtree
-        SectionTree dummyTree = subtreeToMerge.getCloneWithoutSubtrees();
-        // add the dummy tree
-        getSubtrees().add(dummyTree);
+        // set dummy report into the current report structure
+        associatedReport.addNewReport(dummyReport, sectionMetadata.getReportType());
+        // add the dummy node
+        long dummyNode =
+            arena.addChild(current, missingIdentifier, dummyReport, missingReportType);
 
         log.info(String.format("There hasn't been found a parent node with identifier \"%s + %s\" in the section tree. "
                                    + "Reporter creates a new node with corresponding identifiers and also a report node in the report tree with name = %s",
                                subTreeSectionClass, sectionId, sectionId));
-        // and merge the subtree with the dummy tree
-        dummyTree.mergeSectionTree(subtreeToMerge);
+        // the rest of the path is then merged with the dummy node (the missing element doesn't contain any report, so
+        // there is nothing to be merged into the dummy report itself)
+        return dummyNode;
+    }
+
+    // two views are equal if they are views of the same node
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        SectionTree that = (SectionTree) o;
+        return node == that.node && arena == that.arena;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(arena) + node;
     }
 
     @Override
     public String toString() {
         return "SectionTree{" +
-            "rootIdentifier=" + rootIdentifier +
-            ", subtrees=" + subtrees +
-            ", associatedReport=" + associatedReport +
+            "rootIdentifier=" + getRootIdentifier() +
+            ", subtrees=" + getSubtrees() +
+            ", associatedReport=" + getAssociatedReport() +
             '}';
     }
 }
@@ -0,0 +1,542 @@
+package org.arquillian.reporter.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.model.report.Report;
+
+/**
+ * A flat storage of the nodes of a section tree. A node is only an index into parallel arrays: the structure of the
+ * tree is kept in primitive arrays of indexes of the parent, the first and the last child and the next sibling, and
+ * the identifier, the associated report and the report type class of every node are kept in side tables. So a node
+ * doesn't need any object of its own, and the children of a node are found using two open-addressing hash tables of
+ * node indexes that are shared by all nodes of the tree:
+ * <ul>
+ * <li>the first child with the given {@link Identifier}</li>
+ * <li>the latest child of the given section event class</li>
+ * </ul>
+ * <p>
+ * Only the modifications are synchronized - the lookups don't take any lock. All arrays are kept in a {@link Storage}
+ * that is published using a volatile field: when the arrays are grown (or the index tables rebuilt), then a new
+ * storage is filled and published as a whole, so a lookup always sees arrays and index tables that belong together.
+ * Every modification ends by writing the volatile field again, so a lookup started afterwards sees the modification.
+ * </p>
+ * <p>
+ * The parent of a node is stored together with a generation of the node in one state that is always written as the
+ * last field of the node using a volatile write, so a lookup that reads the state also sees all other fields of the
+ * node.
+ * </p>
+ * <p>
+ * The arena also provides the private locks of the nodes used for merging of the associated reports (see
+ * {@link SectionTree#mergeSectionTree}). The nodes share a fixed table of lock objects, so no lock is created for
+ * a new node.
+ * </p>
+ * <p>
+ * The nodes removed from the tree are reused by the nodes added later, so the arena doesn't grow when the subtrees
+ * of finished test classes are removed and new ones are added. The generation of a node is incremented when the node
+ * is removed, so the code holding an index of a node concurrently uses a reference (the index together with the
+ * generation) instead: a reference of a removed node never matches the node again, even when the index is reused.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class SectionTreeArena {
+
+    static final int NONE = -1;
+    // a parent of a node that has been removed from the tree (or not added yet); such a node is never found
+    private static final int DETACHED = -2;
+    // a slot of an index table that contained a removed node; the lookups continue behind it
+    private static final int REMOVED = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NUMBER_OF_LOCKS = 256;
+
+    private volatile Storage storage = new Storage(INITIAL_CAPACITY);
+    // created when a node is locked for the first time - most arenas are only temporary trees of section events
+    private volatile Object[] locks;
+
+    // the following fields are used only by the synchronized modifications
+    private int size;
+    private int[] freeNodes = new int[INITIAL_CAPACITY];
+    private int numberOfFreeNodes;
+    // the slots of the removed nodes are released only when the index tables are rebuilt
+    private int numberOfIndexedNodes;
+
+    /**
+     * Adds a new node that is not a child of any other node
+     *
+     * @return The index of the new node
+     */
+    synchronized int addRoot(Identifier identifier, Report report, Class<?> reportType) {
+        int node = addNode(NONE, identifier, report, reportType);
+        publish();
+        return node;
+    }
+
+    /**
+     * Adds a new node as the last child of the given node
+     *
+     * @return The index of the new node
+     */
+    synchronized int addChild(int parentNode, Identifier identifier, Report report, Class<?> reportType) {
+        return addChildNode(parentNode, identifier, report, reportType);
+    }
+
+    /**
+     * Adds a new node as the last child of the referenced node, unless the referenced node has been removed
+     *
+     * @return The reference of the new node or {@link #NONE} if the referenced node has been removed
+     */
+    synchronized long addChild(long parentReference, Identifier identifier, Report report, Class<?> reportType) {
+        if (!isCurrent(parentReference)) {
+            return NONE;
+        }
+        int node = addChildNode(node(parentReference), identifier, report, reportType);
+        return reference(node);
+    }
+
+    private int addChildNode(int parentNode, Identifier identifier, Report report, Class<?> reportType) {
+        int node = addNode(parentNode, identifier, report, reportType);
+        Storage nodes = storage;
+        if (nodes.lastChild[parentNode] == NONE) {
+            nodes.firstChild[parentNode] = node;
+        } else {
+            nodes.nextSibling[nodes.lastChild[parentNode]] = node;
+        }
+        nodes.lastChild[parentNode] = node;
+        // keep the index tables at most half full (including the slots of the removed nodes)
+        if (numberOfIndexedNodes == nodes.states.length()) {
+            rebuildIndexes(nodes.states.length());
+        } else {
+            index(nodes, node);
+        }
+        publish();
+        return node;
+    }
+
+    private int addNode(int parentNode, Identifier identifier, Report report, Class<?> reportType) {
+        int node;
+        if (numberOfFreeNodes > 0) {
+            node = freeNodes[--numberOfFreeNodes];
+        } else {
+            if (size == storage.states.length()) {
+                rebuildIndexes(size * 2);
+            }
+            node = size++;
+        }
+        Storage nodes = storage;
+        nodes.firstChild[node] = NONE;
+        nodes.lastChild[node] = NONE;
+        nodes.nextSibling[node] = NONE;
+        nodes.identifiers[node] = identifier;
+        nodes.reports[node] = report;
+        nodes.reportTypes[node] = reportType;
+        // the state is written as the last one - a lookup matches a node only when it is a child of the given parent
+        nodes.states.set(node, state(generation(nodes.states.get(node)), parentNode));
+        return node;
+    }
+
+    /**
+     * Copies the given node of the given arena together with all its descendants as the last child of the given node
+     * of this arena
+     *
+     * @return The index of the copy of the node in this arena
+     */
+    int copyAsChild(int parentNode, SectionTreeArena source, int sourceNode) {
+        int node = addChild(parentNode, source.getIdentifier(sourceNode), source.getReport(sourceNode),
+                            source.getReportType(sourceNode));
+        for (int sourceChild : source.getChildren(sourceNode)) {
+            copyAsChild(node, source, sourceChild);
+        }
+        return node;
+    }
+
+    /**
+     * Removes all descendants of the given node; their reports are released so they can be garbage collected and the
+     * nodes themselves are reused by the nodes added later
+     */
+    synchronized void removeChildren(int node) {
+        removeChildren(storage, node);
+        publish();
+    }
+
+    private void removeChildren(Storage nodes, int node) {
+        for (int child = nodes.firstChild[node]; child != NONE; child = nodes.nextSibling[child]) {
+            unindex(nodes, child);
+            // the new generation invalidates all references of the node before it can be reused
+            nodes.states.set(child, state(generation(nodes.states.get(child)) + 1, DETACHED));
+            removeChildren(nodes, child);
+            nodes.identifiers[child] = null;
+            nodes.reports[child] = null;
+            nodes.reportTypes[child] = null;
+            // the next sibling is kept, so a concurrent traversal of the removed children can finish
+            if (numberOfFreeNodes == freeNodes.length) {
+                freeNodes = Arrays.copyOf(freeNodes, numberOfFreeNodes * 2);
+            }
+            freeNodes[numberOfFreeNodes++] = child;
+        }
+        nodes.firstChild[node] = NONE;
+        nodes.lastChild[node] = NONE;
+    }
+
+    int[] getChildren(int node) {
+        Storage nodes = storage;
+        int[] children = new int[4];
+        int count = 0;
+        for (int child = nodes.firstChild[node]; child != NONE; child = nodes.nextSibling[child]) {
+            // the children may be removed concurrently
+            if (parent(nodes.states.get(child)) != node) {
+                break;
+            }
+            if (count == children.length) {
+                children = Arrays.copyOf(children, count * 2);
+            }
+            children[count++] = child;
+        }
+        return Arrays.copyOf(children, count);
+    }
+
+    /**
+     * Returns the first child of the given node that has the given identifier
+     *
+     * @return The index of the child or {@link #NONE} if there is no such child
+     */
+    int findChild(int parentNode, Identifier identifier) {
+        return node(findChild(reference(parentNode), identifier));
+    }
+
+    /**
+     * Returns the first child of the referenced node that has the given identifier
+     *
+     * @return The reference of the child or {@link #NONE} if there is no such child or if the referenced node has
+     * been removed
+     */
+    long findChild(long parentReference, Identifier identifier) {
+        Storage nodes = storage;
+        int[] table = nodes.childrenByIdentifier;
+        int mask = table.length - 1;
+        for (int slot = hash(node(parentReference), identifier.hashCode(), mask); ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return NONE;
+            }
+            if (entry != REMOVED) {
+                long child = matchChild(nodes, entry - 1, parentReference, identifier, null);
+                if (child != NONE) {
+                    return child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the child of the given node that has been added as the latest one of all children of the given class
+     * of the section event
+     *
+     * @return The index of the child or {@link #NONE} if there is no such child
+     */
+    int findLatestChild(int parentNode, Class<?> sectionEventClass) {
+        return node(findLatestChild(reference(parentNode), sectionEventClass));
+    }
+
+    /**
+     * Returns the child of the referenced node that has been added as the latest one of all children of the given
+     * class of the section event
+     *
+     * @return The reference of the child or {@link #NONE} if there is no such child or if the referenced node has
+     * been removed
+     */
+    long findLatestChild(long parentReference, Class<?> sectionEventClass) {
+        Storage nodes = storage;
+        int[] table = nodes.latestChildrenBySectionClass;
+        int mask = table.length - 1;
+        for (int slot = hash(node(parentReference), sectionEventClass.hashCode(), mask); ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return NONE;
+            }
+            if (entry != REMOVED) {
+                long child = matchChild(nodes, entry - 1, parentReference, null, sectionEventClass);
+                if (child != NONE) {
+                    return child;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the reference of the given node if it is a child of the referenced node and matches either the given
+     * identifier or the given class of the section event; otherwise {@link #NONE}
+     */
+    private long matchChild(Storage nodes, int node, long parentReference, Identifier identifier,
+        Class<?> sectionEventClass) {
+        long state = nodes.states.get(node);
+        if (parent(state) != node(parentReference)) {
+            return NONE;
+        }
+        Identifier nodeIdentifier = nodes.identifiers[node];
+        if (nodeIdentifier == null || (identifier != null
+            ? !nodeIdentifier.equals(identifier) : nodeIdentifier.getSectionEventClass() != sectionEventClass)) {
+            return NONE;
+        }
+        // the node (or its parent) may have been removed (and even reused) while its identifier was being compared
+        if (nodes.states.get(node) != state || !isCurrent(parentReference)) {
+            return NONE;
+        }
+        return toReference(generation(state), node);
+    }
+
+    /**
+     * Returns the lock guarding the associated report and the children of the given node while a section is merged
+     * into it. The lock is never exposed outside of the reporter, so no other code can hold it.
+     *
+     * @return The lock of the given node
+     */
+    Object getLock(int node) {
+        Object[] nodeLocks = locks;
+        if (nodeLocks == null) {
+            synchronized (this) {
+                if (locks == null) {
+                    Object[] newLocks = new Object[NUMBER_OF_LOCKS];
+                    for (int i = 0; i < NUMBER_OF_LOCKS; i++) {
+                        newLocks[i] = new Object();
+                    }
+                    locks = newLocks;
+                }
+                nodeLocks = locks;
+            }
+        }
+        return nodeLocks[node & (NUMBER_OF_LOCKS - 1)];
+    }
+
+    Identifier getIdentifier(int node) {
+        return storage.identifiers[node];
+    }
+
+    synchronized void setIdentifier(int node, Identifier identifier) {
+        storage.identifiers[node] = identifier;
+        // the node is indexed under the old identifier as well, so the indexes are rebuilt instead of adding new slots
+        rebuildIndexes(storage.states.length());
+    }
+
+    Report getReport(int node) {
+        return storage.reports[node];
+    }
+
+    /**
+     * Returns the report associated with the referenced node
+     *
+     * @return The associated report or null if the referenced node has been removed
+     */
+    Report getReport(long reference) {
+        Storage nodes = storage;
+        int node = node(reference);
+        long state = nodes.states.get(node);
+        if (generation(state) != generation(reference)) {
+            return null;
+        }
+        Report report = nodes.reports[node];
+        // the node may have been removed (and even reused) while its report was being read
+        return nodes.states.get(node) == state ? report : null;
+    }
+
+    /**
+     * Returns the reference of the given node that is valid until the node is removed
+     *
+     * @return The reference of the given node
+     */
+    long reference(int node) {
+        return toReference(generation(storage.states.get(node)), node);
+    }
+
+    /**
+     * Returns the index of the referenced node
+     *
+     * @return The index of the referenced node or {@link #NONE} if the reference is {@link #NONE}
+     */
+    static int node(long reference) {
+        return (int) reference;
+    }
+
+    private boolean isCurrent(long reference) {
+        return generation(storage.states.get(node(reference))) == generation(reference);
+    }
+
+    private static long toReference(int generation, int node) {
+        return ((long) generation << 32) | node;
+    }
+
+    private static long state(int generation, int parentNode) {
+        return ((long) generation << 32) | (parentNode & 0xFFFFFFFFL);
+    }
+
+    private static int generation(long stateOrReference) {
+        return (int) (stateOrReference >>> 32);
+    }
+
+    private static int parent(long state) {
+        return (int) state;
+    }
+
+    synchronized void setReport(int node, Report report) {
+        storage.reports[node] = report;
+        publish();
+    }
+
+    Class<?> getReportType(int node) {
+        return storage.reportTypes[node];
+    }
+
+    synchronized void setReportType(int node, Class<?> reportType) {
+        storage.reportTypes[node] = reportType;
+        publish();
+    }
+
+    private void publish() {
+        // the write of the volatile field makes the modifications done so far visible to the lookups reading it
+        storage = storage;
+    }
+
+    /**
+     * Copies the nodes into a new storage of the given capacity, indexes all nodes that are in the tree and publishes
+     * the new storage. The lookups running concurrently still use the previous storage.
+     */
+    private void rebuildIndexes(int capacity) {
+        Storage nodes = new Storage(storage, capacity);
+        numberOfIndexedNodes = 0;
+        for (int node = 0; node < size; node++) {
+            if (parent(nodes.states.get(node)) == NONE) {
+                indexDescendants(nodes, node);
+            }
+        }
+        storage = nodes;
+    }
+
+    private void indexDescendants(Storage nodes, int node) {
+        // the children are indexed in the order they have been added - the reused nodes don't follow the order
+        // of the indexes
+        for (int child = nodes.firstChild[node]; child != NONE; child = nodes.nextSibling[child]) {
+            index(nodes, child);
+            indexDescendants(nodes, child);
+        }
+    }
+
+    private void index(Storage nodes, int node) {
+        numberOfIndexedNodes++;
+
+        // keep the first child with the given identifier - it is the one that would be found when the children are
+        // scanned
+        int slot = probe(nodes, nodes.childrenByIdentifier, node, false);
+        if (slot < 0) {
+            nodes.childrenByIdentifier[~slot] = node + 1;
+        }
+
+        // the latest child of the section class is always replaced
+        slot = probe(nodes, nodes.latestChildrenBySectionClass, node, true);
+        nodes.latestChildrenBySectionClass[slot < 0 ? ~slot : slot] = node + 1;
+    }
+
+    /**
+     * Returns the slot of a sibling of the given node that has the same identifier (or the same section event class),
+     * or - if there is no such sibling - the binary complement of the slot the given node should be stored in
+     */
+    private static int probe(Storage nodes, int[] table, int node, boolean bySectionClass) {
+        int parentNode = parent(nodes.states.get(node));
+        Identifier identifier = nodes.identifiers[node];
+        int mask = table.length - 1;
+        int keyHash = bySectionClass ? identifier.getSectionEventClass().hashCode() : identifier.hashCode();
+        int freeSlot = NONE;
+        for (int slot = hash(parentNode, keyHash, mask); ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return ~(freeSlot == NONE ? slot : freeSlot);
+            }
+            if (entry == REMOVED) {
+                if (freeSlot == NONE) {
+                    freeSlot = slot;
+                }
+                continue;
+            }
+            int indexed = entry - 1;
+            if (parent(nodes.states.get(indexed)) == parentNode && (bySectionClass
+                ? nodes.identifiers[indexed].getSectionEventClass() == identifier.getSectionEventClass()
+                : nodes.identifiers[indexed].equals(identifier))) {
+                return slot;
+            }
+        }
+    }
+
+    private static void unindex(Storage nodes, int node) {
+        // all siblings are removed together, so no other node has to be indexed instead of the removed one
+        removeFromTable(nodes, nodes.childrenByIdentifier, node, false);
+        removeFromTable(nodes, nodes.latestChildrenBySectionClass, node, true);
+    }
+
+    private static void removeFromTable(Storage nodes, int[] table, int node, boolean bySectionClass) {
+        int slot = probe(nodes, table, node, bySectionClass);
+        // the slot is only marked as removed, so the lookups running concurrently don't miss any node stored behind it
+        if (slot >= 0 && table[slot] == node + 1) {
+            table[slot] = REMOVED;
+        }
+    }
+
+    private static int hash(int parentNode, int keyHash, int mask) {
+        int hash = (keyHash * 31 + parentNode) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * The arrays of the nodes together with the index tables built for them
+     */
+    private static class Storage {
+        // the generation and the parent of every node - see state(int, int)
+        private final AtomicLongArray states;
+        private final int[] firstChild;
+        private final int[] lastChild;
+        private final int[] nextSibling;
+        private final Identifier[] identifiers;
+        private final Report[] reports;
+        private final Class<?>[] reportTypes;
+
+        // the slots contain node index + 1, so zero is an empty slot; the tables are kept at most half full
+        private final int[] childrenByIdentifier;
+        private final int[] latestChildrenBySectionClass;
+
+        private Storage(int capacity) {
+            states = new AtomicLongArray(capacity);
+            detach(0);
+            firstChild = new int[capacity];
+            lastChild = new int[capacity];
+            nextSibling = new int[capacity];
+            identifiers = new Identifier[capacity];
+            reports = new Report[capacity];
+            reportTypes = new Class<?>[capacity];
+            childrenByIdentifier = new int[2 * capacity];
+            latestChildrenBySectionClass = new int[2 * capacity];
+        }
+
+        private Storage(Storage storage, int capacity) {
+            states = new AtomicLongArray(capacity);
+            for (int node = 0; node < storage.states.length(); node++) {
+                states.set(node, storage.states.get(node));
+            }
+            detach(storage.states.length());
+            firstChild = Arrays.copyOf(storage.firstChild, capacity);
+            lastChild = Arrays.copyOf(storage.lastChild, capacity);
+            nextSibling = Arrays.copyOf(storage.nextSibling, capacity);
+            identifiers = Arrays.copyOf(storage.identifiers, capacity);
+            reports = Arrays.copyOf(storage.reports, capacity);
+            reportTypes = Arrays.copyOf(storage.reportTypes, capacity);
+            childrenByIdentifier = new int[2 * capacity];
+            latestChildrenBySectionClass = new int[2 * capacity];
+        }
+
+        // the nodes that haven't been added yet are never matched by any lookup
+        private void detach(int fromNode) {
+            for (int node = fromNode; node < states.length(); node++) {
+                states.set(node, state(0, DETACHED));
+            }
+        }
+    }
+}
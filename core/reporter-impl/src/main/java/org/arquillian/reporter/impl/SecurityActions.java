@@ -16,6 +16,8 @@
  */
 package org.arquillian.reporter.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -26,6 +28,7 @@ import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * A set of privileged actions that are not to leak out
@@ -177,6 +180,48 @@ final class SecurityActions
       return obj;
    }
 
+   /**
+    * Creates a factory of new instances of the given class that uses its non-parametric constructor. The constructor
+    * is looked up only once; if it cannot be found, then the returned factory throws the exception whenever it is used.
+    *
+    * @param implClass Class the instances of should be created
+    * @return a factory of new instances
+    */
+   static <T> Supplier<T> newInstanceFactory(final Class<T> implClass)
+   {
+      final MethodHandle constructorHandle;
+      try
+      {
+         final Constructor<T> constructor = getConstructor(implClass);
+         if(!constructor.isAccessible()) {
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+               public Void run() {
+                  constructor.setAccessible(true);
+                  return null;
+               }
+            });
+         }
+         constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor);
+      }
+      catch (final Exception e)
+      {
+         return () -> {
+            throw new RuntimeException("Could not create new instance of " + implClass, e);
+         };
+      }
+
+      return () -> {
+         try
+         {
+            return implClass.cast(constructorHandle.invoke());
+         }
+         catch (Throwable t)
+         {
+            throw new RuntimeException("Could not create new instance of " + implClass, t);
+         }
+      };
+   }
+
    /**
     * Obtains the Constructor specified from the given Class and argument types
     * @param clazz
@@ -0,0 +1,39 @@
+package org.arquillian.reporter.impl.builder.report;
+
+import org.arquillian.reporter.api.builder.report.SectionEventBatchBuilder;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.SectionEventBatch;
+import org.arquillian.reporter.api.model.report.Report;
+import org.jboss.arquillian.core.api.Event;
+
+/**
+ * An implementation of {@link SectionEventBatchBuilder} used for collecting section events into a {@link SectionEventBatch}
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class SectionEventBatchBuilderImpl implements SectionEventBatchBuilder {
+
+    private SectionEventBatch sectionEventBatch = new SectionEventBatch();
+
+    public SectionEventBatchBuilderImpl() {
+    }
+
+    @Override
+    public SectionEventBatchBuilder add(Report report, SectionEvent sectionEvent) {
+        sectionEvent.setReport(report);
+        sectionEventBatch.addSectionEvent(sectionEvent);
+        return this;
+    }
+
+    @Override
+    public SectionEventBatchBuilder addAsSubReport(Report report, SectionEvent sectionEvent) {
+        sectionEvent.setContainsSubReport(true);
+        return add(report, sectionEvent);
+    }
+
+    @Override
+    public SectionEventBatch fire(Event<SectionEvent> injectedSectionEvent) {
+        injectedSectionEvent.fire(sectionEventBatch);
+        return sectionEventBatch;
+    }
+}
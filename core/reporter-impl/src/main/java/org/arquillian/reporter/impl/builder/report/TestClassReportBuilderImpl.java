@@ -18,7 +18,7 @@ public class TestClassReportBuilderImpl extends AbstractReportBuilder<TestClassR
     }
 
     public TestClassReportBuilderImpl stop() {
-        getReport().setExecutionStopTime(ReporterUtils.getCurrentDate());
+        getReport().setExecutionStopTimestamp(ReporterUtils.getCurrentTimestamp());
         return this;
     }
 }
@@ -3,6 +3,7 @@ package org.arquillian.reporter.impl.builder.report;
 import org.arquillian.reporter.api.builder.Reporter;
 import org.arquillian.reporter.api.builder.report.AbstractReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
 import org.arquillian.reporter.api.model.report.FailureReport;
 import org.arquillian.reporter.api.model.report.TestMethodReport;
 import org.arquillian.reporter.api.utils.ReporterUtils;
@@ -25,7 +26,7 @@ public class TestMethodReportBuilderImpl extends AbstractReportBuilder<TestMetho
     }
 
     public TestMethodReportBuilderImpl stop() {
-        getReport().setExecutionStopTime(ReporterUtils.getCurrentDate());
+        getReport().setExecutionStopTimestamp(ReporterUtils.getCurrentTimestamp());
         return this;
     }
 
@@ -34,7 +35,8 @@ public class TestMethodReportBuilderImpl extends AbstractReportBuilder<TestMetho
         if (result.getStatus() == TestResult.Status.FAILED && result.getThrowable() != null) {
             String stackTrace = getHumanReadableStackTrace(result.getThrowable());
             FailureReport failureReport = new FailureReport(METHOD_FAILURE_REPORT);
-            Reporter.createReport(failureReport).addKeyValueEntry(METHOD_FAILURE_REPORT_STACKTRACE, stackTrace);
+            Reporter.createReport(failureReport)
+                .addKeyValueEntry(METHOD_FAILURE_REPORT_STACKTRACE, new FailureTraceEntry(stackTrace));
             getReport().setFailureReport(failureReport);
         }
         getReport().setStatus(result.getStatus());
@@ -18,7 +18,7 @@ public class TestSuiteReportBuilderImpl extends AbstractReportBuilder<TestSuiteR
     }
 
     public TestSuiteReportBuilderImpl stop() {
-        getReport().setExecutionStopTime(ReporterUtils.getCurrentDate());
+        getReport().setExecutionStopTimestamp(ReporterUtils.getCurrentTimestamp());
         return this;
     }
 }
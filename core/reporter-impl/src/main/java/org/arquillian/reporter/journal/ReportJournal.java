@@ -0,0 +1,215 @@
+package org.arquillian.reporter.journal;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.impl.SectionTree;
+
+/**
+ * An append-only journal of processed {@link SectionEvent}s. Every processed event is stored as one line containing
+ * a compact JSON record with the path in the section tree (section classes, ids and report types) and with the report
+ * the event carried. The records are kept in memory and written in batches by a single background thread which also
+ * forces them to the storage device, so the test thread never waits for the disk.
+ * <p>
+ * The report has to be serialized before it is merged into the section tree (the merge may change it), so the
+ * serialization is done in the thread that processes the events - the test thread, unless the asynchronous processing
+ * of section events is enabled as well.
+ * </p>
+ * <p>
+ * A partial journal (eg. when the JVM was killed) can be turned into an execution report by {@link ReportJournalRecovery}.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJournal implements Closeable {
+
+    static final Charset JOURNAL_CHARSET = StandardCharsets.UTF_8;
+
+    static final String PATH = "path";
+    static final String SECTION = "section";
+    static final String ID = "id";
+    static final String REPORT_TYPE = "reportType";
+    static final String REPORT_CLASS = "reportClass";
+    static final String REPORT = "report";
+
+    static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+    private static final Logger log = Logger.getLogger(ReportJournal.class.getName());
+
+    private final Gson gson = new Gson();
+    private final FileChannel channel;
+    private final ScheduledExecutorService flusher;
+
+    private final Object pendingLock = new Object();
+    private final Object writeLock = new Object();
+    private StringBuilder pendingRecords = new StringBuilder();
+
+    /**
+     * Creates the journal file (an existing one is truncated) and starts a background thread that flushes the appended
+     * records into the file in the given interval.
+     *
+     * @param journalFile   A file the records should be written into
+     * @param flushInterval An interval in milliseconds the records should be flushed and synced in; if it is not
+     *                      positive, then the default interval of {@value #DEFAULT_FLUSH_INTERVAL} ms is used
+     * @throws IOException If the journal file cannot be created
+     */
+    public ReportJournal(File journalFile, long flushInterval) throws IOException {
+        if (flushInterval <= 0) {
+            log.warning(String.format("The journal flush interval has to be positive, but it is %d ms; "
+                                          + "the default interval %d ms is used instead",
+                                      flushInterval, DEFAULT_FLUSH_INTERVAL));
+            flushInterval = DEFAULT_FLUSH_INTERVAL;
+        }
+
+        Path journalPath = journalFile.toPath();
+        if (journalPath.getParent() != null) {
+            Files.createDirectories(journalPath.getParent());
+        }
+        channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arquillian-reporter-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a record from the given path in the section tree and appends it to the batch of records waiting
+     * to be flushed. The report is serialized immediately, so any later change of the report doesn't affect the record.
+     *
+     * @param eventTree A path in the section tree created for a processed {@link SectionEvent}
+     */
+    public void append(SectionTree eventTree) {
+        List<Identifier> identifiers = new ArrayList<>();
+        List<Class<?>> reportTypes = new ArrayList<>();
+        SectionTree leaf = eventTree;
+        for (SectionTree node = eventTree; node != null; ) {
+            identifiers.add(node.getRootIdentifier());
+            reportTypes.add(node.getReportTypeClass());
+            leaf = node;
+            node = node.getSubtrees().isEmpty() ? null : (SectionTree) node.getSubtrees().get(0);
+        }
+        append(identifiers.toArray(new Identifier[identifiers.size()]),
+               reportTypes.toArray(new Class<?>[reportTypes.size()]), leaf.getAssociatedReport());
+    }
+
+    /**
+     * Creates a record from the given path in the section tree and appends it to the batch of records waiting
+     * to be flushed. The report is serialized immediately, so any later change of the report doesn't affect the record.
+     *
+     * @param identifiers The identifiers of the sections on the path of a processed {@link SectionEvent}
+     * @param reportTypes The expected types of the reports of the sections on the path
+     * @param report      The report the processed {@link SectionEvent} carried
+     */
+    public void append(Identifier[] identifiers, Class<?>[] reportTypes, Report report) {
+        String record = toRecord(identifiers, reportTypes, report);
+        synchronized (pendingLock) {
+            pendingRecords.append(record).append('\n');
+        }
+    }
+
+    /**
+     * Writes all pending records into the journal file and forces them to the storage device.
+     *
+     * @throws IOException If anything bad happens when the records are being written
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            String records;
+            synchronized (pendingLock) {
+                if (pendingRecords.length() == 0) {
+                    return;
+                }
+                records = pendingRecords.toString();
+                pendingRecords = new StringBuilder();
+            }
+            ByteBuffer buffer = JOURNAL_CHARSET.encode(records);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Stops the background flushing, writes all pending records and closes the journal file.
+     *
+     * @throws IOException If anything bad happens when the records are being written
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Something bad happened when Arquillian Reporter was writing the report journal", e);
+        }
+    }
+
+    private String toRecord(Identifier[] identifiers, Class<?>[] reportTypes, Report report) {
+        StringWriter record = new StringWriter();
+        try {
+            JsonWriter jsonWriter = new JsonWriter(record);
+            jsonWriter.beginObject();
+
+            jsonWriter.name(PATH).beginArray();
+            for (int level = 0; level < identifiers.length; level++) {
+                jsonWriter
+                    .beginObject()
+                    .name(SECTION).value(identifiers[level].getSectionEventClass().getName())
+                    .name(ID).value(identifiers[level].getSectionId())
+                    .name(REPORT_TYPE).value(reportTypes[level].getName())
+                    .endObject();
+            }
+            jsonWriter.endArray();
+
+            jsonWriter.name(REPORT_CLASS).value(report.getClass().getName());
+            jsonWriter.name(REPORT);
+            gson.toJson(report, report.getClass(), jsonWriter);
+
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        } catch (IOException e) {
+            // cannot happen when writing into a StringWriter
+            throw new IllegalStateException(e);
+        }
+        return record.toString();
+    }
+}
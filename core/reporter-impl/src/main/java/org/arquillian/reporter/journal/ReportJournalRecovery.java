@@ -0,0 +1,122 @@
+package org.arquillian.reporter.journal;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionTree;
+import org.arquillian.reporter.parser.ReportJsonParser;
+import org.arquillian.reporter.writer.ReportJsonWriter;
+
+/**
+ * Rebuilds an {@link ExecutionReport} from a journal written by {@link ReportJournal}. The records are replayed
+ * in the same order as they were processed; a record that is incomplete or corrupted (typically the last one
+ * when the JVM was killed in the middle of writing) is skipped.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJournalRecovery {
+
+    private static final Logger log = Logger.getLogger(ReportJournalRecovery.class.getName());
+
+    /**
+     * Recovers the report from the given journal and writes it as a JSON file.
+     * <p>
+     * Arguments: {@code <path to the journal> [<path to the resulting JSON report>]}. When the path to the resulting
+     * report is not specified, then it is derived from the name of the journal by removing the {@code .journal} suffix.
+     * </p>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ReportJournalRecovery <path to the journal> [<path to the resulting JSON report>]");
+            System.exit(1);
+        }
+        String pathToJournal = args[0];
+        String pathToReport = args.length == 2 ? args[1] : pathToJournal.replaceFirst("\\.journal$", "");
+        if (pathToReport.equals(pathToJournal)) {
+            pathToReport = pathToJournal + ".json";
+        }
+
+        ExecutionReport executionReport = recover(pathToJournal);
+        ReportJsonWriter.write(executionReport, new File(pathToReport), true);
+        log.info(String.format("The report recovered from the journal %s was written into %s", pathToJournal,
+                               pathToReport));
+    }
+
+    /**
+     * Replays all complete records stored in the given journal and returns the resulting {@link ExecutionReport}
+     *
+     * @param pathToJournalFile A path to the journal file
+     * @return An {@link ExecutionReport} containing all the reports stored in the journal
+     * @throws IOException If the journal cannot be read
+     */
+    public static ExecutionReport recover(String pathToJournalFile) throws IOException {
+        ExecutionStore executionStore = new ExecutionStore();
+        JsonParser jsonParser = new JsonParser();
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(pathToJournalFile),
+                                                             ReportJournal.JOURNAL_CHARSET)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                SectionTree recordTree;
+                try {
+                    recordTree = parseRecord(jsonParser.parse(line).getAsJsonObject());
+                } catch (RuntimeException e) {
+                    log.warning(String.format(
+                        "The record on the line %s of the journal %s is incomplete or corrupted - it will be skipped. Cause: %s",
+                        lineNumber, pathToJournalFile, e));
+                    continue;
+                }
+                executionStore.getSectionTree().mergeSectionTree(recordTree);
+            }
+        }
+        return executionStore.getExecutionReport();
+    }
+
+    private static SectionTree parseRecord(JsonObject record) {
+        JsonArray path = record.getAsJsonArray(ReportJournal.PATH);
+        Class<?> reportClass = SecurityActions.loadClass(record.get(ReportJournal.REPORT_CLASS).getAsString());
+        Report report = (Report) ReportJsonParser.prepareGsonParser().fromJson(record.get(ReportJournal.REPORT), reportClass);
+
+        SectionTree root = null;
+        SectionTree parent = null;
+        for (int i = 0; i < path.size(); i++) {
+            JsonObject node = path.get(i).getAsJsonObject();
+            JsonElement sectionId = node.get(ReportJournal.ID);
+
+            Identifier identifier =
+                new Identifier(SecurityActions.loadClass(node.get(ReportJournal.SECTION).getAsString()),
+                               sectionId == null || sectionId.isJsonNull() ? null : sectionId.getAsString());
+            Report associatedReport = i == path.size() - 1 ? report : null;
+            SectionTree tree = new SectionTree(identifier, associatedReport,
+                                               SecurityActions.loadClass(node.get(ReportJournal.REPORT_TYPE).getAsString()));
+
+            if (parent == null) {
+                root = tree;
+            } else {
+                parent.addSubtree(tree);
+            }
+            parent = tree;
+        }
+        if (root == null) {
+            throw new IllegalStateException("The record doesn't contain any section");
+        }
+        return root;
+    }
+}
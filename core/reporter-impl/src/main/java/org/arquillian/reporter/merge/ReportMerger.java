@@ -0,0 +1,466 @@
+package org.arquillian.reporter.merge;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.ReportSummary;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.api.model.report.WithStartAndStopReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.parser.ReportBinaryParser;
+import org.arquillian.reporter.parser.ReportJsonReader;
+import org.arquillian.reporter.writer.ReportJsonWriter;
+
+/**
+ * Merges many reports (eg. the reports written by CI nodes that run different parts of the same test suite) into one
+ * JSON report. The reports are merged in the same way as the section tree merges the sections: test suite reports
+ * with the same name are merged into one, test class reports with the same name are merged into one within a test
+ * suite, and test method reports with the same name are merged into one within a test class.
+ * <p>
+ * The merge doesn't keep all reports in the memory:
+ * <ol>
+ * <li>The input files are read in parallel using a {@link ForkJoinPool}. Every test class report is spilled into its
+ * own file in a working directory as soon as the input file is read, only the rest of the report (the execution and
+ * test suite reports and the summaries of the test classes) is kept in the memory.</li>
+ * <li>The test classes that are present in more input files are merged in parallel - the spilled reports are read,
+ * merged and spilled again.</li>
+ * <li>The resulting report is streamed into the output file - the spilled test class reports are read one by one
+ * and written into the list of test class reports of their test suite.</li>
+ * </ol>
+ * The input files are processed in the given order, so the order of the test suites, test classes and test methods
+ * in the resulting report is the order they appear in the input files for the first time.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportMerger {
+
+    private static final Logger log = Logger.getLogger(ReportMerger.class.getName());
+
+    private static final String COMPACT_OPTION = "--compact";
+    private static final String JSON_SUFFIX = ".json";
+    private static final String BINARY_SUFFIX = ".bin";
+    private static final String TEST_SUITE_REPORTS_FIELD = "testSuiteReports";
+    private static final String TEST_CLASS_REPORTS_FIELD = "testClassReports";
+    private static final String INDENT = "  ";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ForkJoinPool pool;
+    private final File workDirectory;
+    private final AtomicInteger spillCounter = new AtomicInteger();
+    private final Gson gson = new Gson();
+
+    private ReportMerger(ForkJoinPool pool, File workDirectory) {
+        this.pool = pool;
+        this.workDirectory = workDirectory;
+    }
+
+    /**
+     * Merges the given reports and writes the result into a JSON file.
+     * <p>
+     * Arguments: {@code [--compact] <path to the resulting JSON report> <path to a report or to a directory>...}.
+     * A directory is searched recursively for all JSON ({@code .json}) and binary ({@code .bin}) reports.
+     * </p>
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<>();
+        boolean prettyPrint = true;
+        for (String arg : args) {
+            if (COMPACT_OPTION.equals(arg)) {
+                prettyPrint = false;
+            } else {
+                arguments.add(arg);
+            }
+        }
+        if (arguments.size() < 2) {
+            System.err.println("Usage: ReportMerger [" + COMPACT_OPTION
+                                   + "] <path to the resulting JSON report> <path to a report or to a directory>...");
+            System.exit(1);
+        }
+
+        List<File> reports = new ArrayList<>();
+        for (String path : arguments.subList(1, arguments.size())) {
+            reports.addAll(findReports(new File(path)));
+        }
+        File output = new File(arguments.get(0));
+        merge(reports, output, prettyPrint);
+        log.info(String.format("%d reports were merged into %s", reports.size(), output));
+    }
+
+    private static List<File> findReports(File path) throws IOException {
+        if (!path.isDirectory()) {
+            return Collections.singletonList(path);
+        }
+        try (Stream<Path> files = Files.walk(path.toPath())) {
+            return files
+                .filter(file -> file.toString().endsWith(JSON_SUFFIX) || file.toString().endsWith(BINARY_SUFFIX))
+                .sorted()
+                .map(Path::toFile)
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Merges the given reports using the common {@link ForkJoinPool} and writes the result into the given JSON file
+     *
+     * @param reports     JSON or binary ({@code .bin}) reports to be merged
+     * @param output      A file the merged report should be written into
+     * @param prettyPrint Whether the JSON should be pretty printed or written in the compact form
+     * @throws IOException If any of the reports cannot be read or the result cannot be written
+     */
+    public static void merge(List<File> reports, File output, boolean prettyPrint) throws IOException {
+        merge(reports, output, prettyPrint, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Merges the given reports using the given {@link ForkJoinPool} and writes the result into the given JSON file.
+     * The parallelism of the pool limits the number of the input reports that are held in the memory at once.
+     *
+     * @param reports     JSON or binary ({@code .bin}) reports to be merged
+     * @param output      A file the merged report should be written into
+     * @param prettyPrint Whether the JSON should be pretty printed or written in the compact form
+     * @param pool        A {@link ForkJoinPool} the reports should be read and merged in
+     * @throws IOException If any of the reports cannot be read or the result cannot be written
+     */
+    public static void merge(List<File> reports, File output, boolean prettyPrint, ForkJoinPool pool)
+        throws IOException {
+        Path outputPath = output.getAbsoluteFile().toPath();
+        Files.createDirectories(outputPath.getParent());
+        File workDirectory = Files.createTempDirectory(outputPath.getParent(), ".report-merge-").toFile();
+        try {
+            new ReportMerger(pool, workDirectory).mergeReports(reports, outputPath, prettyPrint);
+        } finally {
+            File[] spilled = workDirectory.listFiles();
+            if (spilled != null) {
+                for (File file : spilled) {
+                    file.delete();
+                }
+            }
+            workDirectory.delete();
+        }
+    }
+
+    private void mergeReports(List<File> reports, Path output, boolean prettyPrint) throws IOException {
+        List<ForkJoinTask<ReportFragment>> readTasks = new ArrayList<>(reports.size());
+        for (File report : reports) {
+            readTasks.add(pool.submit(() -> readReport(report)));
+        }
+
+        // the fragments are folded in the order of the input files so the result doesn't depend on the scheduling
+        ExecutionReport executionReport = new ExecutionReport();
+        Map<String, MergedTestSuite> testSuites = new LinkedHashMap<>();
+        for (ForkJoinTask<ReportFragment> task : readTasks) {
+            ReportFragment fragment = join(task, readTasks);
+            executionReport.merge(fragment.executionReport);
+            for (TestSuiteFragment testSuiteFragment : fragment.testSuites) {
+                testSuites
+                    .computeIfAbsent(getName(testSuiteFragment.testSuiteReport), name -> new MergedTestSuite())
+                    .add(testSuiteFragment);
+            }
+        }
+
+        List<ForkJoinTask<TestClassFragment>> mergeTasks = new ArrayList<>();
+        for (MergedTestSuite testSuite : testSuites.values()) {
+            for (List<TestClassFragment> testClassFragments : testSuite.testClasses.values()) {
+                if (testClassFragments.size() > 1) {
+                    mergeTasks.add(pool.submit(() -> mergeTestClass(testClassFragments)));
+                }
+            }
+        }
+        for (ForkJoinTask<TestClassFragment> task : mergeTasks) {
+            TestClassFragment merged = join(task, mergeTasks);
+            List<TestClassFragment> testClassFragments =
+                testSuites.get(merged.testSuiteName).testClasses.get(merged.testClassName);
+            testClassFragments.clear();
+            testClassFragments.add(merged);
+        }
+
+        for (MergedTestSuite testSuite : testSuites.values()) {
+            TestSuiteReport testSuiteReport = testSuite.testSuiteReport;
+            testSuite.testClasses.forEach((testClassName, testClassFragments) -> testClassFragments
+                .get(0).summary.attachTo(testSuiteReport.getSummary(), testClassName));
+            executionReport.getTestSuiteReports().add(testSuiteReport);
+            testSuiteReport.getSummary().attachTo(executionReport.getSummary(), null);
+        }
+
+        writeReport(executionReport, new ArrayList<>(testSuites.values()), output, prettyPrint);
+    }
+
+    private ReportFragment readReport(File reportFile) {
+        ExecutionReport executionReport;
+        try {
+            if (reportFile.getName().endsWith(BINARY_SUFFIX)) {
+                executionReport = ReportBinaryParser.parse(reportFile.getPath());
+            } else {
+                try (Reader reader = Files.newBufferedReader(reportFile.toPath(), StandardCharsets.UTF_8)) {
+                    executionReport = new ReportJsonReader(reader).readExecutionReport();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the report " + reportFile, e);
+        } catch (JsonParseException e) {
+            throw new JsonParseException("Could not read the report " + reportFile, e);
+        }
+
+        ReportFragment fragment = new ReportFragment();
+        fragment.executionReport.setName(executionReport.getName());
+        fragment.executionReport.setEntries(executionReport.getEntries());
+        fragment.executionReport.setSubReports(executionReport.getSubReports());
+        fragment.executionReport.setFailureTraces(executionReport.getFailureTraces());
+
+        for (TestSuiteReport testSuiteReport : executionReport.getTestSuiteReports()) {
+            TestSuiteFragment testSuiteFragment = new TestSuiteFragment(copyWithoutTestClassReports(testSuiteReport));
+            String testSuiteName = getName(testSuiteReport);
+            for (TestClassReport testClassReport : testSuiteReport.getTestClassReports()) {
+                testSuiteFragment.testClasses.add(
+                    new TestClassFragment(testSuiteName, getName(testClassReport), spill(testClassReport),
+                                          testClassReport.getSummary()));
+            }
+            fragment.testSuites.add(testSuiteFragment);
+        }
+        return fragment;
+    }
+
+    private TestClassFragment mergeTestClass(List<TestClassFragment> testClassFragments) {
+        TestClassFragment first = testClassFragments.get(0);
+        TestClassReport merged = null;
+        Map<String, TestMethodReport> testMethods = new HashMap<>();
+        for (TestClassFragment fragment : testClassFragments) {
+            TestClassReport testClassReport = readSpilled(fragment.spilledReport);
+            if (merged == null) {
+                // a new report so the summary is computed from all test methods of the merged reports
+                merged = new TestClassReport(testClassReport.getName());
+                merged.setExecutionStartTimestamp(0);
+            }
+            mergeTimestamps(merged, testClassReport);
+
+            // the test methods of the same name are merged into one - as they would be in the section tree
+            Iterator<TestMethodReport> iterator = testClassReport.getTestMethodReports().iterator();
+            while (iterator.hasNext()) {
+                TestMethodReport testMethodReport = iterator.next();
+                TestMethodReport existing = testMethods.get(getName(testMethodReport));
+                if (existing != null) {
+                    existing.merge(testMethodReport);
+                    iterator.remove();
+                } else {
+                    testMethods.put(getName(testMethodReport), testMethodReport);
+                }
+            }
+            long startTimestamp = merged.getExecutionStartTimestamp();
+            long stopTimestamp = merged.getExecutionStopTimestamp();
+            merged.merge(testClassReport);
+            merged.setExecutionStartTimestamp(startTimestamp);
+            merged.setExecutionStopTimestamp(stopTimestamp);
+            fragment.spilledReport.delete();
+        }
+        return new TestClassFragment(first.testSuiteName, first.testClassName, spill(merged), merged.getSummary());
+    }
+
+    private void writeReport(ExecutionReport executionReport, List<MergedTestSuite> testSuites, Path output,
+        boolean prettyPrint) throws IOException {
+        // the tree contains everything except for the test class reports that are streamed from the spilled files
+        JsonObject executionTree = gson.toJsonTree(executionReport, ExecutionReport.class).getAsJsonObject();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING);
+             Writer writer = new BufferedWriter(
+                 Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE)) {
+
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            if (prettyPrint) {
+                jsonWriter.setIndent(INDENT);
+            }
+            jsonWriter.beginObject();
+            for (Map.Entry<String, JsonElement> field : executionTree.entrySet()) {
+                jsonWriter.name(field.getKey());
+                if (TEST_SUITE_REPORTS_FIELD.equals(field.getKey())) {
+                    jsonWriter.beginArray();
+                    for (int i = 0; i < testSuites.size(); i++) {
+                        JsonObject testSuiteTree = field.getValue().getAsJsonArray().get(i).getAsJsonObject();
+                        writeTestSuite(jsonWriter, testSuiteTree, testSuites.get(i));
+                    }
+                    jsonWriter.endArray();
+                } else {
+                    gson.toJson(field.getValue(), jsonWriter);
+                }
+            }
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        }
+    }
+
+    private void writeTestSuite(JsonWriter jsonWriter, JsonObject testSuiteTree, MergedTestSuite testSuite)
+        throws IOException {
+        jsonWriter.beginObject();
+        for (Map.Entry<String, JsonElement> field : testSuiteTree.entrySet()) {
+            jsonWriter.name(field.getKey());
+            if (TEST_CLASS_REPORTS_FIELD.equals(field.getKey())) {
+                jsonWriter.beginArray();
+                for (List<TestClassFragment> testClassFragments : testSuite.testClasses.values()) {
+                    File spilledReport = testClassFragments.get(0).spilledReport;
+                    gson.toJson(readSpilled(spilledReport), TestClassReport.class, jsonWriter);
+                    spilledReport.delete();
+                }
+                jsonWriter.endArray();
+            } else {
+                gson.toJson(field.getValue(), jsonWriter);
+            }
+        }
+        jsonWriter.endObject();
+    }
+
+    private File spill(TestClassReport testClassReport) {
+        File spilledReport =
+            new File(workDirectory, String.format("%08d%s", spillCounter.incrementAndGet(), JSON_SUFFIX));
+        try {
+            ReportJsonWriter.writeReport(testClassReport, spilledReport, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the test class report into " + spilledReport, e);
+        }
+        return spilledReport;
+    }
+
+    private TestClassReport readSpilled(File spilledReport) {
+        try (Reader reader = Files.newBufferedReader(spilledReport.toPath(), StandardCharsets.UTF_8)) {
+            return new ReportJsonReader(reader).readReport(TestClassReport.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the test class report from " + spilledReport, e);
+        }
+    }
+
+    private <T> T join(ForkJoinTask<T> task, List<? extends ForkJoinTask<?>> allTasks) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            allTasks.forEach(other -> other.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Merging of the reports has been interrupted");
+        } catch (ExecutionException e) {
+            allTasks.forEach(other -> other.cancel(false));
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Could not merge the reports", e.getCause());
+        }
+    }
+
+    private static TestSuiteReport copyWithoutTestClassReports(TestSuiteReport testSuiteReport) {
+        TestSuiteReport copy = new TestSuiteReport(testSuiteReport.getName());
+        copy.setEntries(testSuiteReport.getEntries());
+        copy.setSubReports(testSuiteReport.getSubReports());
+        copy.setConfiguration(testSuiteReport.getConfiguration());
+        copy.setExecutionStartTimestamp(testSuiteReport.getExecutionStartTimestamp());
+        copy.setExecutionStopTimestamp(testSuiteReport.getExecutionStopTimestamp());
+        return copy;
+    }
+
+    // the merged report starts when the first of the reports starts and stops when the last of them stops
+    private static void mergeTimestamps(WithStartAndStopReport merged, WithStartAndStopReport report) {
+        long start = report.getExecutionStartTimestamp();
+        if (start != 0 && (merged.getExecutionStartTimestamp() == 0 || start < merged.getExecutionStartTimestamp())) {
+            merged.setExecutionStartTimestamp(start);
+        }
+        merged.setExecutionStopTimestamp(
+            Math.max(merged.getExecutionStopTimestamp(), report.getExecutionStopTimestamp()));
+    }
+
+    private static String getName(Report report) {
+        return report.getName() == null ? null : report.getName().getValue();
+    }
+
+    /**
+     * The content of one input report without the test class reports that have been spilled
+     */
+    private static class ReportFragment {
+        private final ExecutionReport executionReport = new ExecutionReport();
+        private final List<TestSuiteFragment> testSuites = new ArrayList<>();
+    }
+
+    private static class TestSuiteFragment {
+        private final TestSuiteReport testSuiteReport;
+        private final List<TestClassFragment> testClasses = new ArrayList<>();
+
+        private TestSuiteFragment(TestSuiteReport testSuiteReport) {
+            this.testSuiteReport = testSuiteReport;
+        }
+    }
+
+    /**
+     * A test class report spilled into a file - only its summary is kept in the memory
+     */
+    private static class TestClassFragment {
+        private final String testSuiteName;
+        private final String testClassName;
+        private final File spilledReport;
+        private final ReportSummary summary;
+
+        private TestClassFragment(String testSuiteName, String testClassName, File spilledReport,
+            ReportSummary summary) {
+            this.testSuiteName = testSuiteName;
+            this.testClassName = testClassName;
+            this.spilledReport = spilledReport;
+            this.summary = summary;
+        }
+    }
+
+    /**
+     * All fragments of one test suite - the test class fragments are grouped by the name of the test class
+     */
+    private static class MergedTestSuite {
+        private TestSuiteReport testSuiteReport;
+        private final Map<String, List<TestClassFragment>> testClasses = new LinkedHashMap<>();
+
+        private void add(TestSuiteFragment fragment) {
+            if (testSuiteReport == null) {
+                testSuiteReport = new TestSuiteReport(fragment.testSuiteReport.getName());
+                testSuiteReport.setExecutionStartTimestamp(0);
+            }
+            long startTimestamp = testSuiteReport.getExecutionStartTimestamp();
+            long stopTimestamp = testSuiteReport.getExecutionStopTimestamp();
+            testSuiteReport.merge(fragment.testSuiteReport);
+            testSuiteReport.setExecutionStartTimestamp(startTimestamp);
+            testSuiteReport.setExecutionStopTimestamp(stopTimestamp);
+            mergeTimestamps(testSuiteReport, fragment.testSuiteReport);
+
+            for (TestClassFragment testClassFragment : fragment.testClasses) {
+                testClasses.computeIfAbsent(testClassFragment.testClassName, name -> new ArrayList<>())
+                    .add(testClassFragment);
+            }
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package org.arquillian.reporter.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.arquillian.reporter.writer.BinaryReportFormat;
+
+import static org.arquillian.reporter.writer.BinaryReportFormat.readByte;
+import static org.arquillian.reporter.writer.BinaryReportFormat.readVarInt;
+import static org.arquillian.reporter.writer.BinaryReportFormat.zigZagDecode;
+
+/**
+ * A {@link JsonReader} that decodes the JSON structure from the {@link BinaryReportFormat} instead of the text. It is
+ * a counterpart of the {@link org.arquillian.reporter.writer.ReportBinaryWriter binary writer}, so the binary report
+ * can be read by the same rules as the JSON report (see {@link ReportJsonReader}) without any intermediate tree.
+ * <p>
+ * The content of a {@link BinaryReportFormat#BLOCK} is inflated when the block is reached and the tokens are then
+ * read from it until it is exhausted.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class BinaryJsonReader extends JsonReader {
+
+    private static final Reader UNREADABLE_READER = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    // the same contexts as JsonReader uses for its stack
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int OBJECT_NAME = 2;
+    private static final int OBJECT_VALUE = 3;
+    private static final int ARRAY = 4;
+
+    private final boolean deflate;
+    private final List<String> stringTable = new ArrayList<>();
+
+    // the streams the currently read blocks are nested in
+    private final Deque<InputStream> enclosingStreams = new ArrayDeque<>();
+    private InputStream in;
+
+    private int[] stack = new int[32];
+    private String[] pathNames = new String[32];
+    private int[] pathIndices = new int[32];
+    private int stackSize = 0;
+
+    private JsonToken peeked;
+    private int peekedToken;
+    private String peekedString;
+    private long peekedLong;
+    private double peekedDouble;
+
+    /**
+     * Creates a reader of the given binary report and verifies its header
+     *
+     * @param in An {@link InputStream} containing the binary report
+     * @throws IOException If the stream cannot be read or doesn't contain a binary report of the supported version
+     */
+    BinaryJsonReader(InputStream in) throws IOException {
+        super(UNREADABLE_READER);
+        this.in = in;
+
+        byte[] magic = new byte[BinaryReportFormat.MAGIC.length];
+        for (int i = 0; i < magic.length; i++) {
+            magic[i] = (byte) readByte(in);
+        }
+        if (!Arrays.equals(magic, BinaryReportFormat.MAGIC)) {
+            throw new IOException("The given file doesn't contain a binary Arquillian report");
+        }
+        int version = readByte(in);
+        if (version != BinaryReportFormat.VERSION) {
+            throw new IOException("Unsupported version of the binary report: " + version);
+        }
+        deflate = (readByte(in) & BinaryReportFormat.FLAG_DEFLATE) != 0;
+        push(EMPTY_DOCUMENT);
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        consume(JsonToken.BEGIN_ARRAY);
+        push(ARRAY);
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        consume(JsonToken.END_ARRAY);
+        stackSize--;
+        afterValue();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        consume(JsonToken.BEGIN_OBJECT);
+        push(OBJECT_NAME);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        consume(JsonToken.END_OBJECT);
+        stackSize--;
+        afterValue();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        consume(JsonToken.NAME);
+        stack[stackSize - 1] = OBJECT_VALUE;
+        pathNames[stackSize - 1] = peekedString;
+        return peekedString;
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        peek();
+        if (peeked != JsonToken.STRING && peeked != JsonToken.NUMBER) {
+            throw unexpected(JsonToken.STRING);
+        }
+        String result;
+        if (peekedToken == BinaryReportFormat.LONG) {
+            result = Long.toString(peekedLong);
+        } else if (peekedToken == BinaryReportFormat.DOUBLE) {
+            result = Double.toString(peekedDouble);
+        } else {
+            result = peekedString;
+        }
+        consumeValue();
+        return result;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        consume(JsonToken.BOOLEAN);
+        afterValue();
+        return peekedToken == BinaryReportFormat.TRUE;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        consume(JsonToken.NULL);
+        afterValue();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        peek();
+        double result;
+        if (peekedToken == BinaryReportFormat.LONG) {
+            result = peekedLong;
+        } else if (peekedToken == BinaryReportFormat.DOUBLE) {
+            result = peekedDouble;
+        } else if (peeked == JsonToken.STRING || peeked == JsonToken.NUMBER) {
+            result = Double.parseDouble(peekedString);
+        } else {
+            throw unexpected(JsonToken.NUMBER);
+        }
+        consumeValue();
+        return result;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        long result = peekLong();
+        consumeValue();
+        return result;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        long result = peekLong();
+        if (result != (int) result) {
+            throw new NumberFormatException("Expected an int but was " + result + locationString());
+        }
+        consumeValue();
+        return (int) result;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case NAME:
+                    nextName();
+                    break;
+                case END_DOCUMENT:
+                    throw new IllegalStateException("There is no value to skip" + locationString());
+                default:
+                    consumeValue();
+            }
+        } while (depth != 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        stack[0] = NONEMPTY_DOCUMENT;
+        stackSize = 1;
+        enclosingStreams.clear();
+        in.close();
+    }
+
+    @Override
+    public String getPath() {
+        StringBuilder result = new StringBuilder().append('$');
+        for (int i = 0; i < stackSize; i++) {
+            switch (stack[i]) {
+                case ARRAY:
+                    result.append('[').append(pathIndices[i]).append(']');
+                    break;
+                case OBJECT_NAME:
+                case OBJECT_VALUE:
+                    result.append('.');
+                    if (pathNames[i] != null) {
+                        result.append(pathNames[i]);
+                    }
+                    break;
+                default:
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + locationString();
+    }
+
+    private JsonToken doPeek() throws IOException {
+        int context = stack[stackSize - 1];
+        if (context == NONEMPTY_DOCUMENT) {
+            return JsonToken.END_DOCUMENT;
+        }
+        peekedToken = readToken();
+        if (context == OBJECT_NAME) {
+            if (peekedToken == BinaryReportFormat.END_OBJECT) {
+                return JsonToken.END_OBJECT;
+            }
+            peekedString = readString(peekedToken);
+            return JsonToken.NAME;
+        }
+        if (context == ARRAY && peekedToken == BinaryReportFormat.END_ARRAY) {
+            return JsonToken.END_ARRAY;
+        }
+        return peekValue();
+    }
+
+    private JsonToken peekValue() throws IOException {
+        switch (peekedToken) {
+            case BinaryReportFormat.NULL:
+                return JsonToken.NULL;
+            case BinaryReportFormat.TRUE:
+            case BinaryReportFormat.FALSE:
+                return JsonToken.BOOLEAN;
+            case BinaryReportFormat.LONG:
+                peekedLong = zigZagDecode(readVarInt(in));
+                return JsonToken.NUMBER;
+            case BinaryReportFormat.DOUBLE:
+                peekedDouble = readDouble();
+                return JsonToken.NUMBER;
+            case BinaryReportFormat.NUMBER:
+                peekedString = readStringBytes();
+                return JsonToken.NUMBER;
+            case BinaryReportFormat.BEGIN_OBJECT:
+                return JsonToken.BEGIN_OBJECT;
+            case BinaryReportFormat.BEGIN_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case BinaryReportFormat.BLOCK:
+                enterBlock();
+                peekedToken = readToken();
+                return peekValue();
+            default:
+                peekedString = readString(peekedToken);
+                return JsonToken.STRING;
+        }
+    }
+
+    /**
+     * Reads the next token. The block contains exactly one value, so when the block is exhausted, the reading
+     * continues in the stream the block is nested in.
+     */
+    private int readToken() throws IOException {
+        int token = in.read();
+        while (token < 0 && !enclosingStreams.isEmpty()) {
+            in = enclosingStreams.pop();
+            token = in.read();
+        }
+        if (token < 0) {
+            throw new EOFException("Unexpected end of the binary report");
+        }
+        return token;
+    }
+
+    private void enterBlock() throws IOException {
+        int rawLength = (int) readVarInt(in);
+        int storedLength = (int) readVarInt(in);
+        byte[] stored = readBytes(storedLength);
+
+        byte[] raw = stored;
+        if (deflate) {
+            raw = new byte[rawLength];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(stored);
+                int inflated = 0;
+                while (inflated < rawLength && !inflater.finished()) {
+                    inflated += inflater.inflate(raw, inflated, rawLength - inflated);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted block in the binary report", e);
+            } finally {
+                inflater.end();
+            }
+        }
+        enclosingStreams.push(in);
+        in = new ByteArrayInputStream(raw);
+    }
+
+    private String readString(int token) throws IOException {
+        switch (token) {
+            case BinaryReportFormat.STRING_DEFINITION:
+                String definition = readStringBytes();
+                stringTable.add(definition);
+                return definition;
+            case BinaryReportFormat.STRING_REFERENCE:
+                return stringTable.get((int) readVarInt(in));
+            case BinaryReportFormat.STRING_LITERAL:
+                return readStringBytes();
+            default:
+                throw new IOException("Unexpected token in the binary report: " + token + locationString());
+        }
+    }
+
+    private String readStringBytes() throws IOException {
+        return new String(readBytes((int) readVarInt(in)), StandardCharsets.UTF_8);
+    }
+
+    private double readDouble() throws IOException {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | readByte(in);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int count = in.read(bytes, read, length - read);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of the binary report");
+            }
+            read += count;
+        }
+        return bytes;
+    }
+
+    private long peekLong() throws IOException {
+        peek();
+        if (peekedToken == BinaryReportFormat.LONG) {
+            return peekedLong;
+        } else if (peekedToken == BinaryReportFormat.DOUBLE) {
+            return toLong(peekedDouble);
+        } else if (peeked == JsonToken.STRING || peeked == JsonToken.NUMBER) {
+            try {
+                return Long.parseLong(peekedString);
+            } catch (NumberFormatException e) {
+                return toLong(Double.parseDouble(peekedString));
+            }
+        }
+        throw unexpected(JsonToken.NUMBER);
+    }
+
+    private long toLong(double value) {
+        long result = (long) value;
+        if (result != value) {
+            throw new NumberFormatException("Expected a long but was " + value + locationString());
+        }
+        return result;
+    }
+
+    private void consume(JsonToken expected) throws IOException {
+        if (peek() != expected) {
+            throw unexpected(expected);
+        }
+        peeked = null;
+    }
+
+    private void consumeValue() {
+        peeked = null;
+        afterValue();
+    }
+
+    private void afterValue() {
+        switch (stack[stackSize - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case OBJECT_VALUE:
+                stack[stackSize - 1] = OBJECT_NAME;
+                break;
+            case ARRAY:
+                pathIndices[stackSize - 1]++;
+                break;
+            default:
+        }
+    }
+
+    private void push(int context) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+            pathNames = Arrays.copyOf(pathNames, stackSize * 2);
+            pathIndices = Arrays.copyOf(pathIndices, stackSize * 2);
+        }
+        stack[stackSize] = context;
+        pathNames[stackSize] = null;
+        pathIndices[stackSize] = 0;
+        stackSize++;
+    }
+
+    private IllegalStateException unexpected(JsonToken expected) {
+        return new IllegalStateException("Expected " + expected + " but was " + peeked + locationString());
+    }
+
+    private String locationString() {
+        return " at path " + getPath();
+    }
+}
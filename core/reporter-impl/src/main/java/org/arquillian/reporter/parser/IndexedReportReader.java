@@ -0,0 +1,172 @@
+package org.arquillian.reporter.parser;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonParseException;
+import org.apache.commons.io.input.CharSequenceReader;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.api.model.report.WithConfigurationReport;
+import org.arquillian.reporter.impl.FailureTrace;
+import org.arquillian.reporter.writer.ReportIndex;
+
+/**
+ * Reads separate test suite, test class and test method reports from a JSON report using a {@link ReportIndex} that
+ * was written together with the report. Only the region of the report file that contains the requested report is
+ * memory-mapped and deserialized, so the size of the whole report doesn't affect neither the time nor the memory
+ * needed for reading one report.
+ * <p>
+ * The stack traces of failures are stored only once in the table of failure traces of the whole execution report.
+ * The table is read (using its position stored in the index as well) when the first report is read, and the stack
+ * traces are filled into the {@link FailureTraceEntry}s of all read reports, so the entries are complete.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class IndexedReportReader implements Closeable {
+
+    private final FileChannel channel;
+    private final ReportIndex index;
+    private final Map<String, ReportIndex.Entry> testClasses = new HashMap<>();
+    private Map<String, FailureTrace> failureTraces;
+
+    public IndexedReportReader(File reportFile, File indexFile) throws IOException {
+        this.index = ReportIndex.read(indexFile);
+        this.channel = FileChannel.open(reportFile.toPath(), StandardOpenOption.READ);
+
+        index.getTestSuites().forEach(
+            testSuite -> testSuite.getChildren().forEach(
+                testClass -> testClasses.putIfAbsent(testClass.getName(), testClass)));
+    }
+
+    public ReportIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Reads the test suite report with the given name
+     *
+     * @param name A value of the name of the test suite report
+     * @return The read test suite report or null if there is no such a report in the index
+     * @throws IOException If the report cannot be read
+     */
+    public TestSuiteReport readTestSuiteReport(String name) throws IOException {
+        ReportIndex.Entry entry =
+            index.getTestSuites().stream().filter(suite -> name.equals(suite.getName())).findFirst().orElse(null);
+        return entry == null ? null : readReport(entry, TestSuiteReport.class);
+    }
+
+    /**
+     * Reads the test class report with the given name
+     *
+     * @param className A value of the name of the test class report (the fully qualified name of the test class)
+     * @return The read test class report or null if there is no such a report in the index
+     * @throws IOException If the report cannot be read
+     */
+    public TestClassReport readTestClassReport(String className) throws IOException {
+        ReportIndex.Entry entry = testClasses.get(className);
+        return entry == null ? null : readReport(entry, TestClassReport.class);
+    }
+
+    /**
+     * Reads the test method report with the given name that is stored in the test class report with the given name
+     *
+     * @param className  A value of the name of the test class report (the fully qualified name of the test class)
+     * @param methodName A value of the name of the test method report
+     * @return The read test method report or null if there is no such a report in the index
+     * @throws IOException If the report cannot be read
+     */
+    public TestMethodReport readTestMethodReport(String className, String methodName) throws IOException {
+        ReportIndex.Entry classEntry = testClasses.get(className);
+        ReportIndex.Entry entry = classEntry == null ? null : classEntry.getChild(methodName);
+        return entry == null ? null : readReport(entry, TestMethodReport.class);
+    }
+
+    /**
+     * Reads the report stored at the position described by the given index entry and fills the stack traces from the
+     * table of failure traces into its {@link FailureTraceEntry}s
+     *
+     * @param entry      An index entry describing the position of the report in the report file
+     * @param reportType An expected type of the report
+     * @param <T>        The type of the report
+     * @return The read report
+     * @throws IOException If the report cannot be read
+     */
+    public <T extends Report> T readReport(ReportIndex.Entry entry, Class<T> reportType) throws IOException {
+        T report = mapRegion(entry).readReport(reportType);
+        resolveStackTraces(report, getFailureTraces());
+        return report;
+    }
+
+    private Map<String, FailureTrace> getFailureTraces() throws IOException {
+        if (failureTraces == null) {
+            ReportIndex.Entry entry = index.getFailureTraces();
+            // an index written by an older version doesn't contain the table
+            failureTraces = entry == null ? Collections.emptyMap() : mapRegion(entry).readFailureTraces();
+        }
+        return failureTraces;
+    }
+
+    private ReportJsonReader mapRegion(ReportIndex.Entry entry) throws IOException {
+        long length = entry.getEnd() - entry.getStart();
+        if (entry.getStart() < 0 || length <= 0 || entry.getEnd() > channel.size()) {
+            throw new JsonParseException("The index doesn't correspond to the report file");
+        }
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, entry.getStart(), length);
+        CharSequence json = StandardCharsets.UTF_8.decode(region);
+        return new ReportJsonReader(new CharSequenceReader(json));
+    }
+
+    private void resolveStackTraces(Report<?, ?> report, Map<String, FailureTrace> failureTraces) {
+        if (report == null || failureTraces.isEmpty()) {
+            return;
+        }
+        report.getEntries().forEach(entry -> resolveStackTrace(entry, failureTraces));
+        report.getSubReports().forEach(subReport -> resolveStackTraces(subReport, failureTraces));
+        if (report instanceof WithConfigurationReport) {
+            resolveStackTraces(((WithConfigurationReport) report).getConfiguration(), failureTraces);
+        }
+        if (report instanceof TestSuiteReport) {
+            ((TestSuiteReport) report).getTestClassReports()
+                .forEach(testClassReport -> resolveStackTraces(testClassReport, failureTraces));
+        } else if (report instanceof TestClassReport) {
+            ((TestClassReport) report).getTestMethodReports()
+                .forEach(testMethodReport -> resolveStackTraces(testMethodReport, failureTraces));
+        } else if (report instanceof TestMethodReport) {
+            resolveStackTraces(((TestMethodReport) report).getFailureReport(), failureTraces);
+        }
+    }
+
+    private void resolveStackTrace(Entry entry, Map<String, FailureTrace> failureTraces) {
+        if (entry instanceof KeyValueEntry) {
+            KeyValueEntry keyValueEntry = (KeyValueEntry) entry;
+            resolveStackTrace(keyValueEntry.getValue(KeyValueEntry.class), failureTraces);
+            resolveStackTrace(keyValueEntry.getValue(FailureTraceEntry.class), failureTraces);
+        } else if (entry instanceof FailureTraceEntry && ((FailureTraceEntry) entry).getStackTrace() == null) {
+            FailureTraceEntry failureTraceEntry = (FailureTraceEntry) entry;
+            FailureTrace failureTrace = failureTraces.get(failureTraceEntry.getTraceSignature());
+            if (failureTrace != null) {
+                failureTraceEntry.setStackTrace(failureTrace.getStackTrace());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,32 @@
+package org.arquillian.reporter.parser;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.writer.BinaryReportFormat;
+
+/**
+ * Reads a report written in the {@link BinaryReportFormat} and returns the same object model as
+ * {@link ReportJsonParser} returns for the corresponding JSON report. The binary report is decoded by a
+ * {@link BinaryJsonReader} and read by the same streaming rules as the JSON report (see {@link ReportJsonReader}).
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportBinaryParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static ExecutionReport parse(String pathToBinaryFile) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(pathToBinaryFile)), BUFFER_SIZE)) {
+            return parse(in);
+        }
+    }
+
+    public static ExecutionReport parse(InputStream in) throws IOException {
+        return new ReportJsonReader(new BinaryJsonReader(in)).readExecutionReport();
+    }
+}
@@ -2,51 +2,55 @@ package org.arquillian.reporter.parser;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import org.arquillian.reporter.api.model.AbstractStringKey;
-import org.arquillian.reporter.api.model.StringKey;
-import org.arquillian.reporter.api.model.entry.Entry;
-import org.arquillian.reporter.api.model.entry.KeyValueEntry;
-import org.arquillian.reporter.api.model.report.AbstractReport;
-import org.arquillian.reporter.api.model.report.ConfigurationReport;
-import org.arquillian.reporter.api.model.report.FailureReport;
-import org.arquillian.reporter.api.model.report.Report;
-import org.arquillian.reporter.api.model.report.TestClassReport;
-import org.arquillian.reporter.api.model.report.TestMethodReport;
-import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import com.google.gson.JsonParseException;
+import org.apache.commons.io.IOUtils;
 import org.arquillian.reporter.impl.ExecutionReport;
 
+import java.io.BufferedReader;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
  */
 public class ReportJsonParser {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static Gson gson;
 
+    /**
+     * Reads the JSON report stored in the given file in one pass using {@link ReportJsonReader}
+     *
+     * @param pathToJSONFile A path to the JSON report
+     * @return The read {@link ExecutionReport}
+     * @throws FileNotFoundException If the file doesn't exist
+     */
     public static ExecutionReport parse(String pathToJSONFile) throws FileNotFoundException {
-        Gson gson = prepareGsonParser();
-
-        ExecutionReport executionReport = gson.fromJson(new FileReader(pathToJSONFile), ExecutionReport.class);
-        return executionReport;
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(new FileInputStream(pathToJSONFile), StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            return new ReportJsonReader(reader).readExecutionReport();
+        } catch (IOException e) {
+            throw new JsonParseException("Could not read the JSON report " + pathToJSONFile, e);
+        } finally {
+            IOUtils.closeQuietly(reader);
+        }
     }
 
+    /**
+     * Returns a {@link Gson} instance reading the reports (as well as their entries and string keys) by the same rules
+     * as {@link ReportJsonReader}
+     *
+     * @return A {@link Gson} instance reading the reports
+     */
     public static Gson prepareGsonParser(){
         if (gson == null) {
             gson = new GsonBuilder()
-                .registerTypeAdapter(StringKey.class, new StringKeyJsonDeserializer())
-                .registerTypeAdapter(Entry.class, new EntryJsonDeserializer())
-                .registerTypeAdapter(KeyValueEntry.class, new EntryJsonDeserializer())
-                .registerTypeAdapter(AbstractStringKey.class, new StringKeyJsonDeserializer())
-                .registerTypeAdapter(Report.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(TestMethodReport.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(ExecutionReport.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(TestClassReport.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(ConfigurationReport.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(FailureReport.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(TestSuiteReport.class, new ReportJsonDeserializer())
-                .registerTypeAdapter(AbstractReport.class,  new ReportJsonDeserializer())
+                .registerTypeAdapterFactory(new ReportTypeAdapterFactory())
                 .create();
         }
         return gson;
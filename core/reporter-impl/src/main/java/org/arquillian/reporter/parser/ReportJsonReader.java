@@ -0,0 +1,378 @@
+package org.arquillian.reporter.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
+import org.arquillian.reporter.api.model.entry.FileEntry;
+import org.arquillian.reporter.api.model.entry.HistogramEntry;
+import org.arquillian.reporter.api.model.entry.HistogramEntryJsonAdapter;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.entry.StringEntry;
+import org.arquillian.reporter.api.model.report.BasicReport;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.FailureReport;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.ReportSummary;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.api.model.report.WithConfigurationReport;
+import org.arquillian.reporter.api.model.report.WithStartAndStopReport;
+import org.arquillian.reporter.api.model.report.WithSummaryReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.FailureTrace;
+import org.jboss.arquillian.test.spi.TestResult;
+
+/**
+ * Reads a JSON report in one pass using a streaming {@link JsonReader} without creating any intermediate tree of
+ * JSON elements. The type of every report is decided based on the presence of the fields that are specific for the
+ * type of the report. As the fields may come in any order, all fields of a report are collected first and the report
+ * is created when the whole JSON object is read.
+ * <p>
+ * These are the only rules used for reading of the reports - the {@link Gson} instance of
+ * {@link ReportJsonParser#prepareGsonParser()} reads the reports, entries and string keys using this reader as well
+ * (see {@link ReportTypeAdapterFactory}).
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJsonReader {
+
+    private static final Gson GSON = new Gson();
+
+    private final JsonReader reader;
+
+    public ReportJsonReader(Reader reader) {
+        this(new JsonReader(reader));
+    }
+
+    ReportJsonReader(JsonReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the whole {@link ExecutionReport} from the underlying reader
+     *
+     * @return The read {@link ExecutionReport}
+     * @throws IOException If the report cannot be read
+     */
+    public ExecutionReport readExecutionReport() throws IOException {
+        return readReport(ExecutionReport.class);
+    }
+
+    /**
+     * Reads one report of the given type from the underlying reader
+     *
+     * @param reportType A type of the report that is expected
+     * @param <T>        The type of the report
+     * @return The read report or null if the JSON value is null
+     * @throws IOException If the report cannot be read
+     */
+    public <T extends Report> T readReport(Class<T> reportType) throws IOException {
+        Report report = readNextReport(reportType);
+        if (report != null && !reportType.isInstance(report)) {
+            throw new JsonParseException(
+                "The JSON document doesn't contain a report of the type " + reportType.getName());
+        }
+        return reportType.cast(report);
+    }
+
+    private Report readNextReport(Class<? extends Report> defaultReportType) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        ReportFields fields = new ReportFields();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    fields.name = readStringKey();
+                    break;
+                case "entries":
+                    fields.entries = readEntries();
+                    break;
+                case "subReports":
+                    fields.subReports = readReports(Report.class);
+                    break;
+                case "testSuiteReports":
+                    fields.testSuiteReports = readReports(TestSuiteReport.class);
+                    break;
+                case "testClassReports":
+                    fields.testClassReports = readReports(TestClassReport.class);
+                    break;
+                case "testMethodReports":
+                    fields.testMethodReports = readReports(TestMethodReport.class);
+                    break;
+                case "configuration":
+                    fields.configuration = readNextReport(ConfigurationReport.class);
+                    break;
+                case "failureReport":
+                    fields.failureReport = readNextReport(FailureReport.class);
+                    break;
+                case "startTime":
+                    fields.startTime = readString();
+                    break;
+                case "stopTime":
+                    fields.stopTime = readString();
+                    break;
+                case "summary":
+                    fields.summary = GSON.fromJson(reader, ReportSummary.class);
+                    break;
+                case "failureTraces":
+                    fields.failureTraces = readFailureTraces();
+                    break;
+                case "status":
+                    String status = readString();
+                    fields.status = status != null ? TestResult.Status.valueOf(status) : null;
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return fields.createReport(defaultReportType);
+    }
+
+    // the map is read here as Gson promotes the names to map keys only for its own implementations of JsonReader
+    LinkedHashMap<String, FailureTrace> readFailureTraces() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        LinkedHashMap<String, FailureTrace> failureTraces = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            failureTraces.put(reader.nextName(), GSON.fromJson(reader, FailureTrace.class));
+        }
+        reader.endObject();
+        return failureTraces;
+    }
+
+    private List<Report> readReports(Class<? extends Report> defaultReportType) throws IOException {
+        List<Report> reports = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reports.add(readNextReport(defaultReportType));
+        }
+        reader.endArray();
+        return reports;
+    }
+
+    private List<Entry> readEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            entries.add(readEntry());
+        }
+        reader.endArray();
+        return entries;
+    }
+
+    Entry readEntry() throws IOException {
+        StringKey key = null;
+        Entry value = null;
+        StringKey content = null;
+        String filePath = null;
+        HistogramEntry histogram = null;
+        String traceSignature = null;
+        String stackTrace = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "key":
+                    key = readStringKey();
+                    break;
+                case "value":
+                    value = reader.peek() == JsonToken.BEGIN_OBJECT ? readEntry() : skipValue();
+                    break;
+                case "content":
+                    content = readStringKey();
+                    break;
+                case "filePath":
+                    filePath = readString();
+                    break;
+                case HistogramEntryJsonAdapter.HISTOGRAM_FIELD:
+                    histogram = HistogramEntryJsonAdapter.readHistogram(reader);
+                    break;
+                case FailureTraceEntry.TRACE_SIGNATURE_FIELD:
+                    traceSignature = readString();
+                    break;
+                case "stackTrace":
+                    stackTrace = readString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (key != null) {
+            if (value != null) {
+                return new KeyValueEntry(key, value);
+            }
+        } else if (content != null) {
+            return new StringEntry(content);
+        } else if (filePath != null) {
+            return new FileEntry(filePath);
+        } else if (histogram != null) {
+            return histogram;
+        } else if (traceSignature != null) {
+            return new FailureTraceEntry(traceSignature, stackTrace);
+        }
+        return new StringEntry("");
+    }
+
+    StringKey readStringKey() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        String value = null;
+        String description = null;
+        String icon = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "value":
+                    value = readString();
+                    break;
+                case "description":
+                    description = readString();
+                    break;
+                case "icon":
+                    icon = readString();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new ParsedStringKey(value, description, icon);
+    }
+
+    private String readString() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private <T> T skipValue() throws IOException {
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * All fields of a report that has been read so far
+     */
+    private static class ReportFields {
+
+        private StringKey name;
+        private List<Entry> entries;
+        private List<Report> subReports;
+        private List<Report> testSuiteReports;
+        private List<Report> testClassReports;
+        private List<Report> testMethodReports;
+        private Report configuration;
+        private Report failureReport;
+        private String startTime;
+        private String stopTime;
+        private TestResult.Status status;
+        private ReportSummary summary;
+        private LinkedHashMap<String, FailureTrace> failureTraces;
+
+        private Report createReport(Class<? extends Report> defaultReportType) {
+            if (testSuiteReports != null) {
+                ExecutionReport executionReport = new ExecutionReport();
+                testSuiteReports.forEach(report -> executionReport.getTestSuiteReports().add((TestSuiteReport) report));
+                setSummary(executionReport);
+                if (failureTraces != null) {
+                    executionReport.setFailureTraces(failureTraces);
+                }
+                return setDefaultValues(executionReport);
+
+            } else if (testClassReports != null) {
+                TestSuiteReport testSuiteReport = new TestSuiteReport();
+                testClassReports.forEach(report -> testSuiteReport.getTestClassReports().add((TestClassReport) report));
+                setConfiguration(testSuiteReport);
+                setStartAndStop(testSuiteReport);
+                setSummary(testSuiteReport);
+                return setDefaultValues(testSuiteReport);
+
+            } else if (testMethodReports != null) {
+                TestClassReport testClassReport = new TestClassReport();
+                testMethodReports
+                    .forEach(report -> testClassReport.getTestMethodReports().add((TestMethodReport) report));
+                setConfiguration(testClassReport);
+                setStartAndStop(testClassReport);
+                setSummary(testClassReport);
+                return setDefaultValues(testClassReport);
+
+            } else if (startTime != null) {
+                TestMethodReport testMethodReport = new TestMethodReport();
+                if (failureReport != null) {
+                    testMethodReport.setFailureReport((FailureReport) failureReport);
+                }
+                setConfiguration(testMethodReport);
+                setStartAndStop(testMethodReport);
+                testMethodReport.setStatus(status);
+                return setDefaultValues(testMethodReport);
+
+            } else {
+                Report report;
+                if (defaultReportType == ConfigurationReport.class) {
+                    report = new ConfigurationReport();
+                } else if (defaultReportType == FailureReport.class) {
+                    report = new FailureReport();
+                } else {
+                    report = new BasicReport();
+                }
+                return setDefaultValues(report);
+            }
+        }
+
+        private void setConfiguration(WithConfigurationReport report) {
+            if (configuration != null) {
+                report.setConfiguration((ConfigurationReport) configuration);
+            }
+        }
+
+        private void setSummary(WithSummaryReport report) {
+            if (summary != null) {
+                report.setSummary(summary);
+            }
+        }
+
+        private void setStartAndStop(WithStartAndStopReport report) {
+            report.setExecutionStartTime(startTime);
+            report.setExecutionStopTime(stopTime);
+        }
+
+        private Report setDefaultValues(Report report) {
+            report.setName(name);
+            if (entries != null) {
+                report.getEntries().addAll(entries);
+            }
+            if (subReports != null) {
+                report.getSubReports().addAll(subReports);
+            }
+            return report;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.arquillian.reporter.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.google.gson.JsonParseException;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.writer.ReportShardManifest;
+import org.arquillian.reporter.writer.ShardedReportWriter;
+
+/**
+ * Reads a report written by {@link ShardedReportWriter}. The manifest is read first and then all shard files are
+ * read in parallel using a {@link ForkJoinPool}; the test class reports are added into the test suite reports in the
+ * same order as they are listed in the manifest, so the result is the same as the one read from a single JSON report.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportShardParser {
+
+    /**
+     * Reads the sharded report using the common {@link ForkJoinPool}
+     *
+     * @param pathToManifest A path to the manifest file of the sharded report
+     * @return The read {@link ExecutionReport}
+     * @throws IOException If the manifest or any of the shard files cannot be read
+     */
+    public static ExecutionReport parse(String pathToManifest) throws IOException {
+        return parse(pathToManifest, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads the sharded report using the given {@link ForkJoinPool}
+     *
+     * @param pathToManifest A path to the manifest file of the sharded report
+     * @param pool           A {@link ForkJoinPool} the shard files should be read in
+     * @return The read {@link ExecutionReport}
+     * @throws IOException If the manifest or any of the shard files cannot be read
+     */
+    public static ExecutionReport parse(String pathToManifest, ForkJoinPool pool) throws IOException {
+        File manifestFile = new File(pathToManifest);
+        ReportShardManifest manifest;
+        try (Reader reader = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            manifest = ReportJsonParser.prepareGsonParser().fromJson(reader, ReportShardManifest.class);
+        }
+        if (manifest == null || manifest.getExecutionReport() == null) {
+            throw new JsonParseException("The file " + pathToManifest + " doesn't contain a manifest of a sharded report");
+        }
+
+        ExecutionReport executionReport = manifest.getExecutionReport();
+        List<TestSuiteReport> testSuiteReports = executionReport.getTestSuiteReports();
+        if (testSuiteReports.size() != manifest.getShards().size()) {
+            throw new JsonParseException("The manifest " + pathToManifest + " doesn't list shards of all test suites");
+        }
+
+        // fork reading of all shards at once
+        List<List<ForkJoinTask<TestClassReport>>> tasks = new ArrayList<>();
+        for (List<String> shardNames : manifest.getShards()) {
+            List<ForkJoinTask<TestClassReport>> suiteTasks = new ArrayList<>();
+            for (String shardName : shardNames) {
+                File shardFile = new File(manifestFile.getParentFile(), shardName);
+                suiteTasks.add(pool.submit(() -> readShard(shardFile)));
+            }
+            tasks.add(suiteTasks);
+        }
+
+        // and join them in the order given by the manifest
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                List<TestClassReport> testClassReports = testSuiteReports.get(i).getTestClassReports();
+                for (ForkJoinTask<TestClassReport> task : tasks.get(i)) {
+                    testClassReports.add(task.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reading of the shards has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new JsonParseException("Could not read the sharded report " + pathToManifest, e.getCause());
+        } finally {
+            tasks.forEach(suiteTasks -> suiteTasks.forEach(task -> task.cancel(false)));
+        }
+        return executionReport;
+    }
+
+    private static TestClassReport readShard(File shardFile) {
+        try (Reader reader = Files.newBufferedReader(shardFile.toPath(), StandardCharsets.UTF_8)) {
+            return new ReportJsonReader(reader).readReport(TestClassReport.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the shard " + shardFile, e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.arquillian.reporter.parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.arquillian.reporter.api.model.AbstractStringKey;
+import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.AbstractReport;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.FailureReport;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+
+/**
+ * Creates adapters reading the reports, entries and string keys using {@link ReportJsonReader}, so a JSON report is
+ * read by the same rules regardless of whether it is streamed by {@link ReportJsonReader} directly or parsed by the
+ * {@link Gson} instance of {@link ReportJsonParser#prepareGsonParser()} (eg. from a tree of JSON elements). The values
+ * are written by the adapters that would be used without this factory.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class ReportTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final Set<Class<?>> REPORT_TYPES = new HashSet<>(Arrays.asList(
+        Report.class, AbstractReport.class, ExecutionReport.class, TestSuiteReport.class, TestClassReport.class,
+        TestMethodReport.class, ConfigurationReport.class, FailureReport.class));
+    private static final Set<Class<?>> ENTRY_TYPES = new HashSet<>(Arrays.asList(Entry.class, KeyValueEntry.class));
+    private static final Set<Class<?>> STRING_KEY_TYPES =
+        new HashSet<>(Arrays.asList(StringKey.class, AbstractStringKey.class));
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (!REPORT_TYPES.contains(rawType) && !ENTRY_TYPES.contains(rawType) && !STRING_KEY_TYPES.contains(rawType)) {
+            return null;
+        }
+        TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T read(JsonReader in) throws IOException {
+                ReportJsonReader reader = new ReportJsonReader(in);
+                Object value;
+                if (REPORT_TYPES.contains(rawType)) {
+                    value = reader.readReport(rawType.asSubclass(Report.class));
+                } else if (ENTRY_TYPES.contains(rawType)) {
+                    value = reader.readEntry();
+                } else {
+                    value = reader.readStringKey();
+                }
+                return (T) value;
+            }
+        };
+    }
+}
@@ -0,0 +1,278 @@
+package org.arquillian.reporter.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import com.google.gson.stream.JsonWriter;
+
+import static org.arquillian.reporter.writer.BinaryReportFormat.BEGIN_ARRAY;
+import static org.arquillian.reporter.writer.BinaryReportFormat.BEGIN_OBJECT;
+import static org.arquillian.reporter.writer.BinaryReportFormat.BLOCK;
+import static org.arquillian.reporter.writer.BinaryReportFormat.BLOCK_ARRAY_NAME;
+import static org.arquillian.reporter.writer.BinaryReportFormat.DOUBLE;
+import static org.arquillian.reporter.writer.BinaryReportFormat.END_ARRAY;
+import static org.arquillian.reporter.writer.BinaryReportFormat.END_OBJECT;
+import static org.arquillian.reporter.writer.BinaryReportFormat.FALSE;
+import static org.arquillian.reporter.writer.BinaryReportFormat.LONG;
+import static org.arquillian.reporter.writer.BinaryReportFormat.MAX_LENGTH_OF_TABLE_STRING;
+import static org.arquillian.reporter.writer.BinaryReportFormat.NULL;
+import static org.arquillian.reporter.writer.BinaryReportFormat.NUMBER;
+import static org.arquillian.reporter.writer.BinaryReportFormat.STRING_DEFINITION;
+import static org.arquillian.reporter.writer.BinaryReportFormat.STRING_LITERAL;
+import static org.arquillian.reporter.writer.BinaryReportFormat.STRING_REFERENCE;
+import static org.arquillian.reporter.writer.BinaryReportFormat.TRUE;
+import static org.arquillian.reporter.writer.BinaryReportFormat.writeVarInt;
+import static org.arquillian.reporter.writer.BinaryReportFormat.zigZagEncode;
+
+/**
+ * A {@link JsonWriter} that encodes the written JSON structure in the {@link BinaryReportFormat} instead of the text.
+ * Thanks to that any object can be serialized by Gson in the same way as it is serialized into JSON.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class BinaryJsonWriter extends JsonWriter {
+
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int counter) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final Deflater deflater;
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    // names of the currently opened objects and arrays (the name the container was written with)
+    private final Deque<String> containerNames = new ArrayDeque<>();
+    private final Deque<OutputStream> outputs = new ArrayDeque<>();
+    private int blockDepth = -1;
+
+    private OutputStream out;
+    private String deferredName;
+
+    BinaryJsonWriter(OutputStream out, boolean deflate) {
+        super(UNWRITABLE_WRITER);
+        this.out = out;
+        this.deflater = deflate ? new Deflater(Deflater.BEST_SPEED) : null;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        String name = writeDeferredName();
+        if (blockDepth < 0 && BLOCK_ARRAY_NAME.equals(containerNames.peek())) {
+            outputs.push(out);
+            out = new ByteArrayOutputStream();
+            blockDepth = containerNames.size();
+        }
+        containerNames.push(name == null ? "" : name);
+        out.write(BEGIN_OBJECT);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        containerNames.pop();
+        out.write(END_OBJECT);
+        if (blockDepth == containerNames.size()) {
+            writeBlock((ByteArrayOutputStream) out);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        String name = writeDeferredName();
+        containerNames.push(name == null ? "" : name);
+        out.write(BEGIN_ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        containerNames.pop();
+        out.write(END_ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        deferredName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(String value) throws IOException {
+        throw new UnsupportedOperationException("Raw JSON values cannot be written into the binary report");
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (deferredName != null && !getSerializeNulls()) {
+            // the name and the null value are skipped
+            deferredName = null;
+            return this;
+        }
+        writeDeferredName();
+        out.write(NULL);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        writeDeferredName();
+        out.write(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Boolean value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return value(value.booleanValue());
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        writeDeferredName();
+        writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        writeDeferredName();
+        out.write(LONG);
+        writeVarInt(out, zigZagEncode(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            out.write(LONG);
+            writeVarInt(out, zigZagEncode(value.longValue()));
+        } else if (value instanceof Double || value instanceof Float) {
+            writeDouble(value.doubleValue());
+        } else {
+            out.write(NUMBER);
+            writeStringBytes(value.toString());
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater != null) {
+            deflater.end();
+        }
+        if (!containerNames.isEmpty()) {
+            throw new IOException("Incomplete document");
+        }
+    }
+
+    private String writeDeferredName() throws IOException {
+        String name = deferredName;
+        if (name != null) {
+            deferredName = null;
+            writeString(name);
+        }
+        return name;
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value.length() > MAX_LENGTH_OF_TABLE_STRING) {
+            out.write(STRING_LITERAL);
+            writeStringBytes(value);
+            return;
+        }
+
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            out.write(STRING_REFERENCE);
+            writeVarInt(out, index);
+        } else {
+            stringTable.put(value, stringTable.size());
+            out.write(STRING_DEFINITION);
+            writeStringBytes(value);
+        }
+    }
+
+    private void writeStringBytes(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeDouble(double value) throws IOException {
+        out.write(DOUBLE);
+        long bits = Double.doubleToLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift));
+        }
+    }
+
+    private void writeBlock(ByteArrayOutputStream block) throws IOException {
+        out = outputs.pop();
+        blockDepth = -1;
+
+        byte[] content = block.toByteArray();
+        if (deflater != null) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4 + 16);
+            deflater.reset();
+            try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(compressed, deflater)) {
+                deflaterStream.write(content);
+            }
+            out.write(BLOCK);
+            writeVarInt(out, content.length);
+            writeVarInt(out, compressed.size());
+            compressed.writeTo(out);
+        } else {
+            out.write(BLOCK);
+            writeVarInt(out, content.length);
+            writeVarInt(out, content.length);
+            out.write(content);
+        }
+    }
+}
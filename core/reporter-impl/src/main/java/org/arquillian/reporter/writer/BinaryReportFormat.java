@@ -0,0 +1,102 @@
+package org.arquillian.reporter.writer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Description of the compact binary format of the report. The binary report contains the same structure as the JSON
+ * report (the same objects, names and values) encoded in the following way:
+ * <pre>
+ * report       := MAGIC VERSION flags value
+ * value        := NULL | TRUE | FALSE | LONG zigzag-varint | DOUBLE 8-bytes | NUMBER string-bytes | string
+ *               | BEGIN_OBJECT (string value)* END_OBJECT | BEGIN_ARRAY value* END_ARRAY
+ *               | BLOCK varint(raw length) varint(stored length) bytes
+ * string       := STRING_DEFINITION string-bytes | STRING_REFERENCE varint(index) | STRING_LITERAL string-bytes
+ * string-bytes := varint(length) UTF-8 bytes
+ * </pre>
+ * Names and short values are stored in a string table that is built while the report is being written and read:
+ * the first occurrence of a string is written as {@link #STRING_DEFINITION} and gets the next index in the table,
+ * every other occurrence is written only as a {@link #STRING_REFERENCE} to the index. Long strings are written as
+ * {@link #STRING_LITERAL} and are not stored in the table.
+ * <p>
+ * Every test class report is stored as a separate {@link #BLOCK} containing exactly one encoded value. If the flag
+ * {@link #FLAG_DEFLATE} is set, then the content of the blocks is compressed using deflate.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public final class BinaryReportFormat {
+
+    public static final byte[] MAGIC = { 'A', 'R', 'Q', 'R' };
+    public static final byte VERSION = 1;
+
+    public static final byte FLAG_DEFLATE = 1;
+
+    public static final byte NULL = 0;
+    public static final byte TRUE = 1;
+    public static final byte FALSE = 2;
+    public static final byte LONG = 3;
+    public static final byte DOUBLE = 4;
+    public static final byte NUMBER = 5;
+    public static final byte STRING_DEFINITION = 6;
+    public static final byte STRING_REFERENCE = 7;
+    public static final byte STRING_LITERAL = 8;
+    public static final byte BEGIN_OBJECT = 9;
+    public static final byte END_OBJECT = 10;
+    public static final byte BEGIN_ARRAY = 11;
+    public static final byte END_ARRAY = 12;
+    public static final byte BLOCK = 13;
+
+    /**
+     * Strings longer than this are not stored in the string table
+     */
+    public static final int MAX_LENGTH_OF_TABLE_STRING = 512;
+
+    /**
+     * Name of an array whose elements (objects) are stored in separate blocks
+     */
+    public static final String BLOCK_ARRAY_NAME = "testClassReports";
+
+    private BinaryReportFormat() {
+    }
+
+    public static void writeVarInt(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    public static long readVarInt(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (shift < 64) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        throw new IOException("Malformed varint in the binary report");
+    }
+
+    public static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of the binary report");
+        }
+        return b;
+    }
+}
@@ -0,0 +1,48 @@
+package org.arquillian.reporter.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} that counts the bytes written into the underlying stream. Flushing of this stream doesn't
+ * flush the underlying one (it is flushed only when this stream is closed), so the writers above this stream can be
+ * flushed whenever the current byte offset is needed without forcing any write into the file.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class ByteCountingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private long count;
+
+    ByteCountingOutputStream(OutputStream out) {
+        this.out = out;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        out.write(bytes, offset, length);
+        count += length;
+    }
+
+    @Override
+    public void flush() {
+        // the underlying stream is flushed when closed
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+        out.close();
+    }
+}
@@ -0,0 +1,73 @@
+package org.arquillian.reporter.writer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.ReportSummary;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.jboss.arquillian.test.spi.TestResult;
+
+/**
+ * A lightweight stub of a {@link TestClassReport} that has already been written into its shard and evicted from the
+ * memory. The stub keeps only the name, the start and stop time, the {@link ReportSummary} of the test methods and the
+ * statuses the test methods are counted in the summary with. As it is a {@link TestClassReport}, it can still be
+ * associated with the node of the section tree, so any event that comes for the test class after the eviction is
+ * merged into the stub. Such a late content is then merged with the content stored in the shard when the manifest is
+ * written. A late test method report of an already counted test method only changes its status in the summary.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class EvictedTestClassReport extends TestClassReport {
+
+    private final transient String shardName;
+    private final transient long originalStopTimestamp;
+    // statuses of the evicted test methods (by name) the summary contains - the late ones must not be counted twice
+    private final transient Map<String, TestResult.Status> countedStatuses = new HashMap<>();
+
+    EvictedTestClassReport(TestClassReport testClassReport, String shardName) {
+        super(testClassReport.getName());
+        this.shardName = shardName;
+        setExecutionStartTimestamp(testClassReport.getExecutionStartTimestamp());
+        setExecutionStopTimestamp(testClassReport.getExecutionStopTimestamp());
+        originalStopTimestamp = testClassReport.getExecutionStopTimestamp();
+        // the summary is already attached to the summary of the test suite, so the late test methods are propagated there
+        setSummary(testClassReport.getSummary());
+        for (TestMethodReport testMethodReport : testClassReport.getTestMethodReports()) {
+            if (testMethodReport.getName() != null && testMethodReport.getStatus() != null) {
+                countedStatuses.put(testMethodReport.getName().getValue(), testMethodReport.getStatus());
+            }
+        }
+    }
+
+    @Override
+    protected synchronized TestResult.Status getCountedStatus(TestMethodReport testMethodReport) {
+        // the late report of the same test method is merged with the evicted one, so it is matched only once
+        if (testMethodReport.getName() == null) {
+            return null;
+        }
+        return countedStatuses.remove(testMethodReport.getName().getValue());
+    }
+
+    /**
+     * Returns a name of the shard file the whole test class report is stored in
+     *
+     * @return A name of the shard file relative to the shard directory
+     */
+    public String getShardName() {
+        return shardName;
+    }
+
+    /**
+     * Returns whether anything has been merged into this stub after the eviction
+     *
+     * @return Whether anything has been merged into this stub after the eviction
+     */
+    public boolean hasLateContent() {
+        ConfigurationReport configuration = getConfiguration();
+        return !getEntries().isEmpty() || !getSubReports().isEmpty() || !getTestMethodReports().isEmpty()
+            || !configuration.getEntries().isEmpty() || !configuration.getSubReports().isEmpty()
+            || getExecutionStopTimestamp() != originalStopTimestamp;
+    }
+}
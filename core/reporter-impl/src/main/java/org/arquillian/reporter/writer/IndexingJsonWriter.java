@@ -0,0 +1,158 @@
+package org.arquillian.reporter.writer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * A {@link JsonWriter} that, apart from writing the JSON, records byte offsets of all test suite, test class and test
+ * method reports and of the table of failure traces into a {@link ReportIndex}. The offsets are taken from the
+ * {@link ByteCountingOutputStream} the given {@link Writer} writes into - the writer is flushed at the beginning and at
+ * the end of every indexed report.
+ * <p>
+ * The offsets are byte offsets of the UTF-8 encoded report - the indexed report is always written in UTF-8 regardless
+ * of the default charset of the platform, so the index can be used on any other platform.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+class IndexingJsonWriter extends JsonWriter {
+
+    private static final String TEST_SUITE_REPORTS = "testSuiteReports";
+    private static final String TEST_CLASS_REPORTS = "testClassReports";
+    private static final String TEST_METHOD_REPORTS = "testMethodReports";
+    private static final String FAILURE_TRACES = "failureTraces";
+    private static final String NAME = "name";
+    private static final String VALUE = "value";
+
+    private final ByteCountingOutputStream counter;
+    private final ReportIndex index = new ReportIndex();
+    private final Deque<Container> containers = new ArrayDeque<>();
+    private String lastName;
+
+    IndexingJsonWriter(Writer writer, ByteCountingOutputStream counter) {
+        super(writer);
+        this.counter = counter;
+    }
+
+    ReportIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        lastName = name;
+        return super.name(name);
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        containers.push(new Container(true, lastName, null, null, null));
+        lastName = null;
+        return super.beginArray();
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        containers.pop();
+        lastName = null;
+        return super.endArray();
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        Container parent = containers.peek();
+        super.beginObject();
+
+        ReportIndex.Entry indexEntry = null;
+        ReportIndex.Entry nameOf = null;
+        ReportIndex.Entry tableEntry = null;
+        if (parent != null && parent.array && isIndexedArray(parent.name)) {
+            indexEntry = new ReportIndex.Entry();
+            indexEntry.setStart(getCurrentOffset() - 1);
+            ReportIndex.Entry enclosingEntry = getEnclosingIndexEntry();
+            if (enclosingEntry == null) {
+                index.getTestSuites().add(indexEntry);
+            } else {
+                enclosingEntry.getChildren().add(indexEntry);
+            }
+        } else if (parent != null && parent.indexEntry != null && NAME.equals(lastName)) {
+            nameOf = parent.indexEntry;
+        } else if (containers.size() == 1 && FAILURE_TRACES.equals(lastName)) {
+            // the table of failure traces is stored directly in the execution report
+            tableEntry = new ReportIndex.Entry();
+            tableEntry.setName(FAILURE_TRACES);
+            tableEntry.setStart(getCurrentOffset() - 1);
+            index.setFailureTraces(tableEntry);
+        }
+        containers.push(new Container(false, lastName, indexEntry, nameOf, tableEntry));
+        lastName = null;
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        Container container = containers.pop();
+        lastName = null;
+        super.endObject();
+        if (container.indexEntry != null) {
+            container.indexEntry.setEnd(getCurrentOffset());
+        } else if (container.tableEntry != null) {
+            container.tableEntry.setEnd(getCurrentOffset());
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        Container container = containers.peek();
+        if (container != null && container.nameOf != null && VALUE.equals(lastName)) {
+            container.nameOf.setName(value);
+        }
+        lastName = null;
+        return super.value(value);
+    }
+
+    private long getCurrentOffset() throws IOException {
+        // flushes also the given writer so all written characters are encoded into the counting stream
+        flush();
+        return counter.getCount();
+    }
+
+    private ReportIndex.Entry getEnclosingIndexEntry() {
+        for (Container container : containers) {
+            if (container.indexEntry != null) {
+                return container.indexEntry;
+            }
+        }
+        return null;
+    }
+
+    private boolean isIndexedArray(String name) {
+        return TEST_SUITE_REPORTS.equals(name) || TEST_CLASS_REPORTS.equals(name) || TEST_METHOD_REPORTS.equals(name);
+    }
+
+    private static class Container {
+
+        private final boolean array;
+        private final String name;
+        // the entry of the report this container represents (if it is an indexed report)
+        private final ReportIndex.Entry indexEntry;
+        // the entry of the report whose name this container represents
+        private final ReportIndex.Entry nameOf;
+        // the entry of the table of failure traces (if this container represents the table)
+        private final ReportIndex.Entry tableEntry;
+
+        private Container(boolean array, String name, ReportIndex.Entry indexEntry, ReportIndex.Entry nameOf,
+            ReportIndex.Entry tableEntry) {
+            this.array = array;
+            this.name = name;
+            this.indexEntry = indexEntry;
+            this.nameOf = nameOf;
+            this.tableEntry = tableEntry;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.arquillian.reporter.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.impl.ExecutionReport;
+
+/**
+ * Serializes an {@link ExecutionReport} into a compact binary file described by {@link BinaryReportFormat}.
+ * The report can be read back using {@link org.arquillian.reporter.parser.ReportBinaryParser}.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportBinaryWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static Gson gson;
+
+    /**
+     * Writes the given {@link ExecutionReport} in the binary format into the given file. If the file already exists,
+     * then it is overwritten.
+     *
+     * @param executionReport An {@link ExecutionReport} to be written
+     * @param reportFile      A file the report should be written into
+     * @param deflate         Whether the sections of the report should be compressed
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public static void write(ExecutionReport executionReport, File reportFile, boolean deflate) throws IOException {
+        Path reportPath = reportFile.toPath();
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+
+        try (FileChannel channel = FileChannel.open(reportPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+
+            write(executionReport, out, deflate);
+        }
+    }
+
+    /**
+     * Writes the given {@link ExecutionReport} in the binary format into the given {@link OutputStream}.
+     * The stream is flushed but not closed.
+     *
+     * @param executionReport An {@link ExecutionReport} to be written
+     * @param out             An {@link OutputStream} the report should be written into
+     * @param deflate         Whether the sections of the report should be compressed
+     * @throws IOException If anything bad happens when the report is being written
+     */
+    public static void write(ExecutionReport executionReport, OutputStream out, boolean deflate) throws IOException {
+        out.write(BinaryReportFormat.MAGIC);
+        out.write(BinaryReportFormat.VERSION);
+        out.write(deflate ? BinaryReportFormat.FLAG_DEFLATE : 0);
+
+        BinaryJsonWriter binaryWriter = new BinaryJsonWriter(out, deflate);
+        try {
+            prepareGsonWriter().toJson(executionReport, ExecutionReport.class, binaryWriter);
+        } finally {
+            binaryWriter.close();
+        }
+        out.flush();
+    }
+
+    private static Gson prepareGsonWriter() {
+        if (gson == null) {
+            gson = new Gson();
+        }
+        return gson;
+    }
+}
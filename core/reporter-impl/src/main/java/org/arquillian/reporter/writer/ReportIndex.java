@@ -0,0 +1,142 @@
+package org.arquillian.reporter.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+
+/**
+ * An index of a JSON report containing byte offsets of all test suite, test class and test method reports stored in
+ * the report file and of the table of failure traces. The index is written next to the report file and lets
+ * {@code IndexedReportReader} deserialize only the requested part of the report.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportIndex {
+
+    private final List<Entry> testSuites = new ArrayList<>();
+    private Entry failureTraces;
+
+    /**
+     * Returns entries of all test suite reports. Children of a test suite entry are its test classes, children of
+     * a test class entry are its test methods.
+     *
+     * @return Entries of all test suite reports
+     */
+    public List<Entry> getTestSuites() {
+        return testSuites;
+    }
+
+    /**
+     * Returns the entry of the table of failure traces stored in the execution report
+     *
+     * @return The entry of the table of failure traces or null if the report doesn't contain it
+     */
+    public Entry getFailureTraces() {
+        return failureTraces;
+    }
+
+    void setFailureTraces(Entry failureTraces) {
+        this.failureTraces = failureTraces;
+    }
+
+    /**
+     * Writes the index into the given file
+     *
+     * @param indexFile A file the index should be written into
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public void write(File indexFile) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            new Gson().toJson(this, writer);
+        }
+    }
+
+    /**
+     * Reads an index from the given file
+     *
+     * @param indexFile A file containing the index
+     * @return The read index
+     * @throws IOException If the file cannot be read
+     */
+    public static ReportIndex read(File indexFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            return new Gson().fromJson(reader, ReportIndex.class);
+        }
+    }
+
+    /**
+     * Position of one report in the report file
+     */
+    public static class Entry {
+
+        private String name;
+        private long start;
+        private long end;
+        private final List<Entry> children = new ArrayList<>();
+
+        /**
+         * Returns the value of the name of the report
+         *
+         * @return The value of the name of the report
+         */
+        public String getName() {
+            return name;
+        }
+
+        void setName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the byte offset of the first character of the report in the report file
+         *
+         * @return The byte offset of the first character of the report
+         */
+        public long getStart() {
+            return start;
+        }
+
+        void setStart(long start) {
+            this.start = start;
+        }
+
+        /**
+         * Returns the byte offset right after the last character of the report in the report file
+         *
+         * @return The byte offset right after the last character of the report
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        void setEnd(long end) {
+            this.end = end;
+        }
+
+        /**
+         * Returns the entries of the reports contained in this report
+         *
+         * @return The entries of the reports contained in this report
+         */
+        public List<Entry> getChildren() {
+            return children;
+        }
+
+        /**
+         * Returns the entry of a contained report with the given name
+         *
+         * @param name A value of the name of the contained report
+         * @return The entry of a contained report with the given name or null if there is no such a report
+         */
+        public Entry getChild(String name) {
+            return children.stream().filter(child -> name.equals(child.getName())).findFirst().orElse(null);
+        }
+    }
+}
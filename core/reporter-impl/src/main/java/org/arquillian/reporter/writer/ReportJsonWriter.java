@@ -0,0 +1,156 @@
+package org.arquillian.reporter.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+
+/**
+ * Serializes an {@link ExecutionReport} into a JSON file. The report is streamed through a {@link JsonWriter} directly
+ * into a buffered file channel, so the whole JSON document is never held in memory as one string. The report is always
+ * encoded in UTF-8.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJsonWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String INDENT = "  ";
+
+    private static Gson gson;
+
+    /**
+     * Writes the given {@link ExecutionReport} as a JSON into the given file. If the file already exists, then it is overwritten.
+     *
+     * @param executionReport An {@link ExecutionReport} to be written
+     * @param reportFile      A file the JSON should be written into
+     * @param prettyPrint     Whether the JSON should be pretty printed or written in the compact form
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public static void write(ExecutionReport executionReport, File reportFile, boolean prettyPrint)
+        throws IOException {
+        write(executionReport, reportFile, prettyPrint, null);
+    }
+
+    /**
+     * Writes the given {@link ExecutionReport} as a JSON into the given file. If the file already exists, then it is overwritten.
+     * If the index file is given, then also a {@link ReportIndex} containing byte offsets of all test suite, test class
+     * and test method reports is written into it.
+     *
+     * @param executionReport An {@link ExecutionReport} to be written
+     * @param reportFile      A file the JSON should be written into
+     * @param prettyPrint     Whether the JSON should be pretty printed or written in the compact form
+     * @param indexFile       A file the index should be written into; if null then no index is written
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public static void write(ExecutionReport executionReport, File reportFile, boolean prettyPrint, File indexFile)
+        throws IOException {
+        Path reportPath = reportFile.toPath();
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+
+        if (indexFile != null) {
+            writeWithIndex(executionReport, reportPath, prettyPrint, indexFile);
+        } else {
+            writeObject(executionReport, ExecutionReport.class, reportPath, prettyPrint);
+        }
+    }
+
+    /**
+     * Writes the given report (eg. one {@link TestClassReport} of a sharded report) as a JSON into the given file.
+     * If the file already exists, then it is overwritten.
+     *
+     * @param report      A report to be written
+     * @param reportFile  A file the JSON should be written into
+     * @param prettyPrint Whether the JSON should be pretty printed or written in the compact form
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public static void writeReport(Report report, File reportFile, boolean prettyPrint) throws IOException {
+        writeObject(report, report.getClass(), reportFile, prettyPrint);
+    }
+
+    static void writeObject(Object object, Type type, File file, boolean prettyPrint) throws IOException {
+        Path path = file.toPath();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        writeObject(object, type, path, prettyPrint);
+    }
+
+    private static void writeObject(Object object, Type type, Path path, boolean prettyPrint) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING);
+             Writer writer = new BufferedWriter(
+                 Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE)) {
+
+            JsonWriter jsonWriter = new JsonWriter(writer);
+            if (prettyPrint) {
+                jsonWriter.setIndent(INDENT);
+            }
+            prepareGsonWriter().toJson(object, type, jsonWriter);
+            jsonWriter.flush();
+        }
+    }
+
+    private static void writeWithIndex(ExecutionReport executionReport, Path reportPath, boolean prettyPrint,
+        File indexFile) throws IOException {
+
+        ReportIndex index;
+        try (FileChannel channel = FileChannel.open(reportPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING);
+             ByteCountingOutputStream counter = new ByteCountingOutputStream(
+                 new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+             Writer writer = new OutputStreamWriter(counter, StandardCharsets.UTF_8)) {
+
+            IndexingJsonWriter jsonWriter = new IndexingJsonWriter(writer, counter);
+            if (prettyPrint) {
+                jsonWriter.setIndent(INDENT);
+            }
+            prepareGsonWriter().toJson(executionReport, ExecutionReport.class, jsonWriter);
+            jsonWriter.flush();
+            index = jsonWriter.getIndex();
+        }
+        index.write(indexFile);
+    }
+
+    /**
+     * Writes the given {@link ExecutionReport} as a JSON into the given {@link Writer}. The writer is flushed but not closed.
+     *
+     * @param executionReport An {@link ExecutionReport} to be written
+     * @param writer          A {@link Writer} the JSON should be written into
+     * @param prettyPrint     Whether the JSON should be pretty printed or written in the compact form
+     * @throws IOException If anything bad happens when the JSON is being written
+     */
+    public static void write(ExecutionReport executionReport, Writer writer, boolean prettyPrint)
+        throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        if (prettyPrint) {
+            jsonWriter.setIndent(INDENT);
+        }
+        prepareGsonWriter().toJson(executionReport, ExecutionReport.class, jsonWriter);
+        jsonWriter.flush();
+    }
+
+    private static Gson prepareGsonWriter() {
+        if (gson == null) {
+            gson = new Gson();
+        }
+        return gson;
+    }
+}
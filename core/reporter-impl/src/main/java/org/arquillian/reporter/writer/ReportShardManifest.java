@@ -0,0 +1,41 @@
+package org.arquillian.reporter.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.arquillian.reporter.impl.ExecutionReport;
+
+/**
+ * A manifest of a sharded report. It contains the {@link ExecutionReport} with all its test suite reports, but without
+ * any test class report - every test class report is stored in a separate shard file. The shard files are listed
+ * for every test suite (in the same order as the test suites are stored in the execution report); the names are
+ * relative to the directory the manifest is stored in.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportShardManifest {
+
+    private ExecutionReport executionReport;
+    private List<List<String>> shards = new ArrayList<>();
+
+    public ReportShardManifest() {
+    }
+
+    public ReportShardManifest(ExecutionReport executionReport) {
+        this.executionReport = executionReport;
+    }
+
+    public ExecutionReport getExecutionReport() {
+        return executionReport;
+    }
+
+    /**
+     * Returns names of the shard files for every test suite. The n-th list contains the shards of the n-th test suite
+     * report in the order the test class reports should be added into it.
+     *
+     * @return Names of the shard files for every test suite
+     */
+    public List<List<String>> getShards() {
+        return shards;
+    }
+}
@@ -0,0 +1,213 @@
+package org.arquillian.reporter.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.parser.ReportJsonReader;
+
+/**
+ * Writes a report split into shards: every {@link TestClassReport} is written into its own JSON file as soon as the
+ * test class is finished, the rest of the report (the execution and test suite reports) is written at the end into
+ * a {@link ReportShardManifest} that refers to the shard files. All files are stored in one shard directory.
+ * The sharded report can be read back using {@link org.arquillian.reporter.parser.ReportShardParser}.
+ * <p>
+ * If the eviction is enabled, then the finished test class reports are replaced by {@link EvictedTestClassReport}
+ * stubs after they are written, so the memory doesn't grow with the number of executed test classes.
+ * </p>
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ShardedReportWriter {
+
+    public static final String MANIFEST_FILE = "manifest.json";
+    private static final String SHARD_SUFFIX = ".json";
+
+    private final File shardDirectory;
+    private final boolean prettyPrint;
+    private final boolean evictTestClasses;
+    private final AtomicInteger shardCounter = new AtomicInteger();
+    // names of the shard files the test class reports have already been written into
+    private final Map<TestClassReport, String> writtenShards = Collections.synchronizedMap(new IdentityHashMap<>());
+    // test class reports that haven't been modified since they were written into their shards
+    private final Set<TestClassReport> flushedShards =
+        Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+
+    public ShardedReportWriter(File shardDirectory, boolean prettyPrint) {
+        this(shardDirectory, prettyPrint, false);
+    }
+
+    public ShardedReportWriter(File shardDirectory, boolean prettyPrint, boolean evictTestClasses) {
+        this.shardDirectory = shardDirectory;
+        this.prettyPrint = prettyPrint;
+        this.evictTestClasses = evictTestClasses;
+    }
+
+    public boolean isEvictTestClasses() {
+        return evictTestClasses;
+    }
+
+    public File getShardDirectory() {
+        return shardDirectory;
+    }
+
+    public File getManifestFile() {
+        return new File(shardDirectory, MANIFEST_FILE);
+    }
+
+    /**
+     * Writes the given {@link TestClassReport} into its shard file. If the report has already been written, then
+     * the same shard file is overwritten.
+     *
+     * @param testClassReport A {@link TestClassReport} to be written
+     * @return A name of the shard file relative to the shard directory
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public String writeShard(TestClassReport testClassReport) throws IOException {
+        String shardName = writtenShards.get(testClassReport);
+        if (shardName == null) {
+            shardName = createShardName(testClassReport);
+        }
+        ReportJsonWriter.writeReport(testClassReport, new File(shardDirectory, shardName), prettyPrint);
+        writtenShards.put(testClassReport, shardName);
+        flushedShards.add(testClassReport);
+        return shardName;
+    }
+
+    /**
+     * Marks the given {@link TestClassReport} as modified after it was written into its shard, so the shard is written
+     * again together with the manifest. Reports that haven't been written yet are ignored.
+     *
+     * @param testClassReport A {@link TestClassReport} something has been merged into
+     */
+    public void markModified(TestClassReport testClassReport) {
+        flushedShards.remove(testClassReport);
+    }
+
+    /**
+     * Writes the given {@link TestClassReport} into its shard file and creates an {@link EvictedTestClassReport} stub
+     * that should replace the report in the memory.
+     *
+     * @param testClassReport A {@link TestClassReport} to be written and evicted
+     * @return The stub of the written report
+     * @throws IOException If anything bad happens when the file is being written
+     */
+    public EvictedTestClassReport evict(TestClassReport testClassReport) throws IOException {
+        EvictedTestClassReport stub = new EvictedTestClassReport(testClassReport, writeShard(testClassReport));
+        writtenShards.remove(testClassReport);
+        flushedShards.remove(testClassReport);
+        return stub;
+    }
+
+    /**
+     * Writes the manifest of the given {@link ExecutionReport}. The test class reports that are still kept in the
+     * memory and that haven't been written yet or have been {@link #markModified(TestClassReport) modified} since
+     * then are written into their shards first, so the shards contain also anything that has been merged after the
+     * test class was finished. The other shards are not written again. If anything has been merged into an
+     * {@link EvictedTestClassReport} after the eviction, then it is merged with the content of its shard and the shard
+     * is written again.
+     *
+     * @param executionReport An {@link ExecutionReport} the manifest should be written for
+     * @throws IOException If anything bad happens when the files are being written
+     */
+    public void writeManifest(ExecutionReport executionReport) throws IOException {
+        ExecutionReport manifestReport = new ExecutionReport();
+        manifestReport.setName(executionReport.getName());
+        manifestReport.setEntries(executionReport.getEntries());
+        manifestReport.setSubReports(executionReport.getSubReports());
+        manifestReport.setSummary(executionReport.getSummary());
+        manifestReport.setFailureTraces(executionReport.getFailureTraces());
+
+        ReportShardManifest manifest = new ReportShardManifest(manifestReport);
+        for (TestSuiteReport testSuiteReport : executionReport.getTestSuiteReports()) {
+            List<String> shardNames = new ArrayList<>();
+            for (TestClassReport testClassReport : testSuiteReport.getTestClassReports()) {
+                if (testClassReport instanceof EvictedTestClassReport) {
+                    shardNames.add(writeLateContent((EvictedTestClassReport) testClassReport));
+                } else if (flushedShards.contains(testClassReport)) {
+                    shardNames.add(writtenShards.get(testClassReport));
+                } else {
+                    shardNames.add(writeShard(testClassReport));
+                }
+            }
+            manifestReport.getTestSuiteReports().add(copyWithoutTestClassReports(testSuiteReport));
+            manifest.getShards().add(shardNames);
+        }
+
+        ReportJsonWriter.writeObject(manifest, ReportShardManifest.class, getManifestFile(), prettyPrint);
+    }
+
+    private String writeLateContent(EvictedTestClassReport stub) throws IOException {
+        String shardName = stub.getShardName();
+        if (!stub.hasLateContent()) {
+            return shardName;
+        }
+        File shardFile = new File(shardDirectory, shardName);
+        TestClassReport testClassReport;
+        try (Reader reader = Files.newBufferedReader(shardFile.toPath(), StandardCharsets.UTF_8)) {
+            testClassReport = new ReportJsonReader(reader).readReport(TestClassReport.class);
+        }
+
+        // the late test method reports are merged with the ones of the same name - as they would be in the section tree
+        for (TestMethodReport lateTestMethodReport : stub.getTestMethodReports()) {
+            TestMethodReport testMethodReport = testClassReport.getTestMethodReports().stream()
+                .filter(methodReport -> hasSameName(methodReport, lateTestMethodReport))
+                .findFirst()
+                .orElse(null);
+            if (testMethodReport != null) {
+                testMethodReport.merge(lateTestMethodReport);
+            } else {
+                testClassReport.getTestMethodReports().add(lateTestMethodReport);
+            }
+        }
+        TestClassReport lateContent = new TestClassReport(stub.getName());
+        lateContent.setEntries(stub.getEntries());
+        lateContent.setSubReports(stub.getSubReports());
+        lateContent.setConfiguration(stub.getConfiguration());
+        lateContent.setExecutionStopTimestamp(stub.getExecutionStopTimestamp());
+        testClassReport.merge(lateContent);
+        // the summary of the stub contains also the test methods that have been finished after the eviction
+        testClassReport.setSummary(stub.getSummary());
+
+        ReportJsonWriter.writeReport(testClassReport, shardFile, prettyPrint);
+        return shardName;
+    }
+
+    private boolean hasSameName(Report report, Report otherReport) {
+        return report.getName() != null && otherReport.getName() != null
+            && Objects.equals(report.getName().getValue(), otherReport.getName().getValue());
+    }
+
+    private TestSuiteReport copyWithoutTestClassReports(TestSuiteReport testSuiteReport) {
+        TestSuiteReport copy = new TestSuiteReport(testSuiteReport.getName());
+        copy.setEntries(testSuiteReport.getEntries());
+        copy.setSubReports(testSuiteReport.getSubReports());
+        copy.setConfiguration(testSuiteReport.getConfiguration());
+        copy.setSummary(testSuiteReport.getSummary());
+        copy.setExecutionStartTimestamp(testSuiteReport.getExecutionStartTimestamp());
+        copy.setExecutionStopTimestamp(testSuiteReport.getExecutionStopTimestamp());
+        return copy;
+    }
+
+    private String createShardName(TestClassReport testClassReport) {
+        String className = testClassReport.getName() == null ? "" : testClassReport.getName().getValue();
+        // the sequence number keeps the names unique even if the same test class is run more times
+        return String.format("%05d-%s%s", shardCounter.incrementAndGet(), className.replaceAll("[^\\w.-]", "_"),
+                             SHARD_SUFFIX);
+    }
+}
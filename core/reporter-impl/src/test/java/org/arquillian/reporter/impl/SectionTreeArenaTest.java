@@ -0,0 +1,126 @@
+package org.arquillian.reporter.impl;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.junit.Test;
+
+import static org.arquillian.reporter.impl.SectionTreeArena.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class SectionTreeArenaTest {
+
+    private static final int NUMBER_OF_CLASSES = 10;
+    private static final int NUMBER_OF_METHODS = 3;
+
+    @Test
+    public void testRemovedNodesShouldBeReusedByNewNodes() {
+        SectionTreeArena arena = new SectionTreeArena();
+        int root = arena.addRoot(new Identifier<>(TestSuiteSection.class, "suite"), new TestSuiteReport("suite"),
+                                 TestSuiteReport.class);
+        int maxNode = addTestClasses(arena, root, 0);
+
+        for (int round = 1; round <= 1000; round++) {
+            arena.removeChildren(root);
+            assertThat(arena.getChildren(root)).isEmpty();
+            assertThat(arena.findChild(root, createTestClassIdentifier(round - 1, 0))).isEqualTo(NONE);
+
+            assertThat(addTestClasses(arena, root, round)).isLessThanOrEqualTo(maxNode);
+            assertThat(arena.getChildren(root)).hasSize(NUMBER_OF_CLASSES);
+        }
+    }
+
+    @Test
+    public void testLatestChildShouldBeTheLastAddedOneEvenIfItReusesLowerNode() {
+        SectionTreeArena arena = new SectionTreeArena();
+        int root = arena.addRoot(new Identifier<>(TestSuiteSection.class, "suite"), null, TestSuiteReport.class);
+        int firstClass = addTestClass(arena, root, "first");
+        int secondClass = addTestClass(arena, root, "second");
+        int lowerMethod = addTestMethod(arena, firstClass, "lower");
+        int higherMethod = addTestMethod(arena, firstClass, "higher");
+
+        arena.removeChildren(firstClass);
+        int first = addTestMethod(arena, secondClass, "same");
+        int second = addTestMethod(arena, secondClass, "same");
+
+        // the removed nodes are reused in the reverse order
+        assertThat(first).isEqualTo(higherMethod);
+        assertThat(second).isEqualTo(lowerMethod);
+        verifyChildrenOfSecondClass(arena, secondClass, first, second);
+
+        // the indexes are rebuilt by the change of the identifier
+        arena.setIdentifier(firstClass, new Identifier<>(TestClassSection.class, "renamed"));
+        verifyChildrenOfSecondClass(arena, secondClass, first, second);
+        assertThat(arena.findChild(root, new Identifier<>(TestClassSection.class, "renamed"))).isEqualTo(firstClass);
+    }
+
+    @Test
+    public void testReferenceOfRemovedNodeShouldNotMatchNodeReusingItsIndex() {
+        SectionTreeArena arena = new SectionTreeArena();
+        int root = arena.addRoot(new Identifier<>(TestSuiteSection.class, "suite"), null, TestSuiteReport.class);
+        int removedClass = addTestClass(arena, root, "removed");
+        long removedReference = arena.reference(removedClass);
+        Identifier<TestMethodSection> methodIdentifier = new Identifier<>(TestMethodSection.class, "method");
+
+        arena.removeChildren(root);
+        TestClassReport reusingReport = new TestClassReport("reusing");
+        int reusingClass = arena.addChild(root, new Identifier<>(TestClassSection.class, "reusing"), reusingReport,
+                                          TestClassReport.class);
+        addTestMethod(arena, reusingClass, "method");
+
+        assertThat(reusingClass).isEqualTo(removedClass);
+        assertThat(arena.getReport(removedReference)).isNull();
+        assertThat(arena.findChild(removedReference, methodIdentifier)).isEqualTo(NONE);
+        assertThat(arena.findLatestChild(removedReference, TestMethodSection.class)).isEqualTo(NONE);
+        assertThat(arena.addChild(removedReference, methodIdentifier, null, TestMethodReport.class)).isEqualTo(NONE);
+        assertThat(arena.getChildren(reusingClass)).hasSize(1);
+
+        long reusingReference = arena.reference(reusingClass);
+        assertThat(arena.getReport(reusingReference)).isSameAs(reusingReport);
+        assertThat(SectionTreeArena.node(arena.findChild(reusingReference, methodIdentifier)))
+            .isEqualTo(arena.findChild(reusingClass, methodIdentifier));
+    }
+
+    private void verifyChildrenOfSecondClass(SectionTreeArena arena, int secondClass, int first, int second) {
+        assertThat(arena.getChildren(secondClass)).containsExactly(first, second);
+        assertThat(arena.findChild(secondClass, new Identifier<>(TestMethodSection.class, "same"))).isEqualTo(first);
+        assertThat(arena.findLatestChild(secondClass, TestMethodSection.class)).isEqualTo(second);
+    }
+
+    private int addTestClasses(SectionTreeArena arena, int root, int round) {
+        int maxNode = root;
+        for (int i = 0; i < NUMBER_OF_CLASSES; i++) {
+            int testClass = arena.addChild(root, createTestClassIdentifier(round, i), new TestClassReport("class"),
+                                           TestClassReport.class);
+            maxNode = Math.max(maxNode, testClass);
+            int testMethod = NONE;
+            for (int j = 0; j < NUMBER_OF_METHODS; j++) {
+                testMethod = addTestMethod(arena, testClass, "method-" + j);
+                maxNode = Math.max(maxNode, testMethod);
+            }
+            assertThat(arena.findChild(root, createTestClassIdentifier(round, i))).isEqualTo(testClass);
+            assertThat(arena.findLatestChild(testClass, TestMethodSection.class)).isEqualTo(testMethod);
+        }
+        return maxNode;
+    }
+
+    private Identifier<TestClassSection> createTestClassIdentifier(int round, int index) {
+        return new Identifier<>(TestClassSection.class, "class-" + round + "-" + index);
+    }
+
+    private int addTestClass(SectionTreeArena arena, int root, String id) {
+        return arena.addChild(root, new Identifier<>(TestClassSection.class, id), null, TestClassReport.class);
+    }
+
+    private int addTestMethod(SectionTreeArena arena, int testClass, String id) {
+        return arena.addChild(testClass, new Identifier<>(TestMethodSection.class, id), new TestMethodReport(id),
+                              TestMethodReport.class);
+    }
+}
@@ -8,6 +8,7 @@ import org.arquillian.reporter.api.builder.report.ConfigurationReportBuilder;
 import org.arquillian.reporter.api.builder.report.FailureReportBuilder;
 import org.arquillian.reporter.api.builder.report.ReportBuilder;
 import org.arquillian.reporter.api.builder.report.ReportInSectionBuilder;
+import org.arquillian.reporter.api.builder.report.SectionEventBatchBuilder;
 import org.arquillian.reporter.api.builder.report.TestClassReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestSuiteReportBuilder;
@@ -20,6 +21,7 @@ import org.arquillian.reporter.impl.builder.report.ConfigurationReportBuilderImp
 import org.arquillian.reporter.impl.builder.report.FailureReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.ReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.ReportInSectionBuilderImpl;
+import org.arquillian.reporter.impl.builder.report.SectionEventBatchBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.TestClassReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.TestMethodReportBuilderImpl;
 import org.arquillian.reporter.impl.builder.report.TestSuiteReportBuilderImpl;
@@ -91,6 +93,7 @@ public abstract class AbstractReporterTestBase extends AbstractTestTestBase {
         builderRegistry.addServiceToBuilderRegistry(FailureReportBuilder.class, FailureReportBuilderImpl.class);
 
         builderRegistry.addServiceToBuilderRegistry(ReportInSectionBuilder.class, ReportInSectionBuilderImpl.class);
+        builderRegistry.addServiceToBuilderRegistry(SectionEventBatchBuilder.class, SectionEventBatchBuilderImpl.class);
         builderRegistry.addServiceToBuilderRegistry(TableBuilder.class, TableBuilderImpl.class);
         builderRegistry.addServiceToBuilderRegistry(TestClassReportBuilder.class, TestClassReportBuilderImpl.class);
         builderRegistry.addServiceToBuilderRegistry(TestMethodReportBuilder.class, TestMethodReportBuilderImpl.class);
@@ -31,6 +31,8 @@ public class ReporterLifecycleManagerInvoker {
     @Inject
     private Instance<ServiceLoader> serviceLoader;
 
+    private ReporterConfiguration reporterConfiguration = ReporterConfiguration.fromMap(new HashMap<>());
+
     public void observeAndInvokeFirstEvent(@Observes InitiateReporterEvent event) {
         ReporterLifecycleManager lifecycleManager = event.getReporterLifecycleManager();
         injector.get().inject(lifecycleManager);
@@ -39,11 +41,16 @@ public class ReporterLifecycleManagerInvoker {
         lifecycleManager.observeFirstEvent(new ManagerStarted());
     }
 
+    public void observeAndInvokeConfiguration(@Observes ReporterConfiguration configuration) throws IOException {
+        reporterConfiguration = configuration;
+        reporterLifecycleManager.get().observeConfiguration(configuration);
+    }
+
     public void observeAndInvokeEventsForAllSections(@Observes SectionEvent event) {
         reporterLifecycleManager.get().observeEventsForAllSections(event);
     }
 
     public void observeAndInvokeLastEvent(@Observes ManagerStopping event) throws IOException {
-        reporterLifecycleManager.get().observeLastEvent(event, ReporterConfiguration.fromMap(new HashMap<>()));
+        reporterLifecycleManager.get().observeLastEvent(event, reporterConfiguration);
     }
 }
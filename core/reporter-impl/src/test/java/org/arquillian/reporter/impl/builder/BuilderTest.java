@@ -6,6 +6,7 @@ import org.arquillian.reporter.api.builder.report.TestClassReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
 import org.arquillian.reporter.api.builder.report.TestSuiteReportBuilder;
 import org.arquillian.reporter.api.model.StringKey;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
 import org.arquillian.reporter.api.model.entry.StringEntry;
 import org.arquillian.reporter.api.model.report.FailureReport;
 import org.arquillian.reporter.api.model.report.Report;
@@ -91,7 +92,8 @@ public class BuilderTest extends AbstractReporterTestBase {
         verifyBasicContent(report);
 
          FailureReport failureReport = Reporter.createReport(new FailureReport(METHOD_FAILURE_REPORT))
-            .addKeyValueEntry(METHOD_FAILURE_REPORT_STACKTRACE, getHumanReadableStackTrace(result.getThrowable()))
+            .addKeyValueEntry(METHOD_FAILURE_REPORT_STACKTRACE,
+                              new FailureTraceEntry(getHumanReadableStackTrace(result.getThrowable())))
             .build();
 
         // TODO: verify failure Report Generation - failure report not a sub report
@@ -0,0 +1,83 @@
+package org.arquillian.reporter.impl.event;
+
+import java.util.List;
+
+import org.arquillian.reporter.api.builder.Reporter;
+import org.arquillian.reporter.api.builder.report.SectionEventBatchBuilder;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.SectionEventBatch;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.report.BasicReport;
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.base.AbstractReporterTestBase;
+import org.jboss.arquillian.core.api.Event;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class FiringSectionEventBatchTest extends AbstractReporterTestBase {
+
+    private static final String TEST_SUITE_ID = "batch-test-suite";
+    private static final String TEST_CLASS_ID = "batch-test-class";
+
+    @Inject
+    private Event<SectionEvent> sectionEvent;
+
+    @Inject
+    private Instance<ExecutionStore> executionStore;
+
+    @Test
+    public void testWhenBatchIsFiredAllReportsShouldBeMergedInOrder() {
+        SectionEventBatchBuilder batch = Reporter.batch()
+            .add(new TestSuiteReport(TEST_SUITE_ID), new TestSuiteSection(TEST_SUITE_ID))
+            .add(new TestClassReport(TEST_CLASS_ID), createTestClassSection());
+        for (int i = 0; i < 10; i++) {
+            batch.add(new TestMethodReport("first"), createTestMethodSection("first"))
+                .addAsSubReport(new BasicReport("request " + i), createTestMethodSection("first"))
+                .add(new TestMethodReport("second"), createTestMethodSection("second"));
+        }
+        SectionEventBatch firedBatch = batch.fire(sectionEvent);
+
+        assertThat(firedBatch.getSectionEvents()).hasSize(32);
+        assertEventFired(SectionEventBatch.class, 1);
+        verifyInReporterLifecycleManager().wasCalled(1).observeEventsForAllSections(any(SectionEventBatch.class));
+
+        List<TestClassReport> testClassReports =
+            executionStore.get().getExecutionReport().getTestSuiteReports().get(0).getTestClassReports();
+        assertThat(testClassReports).hasSize(1);
+        List<TestMethodReport> testMethodReports = testClassReports.get(0).getTestMethodReports();
+        assertThat(testMethodReports).extracting(report -> report.getName().getValue())
+            .containsExactly("first", "second");
+        List<Report> subReports = testMethodReports.get(0).getSubReports();
+        assertThat(subReports).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(subReports.get(i).getName().getValue()).isEqualTo("request " + i);
+        }
+    }
+
+    private TestClassSection createTestClassSection() {
+        TestClassSection testClassSection = new TestClassSection();
+        testClassSection.setSectionId(TEST_CLASS_ID);
+        testClassSection.setTestSuiteId(TEST_SUITE_ID);
+        return testClassSection;
+    }
+
+    private TestMethodSection createTestMethodSection(String methodId) {
+        TestMethodSection testMethodSection = new TestMethodSection();
+        testMethodSection.setSectionId(methodId);
+        testMethodSection.setTestSuiteId(TEST_SUITE_ID);
+        return testMethodSection;
+    }
+}
@@ -0,0 +1,141 @@
+package org.arquillian.reporter.impl.event;
+
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.builder.Reporter;
+import org.arquillian.reporter.api.builder.report.TestMethodReportBuilder;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.FailureTrace;
+import org.arquillian.reporter.impl.base.AbstractReporterTestBase;
+import org.arquillian.reporter.parser.ReportJsonParser;
+import org.arquillian.reporter.parser.ReportJsonReader;
+import org.jboss.arquillian.core.api.Event;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportingFailureTracesTest extends AbstractReporterTestBase {
+
+    private static final String TEST_SUITE_ID = "failure-traces-test-suite";
+
+    @Inject
+    private Event<SectionEvent> sectionEvent;
+
+    @Inject
+    private Instance<ExecutionStore> executionStore;
+
+    @Test
+    public void testIdenticalFailuresShouldBeStoredOnlyOnceAndClusteredByTheirTraces() throws Exception {
+        IllegalStateException sameFailure = new IllegalStateException("same failure");
+        fireFailedTestMethod(String.class.getMethod("length"), sameFailure);
+        fireFailedTestMethod(String.class.getMethod("isEmpty"), sameFailure);
+        fireFailedTestMethod(String.class.getMethod("trim"), new IllegalArgumentException("another failure"));
+
+        ExecutionReport executionReport = executionStore.get().getExecutionReport();
+        Map<String, FailureTrace> failureTraces = executionReport.getFailureTraces();
+        assertThat(failureTraces).hasSize(2);
+        assertThat(failureTraces.values())
+            .extracting(FailureTrace::getException)
+            .containsExactly("java.lang.IllegalStateException: same failure",
+                             "java.lang.IllegalArgumentException: another failure");
+        assertThat(failureTraces.values())
+            .extracting(FailureTrace::getFailedTestMethods)
+            .containsExactly(asList("java.lang.String#length", "java.lang.String#isEmpty"),
+                             asList("java.lang.String#trim"));
+
+        List<TestMethodReport> testMethodReports = executionReport.getTestSuiteReports().get(0)
+            .getTestClassReports().get(0).getTestMethodReports();
+        assertThat(testMethodReports).hasSize(3);
+        testMethodReports.forEach(testMethodReport -> {
+            FailureTraceEntry failureTraceEntry = getFailureTraceEntry(testMethodReport);
+            assertThat(failureTraceEntry.getStackTrace()).isNull();
+            assertThat(failureTraces).containsKey(failureTraceEntry.getTraceSignature());
+        });
+        assertThat(getFailureTraceEntry(testMethodReports.get(0)))
+            .isEqualTo(getFailureTraceEntry(testMethodReports.get(1)))
+            .isNotEqualTo(getFailureTraceEntry(testMethodReports.get(2)));
+    }
+
+    @Test
+    public void testEveryUniqueTraceShouldBeWrittenOnceAndReadBackByBothParsers() throws Exception {
+        IllegalStateException sameFailure = new IllegalStateException("same failure");
+        for (String methodName : new String[] {"length", "isEmpty", "trim", "intern"}) {
+            fireFailedTestMethod(String.class.getMethod(methodName), sameFailure);
+        }
+        ExecutionReport executionReport = executionStore.get().getExecutionReport();
+        String json = new Gson().toJson(executionReport);
+
+        // the only frame of the test class is where the failure has been created
+        assertThat(json.split("ReportingFailureTracesTest.java", -1)).hasSize(2);
+
+        ExecutionReport streamedReport = new ReportJsonReader(new StringReader(json)).readExecutionReport();
+        ExecutionReport deserializedReport = ReportJsonParser.prepareGsonParser().fromJson(json, ExecutionReport.class);
+        for (ExecutionReport parsedReport : new ExecutionReport[] {streamedReport, deserializedReport}) {
+            assertThat(parsedReport.getFailureTraces()).hasSize(1);
+            TestMethodReport testMethodReport = parsedReport.getTestSuiteReports().get(0)
+                .getTestClassReports().get(0).getTestMethodReports().get(3);
+            FailureTrace failureTrace =
+                parsedReport.getFailureTrace(getFailureTraceEntry(testMethodReport).getTraceSignature());
+            assertThat(failureTrace.getStackTrace())
+                .isEqualTo(executionReport.getFailureTraces().values().iterator().next().getStackTrace());
+            assertThat(failureTrace.getFailedTestMethods()).hasSize(4).endsWith("java.lang.String#intern");
+        }
+    }
+
+    @Test
+    public void testFiredReportShouldKeepItsStackTraces() throws Exception {
+        Method method = String.class.getMethod("length");
+        TestMethodReport testMethodReport = new TestMethodReport(method.getName());
+        TestMethodReportBuilder reportBuilder =
+            Reporter.createReport(testMethodReport).setResult(TestResult.failed(new IllegalStateException("failure")));
+        List<Entry> firedEntries = testMethodReport.getFailureReport().getEntries();
+        FailureTraceEntry firedEntry = getFailureTraceEntry(testMethodReport);
+        String stackTrace = firedEntry.getStackTrace();
+
+        reportBuilder.inSection(new TestMethodSection(method, TEST_SUITE_ID)).fire(sectionEvent);
+
+        ExecutionReport executionReport = executionStore.get().getExecutionReport();
+        FailureTraceEntry storedEntry = getFailureTraceEntry(executionReport.getTestSuiteReports().get(0)
+                                                                 .getTestClassReports().get(0)
+                                                                 .getTestMethodReports().get(0));
+
+        assertThat(stackTrace).isNotNull();
+        assertThat(firedEntries.get(0)).isInstanceOf(KeyValueEntry.class);
+        assertThat(((KeyValueEntry) firedEntries.get(0)).getValue()).isSameAs(firedEntry);
+        assertThat(firedEntry.getStackTrace()).isEqualTo(stackTrace);
+        assertThat(storedEntry).isNotSameAs(firedEntry).isEqualTo(firedEntry);
+        assertThat(storedEntry.getStackTrace()).isNull();
+        assertThat(executionReport.getFailureTrace(storedEntry.getTraceSignature()).getStackTrace())
+            .isEqualTo(stackTrace);
+    }
+
+    private void fireFailedTestMethod(Method method, Throwable failure) {
+        Reporter.createReport(new TestMethodReport(method.getName()))
+            .setResult(TestResult.failed(failure))
+            .inSection(new TestMethodSection(method, TEST_SUITE_ID))
+            .fire(sectionEvent);
+    }
+
+    private FailureTraceEntry getFailureTraceEntry(TestMethodReport testMethodReport) {
+        Entry entry = testMethodReport.getFailureReport().getEntries().get(0);
+        return (FailureTraceEntry) ((KeyValueEntry) entry).getValue();
+    }
+}
@@ -0,0 +1,185 @@
+package org.arquillian.reporter.impl.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.ReportSummary;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.config.ReporterConfiguration;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.arquillian.reporter.impl.base.AbstractReporterTestBase;
+import org.arquillian.reporter.parser.ReportShardParser;
+import org.arquillian.reporter.writer.EvictedTestClassReport;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.event.ManagerStopping;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class TestClassEvictionTest extends AbstractReporterTestBase {
+
+    private static final String TEST_SUITE_ID = "eviction-test-suite";
+    private static final String START_TIME = "2017-01-01 10:00:00.0";
+    private static final String STOP_TIME = "2017-01-01 10:00:01.0";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Inject
+    private Instance<ExecutionStore> executionStore;
+
+    @Test
+    public void testFinishedTestClassShouldBeReplacedByStub() {
+        fire(prepareConfiguration());
+        prepareSectionEvents(false).forEach(this::fire);
+
+        List<TestClassReport> testClassReports =
+            executionStore.get().getExecutionReport().getTestSuiteReports().get(0).getTestClassReports();
+        assertThat(testClassReports).hasSize(2);
+        assertThat(testClassReports).allMatch(report -> report instanceof EvictedTestClassReport);
+
+        EvictedTestClassReport stub = (EvictedTestClassReport) testClassReports.get(0);
+        assertThat(stub.getTestMethodReports()).isEmpty();
+        assertThat(stub.getSummary().getNumberOfTests()).isEqualTo(3);
+        assertThat(stub.getSummary().getFailed()).isEqualTo(1);
+        assertThat(stub.getExecutionStopTime()).isEqualTo(STOP_TIME);
+    }
+
+    @Test
+    public void testLateTestMethodsOfEvictedTestClassShouldNotBeCountedTwice() throws IOException {
+        ReporterConfiguration configuration = prepareConfiguration();
+        fire(configuration);
+        prepareSectionEvents(false).forEach(this::fire);
+
+        // the late test methods are added into the latest test class
+        TestMethodReport samePassedTestMethodReport = new TestMethodReport("testMethod0");
+        samePassedTestMethodReport.setStatus(TestResult.Status.PASSED);
+        fire(createTestMethodSection(samePassedTestMethodReport));
+        TestMethodReport newlyFailedTestMethodReport = new TestMethodReport("testMethod1");
+        newlyFailedTestMethodReport.setStatus(TestResult.Status.FAILED);
+        fire(createTestMethodSection(newlyFailedTestMethodReport));
+        TestMethodReport newTestMethodReport = new TestMethodReport("testMethod3");
+        newTestMethodReport.setStatus(TestResult.Status.PASSED);
+        fire(createTestMethodSection(newTestMethodReport));
+
+        TestSuiteReport testSuiteReport = executionStore.get().getExecutionReport().getTestSuiteReports().get(0);
+        ReportSummary summary = testSuiteReport.getTestClassReports().get(1).getSummary();
+        assertThat(summary.getNumberOfTests()).isEqualTo(4);
+        assertThat(summary.getPassed()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(2);
+        assertThat(testSuiteReport.getSummary().getNumberOfTests()).isEqualTo(7);
+
+        fire(new ManagerStopping());
+        File manifest = new File(configuration.getShardDirectory(), "manifest.json");
+        TestClassReport readTestClassReport = ReportShardParser.parse(manifest.getAbsolutePath())
+            .getTestSuiteReports().get(0).getTestClassReports().get(1);
+        assertThat(readTestClassReport.getTestMethodReports()).hasSize(4);
+        assertThat(readTestClassReport.getSummary().getNumberOfTests()).isEqualTo(4);
+        assertThat(readTestClassReport.getSummary().getFailed()).isEqualTo(2);
+    }
+
+    @Test
+    public void testReportWithEvictedTestClassesAndLateEventsShouldBeSameAsTheInMemoryOne() throws IOException {
+        ReporterConfiguration configuration = prepareConfiguration();
+        fire(configuration);
+        prepareSectionEvents(true).forEach(this::fire);
+        fire(new ManagerStopping());
+
+        ExecutionStore inMemoryStore = new ExecutionStore();
+        prepareSectionEvents(true).forEach(event -> SectionEventManager.processEvent(event, inMemoryStore));
+
+        File manifest = new File(configuration.getShardDirectory(), "manifest.json");
+        ExecutionReport readReport = ReportShardParser.parse(manifest.getAbsolutePath());
+        assertThat(new Gson().toJson(readReport)).isEqualTo(new Gson().toJson(inMemoryStore.getExecutionReport()));
+    }
+
+    private ReporterConfiguration prepareConfiguration() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("rootDirectory", temporaryFolder.getRoot().getAbsolutePath());
+        properties.put("sharding", "true");
+        properties.put("evictTestClasses", "true");
+        return ReporterConfiguration.fromMap(properties);
+    }
+
+    private List<SectionEvent> prepareSectionEvents(boolean withLateEvents) {
+        List<SectionEvent> events = new ArrayList<>();
+
+        TestSuiteReport testSuiteReport = new TestSuiteReport("eviction test suite");
+        testSuiteReport.setExecutionStartTime(START_TIME);
+        events.add(new TestSuiteSection(testSuiteReport, TEST_SUITE_ID));
+
+        for (int classIndex = 0; classIndex < 2; classIndex++) {
+            String classId = "org.arquillian.reporter.EvictedClass" + classIndex;
+            TestClassReport testClassReport = new TestClassReport(classId);
+            testClassReport.setExecutionStartTime(START_TIME);
+            events.add(createTestClassSection(testClassReport, classId));
+
+            for (int methodIndex = 0; methodIndex < 3; methodIndex++) {
+                TestMethodReport testMethodReport = new TestMethodReport("testMethod" + methodIndex);
+                testMethodReport.setExecutionStartTime(START_TIME);
+                events.add(createTestMethodSection(testMethodReport));
+
+                TestMethodReport stoppedTestMethodReport = new TestMethodReport("testMethod" + methodIndex);
+                stoppedTestMethodReport.setExecutionStopTime(STOP_TIME);
+                stoppedTestMethodReport.setStatus(methodIndex == 2 ? TestResult.Status.FAILED : TestResult.Status.PASSED);
+                events.add(createTestMethodSection(stoppedTestMethodReport));
+            }
+
+            TestClassReport stoppedTestClassReport = new TestClassReport(classId);
+            stoppedTestClassReport.setExecutionStopTime(STOP_TIME);
+            events.add(createTestClassSection(stoppedTestClassReport, classId));
+
+            if (withLateEvents) {
+                // an entry added to an already finished test method and to the finished test class
+                TestMethodReport lateTestMethodReport = new TestMethodReport("testMethod0");
+                lateTestMethodReport.getEntries().add(new KeyValueEntry("late", "method entry"));
+                events.add(createTestMethodSection(lateTestMethodReport));
+
+                TestClassReport lateTestClassReport = new TestClassReport(classId);
+                lateTestClassReport.getEntries().add(new KeyValueEntry("late", "class entry"));
+                events.add(createTestClassSection(lateTestClassReport, classId));
+            }
+        }
+
+        TestSuiteReport stoppedTestSuiteReport = new TestSuiteReport("eviction test suite");
+        stoppedTestSuiteReport.setExecutionStopTime(STOP_TIME);
+        events.add(new TestSuiteSection(stoppedTestSuiteReport, TEST_SUITE_ID));
+
+        return events;
+    }
+
+    private TestClassSection createTestClassSection(TestClassReport testClassReport, String classId) {
+        TestClassSection testClassSection = new TestClassSection(testClassReport);
+        testClassSection.setSectionId(classId);
+        testClassSection.setTestSuiteId(TEST_SUITE_ID);
+        return testClassSection;
+    }
+
+    private TestMethodSection createTestMethodSection(TestMethodReport testMethodReport) {
+        TestMethodSection testMethodSection = new TestMethodSection(testMethodReport);
+        testMethodSection.setSectionId(testMethodReport.getName().getValue());
+        testMethodSection.setTestSuiteId(TEST_SUITE_ID);
+        return testMethodSection;
+    }
+}
@@ -0,0 +1,40 @@
+package org.arquillian.reporter.impl.model;
+
+import org.arquillian.reporter.api.utils.BoundedCache;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class BoundedCacheTest {
+
+    private static final int MAX_SIZE = 100;
+
+    @Test
+    public void testRecentlyUsedValuesShouldSurviveWhenCacheIsFull() {
+        BoundedCache<String, String> cache = new BoundedCache<>(MAX_SIZE);
+        String hotValue = cache.putIfAbsent("hot", "hot value");
+
+        for (int i = 0; i < 100 * MAX_SIZE; i++) {
+            cache.putIfAbsent("key-" + i, "value-" + i);
+            assertThat(cache.get("hot")).isSameAs(hotValue);
+            assertThat(cache.size()).isLessThanOrEqualTo(MAX_SIZE);
+        }
+
+        assertThat(cache.get("key-0")).isNull();
+        assertThat(cache.get("key-" + (100 * MAX_SIZE - 1))).isEqualTo("value-" + (100 * MAX_SIZE - 1));
+    }
+
+    @Test
+    public void testStoredValueShouldBeKeptWhenPutAgain() {
+        BoundedCache<String, String> cache = new BoundedCache<>(MAX_SIZE);
+
+        assertThat(cache.putIfAbsent("key", "first")).isEqualTo("first");
+        assertThat(cache.putIfAbsent("key", "second")).isEqualTo("first");
+        assertThat(cache.computeIfAbsent("key", key -> "third")).isEqualTo("first");
+        assertThat(cache.computeIfAbsent("other", key -> "other value")).isEqualTo("other value");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
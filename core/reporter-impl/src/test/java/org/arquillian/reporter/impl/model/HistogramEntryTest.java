@@ -0,0 +1,101 @@
+package org.arquillian.reporter.impl.model;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.model.UnknownStringKey;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.HistogramEntry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.parser.ReportJsonParser;
+import org.arquillian.reporter.parser.ReportJsonReader;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class HistogramEntryTest {
+
+    @Test
+    public void testPercentilesShouldBeWithinPrecisionOfHistogram() {
+        HistogramEntry histogram = new HistogramEntry();
+        for (long value = 1; value <= 10000; value++) {
+            histogram.recordValue(value);
+        }
+
+        assertThat(histogram.getTotalCount()).isEqualTo(10000);
+        assertThat(histogram.getMin()).isEqualTo(1);
+        assertThat(histogram.getMax()).isEqualTo(10000);
+        assertThat(histogram.getMean()).isEqualTo(5000.5);
+        double precision = 2.0 / HistogramEntry.SUB_BUCKET_COUNT;
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(5000, within(5000 * precision));
+        assertThat((double) histogram.getValueAtPercentile(95)).isCloseTo(9500, within(9500 * precision));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(9900, within(9900 * precision));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10000);
+    }
+
+    @Test
+    public void testSmallValuesShouldBeRecordedExactly() {
+        HistogramEntry histogram = new HistogramEntry();
+        histogram.recordValue(3);
+        histogram.recordValue(7, 3);
+        histogram.recordValue(-5);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(5);
+        assertThat(histogram.getMin()).isEqualTo(0);
+        assertThat(histogram.getValueAtPercentile(20)).isEqualTo(0);
+        assertThat(histogram.getValueAtPercentile(40)).isEqualTo(3);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(7);
+        assertThat(histogram.getNonEmptyBuckets()).containsExactly(0, 1, 3, 1, 7, 3);
+    }
+
+    @Test
+    public void testAddedHistogramShouldContainValuesOfBoth() {
+        HistogramEntry first = new HistogramEntry();
+        first.recordValue(10);
+        first.recordValue(100000);
+        HistogramEntry second = new HistogramEntry();
+        second.recordValue(5);
+
+        first.add(second);
+
+        assertThat(first.getTotalCount()).isEqualTo(3);
+        assertThat(first.getMin()).isEqualTo(5);
+        assertThat(first.getMax()).isEqualTo(100000);
+        assertThat(first.getSum()).isEqualTo(100015);
+        assertThat(first.getValueAtPercentile(50)).isEqualTo(10);
+    }
+
+    @Test
+    public void testHistogramShouldBeReadBackFromJsonByBothParsers() throws IOException {
+        HistogramEntry histogram = new HistogramEntry();
+        for (long value = 0; value < 1000; value += 7) {
+            histogram.recordValue(value * value);
+        }
+        ExecutionReport executionReport = new ExecutionReport();
+        executionReport.getEntries().add(histogram);
+        TestSuiteReport testSuiteReport = new TestSuiteReport("test suite");
+        testSuiteReport.getEntries().add(new KeyValueEntry(new UnknownStringKey("durations"), histogram));
+        executionReport.getTestSuiteReports().add(testSuiteReport);
+        String json = new Gson().toJson(executionReport);
+
+        assertThat(json).contains("\"p95\":" + histogram.getValueAtPercentile(95));
+        ExecutionReport streamedReport = new ReportJsonReader(new StringReader(json)).readExecutionReport();
+        ExecutionReport deserializedReport = ReportJsonParser.prepareGsonParser().fromJson(json, ExecutionReport.class);
+
+        for (ExecutionReport readReport : new ExecutionReport[] {streamedReport, deserializedReport}) {
+            assertThat(new Gson().toJson(readReport)).isEqualTo(json);
+            Entry readEntry = readReport.getEntries().get(0);
+            assertThat(readEntry).isInstanceOf(HistogramEntry.class);
+            assertThat(((HistogramEntry) readEntry).getSum()).isEqualTo(histogram.getSum());
+            assertThat(((HistogramEntry) readEntry).getValueAtPercentile(99))
+                .isEqualTo(histogram.getValueAtPercentile(99));
+        }
+    }
+}
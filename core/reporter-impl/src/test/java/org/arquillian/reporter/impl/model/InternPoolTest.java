@@ -0,0 +1,118 @@
+package org.arquillian.reporter.impl.model;
+
+import org.arquillian.reporter.api.model.InternPool;
+import org.arquillian.reporter.api.model.UnknownStringKey;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.entry.StringEntry;
+import org.junit.Test;
+
+import static org.arquillian.reporter.impl.model.TestExtensionStringKey.DRONE_BROWSER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class InternPoolTest {
+
+    @Test
+    public void testInternedKeysAndValuesShouldBeShared() {
+        assertThat(UnknownStringKey.intern("protocol")).isSameAs(UnknownStringKey.intern("protocol"));
+        assertThat(UnknownStringKey.intern("protocol").isShared()).isTrue();
+        assertThat(StringEntry.intern("Servlet 3.0")).isSameAs(StringEntry.intern("Servlet 3.0"));
+        assertThat(StringEntry.intern("Servlet 3.0").isShared()).isTrue();
+        assertThat(StringEntry.intern("Servlet 3.0").getContent()).isSameAs(UnknownStringKey.intern("Servlet 3.0"));
+    }
+
+    @Test
+    public void testKeyValueEntriesCreatedUsingConstructorShouldNotShareKeysAndValues() {
+        KeyValueEntry first = new KeyValueEntry("protocol", "Servlet 3.0");
+        KeyValueEntry second = new KeyValueEntry("protocol", "Servlet 3.0");
+
+        assertThat(second.getKey()).isNotSameAs(first.getKey()).isNotSameAs(UnknownStringKey.intern("protocol"));
+        assertThat(second.getValue()).isNotSameAs(first.getValue()).isNotSameAs(StringEntry.intern("Servlet 3.0"));
+
+        ((StringEntry) first.getValue()).setContent(new UnknownStringKey("Servlet 4.0"));
+        first.getKey().setValue("changed protocol");
+
+        assertThat(second.getKey()).isEqualTo(new UnknownStringKey("protocol"));
+        assertThat(second.getValue()).isEqualTo(new StringEntry("Servlet 3.0"));
+    }
+
+    @Test
+    public void testSharedKeyAndValueShouldBeCopiedWhenReturnedFromKeyValueEntry() {
+        KeyValueEntry withSharedKey = KeyValueEntry.withSharedKey("protocol", "Servlet 3.0");
+        KeyValueEntry withSharedValue = KeyValueEntry.withSharedValue(DRONE_BROWSER, "Servlet 3.0");
+
+        UnknownStringKey key = (UnknownStringKey) withSharedKey.getKey();
+        StringEntry value = (StringEntry) withSharedValue.getValue();
+        assertThat(key).isNotSameAs(UnknownStringKey.intern("protocol")).isEqualTo(new UnknownStringKey("protocol"));
+        assertThat(key.isShared()).isFalse();
+        assertThat(value).isNotSameAs(StringEntry.intern("Servlet 3.0")).isEqualTo(new StringEntry("Servlet 3.0"));
+        assertThat(value.isShared()).isFalse();
+        assertThat(withSharedKey.getKey()).isSameAs(key);
+        assertThat(withSharedValue.getValue()).isSameAs(value);
+
+        key.setValue("changed protocol");
+        value.getContent().setIcon("icon");
+        value.setContent(new UnknownStringKey("Servlet 4.0"));
+
+        assertThat(withSharedKey.getKey()).isEqualTo(new UnknownStringKey("changed protocol"));
+        assertThat(withSharedValue.getValue()).isEqualTo(new StringEntry("Servlet 4.0"));
+        assertThat(UnknownStringKey.intern("protocol")).isEqualTo(new UnknownStringKey("protocol"));
+        assertThat(StringEntry.intern("Servlet 3.0")).isEqualTo(new StringEntry("Servlet 3.0"));
+        assertThat(StringEntry.intern("Servlet 3.0").getContent().getIcon()).isNull();
+    }
+
+    @Test
+    public void testSharedValueOfOtherTypeShouldNotBeCopied() {
+        KeyValueEntry withSharedValue = KeyValueEntry.withSharedValue(DRONE_BROWSER, "true");
+
+        assertThat(withSharedValue.getValue(KeyValueEntry.class)).isNull();
+        assertThat(withSharedValue.getValue(StringEntry.class)).isEqualTo(new StringEntry("true"));
+        assertThat(withSharedValue.getValue(StringEntry.class).isShared()).isFalse();
+    }
+
+    @Test
+    public void testSharedInstancesShouldNotBeModifiable() {
+        StringEntry value = StringEntry.intern("Servlet 3.0");
+
+        assertThatThrownBy(() -> UnknownStringKey.intern("protocol").setValue("changed protocol"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> UnknownStringKey.intern("protocol").setDescription("description"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> value.setContent(new UnknownStringKey("Servlet 4.0")))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> value.getContent().setIcon("icon"))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(UnknownStringKey.intern("protocol")).isEqualTo(new UnknownStringKey("protocol"));
+        assertThat(value).isEqualTo(new StringEntry("Servlet 3.0"));
+    }
+
+    @Test
+    public void testLongStringsShouldNotBeShared() {
+        String longValue = new String(new char[InternPool.DEFAULT_MAX_LENGTH_OF_STRING + 1]).replace('\0', 'x');
+
+        StringEntry first = StringEntry.intern(longValue);
+        StringEntry second = StringEntry.intern(longValue);
+
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedInstancesShouldBeEvictedWhenPoolIsFull() {
+        InternPool<StringBuilder> pool = new InternPool<>(StringBuilder::new, 4, 10);
+        StringBuilder first = pool.intern("first");
+        StringBuilder second = pool.intern("second");
+        assertThat(pool.intern("first")).isSameAs(first);
+
+        pool.intern("third");
+        pool.intern("fourth");
+
+        assertThat(pool.size()).isLessThanOrEqualTo(4);
+        assertThat(pool.intern("first")).isSameAs(first);
+        assertThat(pool.intern("second")).isNotSameAs(second).hasToString("second");
+        assertThat(pool.size()).isLessThanOrEqualTo(4);
+    }
+}
@@ -0,0 +1,99 @@
+package org.arquillian.reporter.impl.model.report;
+
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.model.report.ReportSummary;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportSummaryTest {
+
+    @Test
+    public void testSummariesShouldBeUpdatedWhenTestMethodsAreFinished() {
+        ExecutionReport executionReport = new ExecutionReport();
+        TestSuiteReport testSuiteReport = new TestSuiteReport("test suite");
+        executionReport.addNewReport(testSuiteReport, TestSuiteReport.class);
+        TestClassReport testClassReport = new TestClassReport("TestClass");
+        testSuiteReport.addNewReport(testClassReport, TestClassReport.class);
+
+        testClassReport.addNewReport(finishedTestMethod("first", 100, TestResult.Status.PASSED), TestMethodReport.class);
+        testClassReport.addNewReport(finishedTestMethod("second", 300, TestResult.Status.FAILED), TestMethodReport.class);
+        TestMethodReport running = new TestMethodReport("running");
+        testClassReport.addNewReport(running, TestMethodReport.class);
+
+        // a test method is counted once it gets its status
+        assertSummary(testClassReport.getSummary(), 2, 1, 1, 0);
+        running.setExecutionStopTimestamp(running.getExecutionStartTimestamp() + 200);
+        running.setStatus(TestResult.Status.SKIPPED);
+        // a status change doesn't add the test method again
+        running.setStatus(TestResult.Status.PASSED);
+
+        for (ReportSummary summary : new ReportSummary[] {testClassReport.getSummary(), testSuiteReport.getSummary(),
+            executionReport.getSummary()}) {
+            assertSummary(summary, 3, 2, 1, 0);
+            assertThat(summary.getTotalDuration()).isEqualTo(600);
+            assertThat(summary.getMinDuration()).isEqualTo(100);
+            assertThat(summary.getMaxDuration()).isEqualTo(300);
+        }
+        assertThat(testClassReport.getSummary().getSlowestTests().stream().map(ReportSummary.TestDuration::getName)
+                       .collect(Collectors.toList()))
+            .containsExactly("second", "running", "first");
+        assertThat(executionReport.getSummary().getSlowestTests().get(0).getName()).isEqualTo("TestClass#second");
+    }
+
+    @Test
+    public void testSummaryOfMergedTestClassShouldBePropagatedIntoSuiteAndKeepOnlySlowestTests() {
+        TestSuiteReport testSuiteReport = new TestSuiteReport("test suite");
+        TestClassReport testClassReport = new TestClassReport("TestClass");
+        int numberOfTests = ReportSummary.NUMBER_OF_SLOWEST_TESTS * 2;
+        for (int i = 1; i <= numberOfTests; i++) {
+            testClassReport.addNewReport(finishedTestMethod("test" + i, i, TestResult.Status.PASSED),
+                                         TestMethodReport.class);
+        }
+
+        TestSuiteReport suiteToMerge = new TestSuiteReport("test suite");
+        suiteToMerge.getTestClassReports().add(testClassReport);
+        testSuiteReport.merge(suiteToMerge);
+
+        ReportSummary summary = testSuiteReport.getSummary();
+        assertSummary(summary, numberOfTests, numberOfTests, 0, 0);
+        assertThat(summary.getSlowestTests()).hasSize(ReportSummary.NUMBER_OF_SLOWEST_TESTS);
+        assertThat(summary.getSlowestTests().get(0).getName()).isEqualTo("TestClass#test" + numberOfTests);
+        assertThat(summary.getSlowestTests().get(ReportSummary.NUMBER_OF_SLOWEST_TESTS - 1).getDuration())
+            .isEqualTo(numberOfTests - ReportSummary.NUMBER_OF_SLOWEST_TESTS + 1);
+    }
+
+    @Test
+    public void testSummaryShouldBeSerializedAtTheTopOfTheReport() {
+        TestClassReport testClassReport = new TestClassReport("TestClass");
+        testClassReport.addNewReport(finishedTestMethod("test", 10, TestResult.Status.PASSED), TestMethodReport.class);
+
+        String json = new Gson().toJson(testClassReport);
+
+        assertThat(json).startsWith("{\"summary\":{\"numberOfTests\":1,");
+    }
+
+    private TestMethodReport finishedTestMethod(String name, long duration, TestResult.Status status) {
+        TestMethodReport testMethodReport = new TestMethodReport(name);
+        testMethodReport.setExecutionStopTimestamp(testMethodReport.getExecutionStartTimestamp() + duration);
+        testMethodReport.setStatus(status);
+        return testMethodReport;
+    }
+
+    private void assertSummary(ReportSummary summary, int tests, int passed, int failed, int skipped) {
+        assertThat(summary.getNumberOfTests()).isEqualTo(tests);
+        assertThat(summary.getPassed()).isEqualTo(passed);
+        assertThat(summary.getFailed()).isEqualTo(failed);
+        assertThat(summary.getSkipped()).isEqualTo(skipped);
+    }
+}
@@ -9,7 +9,11 @@ import org.arquillian.reporter.api.model.report.BasicReport;
 import org.arquillian.reporter.api.model.report.ConfigurationReport;
 import org.arquillian.reporter.api.model.report.FailureReport;
 import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.utils.ReporterUtils;
+import org.arquillian.reporter.parser.ReportJsonParser;
 import org.arquillian.reporter.impl.utils.ReportGeneratorUtils;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.Test;
 
@@ -79,6 +83,37 @@ public class TestMethodTest {
         }.assertThatDateWasCorrectlyCreated();
     }
 
+    @Test
+    public void testTimestampsShouldBeSerializedAsFormattedDatesTogetherWithDuration() {
+        TestMethodReport testMethodReport = new TestMethodReport(TEST_METHOD_NAME);
+        testMethodReport.setExecutionStartTime("2017-01-01 10:00:00.5");
+        testMethodReport.setExecutionStopTimestamp(testMethodReport.getExecutionStartTimestamp() + 1500);
+
+        String json = new Gson().toJson(testMethodReport);
+        JsonObject jsonObject = new Gson().fromJson(json, JsonObject.class);
+
+        assertThat(jsonObject.get("startTime").getAsString()).isEqualTo("2017-01-01 10:00:00.5");
+        assertThat(jsonObject.get("stopTime").getAsString()).isEqualTo("2017-01-01 10:00:01.505");
+        assertThat(jsonObject.get("duration").getAsLong()).isEqualTo(1500);
+
+        TestMethodReport parsedReport = ReportJsonParser.prepareGsonParser().fromJson(json, TestMethodReport.class);
+        assertThat(parsedReport.getExecutionStartTimestamp()).isEqualTo(testMethodReport.getExecutionStartTimestamp());
+        assertThat(parsedReport.getExecutionStopTimestamp()).isEqualTo(testMethodReport.getExecutionStopTimestamp());
+        assertThat(parsedReport.getDuration()).isEqualTo(1500);
+    }
+
+    @Test
+    public void testNotStoppedReportShouldNotContainStopTime() {
+        TestMethodReport testMethodReport = new TestMethodReport(TEST_METHOD_NAME);
+
+        JsonObject jsonObject = new Gson().fromJson(new Gson().toJson(testMethodReport), JsonObject.class);
+
+        assertThat(jsonObject.has("stopTime")).isFalse();
+        assertThat(jsonObject.get("startTime").getAsString())
+            .isEqualTo(ReporterUtils.formatDate(testMethodReport.getExecutionStartTimestamp()));
+        assertThat(testMethodReport.getDuration()).isZero();
+    }
+
     @Test
     public void testMergeReports() throws Exception {
         // prepare main
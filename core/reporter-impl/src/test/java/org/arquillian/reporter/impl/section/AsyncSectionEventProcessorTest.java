@@ -0,0 +1,168 @@
+package org.arquillian.reporter.impl.section;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.AsyncSectionEventProcessor;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class AsyncSectionEventProcessorTest {
+
+    private static final String TEST_SUITE_ID = "async-test-suite";
+    private static final String TIME = "2017-01-01 00:00:00.0";
+
+    @Test
+    public void testReportCreatedAsynchronouslyShouldBeSameAsTheSynchronousOne() {
+        ExecutionStore synchronousStore = new ExecutionStore();
+        prepareSectionEvents().forEach(event -> SectionEventManager.processEvent(event, synchronousStore));
+
+        ExecutionStore asynchronousStore = new ExecutionStore();
+        AsyncSectionEventProcessor asyncProcessor =
+            new AsyncSectionEventProcessor(16, event -> SectionEventManager.processEvent(event, asynchronousStore));
+        prepareSectionEvents().forEach(asyncProcessor::submit);
+        asyncProcessor.drain();
+
+        assertThat(new Gson().toJson(asynchronousStore.getExecutionReport()))
+            .isEqualTo(new Gson().toJson(synchronousStore.getExecutionReport()));
+    }
+
+    @Test
+    public void testSubmittingThreadShouldWaitWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch processingAllowed = new CountDownLatch(1);
+        List<SectionEvent> processedEvents = Collections.synchronizedList(new ArrayList<>());
+        AsyncSectionEventProcessor asyncProcessor = new AsyncSectionEventProcessor(1, event -> {
+            try {
+                processingAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processedEvents.add(event);
+        });
+
+        List<SectionEvent> sectionEvents = prepareSectionEvents();
+        Thread submittingThread = new Thread(() -> sectionEvents.forEach(asyncProcessor::submit));
+        submittingThread.start();
+
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (submittingThread.getState() != Thread.State.WAITING && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertThat(submittingThread.getState()).isEqualTo(Thread.State.WAITING);
+        assertThat(processedEvents).isEmpty();
+
+        processingAllowed.countDown();
+        submittingThread.join(TimeUnit.SECONDS.toMillis(10));
+        asyncProcessor.drain();
+
+        assertThat(processedEvents).containsExactlyElementsOf(sectionEvents);
+    }
+
+    @Test
+    public void testEventSubmittedAfterDrainShouldBeProcessedInSubmittingThread() {
+        List<Thread> processingThreads = new ArrayList<>();
+        List<SectionEvent> processedEvents = new ArrayList<>();
+        AsyncSectionEventProcessor asyncProcessor = new AsyncSectionEventProcessor(16, event -> {
+            processingThreads.add(Thread.currentThread());
+            processedEvents.add(event);
+        });
+        List<SectionEvent> sectionEvents = prepareSectionEvents();
+        SectionEvent lateEvent = sectionEvents.remove(sectionEvents.size() - 1);
+        sectionEvents.forEach(asyncProcessor::submit);
+        asyncProcessor.drain();
+
+        asyncProcessor.submit(lateEvent);
+        asyncProcessor.drain();
+
+        assertThat(processedEvents).hasSize(sectionEvents.size() + 1).endsWith(lateEvent);
+        assertThat(processingThreads.get(processingThreads.size() - 1)).isSameAs(Thread.currentThread());
+        assertThat(processingThreads.get(0)).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void testNonPositiveQueueSizeShouldBeReplacedWithDefaultOne() {
+        List<SectionEvent> processedEvents = Collections.synchronizedList(new ArrayList<>());
+        AsyncSectionEventProcessor asyncProcessor = new AsyncSectionEventProcessor(0, processedEvents::add);
+        List<SectionEvent> sectionEvents = prepareSectionEvents();
+        sectionEvents.forEach(asyncProcessor::submit);
+        asyncProcessor.drain();
+
+        assertThat(processedEvents).containsExactlyElementsOf(sectionEvents);
+    }
+
+    @Test
+    public void testExceptionOfEventSubmittedAfterDrainShouldBePropagated() {
+        List<SectionEvent> processedEvents = Collections.synchronizedList(new ArrayList<>());
+        AsyncSectionEventProcessor asyncProcessor = new AsyncSectionEventProcessor(16, event -> {
+            processedEvents.add(event);
+            throw new IllegalStateException("Expected failure");
+        });
+        List<SectionEvent> sectionEvents = prepareSectionEvents();
+        SectionEvent lateEvent = sectionEvents.remove(sectionEvents.size() - 1);
+        // the exceptions thrown in the merger thread are only logged
+        sectionEvents.forEach(asyncProcessor::submit);
+        asyncProcessor.drain();
+
+        assertThatThrownBy(() -> asyncProcessor.submit(lateEvent))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Expected failure");
+        assertThat(processedEvents).hasSize(sectionEvents.size() + 1).endsWith(lateEvent);
+    }
+
+    private List<SectionEvent> prepareSectionEvents() {
+        List<SectionEvent> events = new ArrayList<>();
+
+        TestSuiteReport testSuiteReport = new TestSuiteReport("async test suite");
+        testSuiteReport.setExecutionStartTime(TIME);
+        events.add(new TestSuiteSection(testSuiteReport, TEST_SUITE_ID));
+
+        for (int classIndex = 0; classIndex < 10; classIndex++) {
+            String classId = "test-class-" + classIndex;
+            TestClassReport testClassReport = new TestClassReport(classId);
+            testClassReport.setExecutionStartTime(TIME);
+            TestClassSection testClassSection = new TestClassSection(testClassReport);
+            testClassSection.setSectionId(classId);
+            testClassSection.setTestSuiteId(TEST_SUITE_ID);
+            events.add(testClassSection);
+
+            for (int methodIndex = 0; methodIndex < 10; methodIndex++) {
+                String methodId = "test-method-" + methodIndex;
+                TestMethodReport testMethodReport = new TestMethodReport(methodId);
+                testMethodReport.setExecutionStartTime(TIME);
+                TestMethodSection testMethodSection = new TestMethodSection(testMethodReport);
+                testMethodSection.setSectionId(methodId);
+                testMethodSection.setTestSuiteId(TEST_SUITE_ID);
+                events.add(testMethodSection);
+
+                ConfigurationReport configurationReport = new ConfigurationReport("configuration");
+                configurationReport.getEntries().add(new KeyValueEntry("method", methodId));
+                TestMethodConfigurationSection configurationSection =
+                    new TestMethodConfigurationSection(configurationReport, "config");
+                configurationSection.setTestSuiteId(TEST_SUITE_ID);
+                events.add(configurationSection);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,185 @@
+package org.arquillian.reporter.impl.section;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires section events of several test classes and their test methods from many threads at once and verifies that
+ * no report is lost or duplicated.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ConcurrentSectionTreeMergeTest {
+
+    private static final String TEST_SUITE_ID = "concurrent-test-suite";
+    private static final int NUMBER_OF_THREADS = 16;
+    private static final int NUMBER_OF_ROUNDS = 50;
+    private static final int MAX_METHODS_IN_CLASS = 40;
+    private static final List<Class<?>> TEST_CLASSES = Arrays.asList(
+        String.class, Math.class, Arrays.class, Collections.class, Character.class, Integer.class, Long.class,
+        StringBuilder.class);
+
+    private ExecutorService executor;
+    private Map<Class<?>, List<Method>> testMethods;
+
+    @Before
+    public void prepareExecutorAndTestMethods() {
+        executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        testMethods = new LinkedHashMap<>();
+        // test method sections are identified by method name, so take only one method of every name
+        TEST_CLASSES.forEach(testClass -> testMethods.put(testClass, Arrays
+            .stream(testClass.getDeclaredMethods())
+            .collect(Collectors.toMap(Method::getName, method -> method, (first, second) -> first, LinkedHashMap::new))
+            .values()
+            .stream()
+            .limit(MAX_METHODS_IN_CLASS)
+            .collect(Collectors.toList())));
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testEventsFiredFromManyThreadsShouldNotLoseOrDuplicateAnyReport() throws Exception {
+        for (int round = 0; round < NUMBER_OF_ROUNDS; round++) {
+            ExecutionStore executionStore = new ExecutionStore();
+            SectionEventManager.processEvent(new TestSuiteSection(new TestSuiteReport("suite"), TEST_SUITE_ID),
+                                             executionStore);
+
+            List<Callable<Void>> classStarts = new ArrayList<>();
+            List<Callable<Void>> methodExecutions = new ArrayList<>();
+            List<Callable<Void>> classStops = new ArrayList<>();
+            testMethods.forEach((testClass, methods) -> {
+                classStarts.add(fire(executionStore, new TestClassSection(
+                    new TestClassReport(testClass.getName()), testClass, TEST_SUITE_ID)));
+                methods.forEach(method -> methodExecutions.add(executeTestMethod(executionStore, method)));
+                TestClassReport stoppedClass = new TestClassReport(testClass.getName());
+                stoppedClass.setExecutionStopTimestamp(System.currentTimeMillis());
+                classStops.add(fire(executionStore, new TestClassSection(stoppedClass, testClass, TEST_SUITE_ID)));
+            });
+            Collections.shuffle(methodExecutions);
+
+            invokeAll(classStarts);
+            invokeAll(methodExecutions);
+            invokeAll(classStops);
+
+            verifyReports(executionStore);
+        }
+    }
+
+    @Test
+    public void testMonitorOfReportHeldByOtherCodeShouldNotBlockMerging() throws Exception {
+        ExecutionStore executionStore = new ExecutionStore();
+        SectionEventManager.processEvent(new TestSuiteSection(new TestSuiteReport("suite"), TEST_SUITE_ID),
+                                         executionStore);
+        TestSuiteReport testSuiteReport = executionStore.getExecutionReport().getTestSuiteReports().get(0);
+
+        // the reports are public objects - the merge locks the nodes using their private locks instead
+        synchronized (testSuiteReport) {
+            executor.submit(fire(executionStore, new TestClassSection(
+                new TestClassReport(String.class.getName()), String.class, TEST_SUITE_ID)))
+                .get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(testSuiteReport.getTestClassReports()).hasSize(1);
+    }
+
+    private void verifyReports(ExecutionStore executionStore) {
+        assertThat(executionStore.getExecutionReport().getTestSuiteReports()).hasSize(1);
+        TestSuiteReport testSuiteReport = executionStore.getExecutionReport().getTestSuiteReports().get(0);
+
+        assertThat(testSuiteReport.getTestClassReports())
+            .extracting(report -> report.getName().getValue())
+            .containsOnlyElementsOf(TEST_CLASSES.stream().map(Class::getName).collect(Collectors.toList()))
+            .doesNotHaveDuplicates()
+            .hasSize(TEST_CLASSES.size());
+
+        for (TestClassReport testClassReport : testSuiteReport.getTestClassReports()) {
+            assertThat(testClassReport.getExecutionStopTimestamp()).isNotZero();
+
+            List<Method> methods = testMethods.get(getTestClass(testClassReport));
+            assertThat(testClassReport.getTestMethodReports())
+                .extracting(report -> report.getName().getValue())
+                .containsOnlyElementsOf(methods.stream().map(Method::getName).collect(Collectors.toList()))
+                .doesNotHaveDuplicates()
+                .hasSize(methods.size());
+
+            for (TestMethodReport testMethodReport : testClassReport.getTestMethodReports()) {
+                assertThat(testMethodReport.getStatus()).isEqualTo(TestResult.Status.PASSED);
+                assertThat(testMethodReport.getExecutionStopTimestamp()).isNotZero();
+                assertThat(testMethodReport.getConfiguration().getSubReports()).hasSize(1);
+            }
+        }
+    }
+
+    private Class<?> getTestClass(TestClassReport testClassReport) {
+        return TEST_CLASSES
+            .stream()
+            .filter(testClass -> testClass.getName().equals(testClassReport.getName().getValue()))
+            .findFirst()
+            .get();
+    }
+
+    private Callable<Void> executeTestMethod(ExecutionStore executionStore, Method method) {
+        return () -> {
+            fire(executionStore, new TestMethodSection(new TestMethodReport(method.getName()), method, TEST_SUITE_ID))
+                .call();
+
+            ConfigurationReport configurationReport = new ConfigurationReport("configuration");
+            configurationReport.getEntries().add(new KeyValueEntry("method", method.getName()));
+            fire(executionStore,
+                 new TestMethodConfigurationSection(configurationReport, "configuration", method, TEST_SUITE_ID))
+                .call();
+
+            TestMethodReport stoppedMethod = new TestMethodReport(method.getName());
+            stoppedMethod.setExecutionStopTimestamp(System.currentTimeMillis());
+            stoppedMethod.setStatus(TestResult.Status.PASSED);
+            return fire(executionStore, new TestMethodSection(stoppedMethod, method, TEST_SUITE_ID)).call();
+        };
+    }
+
+    private Callable<Void> fire(ExecutionStore executionStore, SectionEvent sectionEvent) {
+        return () -> {
+            SectionEventManager.processEvent(sectionEvent, executionStore);
+            return null;
+        };
+    }
+
+    private void invokeAll(List<Callable<Void>> tasks) throws Exception {
+        for (Future<Void> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+}
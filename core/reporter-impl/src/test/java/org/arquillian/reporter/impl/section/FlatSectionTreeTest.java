@@ -0,0 +1,88 @@
+package org.arquillian.reporter.impl.section;
+
+import java.util.Collections;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionSection;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.arquillian.reporter.impl.SectionTree;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the views of the nodes of the flat section tree
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class FlatSectionTreeTest {
+
+    private static final String TEST_SUITE_ID = "flat-test-suite";
+
+    @Test
+    public void testTreeBuiltFromTopDownShouldContainAllNodes() {
+        SectionTree root = new SectionTree<>(new ExecutionSection().identifyYourself(), new ExecutionReport(),
+                                             ExecutionReport.class);
+        SectionTree suite = new SectionTree(new Identifier<>(TestSuiteSection.class, TEST_SUITE_ID),
+                                            new TestSuiteReport(TEST_SUITE_ID), TestSuiteReport.class);
+        root.addSubtree(suite);
+        for (int i = 0; i < 100; i++) {
+            suite.addSubtree(new SectionTree(new Identifier<>(TestClassSection.class, "class-" + i),
+                                             new TestClassReport("class-" + i), TestClassReport.class));
+        }
+
+        assertThat(root.getSubtrees()).containsExactly(suite);
+        assertThat(suite.getSubtrees()).hasSize(100);
+        SectionTree lastClass = suite.getSubtree(new Identifier<>(TestClassSection.class, "class-99"));
+        assertThat(lastClass.getAssociatedReport().getName().getValue()).isEqualTo("class-99");
+        assertThat(suite.getSubtree(new Identifier<>(TestClassSection.class, null))).isEqualTo(lastClass);
+        assertThat(suite.getSubtree(new Identifier<>(TestClassSection.class, "class-100"))).isNull();
+    }
+
+    @Test
+    public void testRemovedSubtreesShouldNotBeFoundAndCanBeAddedAgain() {
+        ExecutionStore executionStore = new ExecutionStore();
+        SectionEventManager.processEvent(new TestSuiteSection(new TestSuiteReport(TEST_SUITE_ID), TEST_SUITE_ID),
+                                         executionStore);
+        fireTestClassWithMethod(executionStore, "first");
+        fireTestClassWithMethod(executionStore, "second");
+
+        SectionTree suiteTree = (SectionTree) executionStore.getSectionTree().getSubtrees().get(0);
+        SectionTree secondClassTree = suiteTree.getSubtree(new Identifier<>(TestClassSection.class, "second"));
+        assertThat(secondClassTree.getSubtrees()).hasSize(1);
+
+        secondClassTree.setSubtrees(Collections.emptyList());
+        assertThat(secondClassTree.getSubtrees()).isEmpty();
+        assertThat(suiteTree.getSubtrees()).hasSize(2);
+
+        // a late event of the latest test class creates the test method node again
+        fireTestMethod(executionStore);
+        assertThat(secondClassTree.getSubtrees()).hasSize(1);
+        assertThat(suiteTree.getSubtree(new Identifier<>(TestClassSection.class, "first")).getSubtrees()).hasSize(1);
+        TestClassReport secondClassReport = (TestClassReport) secondClassTree.getAssociatedReport();
+        assertThat(secondClassReport.getTestMethodReports()).hasSize(2);
+    }
+
+    private void fireTestClassWithMethod(ExecutionStore executionStore, String classId) {
+        TestClassSection testClassSection = new TestClassSection(new TestClassReport(classId));
+        testClassSection.setSectionId(classId);
+        testClassSection.setTestSuiteId(TEST_SUITE_ID);
+        SectionEventManager.processEvent(testClassSection, executionStore);
+        fireTestMethod(executionStore);
+    }
+
+    private void fireTestMethod(ExecutionStore executionStore) {
+        TestMethodSection testMethodSection = new TestMethodSection(new TestMethodReport("method"));
+        testMethodSection.setSectionId("method");
+        testMethodSection.setTestSuiteId(TEST_SUITE_ID);
+        SectionEventManager.processEvent(testMethodSection, executionStore);
+    }
+}
@@ -0,0 +1,99 @@
+package org.arquillian.reporter.impl.section;
+
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.arquillian.reporter.impl.SectionTree;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the cached routes of the core sections lead to the same nodes the events of the sections would be
+ * merged with using a temporary tree of the event
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class SectionRouteTest {
+
+    private static final String TEST_SUITE_ID = "route-test-suite";
+
+    @Test
+    public void testEventsMergedUsingRoutesShouldCreateSameTreeAsEventTrees() throws NoSuchMethodException {
+        ExecutionStore routedStore = new ExecutionStore();
+        ExecutionStore mergedStore = new ExecutionStore();
+
+        for (int i = 0; i < 2; i++) {
+            fireEvents(routedStore, event -> SectionEventManager.processEvent(event, routedStore));
+            fireEvents(mergedStore, event -> mergedStore.getSectionTree()
+                .mergeSectionTree(SectionEventManager.createEventTree(event)));
+        }
+
+        assertThat(toString(routedStore.getSectionTree())).isEqualTo(toString(mergedStore.getSectionTree()));
+        TestClassReport testClassReport = routedStore.getExecutionReport().getTestSuiteReports().get(0)
+            .getTestClassReports().get(0);
+        assertThat(testClassReport.getTestMethodReports()).hasSize(2);
+    }
+
+    @Test
+    public void testRoutesShouldShareIdentifiersOfSameSections() throws NoSuchMethodException {
+        ExecutionStore executionStore = new ExecutionStore();
+        SectionEventManager.processEvent(new TestSuiteSection(new TestSuiteReport(TEST_SUITE_ID), TEST_SUITE_ID),
+                                         executionStore);
+        Method method = getClass().getMethod("testRoutesShouldShareIdentifiersOfSameSections");
+        Method otherMethod = Object.class.getMethod("toString");
+        // the same method name in two different test classes
+        Method sameNameMethod = Integer.class.getMethod("toString");
+
+        for (Method testMethod : new Method[] { method, otherMethod, sameNameMethod }) {
+            SectionEventManager.processEvent(
+                new TestMethodSection(new TestMethodReport(testMethod.getName()), testMethod, TEST_SUITE_ID),
+                executionStore);
+        }
+
+        SectionTree suiteTree = (SectionTree) executionStore.getSectionTree().getSubtrees().get(0);
+        assertThat(suiteTree.getSubtrees()).hasSize(3);
+        Identifier toStringInObject = getMethodIdentifier(suiteTree, Object.class, "toString");
+        Identifier toStringInInteger = getMethodIdentifier(suiteTree, Integer.class, "toString");
+        assertThat(toStringInObject).isSameAs(toStringInInteger);
+    }
+
+    private Identifier getMethodIdentifier(SectionTree suiteTree, Class<?> testClass, String methodName) {
+        SectionTree classTree = suiteTree.getSubtree(new Identifier<>(TestClassSection.class, testClass.getName()));
+        return classTree.getSubtree(new Identifier<>(TestMethodSection.class, methodName)).getRootIdentifier();
+    }
+
+    private void fireEvents(ExecutionStore executionStore, Consumer<SectionEvent> processor)
+        throws NoSuchMethodException {
+        Method firstMethod = getClass().getMethod("testEventsMergedUsingRoutesShouldCreateSameTreeAsEventTrees");
+        Method secondMethod = getClass().getMethod("testRoutesShouldShareIdentifiersOfSameSections");
+
+        processor.accept(new TestSuiteSection(new TestSuiteReport(TEST_SUITE_ID), TEST_SUITE_ID));
+        processor.accept(new TestClassSection(new TestClassReport(getClass().getName()), getClass(), TEST_SUITE_ID));
+        for (Method method : new Method[] { firstMethod, secondMethod }) {
+            processor.accept(new TestMethodSection(new TestMethodReport(method.getName()), method, TEST_SUITE_ID));
+        }
+        processor.accept(new TestMethodConfigurationSection(new ConfigurationReport("config"), "config",
+                                                            firstMethod, TEST_SUITE_ID));
+    }
+
+    private String toString(SectionTree tree) {
+        StringBuilder builder = new StringBuilder(tree.getRootIdentifier().toString());
+        for (Object subtree : tree.getSubtrees()) {
+            builder.append('[').append(toString((SectionTree) subtree)).append(']');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package org.arquillian.reporter.impl.section;
+
+import org.arquillian.reporter.api.event.Identifier;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.SectionTree;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a subtree is found using the index of the subtrees and not by scanning all sibling nodes, so the time
+ * needed for merging a section event into the section tree doesn't depend on the number of already merged siblings.
+ * The time itself is measured by {@code SectionTreeMergeBenchmark} in the module {@code reporter-benchmarks}.
+ *
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class SectionTreeMergeScalingTest {
+
+    private static final int NUMBER_OF_CLASSES = 5000;
+
+    @Test
+    public void testSubtreeWithIdentifierShouldBeFoundWithoutScanningSiblings() {
+        SectionTree testSuiteTree = prepareTestSuiteTree();
+        CountingIdentifier.comparisons = 0;
+
+        for (int i = 0; i < NUMBER_OF_CLASSES; i++) {
+            SectionTree subtree = testSuiteTree.getSubtree(createTestClassIdentifier(i));
+            assertThat(subtree).isNotNull();
+            assertThat(subtree.getRootIdentifier().getSectionId()).isEqualTo("test-class-" + i);
+        }
+
+        // a linear scan would compare the identifier with half of the siblings on average
+        assertThat(CountingIdentifier.comparisons)
+            .as("Looking up %s test classes compared %s identifiers", NUMBER_OF_CLASSES, CountingIdentifier.comparisons)
+            .isLessThan(3 * NUMBER_OF_CLASSES);
+    }
+
+    @Test
+    public void testLatestSubtreeOfSectionClassShouldBeFoundWithoutScanningSiblings() {
+        SectionTree testSuiteTree = prepareTestSuiteTree();
+        testSuiteTree.addSubtree(new SectionTree(new CountingIdentifier(TestMethodSection.class, "test-method"),
+                                                 new TestMethodReport("test-method"), TestMethodReport.class));
+        CountingIdentifier.comparisons = 0;
+
+        SectionTree latestTestClass = testSuiteTree.getSubtree(new CountingIdentifier(TestClassSection.class, null));
+        SectionTree latestTestMethod = testSuiteTree.getSubtree(new CountingIdentifier(TestMethodSection.class, null));
+
+        assertThat(latestTestClass.getRootIdentifier().getSectionId())
+            .isEqualTo("test-class-" + (NUMBER_OF_CLASSES - 1));
+        assertThat(latestTestMethod.getRootIdentifier().getSectionId()).isEqualTo("test-method");
+        // the latest subtree is found by its section class - no identifier is compared
+        assertThat(CountingIdentifier.comparisons).isZero();
+    }
+
+    private SectionTree prepareTestSuiteTree() {
+        SectionTree testSuiteTree = new SectionTree(new CountingIdentifier(TestSuiteSection.class, "test-suite"),
+                                                    new TestSuiteReport("test-suite"), TestSuiteReport.class);
+        for (int i = 0; i < NUMBER_OF_CLASSES; i++) {
+            testSuiteTree.addSubtree(new SectionTree(createTestClassIdentifier(i),
+                                                     new TestClassReport("test-class-" + i), TestClassReport.class));
+        }
+        return testSuiteTree;
+    }
+
+    private CountingIdentifier createTestClassIdentifier(int index) {
+        return new CountingIdentifier(TestClassSection.class, "test-class-" + index);
+    }
+
+    /**
+     * An {@link Identifier} counting how many times it has been compared with another identifier
+     */
+    private static class CountingIdentifier<SECTIONTYPE extends SectionEvent> extends Identifier<SECTIONTYPE> {
+
+        private static int comparisons;
+
+        private CountingIdentifier(Class<SECTIONTYPE> sectionEventClass, String sectionId) {
+            super(sectionEventClass, sectionId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            comparisons++;
+            return super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+}
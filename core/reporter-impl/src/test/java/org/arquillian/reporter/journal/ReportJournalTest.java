@@ -0,0 +1,151 @@
+package org.arquillian.reporter.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.event.SectionEvent;
+import org.arquillian.reporter.api.event.TestClassSection;
+import org.arquillian.reporter.api.event.TestMethodConfigurationSection;
+import org.arquillian.reporter.api.event.TestMethodFailureSection;
+import org.arquillian.reporter.api.event.TestMethodSection;
+import org.arquillian.reporter.api.event.TestSuiteConfigurationSection;
+import org.arquillian.reporter.api.event.TestSuiteSection;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.report.ConfigurationReport;
+import org.arquillian.reporter.api.model.report.FailureReport;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.SectionEventManager;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJournalTest {
+
+    private static final String TEST_SUITE_ID = "journal-test-suite";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReportRecoveredFromJournalShouldBeSameAsTheProcessedOne() throws Exception {
+        File journalFile = new File(temporaryFolder.getRoot(), "report.json.journal");
+        ExecutionStore executionStore = new ExecutionStore();
+
+        try (ReportJournal reportJournal = new ReportJournal(journalFile, 10)) {
+            prepareSectionEvents().forEach(event -> processEvent(event, executionStore, reportJournal));
+        }
+
+        ExecutionReport recoveredReport = ReportJournalRecovery.recover(journalFile.getAbsolutePath());
+
+        assertThat(new Gson().toJson(recoveredReport)).isEqualTo(new Gson().toJson(executionStore.getExecutionReport()));
+    }
+
+    @Test
+    public void testIncompleteLastRecordShouldBeSkipped() throws Exception {
+        File journalFile = new File(temporaryFolder.getRoot(), "report.json.journal");
+        ExecutionStore executionStore = new ExecutionStore();
+
+        try (ReportJournal reportJournal = new ReportJournal(journalFile, 10)) {
+            prepareSectionEvents().forEach(event -> processEvent(event, executionStore, reportJournal));
+        }
+
+        List<String> records = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
+        String lastRecord = records.remove(records.size() - 1);
+        File journalWithoutLastRecord = new File(temporaryFolder.getRoot(), "without-last-record.journal");
+        Files.write(journalWithoutLastRecord.toPath(), records, StandardCharsets.UTF_8);
+
+        // simulate a JVM that has been killed in the middle of writing the last record
+        records.add(lastRecord.substring(0, lastRecord.length() / 2));
+        Files.write(journalFile.toPath(), records, StandardCharsets.UTF_8);
+
+        ExecutionReport recoveredReport = ReportJournalRecovery.recover(journalFile.getAbsolutePath());
+        ExecutionReport expectedReport = ReportJournalRecovery.recover(journalWithoutLastRecord.getAbsolutePath());
+
+        assertThat(recoveredReport.getTestSuiteReports()).isNotEmpty();
+        assertThat(new Gson().toJson(recoveredReport)).isEqualTo(new Gson().toJson(expectedReport));
+    }
+
+    @Test
+    public void testRecordsShouldBeFlushedInTheGivenInterval() throws Exception {
+        File journalFile = new File(temporaryFolder.getRoot(), "report.json.journal");
+        ExecutionStore executionStore = new ExecutionStore();
+
+        try (ReportJournal reportJournal = new ReportJournal(journalFile, 10)) {
+            List<SectionEvent> sectionEvents = prepareSectionEvents();
+            sectionEvents.forEach(event -> processEvent(event, executionStore, reportJournal));
+
+            long timeout = System.currentTimeMillis() + 10_000;
+            while (Files.readAllLines(journalFile.toPath()).size() < sectionEvents.size()
+                && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertThat(Files.readAllLines(journalFile.toPath())).hasSize(sectionEvents.size());
+        }
+    }
+
+    @Test
+    public void testNonPositiveFlushIntervalShouldFallBackToDefault() throws Exception {
+        File journalFile = new File(temporaryFolder.getRoot(), "report.json.journal");
+        ExecutionStore executionStore = new ExecutionStore();
+
+        try (ReportJournal reportJournal = new ReportJournal(journalFile, 0)) {
+            prepareSectionEvents().forEach(event -> processEvent(event, executionStore, reportJournal));
+        }
+
+        assertThat(new Gson().toJson(ReportJournalRecovery.recover(journalFile.getPath())))
+            .isEqualTo(new Gson().toJson(executionStore.getExecutionReport()));
+    }
+
+    private void processEvent(SectionEvent event, ExecutionStore executionStore, ReportJournal reportJournal) {
+        SectionEventManager.processEvent(event, executionStore, reportJournal);
+    }
+
+    private List<SectionEvent> prepareSectionEvents() throws NoSuchMethodException {
+        List<SectionEvent> events = new ArrayList<>();
+        events.add(new TestSuiteSection(new TestSuiteReport("journal test suite"), TEST_SUITE_ID));
+
+        ConfigurationReport suiteConfiguration = new ConfigurationReport("container configuration");
+        suiteConfiguration.getEntries().add(new KeyValueEntry("mode", "suite"));
+        events.add(new TestSuiteConfigurationSection(suiteConfiguration, "container", TEST_SUITE_ID));
+
+        events.add(new TestClassSection(new TestClassReport(ReportJournalTest.class.getName()), ReportJournalTest.class,
+                                        TEST_SUITE_ID));
+
+        for (Method method : new Method[] {
+            ReportJournalTest.class.getMethod("testReportRecoveredFromJournalShouldBeSameAsTheProcessedOne"),
+            ReportJournalTest.class.getMethod("testIncompleteLastRecordShouldBeSkipped") }) {
+
+            events.add(new TestMethodSection(new TestMethodReport(method.getName()), method, TEST_SUITE_ID));
+
+            ConfigurationReport methodConfiguration = new ConfigurationReport("method configuration");
+            methodConfiguration.getEntries().add(new KeyValueEntry("method", method.getName()));
+            events.add(new TestMethodConfigurationSection(methodConfiguration, "config", method, TEST_SUITE_ID));
+
+            FailureReport failureReport = new FailureReport("failure");
+            failureReport.getEntries().add(new KeyValueEntry("cause", "assertion failed"));
+            events.add(new TestMethodFailureSection(failureReport, "failure", method, TEST_SUITE_ID));
+
+            TestMethodReport stoppedMethodReport = new TestMethodReport(method.getName());
+            stoppedMethodReport.setExecutionStopTime("2017-01-01 00:00:00.0");
+            stoppedMethodReport.setStatus(TestResult.Status.FAILED);
+            events.add(new TestMethodSection(stoppedMethodReport, method, TEST_SUITE_ID));
+        }
+        return events;
+    }
+}
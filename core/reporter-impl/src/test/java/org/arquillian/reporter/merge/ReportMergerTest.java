@@ -0,0 +1,147 @@
+package org.arquillian.reporter.merge;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.arquillian.reporter.api.model.report.Report;
+import org.arquillian.reporter.api.model.report.ReportSummary;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.parser.ReportJsonReader;
+import org.arquillian.reporter.writer.ReportBinaryWriter;
+import org.arquillian.reporter.writer.ReportJsonWriter;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportMergerTest {
+
+    private static final String TEST_SUITE_NAME = "distributed-test-suite";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReportsOfSameTestSuiteShouldBeMergedByTestClassesAndTestMethods() throws IOException {
+        ExecutionReport firstNode = prepareExecutionReport(1000, 2000,
+            prepareTestClass("org.example.FirstTest",
+                             testMethod("first", 10, TestResult.Status.PASSED),
+                             testMethod("second", 20, TestResult.Status.PASSED)),
+            prepareTestClass("org.example.SecondTest",
+                             testMethod("first", 30, TestResult.Status.FAILED)));
+        ExecutionReport secondNode = prepareExecutionReport(500, 1500,
+            prepareTestClass("org.example.FirstTest",
+                             testMethod("second", 40, TestResult.Status.FAILED),
+                             testMethod("third", 50, TestResult.Status.SKIPPED)),
+            prepareTestClass("org.example.ThirdTest",
+                             testMethod("first", 60, TestResult.Status.PASSED)));
+        ExecutionReport thirdNode = prepareExecutionReport(1200, 3000,
+            prepareTestClass("org.example.ThirdTest",
+                             testMethod("second", 70, TestResult.Status.PASSED)));
+
+        File nodesDirectory = temporaryFolder.newFolder("nodes");
+        ReportJsonWriter.write(firstNode, new File(nodesDirectory, "first.json"), true);
+        ReportJsonWriter.write(secondNode, new File(nodesDirectory, "second.json"), false);
+        ReportBinaryWriter.write(thirdNode, new File(nodesDirectory, "third.bin"), true);
+        File mergedFile = new File(temporaryFolder.getRoot(), "merged.json");
+
+        ReportMerger.merge(Arrays.asList(new File(nodesDirectory, "first.json"), new File(nodesDirectory, "second.json"),
+                                         new File(nodesDirectory, "third.bin")),
+                           mergedFile, true, new ForkJoinPool(2));
+
+        ExecutionReport mergedReport = readReport(mergedFile);
+        assertThat(mergedReport.getTestSuiteReports()).hasSize(1);
+        TestSuiteReport testSuiteReport = mergedReport.getTestSuiteReports().get(0);
+        assertThat(testSuiteReport.getName().getValue()).isEqualTo(TEST_SUITE_NAME);
+        assertThat(testSuiteReport.getExecutionStartTimestamp()).isEqualTo(500);
+        assertThat(testSuiteReport.getExecutionStopTimestamp()).isEqualTo(3000);
+        assertThat(getNames(testSuiteReport.getTestClassReports()))
+            .containsExactly("org.example.FirstTest", "org.example.SecondTest", "org.example.ThirdTest");
+
+        TestClassReport firstTestClass = testSuiteReport.getTestClassReports().get(0);
+        assertThat(getNames(firstTestClass.getTestMethodReports())).containsExactly("first", "second", "third");
+        assertThat(firstTestClass.getTestMethodReports().get(1).getStatus()).isEqualTo(TestResult.Status.FAILED);
+        assertSummary(firstTestClass.getSummary(), 3, 1, 1, 1);
+        assertSummary(testSuiteReport.getTestClassReports().get(2).getSummary(), 2, 2, 0, 0);
+        assertSummary(testSuiteReport.getSummary(), 6, 3, 2, 1);
+        assertSummary(mergedReport.getSummary(), 6, 3, 2, 1);
+
+        File[] remainingFiles = temporaryFolder.getRoot().listFiles();
+        assertThat(remainingFiles).extracting(File::getName).containsOnly("nodes", "merged.json");
+    }
+
+    @Test
+    public void testMergeOfOneReportShouldProduceSameReport() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport(1000, 2000,
+            prepareTestClass("org.example.FirstTest",
+                             testMethod("first", 10, TestResult.Status.PASSED),
+                             testMethod("second", 20, TestResult.Status.FAILED)));
+        File reportFile = temporaryFolder.newFile("report.json");
+        ReportJsonWriter.write(executionReport, reportFile, false);
+        File mergedFile = new File(temporaryFolder.getRoot(), "merged.json");
+
+        ReportMerger.merge(Arrays.asList(reportFile), mergedFile, false);
+
+        assertThat(mergedFile).usingCharset(StandardCharsets.UTF_8)
+            .hasContent(new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    private ExecutionReport readReport(File reportFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(reportFile.toPath(), StandardCharsets.UTF_8)) {
+            return new ReportJsonReader(reader).readExecutionReport();
+        }
+    }
+
+    private ExecutionReport prepareExecutionReport(long start, long stop, TestClassReport... testClassReports) {
+        TestSuiteReport testSuiteReport = new TestSuiteReport(TEST_SUITE_NAME);
+        testSuiteReport.setExecutionStartTimestamp(start);
+        testSuiteReport.setExecutionStopTimestamp(stop);
+        for (TestClassReport testClassReport : testClassReports) {
+            testSuiteReport.addNewReport(testClassReport, TestClassReport.class);
+        }
+        ExecutionReport executionReport = new ExecutionReport();
+        executionReport.addNewReport(testSuiteReport, TestSuiteReport.class);
+        return executionReport;
+    }
+
+    private TestClassReport prepareTestClass(String name, TestMethodReport... testMethodReports) {
+        TestClassReport testClassReport = new TestClassReport(name);
+        for (TestMethodReport testMethodReport : testMethodReports) {
+            testClassReport.addNewReport(testMethodReport, TestMethodReport.class);
+        }
+        return testClassReport;
+    }
+
+    private TestMethodReport testMethod(String name, long duration, TestResult.Status status) {
+        TestMethodReport testMethodReport = new TestMethodReport(name);
+        testMethodReport.setExecutionStopTimestamp(testMethodReport.getExecutionStartTimestamp() + duration);
+        testMethodReport.setStatus(status);
+        return testMethodReport;
+    }
+
+    private List<String> getNames(List<? extends Report> reports) {
+        return reports.stream().map(report -> report.getName().getValue()).collect(Collectors.toList());
+    }
+
+    private void assertSummary(ReportSummary summary, int tests, int passed, int failed, int skipped) {
+        assertThat(summary.getNumberOfTests()).isEqualTo(tests);
+        assertThat(summary.getPassed()).isEqualTo(passed);
+        assertThat(summary.getFailed()).isEqualTo(failed);
+        assertThat(summary.getSkipped()).isEqualTo(skipped);
+    }
+}
@@ -0,0 +1,141 @@
+package org.arquillian.reporter.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.model.entry.Entry;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
+import org.arquillian.reporter.api.model.entry.KeyValueEntry;
+import org.arquillian.reporter.api.model.entry.StringEntry;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestMethodReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.writer.ReportIndex;
+import org.arquillian.reporter.writer.ReportJsonWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.arquillian.reporter.api.model.ReporterCoreKey.METHOD_FAILURE_REPORT_STACKTRACE;
+import static org.arquillian.reporter.impl.utils.SectionGeneratorUtils.prepareSectionTreeWithReporterCoreSectionsAndReports;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class IndexedReportReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReportsReadFromPrettyPrintedReportShouldBeSameAsTheWrittenOnes() throws IOException {
+        verifyReportsReadUsingIndex(true);
+    }
+
+    @Test
+    public void testReportsReadFromCompactReportShouldBeSameAsTheWrittenOnes() throws IOException {
+        verifyReportsReadUsingIndex(false);
+    }
+
+    @Test
+    public void testNonExistingReportShouldBeNull() throws IOException {
+        File reportFile = temporaryFolder.newFile("report.json");
+        File indexFile = temporaryFolder.newFile("report.json.index");
+        ReportJsonWriter.write(prepareExecutionReport(), reportFile, false, indexFile);
+
+        try (IndexedReportReader reader = new IndexedReportReader(reportFile, indexFile)) {
+            assertThat(reader.readTestSuiteReport("non-existing")).isNull();
+            assertThat(reader.readTestClassReport("non-existing")).isNull();
+            assertThat(reader.readTestMethodReport("non-existing", "non-existing")).isNull();
+        }
+    }
+
+    @Test
+    public void testReportsWithMultiByteCharactersShouldBeReadUsingIndex() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        executionReport.getTestSuiteReports().forEach(testSuiteReport -> testSuiteReport.getTestClassReports()
+            .forEach(testClassReport -> testClassReport.getEntries().add(new StringEntry("Žluťoučký kůň ☃"))));
+        verifyReportsReadUsingIndex(executionReport, false);
+    }
+
+    @Test
+    public void testStackTracesShouldBeResolvedFromTableOfFailureTraces() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        TestClassReport testClassReport = executionReport.getTestSuiteReports().get(0).getTestClassReports().get(0);
+        TestMethodReport testMethodReport = testClassReport.getTestMethodReports().get(0);
+        String stackTrace =
+            "java.lang.IllegalStateException: Expected failure\n\tat org.example.TestClass.test(TestClass.java:42)";
+        FailureTraceEntry failureTraceEntry = new FailureTraceEntry(stackTrace);
+        executionReport.addFailureTrace(failureTraceEntry, "TestClass#test");
+        // the execution report keeps only the signature - the stack trace is stored in the table
+        testMethodReport.getFailureReport().getEntries().add(
+            new KeyValueEntry(METHOD_FAILURE_REPORT_STACKTRACE,
+                              new FailureTraceEntry(failureTraceEntry.getTraceSignature(), null)));
+
+        File reportFile = temporaryFolder.newFile("report.json");
+        File indexFile = temporaryFolder.newFile("report.json.index");
+        ReportJsonWriter.write(executionReport, reportFile, true, indexFile);
+
+        try (IndexedReportReader reader = new IndexedReportReader(reportFile, indexFile)) {
+            assertThat(reader.getIndex().getFailureTraces()).isNotNull();
+
+            TestMethodReport readMethodReport = reader.readTestMethodReport(testClassReport.getName().getValue(),
+                                                                            testMethodReport.getName().getValue());
+            assertThat(getFailureTraceEntry(readMethodReport)).isEqualTo(failureTraceEntry);
+            assertThat(getFailureTraceEntry(readMethodReport).getStackTrace()).isEqualTo(stackTrace);
+
+            TestClassReport readClassReport = reader.readTestClassReport(testClassReport.getName().getValue());
+            assertThat(getFailureTraceEntry(readClassReport.getTestMethodReports().get(0)).getStackTrace())
+                .isEqualTo(stackTrace);
+        }
+    }
+
+    private FailureTraceEntry getFailureTraceEntry(TestMethodReport testMethodReport) {
+        List<Entry> entries = testMethodReport.getFailureReport().getEntries();
+        return (FailureTraceEntry) ((KeyValueEntry) entries.get(entries.size() - 1)).getValue();
+    }
+
+    private void verifyReportsReadUsingIndex(boolean prettyPrint) throws IOException {
+        verifyReportsReadUsingIndex(prepareExecutionReport(), prettyPrint);
+    }
+
+    private void verifyReportsReadUsingIndex(ExecutionReport executionReport, boolean prettyPrint) throws IOException {
+        File reportFile = temporaryFolder.newFile("report.json");
+        File indexFile = temporaryFolder.newFile("report.json.index");
+        ReportJsonWriter.write(executionReport, reportFile, prettyPrint, indexFile);
+
+        Gson gson = new Gson();
+        try (IndexedReportReader reader = new IndexedReportReader(reportFile, indexFile)) {
+            ReportIndex index = reader.getIndex();
+            assertThat(index.getTestSuites()).isNotEmpty().hasSize(executionReport.getTestSuiteReports().size());
+
+            for (TestSuiteReport testSuiteReport : executionReport.getTestSuiteReports()) {
+                String suiteName = testSuiteReport.getName().getValue();
+                assertThat(gson.toJson(reader.readTestSuiteReport(suiteName))).isEqualTo(gson.toJson(testSuiteReport));
+
+                for (TestClassReport testClassReport : testSuiteReport.getTestClassReports()) {
+                    String className = testClassReport.getName().getValue();
+                    assertThat(gson.toJson(reader.readTestClassReport(className)))
+                        .isEqualTo(gson.toJson(testClassReport));
+
+                    for (TestMethodReport testMethodReport : testClassReport.getTestMethodReports()) {
+                        TestMethodReport readMethodReport =
+                            reader.readTestMethodReport(className, testMethodReport.getName().getValue());
+                        assertThat(gson.toJson(readMethodReport)).isEqualTo(gson.toJson(testMethodReport));
+                    }
+                }
+            }
+        }
+    }
+
+    private ExecutionReport prepareExecutionReport() {
+        ExecutionStore executionStore = new ExecutionStore();
+        prepareSectionTreeWithReporterCoreSectionsAndReports(executionStore);
+        return executionStore.getExecutionReport();
+    }
+}
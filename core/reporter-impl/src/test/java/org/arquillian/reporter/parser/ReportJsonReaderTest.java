@@ -0,0 +1,66 @@
+package org.arquillian.reporter.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.junit.Test;
+
+import static org.arquillian.reporter.impl.utils.SectionGeneratorUtils.prepareSectionTreeWithReporterCoreSectionsAndReports;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJsonReaderTest {
+
+    @Test
+    public void testStreamedReportShouldBeSameAsTheOneDeserializedFromJsonTree() throws IOException {
+        String json = new Gson().toJson(prepareExecutionReport());
+
+        ExecutionReport streamedReport = new ReportJsonReader(new StringReader(json)).readExecutionReport();
+        ExecutionReport deserializedReport = ReportJsonParser.prepareGsonParser().fromJson(json, ExecutionReport.class);
+
+        assertThat(new Gson().toJson(streamedReport)).isEqualTo(new Gson().toJson(deserializedReport));
+    }
+
+    @Test
+    public void testReportWithFieldsInDifferentOrderShouldBeReadCorrectly() throws IOException {
+        Gson gson = new Gson();
+        String json = gson.toJson(prepareExecutionReport());
+        JsonObject executionReport = gson.fromJson(json, JsonObject.class);
+
+        // move the field deciding the type of the report to the end
+        JsonObject reordered = new JsonObject();
+        executionReport.entrySet().stream()
+            .filter(field -> !field.getKey().equals("testSuiteReports"))
+            .forEach(field -> reordered.add(field.getKey(), field.getValue()));
+        reordered.add("testSuiteReports", executionReport.get("testSuiteReports"));
+
+        ExecutionReport streamedReport =
+            new ReportJsonReader(new StringReader(gson.toJson(reordered))).readExecutionReport();
+
+        assertThat(gson.toJson(streamedReport)).isEqualTo(json);
+    }
+
+    @Test
+    public void testReportParsedFromJsonTreeShouldBeReadByTheSameRules() {
+        Gson gson = new Gson();
+        String json = gson.toJson(prepareExecutionReport());
+        JsonObject executionReport = gson.fromJson(json, JsonObject.class);
+
+        ExecutionReport parsedReport =
+            ReportJsonParser.prepareGsonParser().fromJson(executionReport, ExecutionReport.class);
+
+        assertThat(gson.toJson(parsedReport)).isEqualTo(json);
+    }
+
+    private ExecutionReport prepareExecutionReport() {
+        ExecutionStore executionStore = new ExecutionStore();
+        prepareSectionTreeWithReporterCoreSectionsAndReports(executionStore);
+        return executionStore.getExecutionReport();
+    }
+}
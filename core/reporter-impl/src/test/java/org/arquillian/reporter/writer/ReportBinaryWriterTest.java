@@ -0,0 +1,95 @@
+package org.arquillian.reporter.writer;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.model.entry.FailureTraceEntry;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.impl.FailureTrace;
+import org.arquillian.reporter.parser.ReportBinaryParser;
+import org.arquillian.reporter.parser.ReportJsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.arquillian.reporter.impl.utils.SectionGeneratorUtils.prepareSectionTreeWithReporterCoreSectionsAndReports;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportBinaryWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCompressedBinaryReportShouldBeParsedToSameModelAsJsonReport() throws IOException {
+        verifyBinaryReportIsParsedToSameModelAsJsonReport(true);
+    }
+
+    @Test
+    public void testUncompressedBinaryReportShouldBeParsedToSameModelAsJsonReport() throws IOException {
+        verifyBinaryReportIsParsedToSameModelAsJsonReport(false);
+    }
+
+    @Test
+    public void testBinaryReportShouldBeSmallerThanJsonReport() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        File jsonFile = new File(temporaryFolder.getRoot(), "report.json");
+        File uncompressedFile = new File(temporaryFolder.getRoot(), "uncompressed.bin");
+        File compressedFile = new File(temporaryFolder.getRoot(), "compressed.bin");
+
+        ReportJsonWriter.write(executionReport, jsonFile, false);
+        ReportBinaryWriter.write(executionReport, uncompressedFile, false);
+        ReportBinaryWriter.write(executionReport, compressedFile, true);
+
+        assertThat(uncompressedFile.length()).isLessThan(jsonFile.length());
+        assertThat(compressedFile.length()).isLessThan(uncompressedFile.length());
+    }
+
+    @Test
+    public void testFailureTracesShouldBeParsedFromBinaryReport() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        String stackTrace =
+            "java.lang.IllegalStateException: Expected failure\n\tat org.example.TestClass.test(TestClass.java:42)";
+        FailureTraceEntry failureTraceEntry = new FailureTraceEntry(stackTrace);
+        executionReport.addFailureTrace(failureTraceEntry, "TestClass#firstMethod");
+        executionReport.addFailureTrace(failureTraceEntry, "TestClass#secondMethod");
+
+        ExecutionReport fromBinary = verifyBinaryReportIsParsedToSameModelAsJsonReport(executionReport, true);
+
+        FailureTrace failureTrace = fromBinary.getFailureTrace(failureTraceEntry.getTraceSignature());
+        assertThat(failureTrace).isNotNull();
+        assertThat(failureTrace.getStackTrace()).isEqualTo(failureTraceEntry.getStackTrace());
+        assertThat(failureTrace.getFailedTestMethods())
+            .containsExactly("TestClass#firstMethod", "TestClass#secondMethod");
+    }
+
+    private void verifyBinaryReportIsParsedToSameModelAsJsonReport(boolean deflate) throws IOException {
+        verifyBinaryReportIsParsedToSameModelAsJsonReport(prepareExecutionReport(), deflate);
+    }
+
+    private ExecutionReport verifyBinaryReportIsParsedToSameModelAsJsonReport(ExecutionReport executionReport,
+        boolean deflate) throws IOException {
+        File jsonFile = new File(temporaryFolder.getRoot(), "report.json");
+        File binaryFile = new File(temporaryFolder.getRoot(), "report.bin");
+
+        ReportJsonWriter.write(executionReport, jsonFile, false);
+        ReportBinaryWriter.write(executionReport, binaryFile, deflate);
+
+        ExecutionReport fromJson = ReportJsonParser.parse(jsonFile.getAbsolutePath());
+        ExecutionReport fromBinary = ReportBinaryParser.parse(binaryFile.getAbsolutePath());
+
+        assertThat(new Gson().toJson(fromBinary)).isEqualTo(new Gson().toJson(fromJson));
+        return fromBinary;
+    }
+
+    private ExecutionReport prepareExecutionReport() {
+        ExecutionStore executionStore = new ExecutionStore();
+        prepareSectionTreeWithReporterCoreSectionsAndReports(executionStore);
+        return executionStore.getExecutionReport();
+    }
+}
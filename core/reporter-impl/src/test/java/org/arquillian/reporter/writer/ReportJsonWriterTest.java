@@ -0,0 +1,65 @@
+package org.arquillian.reporter.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.arquillian.reporter.impl.utils.SectionGeneratorUtils.prepareSectionTreeWithReporterCoreSectionsAndReports;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ReportJsonWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testPrettyPrintedReportShouldBeSameAsTheOneCreatedByGson() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        File reportFile = new File(temporaryFolder.getRoot(), "pretty/report.json");
+
+        ReportJsonWriter.write(executionReport, reportFile, true);
+
+        String expectedJson = new GsonBuilder().setPrettyPrinting().create().toJson(executionReport);
+        assertThat(reportFile).hasContent(expectedJson);
+    }
+
+    @Test
+    public void testCompactReportShouldBeSameAsTheOneCreatedByGson() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        File reportFile = new File(temporaryFolder.getRoot(), "compact/report.json");
+
+        ReportJsonWriter.write(executionReport, reportFile, false);
+
+        String expectedJson = new Gson().toJson(executionReport);
+        assertThat(reportFile).hasContent(expectedJson);
+    }
+
+    @Test
+    public void testExistingReportFileShouldBeOverwritten() throws IOException {
+        File reportFile = temporaryFolder.newFile("report.json");
+        Files.write(reportFile.toPath(), new String(new char[100_000]).getBytes(Charset.defaultCharset()));
+
+        ExecutionReport executionReport = prepareExecutionReport();
+        ReportJsonWriter.write(executionReport, reportFile, false);
+
+        assertThat(reportFile).hasContent(new Gson().toJson(executionReport));
+    }
+
+    private ExecutionReport prepareExecutionReport() {
+        ExecutionStore executionStore = new ExecutionStore();
+        prepareSectionTreeWithReporterCoreSectionsAndReports(executionStore);
+        return executionStore.getExecutionReport();
+    }
+}
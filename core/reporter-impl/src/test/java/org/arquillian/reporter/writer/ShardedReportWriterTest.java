@@ -0,0 +1,95 @@
+package org.arquillian.reporter.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.google.gson.Gson;
+import org.arquillian.reporter.api.model.report.TestClassReport;
+import org.arquillian.reporter.api.model.report.TestSuiteReport;
+import org.arquillian.reporter.impl.ExecutionReport;
+import org.arquillian.reporter.impl.ExecutionStore;
+import org.arquillian.reporter.parser.ReportShardParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.arquillian.reporter.impl.utils.SectionGeneratorUtils.prepareSectionTreeWithReporterCoreSectionsAndReports;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:mjobanek@redhat.com">Matous Jobanek</a>
+ */
+public class ShardedReportWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReportReadFromShardsShouldBeSameAsTheWrittenOne() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        ShardedReportWriter writer = new ShardedReportWriter(new File(temporaryFolder.getRoot(), "report-shards"), true);
+
+        // write the first test class of every suite in advance - as it would be finished
+        for (TestSuiteReport testSuiteReport : executionReport.getTestSuiteReports()) {
+            writer.writeShard(testSuiteReport.getTestClassReports().get(0));
+        }
+        writer.writeManifest(executionReport);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ExecutionReport readReport = ReportShardParser.parse(writer.getManifestFile().getAbsolutePath(), pool);
+            assertThat(new Gson().toJson(readReport)).isEqualTo(new Gson().toJson(executionReport));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEveryTestClassReportShouldBeWrittenIntoOneShard() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        File shardDirectory = new File(temporaryFolder.getRoot(), "report-shards");
+        ShardedReportWriter writer = new ShardedReportWriter(shardDirectory, false);
+
+        TestClassReport finishedTestClass = executionReport.getTestSuiteReports().get(0).getTestClassReports().get(0);
+        String shardName = writer.writeShard(finishedTestClass);
+        assertThat(writer.writeShard(finishedTestClass)).isEqualTo(shardName);
+        writer.writeManifest(executionReport);
+
+        long numberOfTestClasses = executionReport.getTestSuiteReports().stream()
+            .mapToLong(testSuiteReport -> testSuiteReport.getTestClassReports().size())
+            .sum();
+        assertThat(shardDirectory.list((dir, name) -> !name.equals(ShardedReportWriter.MANIFEST_FILE)))
+            .hasSize((int) numberOfTestClasses)
+            .contains(shardName);
+    }
+
+    @Test
+    public void testOnlyShardsThatHaveNotBeenFlushedShouldBeWrittenWithManifest() throws IOException {
+        ExecutionReport executionReport = prepareExecutionReport();
+        File shardDirectory = new File(temporaryFolder.getRoot(), "report-shards");
+        ShardedReportWriter writer = new ShardedReportWriter(shardDirectory, false);
+
+        List<TestSuiteReport> testSuiteReports = executionReport.getTestSuiteReports();
+        TestClassReport flushedTestClass = testSuiteReports.get(0).getTestClassReports().get(0);
+        TestClassReport modifiedTestClass = testSuiteReports.get(1).getTestClassReports().get(0);
+        File flushedShard = new File(shardDirectory, writer.writeShard(flushedTestClass));
+        File modifiedShard = new File(shardDirectory, writer.writeShard(modifiedTestClass));
+        writer.markModified(modifiedTestClass);
+        // the deleted files show which shards have been written again
+        assertThat(flushedShard.delete()).isTrue();
+        assertThat(modifiedShard.delete()).isTrue();
+
+        writer.writeManifest(executionReport);
+
+        assertThat(flushedShard).doesNotExist();
+        assertThat(modifiedShard).exists();
+    }
+
+    private ExecutionReport prepareExecutionReport() {
+        ExecutionStore executionStore = new ExecutionStore();
+        prepareSectionTreeWithReporterCoreSectionsAndReports(executionStore);
+        return executionStore.getExecutionReport();
+    }
+}